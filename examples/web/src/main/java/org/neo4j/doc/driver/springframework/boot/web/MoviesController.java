@@ -24,6 +24,7 @@ import org.neo4j.driver.AccessMode;
 import org.neo4j.driver.Driver;
 import org.neo4j.driver.Session;
 import org.neo4j.driver.SessionConfig;
+import org.neo4j.driver.springframework.boot.autoconfigure.Neo4jResultStream;
 import org.springframework.http.MediaType;
 import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.RestController;
@@ -45,4 +46,11 @@ public class MoviesController {
 				.list(r -> r.get("m").asNode().get("title").asString());
 		}
 	}
+
+	@GetMapping(path = "/movies/stream", produces = { MediaType.APPLICATION_JSON_VALUE, "application/x-ndjson" })
+	public Neo4jResultStream streamMovies() {
+
+		return Neo4jResultStream.of(driver, "MATCH (m:Movie) RETURN m ORDER BY m.name ASC")
+			.withSessionConfig(SessionConfig.builder().withDefaultAccessMode(AccessMode.READ).build());
+	}
 }
@@ -0,0 +1,69 @@
+/*
+ * Copyright (c) 2019-2020 "Neo4j,"
+ * Neo4j Sweden AB [https://neo4j.com]
+ *
+ * This file is part of Neo4j.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.neo4j.driver.springframework.boot.actuate;
+
+import org.neo4j.driver.springframework.boot.autoconfigure.Neo4jAutoIndexRunner;
+import org.springframework.boot.actuate.health.AbstractHealthIndicator;
+import org.springframework.boot.actuate.health.Health;
+import org.springframework.boot.actuate.health.HealthIndicator;
+import org.springframework.util.Assert;
+
+/**
+ * {@link HealthIndicator} reporting the state of an auto index manager running in the background. The indicator is
+ * {@code OUT_OF_SERVICE} as long as the indexes and constraints are being created or validated, which makes it
+ * a candidate for the readiness group.
+ *
+ * @author Michael J. Simons
+ */
+public final class Neo4jAutoIndexHealthIndicator extends AbstractHealthIndicator {
+
+	/**
+	 * Message indicating that the auto index health check failed.
+	 */
+	static final String MESSAGE_HEALTH_CHECK_FAILED = "Neo4j auto index health check failed";
+
+	private final Neo4jAutoIndexRunner autoIndexRunner;
+
+	public Neo4jAutoIndexHealthIndicator(Neo4jAutoIndexRunner autoIndexRunner) {
+
+		super(MESSAGE_HEALTH_CHECK_FAILED);
+
+		Assert.notNull(autoIndexRunner, "Auto index runner must not be null");
+		this.autoIndexRunner = autoIndexRunner;
+	}
+
+	@Override
+	protected void doHealthCheck(Health.Builder builder) {
+
+		Neo4jAutoIndexRunner.State state = this.autoIndexRunner.getState();
+		builder.withDetail("state", state);
+		switch (state) {
+			case FINISHED:
+				builder.up();
+				this.autoIndexRunner.getDuration().ifPresent(duration -> builder.withDetail("duration", duration));
+				break;
+			case FAILED:
+				builder.down();
+				this.autoIndexRunner.getFailure().ifPresent(builder::withException);
+				break;
+			default:
+				builder.outOfService();
+		}
+	}
+}
@@ -0,0 +1,123 @@
+/*
+ * Copyright (c) 2019-2020 "Neo4j,"
+ * Neo4j Sweden AB [https://neo4j.com]
+ *
+ * This file is part of Neo4j.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.neo4j.driver.springframework.boot.actuate;
+
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.Meter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Tag;
+import io.micrometer.core.instrument.Tags;
+import io.micrometer.core.instrument.Timer;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+
+import org.neo4j.driver.springframework.boot.autoconfigure.Neo4jBatchWriter;
+import org.neo4j.driver.springframework.boot.autoconfigure.Neo4jBatchWriterListener;
+import org.springframework.util.Assert;
+
+/**
+ * Publishes the size and the latency of each batch written by a {@link Neo4jBatchWriter}, the number of rows waiting
+ * to be written and the number of rows that have been written, failed or rejected. All meters are tagged with the
+ * name of the writer and are removed from the registry when the writer is closed.
+ *
+ * @author Michael J. Simons
+ */
+public final class Neo4jBatchWriterMetrics implements Neo4jBatchWriterListener {
+
+	public static final String PREFIX = "neo4j.batch.writer";
+
+	private static final String BASE_UNIT_ROWS = "rows";
+
+	private final MeterRegistry meterRegistry;
+
+	private final Iterable<Tag> tags;
+
+	public Neo4jBatchWriterMetrics(MeterRegistry meterRegistry, Iterable<Tag> tags) {
+
+		Assert.notNull(meterRegistry, "Meter registry must not be null");
+		Assert.notNull(tags, "Tags must not be null (but may be empty)");
+		this.meterRegistry = meterRegistry;
+		this.tags = Tags.of(tags);
+	}
+
+	@Override
+	public void writerCreated(Neo4jBatchWriter<?> writer) {
+
+		Tags writerTags = tagsOf(writer);
+		Gauge.builder(PREFIX + ".queue.depth", writer, Neo4jBatchWriter::getQueueDepth)
+			.baseUnit(BASE_UNIT_ROWS)
+			.description("The number of rows waiting to be written.")
+			.tags(writerTags)
+			.register(this.meterRegistry);
+		FunctionCounter.builder(PREFIX + ".rows", writer, Neo4jBatchWriter::getWrittenRows)
+			.baseUnit(BASE_UNIT_ROWS)
+			.description("The number of rows written or failed to write.")
+			.tags(writerTags.and("outcome", "written"))
+			.register(this.meterRegistry);
+		FunctionCounter.builder(PREFIX + ".rows", writer, Neo4jBatchWriter::getFailedRows)
+			.baseUnit(BASE_UNIT_ROWS)
+			.description("The number of rows written or failed to write.")
+			.tags(writerTags.and("outcome", "failed"))
+			.register(this.meterRegistry);
+		FunctionCounter.builder(PREFIX + ".rejected", writer, Neo4jBatchWriter::getRejectedRows)
+			.baseUnit(BASE_UNIT_ROWS)
+			.description("The number of items rejected because the writer was at capacity.")
+			.tags(writerTags)
+			.register(this.meterRegistry);
+	}
+
+	@Override
+	public void batchWritten(Neo4jBatchWriter<?> writer, int rows, Duration duration, Throwable failure) {
+
+		Tags writerTags = tagsOf(writer);
+		DistributionSummary.builder(PREFIX + ".batch.size")
+			.baseUnit(BASE_UNIT_ROWS)
+			.description("The number of rows per batch.")
+			.tags(writerTags)
+			.register(this.meterRegistry)
+			.record(rows);
+		Timer.builder(PREFIX + ".flush")
+			.description("The time it took to write a batch.")
+			.tags(writerTags.and("outcome", failure == null ? "success" : "failure"))
+			.register(this.meterRegistry)
+			.record(duration);
+	}
+
+	@Override
+	public void writerClosed(Neo4jBatchWriter<?> writer) {
+
+		// The meters of a batch are registered lazily, so they are looked up instead of being tracked per writer
+		List<Meter> meters = new ArrayList<>();
+		for (Meter meter : this.meterRegistry.getMeters()) {
+			Meter.Id id = meter.getId();
+			if (id.getName().startsWith(PREFIX + ".") && writer.getName().equals(id.getTag("name"))) {
+				meters.add(meter);
+			}
+		}
+		meters.forEach(this.meterRegistry::remove);
+	}
+
+	private Tags tagsOf(Neo4jBatchWriter<?> writer) {
+		return Tags.of(this.tags).and("name", writer.getName());
+	}
+}
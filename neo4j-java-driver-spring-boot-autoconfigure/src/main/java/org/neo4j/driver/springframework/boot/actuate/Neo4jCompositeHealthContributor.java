@@ -0,0 +1,136 @@
+/*
+ * Copyright (c) 2019-2020 "Neo4j,"
+ * Neo4j Sweden AB [https://neo4j.com]
+ *
+ * This file is part of Neo4j.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.neo4j.driver.springframework.boot.actuate;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Future;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.boot.actuate.health.CompositeHealthContributor;
+import org.springframework.boot.actuate.health.Health;
+import org.springframework.boot.actuate.health.HealthContributor;
+import org.springframework.boot.actuate.health.HealthIndicator;
+import org.springframework.boot.actuate.health.NamedContributor;
+import org.springframework.scheduling.concurrent.CustomizableThreadFactory;
+import org.springframework.util.Assert;
+
+/**
+ * A {@link CompositeHealthContributor} that evaluates the health indicators of several drivers concurrently. The
+ * imperative health endpoint iterates the contributors of a composite one after another, so that the latency of the
+ * composite would be the sum of all probes. This composite starts all probes on a bounded executor as soon as the
+ * endpoint starts iterating and each contributor only waits for the result of its own probe. All probes share a
+ * deadline, a probe that doesn't finish in time is reported as {@code DOWN}, the same way an error is reported by the
+ * reactive composite.
+ *
+ * @author Michael J. Simons
+ */
+public final class Neo4jCompositeHealthContributor implements CompositeHealthContributor, DisposableBean {
+
+	private final Map<String, HealthIndicator> indicators;
+
+	private final ThreadPoolExecutor executor;
+
+	private final Duration timeout;
+
+	public Neo4jCompositeHealthContributor(Map<String, ? extends HealthIndicator> indicators, int maxConcurrency,
+		Duration timeout) {
+
+		Assert.notEmpty(indicators, "Indicators must not be empty");
+		Assert.isTrue(maxConcurrency > 0, "The maximum concurrency must be positive");
+		Assert.notNull(timeout, "Timeout must not be null");
+
+		this.indicators = Collections.unmodifiableMap(new LinkedHashMap<>(indicators));
+		this.timeout = timeout;
+
+		CustomizableThreadFactory threadFactory = new CustomizableThreadFactory("neo4j-health-");
+		threadFactory.setDaemon(true);
+		this.executor = new ThreadPoolExecutor(maxConcurrency, maxConcurrency, 60L, TimeUnit.SECONDS,
+			new LinkedBlockingQueue<>(), threadFactory);
+		this.executor.allowCoreThreadTimeOut(true);
+	}
+
+	@Override
+	public HealthContributor getContributor(String name) {
+
+		HealthIndicator indicator = this.indicators.get(name);
+		if (indicator == null) {
+			return null;
+		}
+		long deadline = System.nanoTime() + this.timeout.toNanos();
+		return (HealthIndicator) () -> awaitHealth(submit(indicator), deadline);
+	}
+
+	@Override
+	public Iterator<NamedContributor<HealthContributor>> iterator() {
+
+		long deadline = System.nanoTime() + this.timeout.toNanos();
+		List<NamedContributor<HealthContributor>> contributors = new ArrayList<>(this.indicators.size());
+		this.indicators.forEach((name, indicator) -> {
+			Future<Health> probe = submit(indicator);
+			contributors.add(NamedContributor.of(name, (HealthIndicator) () -> awaitHealth(probe, deadline)));
+		});
+		return contributors.iterator();
+	}
+
+	@Override
+	public void destroy() {
+		this.executor.shutdownNow();
+	}
+
+	private Future<Health> submit(HealthIndicator indicator) {
+
+		try {
+			return this.executor.submit(indicator::health);
+		} catch (RejectedExecutionException ex) {
+			CompletableFuture<Health> rejected = new CompletableFuture<>();
+			rejected.completeExceptionally(ex);
+			return rejected;
+		}
+	}
+
+	private Health awaitHealth(Future<Health> probe, long deadline) {
+
+		try {
+			return probe.get(Math.max(0L, deadline - System.nanoTime()), TimeUnit.NANOSECONDS);
+		} catch (TimeoutException ex) {
+			probe.cancel(true);
+			return Health.down(new TimeoutException("Health check did not finish within " + this.timeout)).build();
+		} catch (ExecutionException ex) {
+			Throwable cause = ex.getCause();
+			return Health.down(cause instanceof Exception ? (Exception) cause : ex).build();
+		} catch (InterruptedException ex) {
+			Thread.currentThread().interrupt();
+			probe.cancel(true);
+			return Health.down(ex).build();
+		}
+	}
+}
@@ -0,0 +1,391 @@
+/*
+ * Copyright (c) 2019-2020 "Neo4j,"
+ * Neo4j Sweden AB [https://neo4j.com]
+ *
+ * This file is part of Neo4j.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.neo4j.driver.springframework.boot.actuate;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Tag;
+import io.micrometer.core.instrument.Tags;
+import io.micrometer.core.instrument.Timer;
+
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Iterator;
+import java.util.concurrent.TimeUnit;
+
+import org.neo4j.driver.springframework.boot.autoconfigure.Neo4jCypherStatements;
+import org.neo4j.driver.springframework.boot.autoconfigure.Neo4jOgmSessionDecorator;
+import org.neo4j.ogm.session.Session;
+import org.neo4j.ogm.session.event.Event;
+import org.neo4j.ogm.session.event.EventListener;
+import org.neo4j.ogm.transaction.Transaction;
+import org.springframework.util.Assert;
+
+/**
+ * Instruments Neo4j-OGM with Micrometer. As an {@link EventListener} it counts the entities saved and deleted per
+ * entity type, including all entities that are saved or deleted by cascading. As a {@link Neo4jOgmSessionDecorator}
+ * it times load, save and delete operations per entity type, counts the loaded entities and records how long a
+ * session has been used and how many load operations have been issued during that time. The latter is recorded each
+ * time the transaction of a session is closed or the session is cleared, a high number of load operations per session
+ * hints at N+1 loading patterns.
+ * <p>
+ * Cypher queries issued through a session are timed as well. They are tagged with the name the statement has in the
+ * {@link Neo4jCypherStatements registry of named statements}, all other statements share the tag {@code unnamed}, so
+ * that the cardinality of the tag stays low.
+ *
+ * @author Michael J. Simons
+ */
+public final class Neo4jOgmMetrics implements EventListener, Neo4jOgmSessionDecorator {
+
+	public static final String PREFIX = "neo4j.ogm";
+
+	private static final String BASE_UNIT_ENTITIES = "entities";
+
+	private static final String UNKNOWN_TYPE = "unknown";
+
+	private static final String UNNAMED_STATEMENT = "unnamed";
+
+	private final MeterRegistry meterRegistry;
+
+	private final Iterable<Tag> tags;
+
+	private final Neo4jCypherStatements statements;
+
+	public Neo4jOgmMetrics(MeterRegistry meterRegistry, Iterable<Tag> tags) {
+		this(meterRegistry, tags, new Neo4jCypherStatements(Collections.emptyMap()));
+	}
+
+	public Neo4jOgmMetrics(MeterRegistry meterRegistry, Iterable<Tag> tags, Neo4jCypherStatements statements) {
+
+		Assert.notNull(meterRegistry, "Meter registry must not be null");
+		Assert.notNull(tags, "Tags must not be null (but may be empty)");
+		Assert.notNull(statements, "Statements must not be null");
+		this.meterRegistry = meterRegistry;
+		this.tags = Tags.of(tags);
+		this.statements = statements;
+	}
+
+	@Override
+	public void onPreSave(Event event) {
+	}
+
+	@Override
+	public void onPostSave(Event event) {
+		countEntities("save", typeOf(event.getObject()), 1);
+	}
+
+	@Override
+	public void onPreDelete(Event event) {
+	}
+
+	@Override
+	public void onPostDelete(Event event) {
+		countEntities("delete", typeOf(event.getObject()), 1);
+	}
+
+	@Override
+	public Session decorate(Session session) {
+
+		Counter.builder(PREFIX + ".sessions.opened")
+			.tags(this.tags)
+			.baseUnit("sessions")
+			.description("The amount of sessions that have been opened.")
+			.register(this.meterRegistry)
+			.increment();
+		return (Session) Proxy.newProxyInstance(Session.class.getClassLoader(), new Class<?>[] { Session.class },
+			new InstrumentedSession(session));
+	}
+
+	private void countEntities(String operation, String type, long count) {
+
+		Counter.builder(PREFIX + "." + BASE_UNIT_ENTITIES)
+			.tags(this.tags)
+			.tags("operation", operation, "type", type)
+			.baseUnit(BASE_UNIT_ENTITIES)
+			.description("The amount of entities that have been loaded, saved or deleted.")
+			.register(this.meterRegistry)
+			.increment(count);
+	}
+
+	private void recordOperation(String operation, String type, long durationInNanos) {
+
+		Timer.builder(PREFIX + ".operations")
+			.tags(this.tags)
+			.tags("operation", operation, "type", type)
+			.description("The time spent in load, save and delete operations.")
+			.register(this.meterRegistry)
+			.record(durationInNanos, TimeUnit.NANOSECONDS);
+	}
+
+	private void recordQuery(String statement, long durationInNanos) {
+
+		Timer.builder(PREFIX + ".queries")
+			.tags(this.tags)
+			.tags("statement", this.statements.getName(statement).orElse(UNNAMED_STATEMENT))
+			.description("The time spent in Cypher queries.")
+			.register(this.meterRegistry)
+			.record(durationInNanos, TimeUnit.NANOSECONDS);
+	}
+
+	private void recordUnitOfWork(long durationInNanos, int loads) {
+
+		Timer.builder(PREFIX + ".session.lifetime")
+			.tags(this.tags)
+			.description("The time a session has been used until its transaction was closed or it was cleared.")
+			.register(this.meterRegistry)
+			.record(durationInNanos, TimeUnit.NANOSECONDS);
+
+		DistributionSummary.builder(PREFIX + ".session.loads")
+			.tags(this.tags)
+			.baseUnit("operations")
+			.description("The amount of load operations a session issued until its transaction was closed or it was cleared.")
+			.register(this.meterRegistry)
+			.record(loads);
+	}
+
+	static String operationOf(String methodName, Object[] args) {
+
+		switch (methodName) {
+			case "load":
+			case "loadAll":
+				return "load";
+			case "query":
+			case "queryForObject":
+				return args != null && args.length > 0 && args[0] instanceof Class ? "load" : null;
+			case "save":
+				return "save";
+			case "delete":
+			case "deleteAll":
+				return "delete";
+			default:
+				return null;
+		}
+	}
+
+	static String statementOf(String methodName, Object[] args) {
+
+		if (!("query".equals(methodName) || "queryForObject".equals(methodName)) || args == null) {
+			return null;
+		}
+		// The statement is the first string, either preceded by the type of the result or not
+		for (Object arg : args) {
+			if (arg instanceof String) {
+				return (String) arg;
+			}
+		}
+		return null;
+	}
+
+	static String typeOf(Object argument) {
+
+		Object candidate = argument;
+		if (candidate instanceof Collection) {
+			Iterator<?> iterator = ((Collection<?>) candidate).iterator();
+			candidate = iterator.hasNext() ? iterator.next() : null;
+		} else if (candidate instanceof Object[]) {
+			candidate = ((Object[]) candidate).length > 0 ? ((Object[]) candidate)[0] : null;
+		}
+
+		if (candidate == null) {
+			return UNKNOWN_TYPE;
+		}
+		return candidate instanceof Class ? ((Class<?>) candidate).getSimpleName() : candidate.getClass().getSimpleName();
+	}
+
+	static long sizeOf(Object result) {
+
+		if (result == null) {
+			return 0L;
+		}
+		if (result instanceof Collection) {
+			return ((Collection<?>) result).size();
+		}
+		// Results of queries that are not collections would be consumed when counted
+		return result instanceof Iterable ? 0L : 1L;
+	}
+
+	private static Object invoke(Object target, Method method, Object[] args) throws Throwable {
+
+		try {
+			return method.invoke(target, args);
+		} catch (InvocationTargetException e) {
+			throw e.getCause();
+		}
+	}
+
+	private static Object invokeObjectMethod(Object proxy, Object delegate, String methodName, Object[] args) {
+
+		switch (methodName) {
+			case "equals":
+				return proxy == args[0];
+			case "hashCode":
+				return System.identityHashCode(proxy);
+			default:
+				return "Instrumented " + delegate;
+		}
+	}
+
+	/**
+	 * Sessions are not thread safe, so the state of the current unit of work doesn't need to be either.
+	 */
+	private final class InstrumentedSession implements InvocationHandler {
+
+		private final Session delegate;
+
+		private long unitOfWorkStart = System.nanoTime();
+
+		private int loads;
+
+		private Transaction transaction;
+
+		private Transaction instrumentedTransaction;
+
+		InstrumentedSession(Session delegate) {
+			this.delegate = delegate;
+		}
+
+		/**
+		 * Only transactions that have been begun through this session are instrumented. Nested transactions and
+		 * transactions retrieved via {@link Session#getTransaction()} are the same instance as the outermost one, so
+		 * they are mapped to the same proxy and the unit of work is only started once.
+		 *
+		 * @param candidate a transaction returned by the session
+		 * @param begun     whether the transaction has been returned by {@code beginTransaction}
+		 * @return the instrumented transaction or the candidate itself
+		 */
+		Transaction instrument(Transaction candidate, boolean begun) {
+
+			if (candidate == this.transaction) {
+				return this.instrumentedTransaction;
+			}
+			if (!begun) {
+				return candidate;
+			}
+
+			startUnitOfWork();
+			this.transaction = candidate;
+			this.instrumentedTransaction = (Transaction) Proxy.newProxyInstance(Transaction.class.getClassLoader(),
+				new Class<?>[] { Transaction.class }, new InstrumentedTransaction(candidate, this));
+			return this.instrumentedTransaction;
+		}
+
+		@Override
+		public Object invoke(Object proxy, Method method, Object[] args) throws Throwable {
+
+			String methodName = method.getName();
+			if (method.getDeclaringClass() == Object.class) {
+				return invokeObjectMethod(proxy, this.delegate, methodName, args);
+			}
+
+			String operation = operationOf(methodName, args);
+			String statement = statementOf(methodName, args);
+			if (operation == null) {
+				if (statement != null) {
+					long start = System.nanoTime();
+					try {
+						return Neo4jOgmMetrics.invoke(this.delegate, method, args);
+					} finally {
+						recordQuery(statement, System.nanoTime() - start);
+					}
+				}
+				Object result = Neo4jOgmMetrics.invoke(this.delegate, method, args);
+				if (result instanceof Transaction) {
+					return instrument((Transaction) result, "beginTransaction".equals(methodName));
+				} else if ("clear".equals(methodName)) {
+					endUnitOfWork();
+				}
+				return result;
+			}
+
+			startUnitOfWork();
+			String type = typeOf(args == null || args.length == 0 ? null : args[0]);
+			long start = System.nanoTime();
+			try {
+				Object result = Neo4jOgmMetrics.invoke(this.delegate, method, args);
+				if ("load".equals(operation)) {
+					++this.loads;
+					countEntities(operation, type, sizeOf(result));
+				}
+				return result;
+			} finally {
+				long duration = System.nanoTime() - start;
+				recordOperation(operation, type, duration);
+				if (statement != null) {
+					recordQuery(statement, duration);
+				}
+			}
+		}
+
+		void startUnitOfWork() {
+			if (this.unitOfWorkStart == 0L) {
+				this.unitOfWorkStart = System.nanoTime();
+			}
+		}
+
+		void endUnitOfWork() {
+			if (this.unitOfWorkStart != 0L) {
+				recordUnitOfWork(System.nanoTime() - this.unitOfWorkStart, this.loads);
+				this.unitOfWorkStart = 0L;
+				this.loads = 0;
+			}
+		}
+
+		void endTransaction() {
+			endUnitOfWork();
+			this.transaction = null;
+			this.instrumentedTransaction = null;
+		}
+
+		boolean hasTransaction() {
+			return this.delegate.getTransaction() != null;
+		}
+	}
+
+	private static final class InstrumentedTransaction implements InvocationHandler {
+
+		private final Transaction delegate;
+
+		private final InstrumentedSession session;
+
+		InstrumentedTransaction(Transaction delegate, InstrumentedSession session) {
+			this.delegate = delegate;
+			this.session = session;
+		}
+
+		@Override
+		public Object invoke(Object proxy, Method method, Object[] args) throws Throwable {
+
+			if (method.getDeclaringClass() == Object.class) {
+				return invokeObjectMethod(proxy, this.delegate, method.getName(), args);
+			}
+
+			Object result = Neo4jOgmMetrics.invoke(this.delegate, method, args);
+			// Nested transactions are closed as well, the unit of work ends with the outermost one
+			if ("close".equals(method.getName()) && !this.session.hasTransaction()) {
+				this.session.endTransaction();
+			}
+			return result;
+		}
+	}
+}
@@ -0,0 +1,183 @@
+/*
+ * Copyright (c) 2019-2020 "Neo4j,"
+ * Neo4j Sweden AB [https://neo4j.com]
+ *
+ * This file is part of Neo4j.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.neo4j.driver.springframework.boot.actuate;
+
+import java.time.Duration;
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.LongSupplier;
+
+import org.neo4j.driver.ConnectionPoolMetrics;
+import org.neo4j.driver.Driver;
+import org.springframework.boot.actuate.health.AbstractHealthIndicator;
+import org.springframework.boot.actuate.health.Health;
+import org.springframework.boot.actuate.health.HealthIndicator;
+import org.springframework.util.Assert;
+
+/**
+ * {@link HealthIndicator} that computes the saturation of the connection pools of a driver solely from the driver
+ * metrics. Contrary to the {@link Neo4jHealthIndicator} no I/O is done at all, so that this indicator is suitable for
+ * the readiness group: A saturated pool takes the instance {@code OUT_OF_SERVICE} until the pool recovers.
+ * <p>
+ * A pool is considered to be saturated when its in-use ratio reaches the configured maximum while there are more
+ * pending acquisitions than allowed, or when more acquisitions than allowed timed out during the sliding window.
+ * The size of the pools cannot be retrieved from the driver. If it is not known, only the timed out acquisitions are
+ * taken into account. The driver needs to have metrics enabled, otherwise the status is {@code UNKNOWN}.
+ *
+ * @author Michael J. Simons
+ */
+public final class Neo4jPoolHealthIndicator extends AbstractHealthIndicator {
+
+	/**
+	 * Message indicating that the pool health check failed.
+	 */
+	static final String MESSAGE_HEALTH_CHECK_FAILED = "Neo4j pool health check failed";
+
+	/**
+	 * Used instead of a maximum connection pool size when the size of the pools is unknown.
+	 */
+	static final int UNKNOWN_POOL_SIZE = -1;
+
+	/**
+	 * The driver for this health indicator instance.
+	 */
+	private final Driver driver;
+
+	private final int maxConnectionPoolSize;
+
+	private final double maxInUseRatio;
+
+	private final int maxPendingAcquisitions;
+
+	private final long maxTimedOutToAcquire;
+
+	private final long windowInNanos;
+
+	private final LongSupplier nanoTime;
+
+	/**
+	 * Samples of the monotonic {@link ConnectionPoolMetrics#timedOutToAcquire()} counter per pool.
+	 */
+	private final Map<String, Deque<long[]>> timedOutSamples = new ConcurrentHashMap<>();
+
+	/**
+	 * Creates a health indicator for a driver whose pool size is unknown. Only the timed out acquisitions are taken
+	 * into account.
+	 *
+	 * @param driver               the driver whose pools are checked
+	 * @param maxTimedOutToAcquire the maximum number of acquisitions that may time out during the window
+	 * @param window               the sliding window for timed out acquisitions
+	 */
+	public Neo4jPoolHealthIndicator(Driver driver, long maxTimedOutToAcquire, Duration window) {
+		this(driver, UNKNOWN_POOL_SIZE, 1.0, 0, maxTimedOutToAcquire, window, System::nanoTime);
+	}
+
+	public Neo4jPoolHealthIndicator(Driver driver, int maxConnectionPoolSize, double maxInUseRatio,
+		int maxPendingAcquisitions, long maxTimedOutToAcquire, Duration window) {
+		this(driver, maxConnectionPoolSize, maxInUseRatio, maxPendingAcquisitions, maxTimedOutToAcquire, window,
+			System::nanoTime);
+	}
+
+	Neo4jPoolHealthIndicator(Driver driver, int maxConnectionPoolSize, double maxInUseRatio,
+		int maxPendingAcquisitions, long maxTimedOutToAcquire, Duration window, LongSupplier nanoTime) {
+
+		super(MESSAGE_HEALTH_CHECK_FAILED);
+
+		Assert.notNull(driver, "Driver must not be null");
+		Assert.isTrue(maxConnectionPoolSize > 0 || maxConnectionPoolSize == UNKNOWN_POOL_SIZE,
+			"The maximum connection pool size must be positive");
+		Assert.notNull(window, "Window must not be null");
+		this.driver = driver;
+		this.maxConnectionPoolSize = maxConnectionPoolSize;
+		this.maxInUseRatio = maxInUseRatio;
+		this.maxPendingAcquisitions = maxPendingAcquisitions;
+		this.maxTimedOutToAcquire = maxTimedOutToAcquire;
+		this.windowInNanos = window.toNanos();
+		this.nanoTime = nanoTime;
+	}
+
+	@Override
+	protected void doHealthCheck(Health.Builder builder) {
+
+		if (!this.driver.isMetricsEnabled()) {
+			builder.unknown().withDetail("reason", "Driver metrics are not enabled.");
+			return;
+		}
+
+		long now = this.nanoTime.getAsLong();
+		boolean saturated = false;
+		Map<String, Object> pools = new LinkedHashMap<>();
+		for (ConnectionPoolMetrics poolMetrics : this.driver.metrics().connectionPoolMetrics()) {
+
+			long timedOutInWindow = timedOutToAcquireInWindow(poolMetrics, now);
+			boolean poolSaturated = timedOutInWindow > this.maxTimedOutToAcquire;
+
+			Map<String, Object> details = new LinkedHashMap<>();
+			details.put("inUse", poolMetrics.inUse());
+			details.put("idle", poolMetrics.idle());
+			details.put("acquiring", poolMetrics.acquiring());
+			if (this.maxConnectionPoolSize != UNKNOWN_POOL_SIZE) {
+				double inUseRatio = poolMetrics.inUse() / (double) this.maxConnectionPoolSize;
+				poolSaturated |= inUseRatio >= this.maxInUseRatio
+					&& poolMetrics.acquiring() > this.maxPendingAcquisitions;
+				details.put("inUseRatio", inUseRatio);
+			}
+			details.put("timedOutToAcquireInWindow", timedOutInWindow);
+			details.put("saturated", poolSaturated);
+			pools.put(poolMetrics.id(), details);
+
+			saturated |= poolSaturated;
+		}
+
+		if (saturated) {
+			builder.outOfService();
+		} else {
+			builder.up();
+		}
+		builder.withDetail("pools", pools);
+	}
+
+	/**
+	 * Computes the number of acquisitions that timed out during the sliding window. The oldest sample that is still
+	 * older than the window is kept as the baseline.
+	 *
+	 * @param poolMetrics the metrics of the pool to sample
+	 * @param now         the current time in nanoseconds
+	 * @return the number of acquisitions that timed out during the window
+	 */
+	private long timedOutToAcquireInWindow(ConnectionPoolMetrics poolMetrics, long now) {
+
+		long current = poolMetrics.timedOutToAcquire();
+		Deque<long[]> samples = this.timedOutSamples.computeIfAbsent(poolMetrics.id(), id -> new ArrayDeque<>());
+		synchronized (samples) {
+			samples.addLast(new long[] { now, current });
+			while (samples.size() > 1) {
+				long[] oldest = samples.removeFirst();
+				if (now - samples.peekFirst()[0] < this.windowInNanos) {
+					samples.addFirst(oldest);
+					break;
+				}
+			}
+			return current - samples.peekFirst()[1];
+		}
+	}
+}
@@ -18,8 +18,13 @@
  */
 package org.neo4j.driver.springframework.boot.autoconfigure;
 
+import java.time.Duration;
 import java.util.List;
+import java.util.Map;
+import java.util.stream.Collectors;
 
+import org.apache.commons.logging.Log;
+import org.apache.commons.logging.LogFactory;
 import org.neo4j.driver.Driver;
 import org.neo4j.ogm.config.AutoIndexMode;
 import org.neo4j.ogm.drivers.bolt.driver.BoltDriver;
@@ -30,6 +35,7 @@ import org.springframework.boot.autoconfigure.AutoConfigurationPackages;
 import org.springframework.boot.autoconfigure.condition.ConditionalOnBean;
 import org.springframework.boot.autoconfigure.condition.ConditionalOnClass;
 import org.springframework.boot.autoconfigure.condition.ConditionalOnMissingBean;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
 import org.springframework.boot.autoconfigure.data.neo4j.Neo4jProperties;
 import org.springframework.boot.autoconfigure.domain.EntityScanPackages;
 import org.springframework.boot.context.properties.EnableConfigurationProperties;
@@ -48,9 +54,11 @@ import org.springframework.util.StringUtils;
 @ConditionalOnBean(Driver.class)
 @ConditionalOnMissingBean(SessionFactory.class)
 @ConditionalOnClass({ SessionFactory.class, BoltDriver.class })
-@EnableConfigurationProperties(Neo4jProperties.class)
+@EnableConfigurationProperties({ Neo4jProperties.class, Neo4jOgmProperties.class })
 class AdditionalDataConfiguration {
 
+	private static final Log logger = LogFactory.getLog(AdditionalDataConfiguration.class);
+
 	@Bean
 	@ConditionalOnMissingBean
 	public org.neo4j.ogm.config.Configuration configuration(Neo4jProperties properties) {
@@ -61,31 +69,61 @@ class AdditionalDataConfiguration {
 	@ConditionalOnMissingBean
 	public BoltDriver ogmDriver(org.neo4j.ogm.config.Configuration ogmConfiguration, Driver nativeDriver) {
 
-		BoltDriver boltDriver = new BoltDriver(nativeDriver) {
-			@Override
-			public synchronized void close() {
-				// We must prevent the bolt driver from closing the driver bean
-			}
-		};
-		boltDriver.configure(ogmConfiguration);
-		return boltDriver;
+		return Neo4jDatabaseSessionFactory.createOgmDriver(nativeDriver, ogmConfiguration);
 	}
 
 	@Bean
 	@ConditionalOnBean(BoltDriver.class)
 	public SessionFactory sessionFactory(org.neo4j.ogm.config.Configuration configuration, BoltDriver ogmDriver,
-		ApplicationContext applicationContext, ObjectProvider<EventListener> eventListenerProvider) {
+		ApplicationContext applicationContext, ObjectProvider<EventListener> eventListenerProvider,
+		ObjectProvider<Neo4jOgmSessionDecorator> sessionDecoratorProvider, Neo4jOgmProperties ogmProperties) {
 
 		String[] packagesToScan = getPackagesToScan(applicationContext);
-		SessionFactory sessionFactory = new SessionFactory(ogmDriver, packagesToScan);
-		if (configuration.getAutoIndex() != AutoIndexMode.NONE) {
+		if (ogmProperties.isUseEntityIndex()) {
+			packagesToScan = Neo4jEntityIndex.resolve(applicationContext.getClassLoader(), packagesToScan);
+		}
+		List<Neo4jOgmSessionDecorator> sessionDecorators = sessionDecoratorProvider.orderedStream()
+			.collect(Collectors.toList());
+		SessionFactory sessionFactory;
+		if (sessionDecorators.isEmpty()) {
+			sessionFactory = new SessionFactory(ogmDriver, packagesToScan);
+		} else {
+			sessionFactory = new DecoratingSessionFactory(ogmDriver, sessionDecorators, packagesToScan);
+		}
+		AutoIndexMode autoIndexMode = configuration.getAutoIndex();
+		// In async mode, the Neo4jAutoIndexRunner takes care of the indexes
+		if (autoIndexMode != AutoIndexMode.NONE && !ogmProperties.getAutoIndex().isAsync()) {
+			long start = System.nanoTime();
 			sessionFactory.runAutoIndexManager(configuration);
+			logger.info("Auto index manager (" + autoIndexMode + ") finished in "
+				+ Duration.ofNanos(System.nanoTime() - start).toMillis() + "ms");
 		}
 
 		eventListenerProvider.stream().forEach(sessionFactory::register);
 		return sessionFactory;
 	}
 
+	@Bean
+	@ConditionalOnBean(SessionFactory.class)
+	@ConditionalOnMissingBean
+	public Neo4jDatabaseSessionFactory neo4jDatabaseSessionFactory(SessionFactory sessionFactory,
+		org.neo4j.ogm.config.Configuration configuration, BoltDriver ogmDriver, Map<String, Driver> drivers,
+		ObjectProvider<EventListener> eventListenerProvider,
+		ObjectProvider<Neo4jOgmSessionDecorator> sessionDecoratorProvider) {
+
+		return new Neo4jDatabaseSessionFactory(sessionFactory, configuration, ogmDriver.unwrap(Driver.class), drivers,
+			eventListenerProvider.orderedStream().collect(Collectors.toList()),
+			sessionDecoratorProvider.orderedStream().collect(Collectors.toList()));
+	}
+
+	@Bean
+	@ConditionalOnBean(SessionFactory.class)
+	@ConditionalOnProperty(prefix = "org.neo4j.driver.ogm.auto-index", name = "async", havingValue = "true")
+	public Neo4jAutoIndexRunner neo4jAutoIndexRunner(SessionFactory sessionFactory,
+		org.neo4j.ogm.config.Configuration configuration) {
+		return new Neo4jAutoIndexRunner(sessionFactory, configuration);
+	}
+
 	private String[] getPackagesToScan(ApplicationContext applicationContext) {
 		List<String> packages = EntityScanPackages.get(applicationContext).getPackageNames();
 		if (packages.isEmpty() && AutoConfigurationPackages.has(applicationContext)) {
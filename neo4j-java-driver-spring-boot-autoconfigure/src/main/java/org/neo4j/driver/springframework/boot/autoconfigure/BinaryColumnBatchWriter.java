@@ -0,0 +1,155 @@
+/*
+ * Copyright (c) 2019-2020 "Neo4j,"
+ * Neo4j Sweden AB [https://neo4j.com]
+ *
+ * This file is part of Neo4j.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.neo4j.driver.springframework.boot.autoconfigure;
+
+import java.io.BufferedOutputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+
+import org.springframework.util.Assert;
+
+/**
+ * Writes batches in a binary format modelled after Arrow's record batches, that is column by column, with a validity
+ * bitmap per column and dictionary encoded strings. All numbers are written big endian:
+ * <ul>
+ * <li>Once per stream: the magic bytes {@code N4JC} and the version of the format as byte ({@value #VERSION})</li>
+ * <li>Per batch: the number of rows and the number of columns as int, then each column</li>
+ * <li>Per column: its key as string, its {@link Neo4jColumnBatch.ColumnType type} as byte (the ordinal) and the
+ * validity bitmap with one bit per row, set for values that are not null, padded to whole bytes, followed by:
+ * <ul>
+ * <li>{@code LONG}: one long per row</li>
+ * <li>{@code DOUBLE}: one double per row</li>
+ * <li>{@code BOOLEAN}: a bitmap like the validity bitmap, set for rows that are true</li>
+ * <li>{@code STRING}: the number of strings in the dictionary as int, the strings, and the dictionary code of each
+ * row as int</li>
+ * <li>{@code OBJECT}: the string representation of each row</li>
+ * <li>{@code NULL}: nothing</li>
+ * </ul>
+ * </li>
+ * </ul>
+ * Strings are written as length in bytes (int) followed by their UTF-8 encoding. Values of null rows are written as
+ * zero, respectively as empty string or code zero.
+ *
+ * @author Michael J. Simons
+ */
+final class BinaryColumnBatchWriter implements Neo4jColumnBatchWriter {
+
+	static final byte[] MAGIC = "N4JC".getBytes(StandardCharsets.US_ASCII);
+
+	static final byte VERSION = 1;
+
+	private final DataOutputStream out;
+
+	private boolean headerWritten;
+
+	BinaryColumnBatchWriter(OutputStream out) {
+
+		Assert.notNull(out, "Output stream must not be null");
+		this.out = new DataOutputStream(new BufferedOutputStream(out));
+	}
+
+	@Override
+	public void write(Neo4jColumnBatch batch) throws IOException {
+
+		if (!this.headerWritten) {
+			this.out.write(MAGIC);
+			this.out.writeByte(VERSION);
+			this.headerWritten = true;
+		}
+
+		int rows = batch.size();
+		List<String> keys = batch.getKeys();
+		this.out.writeInt(rows);
+		this.out.writeInt(keys.size());
+		for (int i = 0; i < keys.size(); ++i) {
+			Neo4jColumnBatch.Column column = batch.getColumn(i);
+			writeString(keys.get(i));
+			this.out.writeByte(column.getType().ordinal());
+			writeBitmap(rows, row -> !column.isNull(row));
+			writeValues(column, rows);
+		}
+		this.out.flush();
+	}
+
+	private void writeValues(Neo4jColumnBatch.Column column, int rows) throws IOException {
+
+		switch (column.getType()) {
+			case LONG:
+				for (int row = 0; row < rows; ++row) {
+					this.out.writeLong(column.getLong(row));
+				}
+				break;
+			case DOUBLE:
+				for (int row = 0; row < rows; ++row) {
+					this.out.writeDouble(column.getDouble(row));
+				}
+				break;
+			case BOOLEAN:
+				writeBitmap(rows, column::getBoolean);
+				break;
+			case STRING:
+				List<String> dictionary = column.dictionary();
+				this.out.writeInt(dictionary.size());
+				for (String value : dictionary) {
+					writeString(value);
+				}
+				int[] codes = column.codes();
+				for (int row = 0; row < rows; ++row) {
+					this.out.writeInt(column.isNull(row) ? 0 : codes[row]);
+				}
+				break;
+			case OBJECT:
+				for (int row = 0; row < rows; ++row) {
+					writeString(column.isNull(row) ? "" : String.valueOf(column.getObject(row)));
+				}
+				break;
+			default:
+				break;
+		}
+	}
+
+	private void writeBitmap(int rows, RowPredicate predicate) throws IOException {
+
+		for (int offset = 0; offset < rows; offset += 8) {
+			int bits = 0;
+			for (int bit = 0; bit < 8 && offset + bit < rows; ++bit) {
+				if (predicate.test(offset + bit)) {
+					bits |= 1 << bit;
+				}
+			}
+			this.out.writeByte(bits);
+		}
+	}
+
+	private void writeString(String value) throws IOException {
+
+		byte[] bytes = value.getBytes(StandardCharsets.UTF_8);
+		this.out.writeInt(bytes.length);
+		this.out.write(bytes);
+	}
+
+	@FunctionalInterface
+	private interface RowPredicate {
+
+		boolean test(int row);
+	}
+}
@@ -0,0 +1,110 @@
+/*
+ * Copyright (c) 2019-2020 "Neo4j,"
+ * Neo4j Sweden AB [https://neo4j.com]
+ *
+ * This file is part of Neo4j.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.neo4j.driver.springframework.boot.autoconfigure;
+
+import java.io.IOException;
+import java.io.Writer;
+import java.util.List;
+
+import org.springframework.util.Assert;
+
+/**
+ * Writes batches as CSV according to RFC 4180.
+ *
+ * @author Michael J. Simons
+ */
+final class CsvColumnBatchWriter implements Neo4jColumnBatchWriter {
+
+	private final Writer out;
+
+	private boolean headerWritten;
+
+	CsvColumnBatchWriter(Writer out) {
+
+		Assert.notNull(out, "Writer must not be null");
+		this.out = out;
+	}
+
+	@Override
+	public void write(Neo4jColumnBatch batch) throws IOException {
+
+		List<String> keys = batch.getKeys();
+		if (!this.headerWritten && !keys.isEmpty()) {
+			for (int i = 0; i < keys.size(); ++i) {
+				if (i > 0) {
+					this.out.write(',');
+				}
+				writeEscaped(keys.get(i));
+			}
+			this.out.write("\r\n");
+			this.headerWritten = true;
+		}
+
+		// Rows must be written one after another, so the columns are visited row by row
+		for (int row = 0; row < batch.size(); ++row) {
+			for (int i = 0; i < keys.size(); ++i) {
+				if (i > 0) {
+					this.out.write(',');
+				}
+				writeValue(batch.getColumn(i), row);
+			}
+			this.out.write("\r\n");
+		}
+		this.out.flush();
+	}
+
+	private void writeValue(Neo4jColumnBatch.Column column, int row) throws IOException {
+
+		if (column.isNull(row)) {
+			return;
+		}
+		switch (column.getType()) {
+			case LONG:
+				this.out.write(Long.toString(column.getLong(row)));
+				break;
+			case DOUBLE:
+				this.out.write(Double.toString(column.getDouble(row)));
+				break;
+			case BOOLEAN:
+				this.out.write(column.getBoolean(row) ? "true" : "false");
+				break;
+			case STRING:
+				writeEscaped(column.getString(row));
+				break;
+			default:
+				writeEscaped(String.valueOf(column.getObject(row)));
+		}
+	}
+
+	private void writeEscaped(String value) throws IOException {
+
+		boolean quote = false;
+		for (int i = 0; i < value.length() && !quote; ++i) {
+			char c = value.charAt(i);
+			quote = c == ',' || c == '"' || c == '\n' || c == '\r';
+		}
+		if (!quote) {
+			this.out.write(value);
+			return;
+		}
+		this.out.write('"');
+		this.out.write(value.replace("\"", "\"\""));
+		this.out.write('"');
+	}
+}
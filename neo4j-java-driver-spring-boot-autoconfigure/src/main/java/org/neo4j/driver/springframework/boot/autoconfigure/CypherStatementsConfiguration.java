@@ -0,0 +1,57 @@
+/*
+ * Copyright (c) 2019-2020 "Neo4j,"
+ * Neo4j Sweden AB [https://neo4j.com]
+ *
+ * This file is part of Neo4j.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.neo4j.driver.springframework.boot.autoconfigure;
+
+import java.io.IOException;
+
+import org.neo4j.driver.Driver;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnMissingBean;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnSingleCandidate;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.io.ResourceLoader;
+import org.springframework.core.io.support.ResourcePatternUtils;
+
+/**
+ * Provides the registry of {@link Neo4jCypherStatements named Cypher statements} and explains them during startup.
+ *
+ * @author Michael J. Simons
+ */
+@Configuration(proxyBeanMethods = false)
+@ConditionalOnSingleCandidate(Driver.class)
+class CypherStatementsConfiguration {
+
+	@Bean
+	@ConditionalOnMissingBean
+	Neo4jCypherStatements neo4jCypherStatements(final ResourceLoader resourceLoader,
+		final Neo4jDriverProperties driverProperties) throws IOException {
+
+		return Neo4jCypherStatements.load(ResourcePatternUtils.getResourcePatternResolver(resourceLoader),
+			driverProperties.getStatements().getLocations());
+	}
+
+	@Bean
+	@ConditionalOnProperty(prefix = "org.neo4j.driver.statements", name = "warm-up", havingValue = "true", matchIfMissing = true)
+	CypherStatementsWarmUp neo4jCypherStatementsWarmUp(final Driver driver, final Neo4jCypherStatements statements,
+		final Neo4jDriverProperties driverProperties) {
+
+		return new CypherStatementsWarmUp(driver, statements, driverProperties.getStatements());
+	}
+}
@@ -0,0 +1,112 @@
+/*
+ * Copyright (c) 2019-2020 "Neo4j,"
+ * Neo4j Sweden AB [https://neo4j.com]
+ *
+ * This file is part of Neo4j.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.neo4j.driver.springframework.boot.autoconfigure;
+
+import java.time.Duration;
+import java.util.Map;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.stream.Collectors;
+
+import org.apache.commons.logging.Log;
+import org.apache.commons.logging.LogFactory;
+import org.neo4j.driver.Driver;
+import org.neo4j.driver.exceptions.ClientException;
+import org.springframework.beans.factory.SmartInitializingSingleton;
+
+/**
+ * Explains all {@link Neo4jCypherStatements named statements} once all singletons have been created, that is before
+ * the application starts to serve requests. Statements rejected by the server fail the startup if configured, other
+ * errors - for example an unreachable server or invalid credentials - and timeouts are only logged, as the warm-up is
+ * an optimization.
+ *
+ * @author Michael J. Simons
+ */
+final class CypherStatementsWarmUp implements SmartInitializingSingleton {
+
+	private static final Log logger = LogFactory.getLog(CypherStatementsWarmUp.class);
+
+	private static final String STATEMENT_ERROR_PREFIX = "Neo.ClientError.Statement.";
+
+	private final Driver driver;
+
+	private final Neo4jCypherStatements statements;
+
+	private final Neo4jDriverProperties.StatementSettings settings;
+
+	CypherStatementsWarmUp(Driver driver, Neo4jCypherStatements statements,
+		Neo4jDriverProperties.StatementSettings settings) {
+
+		this.driver = driver;
+		this.statements = statements;
+		this.settings = settings;
+	}
+
+	@Override
+	public void afterSingletonsInstantiated() {
+
+		if (this.statements.getNames().isEmpty()) {
+			return;
+		}
+
+		long start = System.nanoTime();
+		Duration timeout = this.settings.getWarmUpTimeout();
+		Map<String, Throwable> errors;
+		try {
+			errors = this.statements.explain(this.driver, this.settings.getWarmUpConcurrency())
+				.toCompletableFuture()
+				.get(timeout.toMillis(), TimeUnit.MILLISECONDS);
+		} catch (InterruptedException e) {
+			Thread.currentThread().interrupt();
+			return;
+		} catch (ExecutionException | TimeoutException e) {
+			logger.warn("Cypher statements have not been explained within " + timeout.toMillis() + "ms");
+			return;
+		}
+
+		Map<String, Throwable> rejected = errors.entrySet().stream()
+			.filter(entry -> isRejection(entry.getValue()))
+			.collect(Collectors.toMap(Map.Entry::getKey, Map.Entry::getValue));
+		if (!rejected.isEmpty() && this.settings.isFailOnError()) {
+			throw new IllegalStateException("Cypher statements have been rejected: " + rejected.entrySet().stream()
+				.map(entry -> entry.getKey() + " (" + entry.getValue().getMessage() + ")")
+				.collect(Collectors.joining(", ")));
+		}
+		errors.forEach((name, error) -> logger.warn("Could not explain Cypher statement '" + name + "'", error));
+		logger.info("Explained " + (this.statements.getNames().size() - errors.size()) + " of "
+			+ this.statements.getNames().size() + " Cypher statements in "
+			+ Duration.ofNanos(System.nanoTime() - start).toMillis() + "ms");
+	}
+
+	/**
+	 * Other client errors, for example authentication errors, are not caused by the statement.
+	 *
+	 * @param error the error explaining a statement
+	 * @return true if the server rejected the statement itself
+	 */
+	static boolean isRejection(Throwable error) {
+
+		if (!(error instanceof ClientException)) {
+			return false;
+		}
+		String code = ((ClientException) error).code();
+		return code != null && code.startsWith(STATEMENT_ERROR_PREFIX);
+	}
+}
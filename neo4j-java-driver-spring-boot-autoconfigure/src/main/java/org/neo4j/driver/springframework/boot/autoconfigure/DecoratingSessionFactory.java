@@ -0,0 +1,64 @@
+/*
+ * Copyright (c) 2019-2020 "Neo4j,"
+ * Neo4j Sweden AB [https://neo4j.com]
+ *
+ * This file is part of Neo4j.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.neo4j.driver.springframework.boot.autoconfigure;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+import org.neo4j.ogm.driver.Driver;
+import org.neo4j.ogm.session.Session;
+import org.neo4j.ogm.session.SessionFactory;
+import org.springframework.util.Assert;
+
+/**
+ * A {@link SessionFactory} that applies all {@link Neo4jOgmSessionDecorator session decorators} to each session it
+ * opens.
+ *
+ * @author Michael J. Simons
+ */
+final class DecoratingSessionFactory extends SessionFactory {
+
+	private final List<Neo4jOgmSessionDecorator> sessionDecorators;
+
+	DecoratingSessionFactory(Driver driver, List<Neo4jOgmSessionDecorator> sessionDecorators, String... packages) {
+
+		super(driver, packages);
+		this.sessionDecorators = Collections.unmodifiableList(new ArrayList<>(sessionDecorators));
+	}
+
+	@Override
+	public Session openSession() {
+		return decorate(super.openSession(), this.sessionDecorators);
+	}
+
+	Session openUndecoratedSession() {
+		return super.openSession();
+	}
+
+	static Session decorate(Session session, List<Neo4jOgmSessionDecorator> sessionDecorators) {
+
+		Session decoratedSession = session;
+		for (Neo4jOgmSessionDecorator sessionDecorator : sessionDecorators) {
+			decoratedSession = sessionDecorator.decorate(decoratedSession);
+			Assert.state(decoratedSession != null, () -> sessionDecorator + " returned a null session");
+		}
+		return decoratedSession;
+	}
+}
@@ -22,10 +22,16 @@ import org.neo4j.driver.AuthToken;
 import org.neo4j.driver.Config;
 import org.neo4j.driver.Driver;
 import org.neo4j.driver.GraphDatabase;
+import org.neo4j.driver.Logging;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.AnnotatedBeanDefinition;
+import org.springframework.beans.factory.config.BeanDefinition;
+import org.springframework.beans.factory.config.ConfigurableListableBeanFactory;
 import org.springframework.boot.autoconfigure.condition.ConditionalOnMissingBean;
 import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.core.type.MethodMetadata;
 
 /**
  * @author Michael J. Simons
@@ -36,11 +42,43 @@ class DriverConfiguration {
 	@Bean
 	@ConditionalOnMissingBean(Driver.class)
 	@ConditionalOnProperty(prefix = "org.neo4j.driver", name = "uri")
-	Driver neo4jDriver(final Neo4jDriverProperties driverProperties) {
+	Driver neo4jDriver(final Neo4jDriverProperties driverProperties,
+		final ObjectProvider<Neo4jAsyncLogging> asyncLogging) {
 
 		final AuthToken authToken = driverProperties.getAuthentication().asAuthToken();
-		final Config config = driverProperties.asDriverConfig();
+		final Logging logging = asyncLogging.getIfAvailable();
+		final Config config = logging == null ? driverProperties.asDriverConfig() : driverProperties.asDriverConfig(logging);
 
 		return GraphDatabase.driver(driverProperties.getUri(), authToken, config);
 	}
+
+	@Bean(destroyMethod = "close")
+	@ConditionalOnMissingBean
+	@ConditionalOnProperty(prefix = "org.neo4j.driver.logging", name = "async", havingValue = "true")
+	Neo4jAsyncLogging neo4jAsyncLogging(final Neo4jDriverProperties driverProperties) {
+
+		return driverProperties.getLogging().asAsyncLogging();
+	}
+
+	/**
+	 * Checks whether the driver with the given bean name has been created by this configuration, in which case the pool
+	 * settings of the {@link Neo4jDriverProperties} apply to it.
+	 *
+	 * @param beanFactory the bean factory containing the driver
+	 * @param beanName    the name of the driver bean
+	 * @return true, if the driver has been created from the properties of the starter
+	 */
+	static boolean isNeo4jDriverOfStarter(ConfigurableListableBeanFactory beanFactory, String beanName) {
+
+		if (!beanFactory.containsBeanDefinition(beanName)) {
+			return false;
+		}
+		BeanDefinition beanDefinition = beanFactory.getBeanDefinition(beanName);
+		if (!(beanDefinition instanceof AnnotatedBeanDefinition)) {
+			return false;
+		}
+		MethodMetadata factoryMethod = ((AnnotatedBeanDefinition) beanDefinition).getFactoryMethodMetadata();
+		return factoryMethod != null && DriverConfiguration.class.getName()
+			.equals(factoryMethod.getDeclaringClassName());
+	}
 }
@@ -0,0 +1,51 @@
+/*
+ * Copyright (c) 2019-2020 "Neo4j,"
+ * Neo4j Sweden AB [https://neo4j.com]
+ *
+ * This file is part of Neo4j.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.neo4j.driver.springframework.boot.autoconfigure;
+
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+
+/**
+ * Shared by the invocation handlers wrapping drivers and the objects they return.
+ *
+ * @author Michael J. Simons
+ */
+final class DriverProxies {
+
+	/**
+	 * Invokes the method on the target and rethrows whatever the method has thrown, unwrapped.
+	 *
+	 * @param target the object to invoke the method on
+	 * @param method the method to invoke
+	 * @param args   the arguments of the invocation, may be {@literal null}
+	 * @return the result of the method
+	 * @throws Throwable anything thrown by the method
+	 */
+	static Object invokeDelegate(Object target, Method method, Object[] args) throws Throwable {
+
+		try {
+			return method.invoke(target, args);
+		} catch (InvocationTargetException e) {
+			throw e.getCause();
+		}
+	}
+
+	private DriverProxies() {
+	}
+}
@@ -0,0 +1,424 @@
+/*
+ * Copyright (c) 2019-2020 "Neo4j,"
+ * Neo4j Sweden AB [https://neo4j.com]
+ *
+ * This file is part of Neo4j.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.neo4j.driver.springframework.boot.autoconfigure;
+
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.LockSupport;
+
+import org.neo4j.driver.Logger;
+import org.neo4j.driver.Logging;
+import org.springframework.scheduling.concurrent.CustomizableThreadFactory;
+import org.springframework.util.Assert;
+
+/**
+ * A {@link Logging} that decouples the driver from the actual logging system. Log events are put into a bounded,
+ * lock-free queue and handed to the delegate by a single background thread, so that a slow appender never blocks the
+ * event loop of the driver. Events are dropped when the queue is full.
+ * <p>
+ * Identical messages (same logger, level, format, parameters and type of cause) are rate-limited by the background
+ * thread: Only the configured number of identical messages is logged per window, the number of suppressed messages is
+ * logged once the window is over. This keeps a failover storm with hundreds of identical warnings readable.
+ * <p>
+ * Messages are formatted by the background thread, so the parameters passed to the logger should not change after
+ * the fact. The driver only passes immutable values.
+ *
+ * @author Michael J. Simons
+ */
+public final class Neo4jAsyncLogging implements Logging, AutoCloseable {
+
+	private static final long IDLE_TIMEOUT_IN_NANOS = TimeUnit.MILLISECONDS.toNanos(100);
+
+	/**
+	 * Upper bound of distinct messages being tracked for rate limiting per window. Messages exceeding that number are
+	 * not rate-limited.
+	 */
+	private static final int MAX_TRACKED_MESSAGES = 10_000;
+
+	private final Logging delegate;
+
+	private final int queueCapacity;
+
+	private final long rateLimitWindowInNanos;
+
+	private final int maxIdenticalMessages;
+
+	private final Map<String, Logger> loggers = new ConcurrentHashMap<>();
+
+	private final Queue<LogEvent> events = new ConcurrentLinkedQueue<>();
+
+	private final AtomicInteger queuedEvents = new AtomicInteger();
+
+	private final LongAdder droppedEvents = new LongAdder();
+
+	private final LongAdder suppressedEvents = new LongAdder();
+
+	/**
+	 * The rate limiting windows per distinct message, only accessed by the worker thread.
+	 */
+	private final Map<LogEvent, Window> windows = new HashMap<>();
+
+	private final Thread worker;
+
+	private volatile boolean workerWaiting;
+
+	private volatile boolean closed;
+
+	public Neo4jAsyncLogging(Logging delegate, int queueCapacity, Duration rateLimitWindow, int maxIdenticalMessages) {
+
+		Assert.notNull(delegate, "Delegate must not be null");
+		Assert.isTrue(queueCapacity > 0, "The queue capacity must be positive");
+		Assert.notNull(rateLimitWindow, "The rate limit window must not be null");
+		Assert.isTrue(maxIdenticalMessages > 0, "The maximum number of identical messages must be positive");
+
+		this.delegate = delegate;
+		this.queueCapacity = queueCapacity;
+		this.rateLimitWindowInNanos = rateLimitWindow.toNanos();
+		this.maxIdenticalMessages = maxIdenticalMessages;
+
+		CustomizableThreadFactory threadFactory = new CustomizableThreadFactory("neo4j-driver-logging-");
+		threadFactory.setDaemon(true);
+		this.worker = threadFactory.newThread(this::processEvents);
+		this.worker.start();
+	}
+
+	@Override
+	public Logger getLog(String name) {
+
+		Logger logger = this.loggers.get(name);
+		if (logger == null) {
+			logger = this.loggers.computeIfAbsent(name, n -> new AsyncLogger(this.delegate.getLog(n)));
+		}
+		return logger;
+	}
+
+	/**
+	 * @return the number of events that have been dropped because the queue was full
+	 */
+	public long getDroppedEvents() {
+		return this.droppedEvents.sum();
+	}
+
+	/**
+	 * @return the number of identical events that have been suppressed by the rate limiting
+	 */
+	public long getSuppressedEvents() {
+		return this.suppressedEvents.sum();
+	}
+
+	/**
+	 * Stops the background thread after all queued events have been processed. Events logged afterwards are passed
+	 * directly to the delegate.
+	 */
+	@Override
+	public void close() {
+
+		if (this.closed) {
+			return;
+		}
+		this.closed = true;
+		LockSupport.unpark(this.worker);
+		try {
+			this.worker.join(TimeUnit.SECONDS.toMillis(5));
+		} catch (InterruptedException ex) {
+			Thread.currentThread().interrupt();
+		}
+
+		// Events that raced with closing
+		LogEvent event;
+		while ((event = this.events.poll()) != null) {
+			event.deliver();
+		}
+	}
+
+	private void enqueue(LogEvent event) {
+
+		if (this.closed) {
+			event.deliver();
+			return;
+		}
+
+		if (this.queuedEvents.incrementAndGet() > this.queueCapacity) {
+			this.queuedEvents.decrementAndGet();
+			this.droppedEvents.increment();
+			return;
+		}
+
+		this.events.offer(event);
+		if (this.workerWaiting) {
+			LockSupport.unpark(this.worker);
+		}
+	}
+
+	private void processEvents() {
+
+		long nextSweep = System.nanoTime() + this.rateLimitWindowInNanos;
+		while (!this.closed || !this.events.isEmpty()) {
+			LogEvent event = this.events.poll();
+			if (event == null) {
+				this.workerWaiting = true;
+				if (this.events.isEmpty() && !this.closed) {
+					LockSupport.parkNanos(this, IDLE_TIMEOUT_IN_NANOS);
+				}
+				this.workerWaiting = false;
+			} else {
+				this.queuedEvents.decrementAndGet();
+				process(event, System.nanoTime());
+			}
+
+			long now = System.nanoTime();
+			if (now - nextSweep >= 0) {
+				sweepWindows(now, false);
+				nextSweep = now + this.rateLimitWindowInNanos;
+			}
+		}
+		sweepWindows(System.nanoTime(), true);
+	}
+
+	private void process(LogEvent event, long now) {
+
+		Window window = this.windows.get(event);
+		if (window == null || now - window.start >= this.rateLimitWindowInNanos) {
+			if (window != null) {
+				reportSuppressedEvents(event, window);
+			} else if (this.windows.size() >= MAX_TRACKED_MESSAGES) {
+				event.deliver();
+				return;
+			}
+			window = new Window(now);
+			this.windows.put(event, window);
+		}
+
+		if (++window.count > this.maxIdenticalMessages) {
+			++window.suppressed;
+			this.suppressedEvents.increment();
+			return;
+		}
+		event.deliver();
+	}
+
+	private void sweepWindows(long now, boolean all) {
+
+		Iterator<Map.Entry<LogEvent, Window>> iterator = this.windows.entrySet().iterator();
+		while (iterator.hasNext()) {
+			Map.Entry<LogEvent, Window> entry = iterator.next();
+			if (all || now - entry.getValue().start >= this.rateLimitWindowInNanos) {
+				reportSuppressedEvents(entry.getKey(), entry.getValue());
+				iterator.remove();
+			}
+		}
+	}
+
+	private void reportSuppressedEvents(LogEvent event, Window window) {
+
+		if (window.suppressed == 0) {
+			return;
+		}
+		String prefix = "Suppressed " + window.suppressed + " identical messages within "
+			+ TimeUnit.NANOSECONDS.toMillis(this.rateLimitWindowInNanos) + "ms: ";
+		new LogEvent(event.target, event.level, prefix + event.format, event.params, event.cause).deliver();
+	}
+
+	enum Level {
+
+		ERROR, WARN, INFO, DEBUG, TRACE
+	}
+
+	/**
+	 * A single log event. Two events are equal when they would produce the same message.
+	 */
+	static final class LogEvent {
+
+		private final Logger target;
+
+		private final Level level;
+
+		private final String format;
+
+		private final Object[] params;
+
+		private final Throwable cause;
+
+		LogEvent(Logger target, Level level, String format, Object[] params, Throwable cause) {
+			this.target = target;
+			this.level = level;
+			this.format = format;
+			this.params = params;
+			this.cause = cause;
+		}
+
+		void deliver() {
+
+			switch (this.level) {
+				case ERROR:
+					this.target.error(this.format, this.cause);
+					break;
+				case WARN:
+					if (this.cause == null) {
+						this.target.warn(this.format, this.params);
+					} else {
+						this.target.warn(this.format, this.cause);
+					}
+					break;
+				case INFO:
+					this.target.info(this.format, this.params);
+					break;
+				case DEBUG:
+					if (this.cause == null) {
+						this.target.debug(this.format, this.params);
+					} else {
+						this.target.debug(this.format, this.cause);
+					}
+					break;
+				case TRACE:
+					this.target.trace(this.format, this.params);
+					break;
+				default:
+					throw new IllegalStateException("Unsupported level " + this.level);
+			}
+		}
+
+		@Override
+		public boolean equals(Object o) {
+			if (this == o) {
+				return true;
+			}
+			if (!(o instanceof LogEvent)) {
+				return false;
+			}
+			LogEvent other = (LogEvent) o;
+			return this.target == other.target && this.level == other.level && this.format.equals(other.format)
+				&& Arrays.equals(this.params, other.params) && Objects.equals(causeType(), other.causeType());
+		}
+
+		@Override
+		public int hashCode() {
+			return Objects.hash(this.target, this.level, this.format, Arrays.hashCode(this.params), causeType());
+		}
+
+		private Class<?> causeType() {
+			return this.cause == null ? null : this.cause.getClass();
+		}
+	}
+
+	private static final class Window {
+
+		private final long start;
+
+		private int count;
+
+		private int suppressed;
+
+		Window(long start) {
+			this.start = start;
+		}
+	}
+
+	final class AsyncLogger implements Logger {
+
+		private final Logger target;
+
+		/**
+		 * The driver's {@link Logger} cannot tell whether info and warn are enabled, the loggers of
+		 * {@link Neo4jSpringJclLogging} can. Messages for other loggers are always queued at those levels.
+		 */
+		private final Neo4jSpringJclLogging.SpringJclLogger springJclTarget;
+
+		AsyncLogger(Logger target) {
+			this.target = target;
+			this.springJclTarget = target instanceof Neo4jSpringJclLogging.SpringJclLogger ?
+				(Neo4jSpringJclLogging.SpringJclLogger) target : null;
+		}
+
+		@Override
+		public void error(String message, Throwable cause) {
+			enqueue(new LogEvent(this.target, Level.ERROR, message, null, cause));
+		}
+
+		@Override
+		public void info(String message, Object... params) {
+			if (isInfoEnabled()) {
+				enqueue(new LogEvent(this.target, Level.INFO, message, params, null));
+			}
+		}
+
+		@Override
+		public void warn(String message, Object... params) {
+			if (isWarnEnabled()) {
+				enqueue(new LogEvent(this.target, Level.WARN, message, params, null));
+			}
+		}
+
+		@Override
+		public void warn(String message, Throwable cause) {
+			if (isWarnEnabled()) {
+				enqueue(new LogEvent(this.target, Level.WARN, message, null, cause));
+			}
+		}
+
+		@Override
+		public void debug(String message, Object... params) {
+			if (this.target.isDebugEnabled()) {
+				enqueue(new LogEvent(this.target, Level.DEBUG, message, params, null));
+			}
+		}
+
+		@Override
+		public void debug(String message, Throwable cause) {
+			if (this.target.isDebugEnabled()) {
+				enqueue(new LogEvent(this.target, Level.DEBUG, message, null, cause));
+			}
+		}
+
+		@Override
+		public void trace(String message, Object... params) {
+			if (this.target.isTraceEnabled()) {
+				enqueue(new LogEvent(this.target, Level.TRACE, message, params, null));
+			}
+		}
+
+		@Override
+		public boolean isTraceEnabled() {
+			return this.target.isTraceEnabled();
+		}
+
+		@Override
+		public boolean isDebugEnabled() {
+			return this.target.isDebugEnabled();
+		}
+
+		private boolean isInfoEnabled() {
+			return this.springJclTarget == null || this.springJclTarget.isInfoEnabled();
+		}
+
+		private boolean isWarnEnabled() {
+			return this.springJclTarget == null || this.springJclTarget.isWarnEnabled();
+		}
+	}
+}
@@ -0,0 +1,142 @@
+/*
+ * Copyright (c) 2019-2020 "Neo4j,"
+ * Neo4j Sweden AB [https://neo4j.com]
+ *
+ * This file is part of Neo4j.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.neo4j.driver.springframework.boot.autoconfigure;
+
+import java.time.Duration;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionStage;
+
+import org.apache.commons.logging.Log;
+import org.apache.commons.logging.LogFactory;
+import org.neo4j.ogm.config.AutoIndexMode;
+import org.neo4j.ogm.config.Configuration;
+import org.neo4j.ogm.session.SessionFactory;
+import org.springframework.beans.factory.InitializingBean;
+import org.springframework.scheduling.concurrent.CustomizableThreadFactory;
+import org.springframework.util.Assert;
+
+/**
+ * Runs the auto index manager of a {@link SessionFactory} in the background. Creating or validating indexes and
+ * constraints of a big domain model takes a while, so that running it in the background lets the application context
+ * start in the meantime. The runner starts as soon as the bean has been initialized. Use the corresponding health
+ * indicator in the readiness group or {@link #getCompletion()} to wait for the indexes to be in place.
+ *
+ * @author Michael J. Simons
+ */
+public final class Neo4jAutoIndexRunner implements InitializingBean {
+
+	/**
+	 * The state of the auto index manager.
+	 */
+	public enum State {
+
+		PENDING, RUNNING, FINISHED, FAILED
+	}
+
+	private static final Log logger = LogFactory.getLog(Neo4jAutoIndexRunner.class);
+
+	private final SessionFactory sessionFactory;
+
+	private final Configuration configuration;
+
+	private final CompletableFuture<Duration> completion = new CompletableFuture<>();
+
+	private volatile State state = State.PENDING;
+
+	private volatile Throwable failure;
+
+	public Neo4jAutoIndexRunner(SessionFactory sessionFactory, Configuration configuration) {
+
+		Assert.notNull(sessionFactory, "Session factory must not be null");
+		Assert.notNull(configuration, "Configuration must not be null");
+		this.sessionFactory = sessionFactory;
+		this.configuration = configuration;
+	}
+
+	@Override
+	public void afterPropertiesSet() {
+		start();
+	}
+
+	/**
+	 * Starts the auto index manager in the background unless it already has been started.
+	 */
+	public synchronized void start() {
+
+		if (this.state != State.PENDING) {
+			return;
+		}
+
+		if (this.configuration.getAutoIndex() == AutoIndexMode.NONE) {
+			this.state = State.FINISHED;
+			this.completion.complete(Duration.ZERO);
+			return;
+		}
+
+		this.state = State.RUNNING;
+		CustomizableThreadFactory threadFactory = new CustomizableThreadFactory("neo4j-auto-index-");
+		threadFactory.setDaemon(true);
+		threadFactory.newThread(this::run).start();
+	}
+
+	public State getState() {
+		return this.state;
+	}
+
+	/**
+	 * @return the time the auto index manager needed, if it already finished successfully
+	 */
+	public Optional<Duration> getDuration() {
+		return this.state == State.FINISHED ? Optional.of(this.completion.join()) : Optional.empty();
+	}
+
+	/**
+	 * @return the reason the auto index manager failed, if it failed
+	 */
+	public Optional<Throwable> getFailure() {
+		return Optional.ofNullable(this.failure);
+	}
+
+	/**
+	 * @return a stage completing with the time the auto index manager needed or exceptionally, when it failed
+	 */
+	public CompletionStage<Duration> getCompletion() {
+		return this.completion.thenApply(duration -> duration);
+	}
+
+	private void run() {
+
+		AutoIndexMode mode = this.configuration.getAutoIndex();
+		long start = System.nanoTime();
+		try {
+			this.sessionFactory.runAutoIndexManager(this.configuration);
+			Duration duration = Duration.ofNanos(System.nanoTime() - start);
+			logger.info("Auto index manager (" + mode + ") finished in " + duration.toMillis() + "ms");
+			this.state = State.FINISHED;
+			this.completion.complete(duration);
+		} catch (RuntimeException ex) {
+			logger.error("Auto index manager (" + mode + ") failed after "
+				+ Duration.ofNanos(System.nanoTime() - start).toMillis() + "ms", ex);
+			this.failure = ex;
+			this.state = State.FAILED;
+			this.completion.completeExceptionally(ex);
+		}
+	}
+}
@@ -0,0 +1,426 @@
+/*
+ * Copyright (c) 2019-2020 "Neo4j,"
+ * Neo4j Sweden AB [https://neo4j.com]
+ *
+ * This file is part of Neo4j.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.neo4j.driver.springframework.boot.autoconfigure;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.Queue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.LockSupport;
+import java.util.function.Function;
+
+import org.apache.commons.logging.Log;
+import org.apache.commons.logging.LogFactory;
+import org.neo4j.driver.Driver;
+import org.neo4j.driver.Session;
+import org.neo4j.driver.SessionConfig;
+import org.springframework.scheduling.concurrent.CustomizableThreadFactory;
+import org.springframework.util.Assert;
+
+/**
+ * Collects items from any number of threads and writes them in batches through one parameterized statement. Each item
+ * is mapped to a row by the calling thread and put into a lock-free queue. A background thread writes the rows as soon
+ * as a full batch is queued or the oldest queued row has waited for the flush interval, whatever comes first. The
+ * statement gets the rows of a batch as parameter {@code rows} and is executed in one write transaction per batch,
+ * for example {@code UNWIND $rows AS row CREATE (e:Event) SET e = row}.
+ * <p>
+ * The number of rows that are queued or being written is bounded by the capacity of the writer. When the database
+ * falls behind and the capacity is exhausted, {@link #offer(Object)} returns {@literal false} and {@link #write(Object)}
+ * blocks until rows have been written or the offer timeout is reached. Batches that cannot be written are logged and
+ * dropped, they are retried by the driver for transient errors only.
+ * <p>
+ * Writers are created through {@link Neo4jBatchWriters}.
+ *
+ * @param <T> the type of items written
+ * @author Michael J. Simons
+ */
+public final class Neo4jBatchWriter<T> implements AutoCloseable {
+
+	private static final Log logger = LogFactory.getLog(Neo4jBatchWriter.class);
+
+	private static final long CLOSE_TIMEOUT_IN_MILLIS = TimeUnit.SECONDS.toMillis(30);
+
+	private final String name;
+
+	private final Driver driver;
+
+	private final SessionConfig sessionConfig;
+
+	private final String statement;
+
+	private final Function<T, Map<String, Object>> rowMapper;
+
+	private final int batchSize;
+
+	private final long flushIntervalInNanos;
+
+	private final Duration offerTimeout;
+
+	private final List<Neo4jBatchWriterListener> listeners;
+
+	private final Queue<Map<String, Object>> rows = new ConcurrentLinkedQueue<>();
+
+	private final AtomicInteger queuedRows = new AtomicInteger();
+
+	/**
+	 * One permit per row that can be queued. Permits are released after a row has been written, so that the capacity
+	 * covers the rows being written, too.
+	 */
+	private final Semaphore capacity;
+
+	private final Queue<CompletableFuture<Void>> flushRequests = new ConcurrentLinkedQueue<>();
+
+	private final LongAdder writtenRows = new LongAdder();
+
+	private final LongAdder failedRows = new LongAdder();
+
+	private final LongAdder rejectedRows = new LongAdder();
+
+	private final Thread worker;
+
+	private volatile boolean workerWaiting;
+
+	private volatile boolean closed;
+
+	Neo4jBatchWriter(String name, Driver driver, SessionConfig sessionConfig, String statement,
+		Function<T, Map<String, Object>> rowMapper, Neo4jDriverProperties.BatchWriterSettings settings,
+		List<Neo4jBatchWriterListener> listeners) {
+
+		Assert.hasText(name, "Name must not be empty");
+		Assert.notNull(driver, "Driver must not be null");
+		Assert.notNull(sessionConfig, "Session config must not be null");
+		Assert.hasText(statement, "Statement must not be empty");
+		Assert.notNull(rowMapper, "Row mapper must not be null");
+		Assert.isTrue(settings.getBatchSize() > 0, "The batch size must be positive");
+		Assert.isTrue(settings.getCapacity() >= settings.getBatchSize(),
+			"The capacity must not be smaller than the batch size");
+		Assert.notNull(settings.getFlushInterval(), "The flush interval must not be null");
+		Assert.notNull(settings.getOfferTimeout(), "The offer timeout must not be null");
+
+		this.name = name;
+		this.driver = driver;
+		this.sessionConfig = sessionConfig;
+		this.statement = statement;
+		this.rowMapper = rowMapper;
+		this.batchSize = settings.getBatchSize();
+		this.flushIntervalInNanos = settings.getFlushInterval().toNanos();
+		this.offerTimeout = settings.getOfferTimeout();
+		this.listeners = Collections.unmodifiableList(new ArrayList<>(listeners));
+		this.capacity = new Semaphore(settings.getCapacity());
+
+		this.listeners.forEach(listener -> listener.writerCreated(this));
+
+		CustomizableThreadFactory threadFactory = new CustomizableThreadFactory("neo4j-batch-writer-" + name + "-");
+		threadFactory.setDaemon(true);
+		this.worker = threadFactory.newThread(this::processRows);
+		this.worker.start();
+	}
+
+	/**
+	 * @return the name of this writer
+	 */
+	public String getName() {
+		return this.name;
+	}
+
+	/**
+	 * Queues an item without waiting for free capacity.
+	 *
+	 * @param item the item to write
+	 * @return {@literal true} if the item has been queued, {@literal false} if the capacity is exhausted
+	 */
+	public boolean offer(T item) {
+
+		if (!this.capacity.tryAcquire()) {
+			this.rejectedRows.increment();
+			return false;
+		}
+		enqueue(item);
+		return true;
+	}
+
+	/**
+	 * Queues an item, waiting at most the given time for free capacity.
+	 *
+	 * @param item    the item to write
+	 * @param timeout the maximum time to wait for free capacity
+	 * @return {@literal true} if the item has been queued, {@literal false} if the capacity is still exhausted
+	 */
+	public boolean offer(T item, Duration timeout) {
+
+		try {
+			if (!this.capacity.tryAcquire(timeout.toNanos(), TimeUnit.NANOSECONDS)) {
+				this.rejectedRows.increment();
+				return false;
+			}
+		} catch (InterruptedException e) {
+			Thread.currentThread().interrupt();
+			this.rejectedRows.increment();
+			return false;
+		}
+		enqueue(item);
+		return true;
+	}
+
+	/**
+	 * Queues an item, waiting at most for the configured offer timeout for free capacity.
+	 *
+	 * @param item the item to write
+	 * @throws RejectedExecutionException if the capacity is still exhausted after the offer timeout
+	 */
+	public void write(T item) {
+
+		if (!offer(item, this.offerTimeout)) {
+			throw new RejectedExecutionException(
+				"Batch writer " + this.name + " is at capacity, the database does not keep up");
+		}
+	}
+
+	/**
+	 * Requests all rows queued so far to be written.
+	 *
+	 * @return a stage that completes when the rows have been written, exceptionally when a batch failed
+	 */
+	public CompletableFuture<Void> flush() {
+
+		CompletableFuture<Void> request = new CompletableFuture<>();
+		if (this.closed && !this.worker.isAlive()) {
+			request.complete(null);
+			return request;
+		}
+		this.flushRequests.offer(request);
+		LockSupport.unpark(this.worker);
+		return request;
+	}
+
+	/**
+	 * @return the number of rows waiting to be written
+	 */
+	public int getQueueDepth() {
+		return this.queuedRows.get();
+	}
+
+	/**
+	 * @return the number of rows that have been written
+	 */
+	public long getWrittenRows() {
+		return this.writtenRows.sum();
+	}
+
+	/**
+	 * @return the number of rows in batches that could not be written
+	 */
+	public long getFailedRows() {
+		return this.failedRows.sum();
+	}
+
+	/**
+	 * @return the number of items that have not been accepted because the capacity was exhausted
+	 */
+	public long getRejectedRows() {
+		return this.rejectedRows.sum();
+	}
+
+	/**
+	 * Stops accepting items and writes all queued rows before the background thread stops.
+	 */
+	@Override
+	public void close() {
+
+		if (this.closed) {
+			return;
+		}
+		this.closed = true;
+		LockSupport.unpark(this.worker);
+		try {
+			this.worker.join(CLOSE_TIMEOUT_IN_MILLIS);
+		} catch (InterruptedException e) {
+			Thread.currentThread().interrupt();
+		}
+
+		// Rows that raced with closing
+		if (!this.worker.isAlive()) {
+			List<Map<String, Object>> batch = nextBatch();
+			while (!batch.isEmpty()) {
+				write(batch);
+				batch = nextBatch();
+			}
+			CompletableFuture<Void> request = this.flushRequests.poll();
+			while (request != null) {
+				request.complete(null);
+				request = this.flushRequests.poll();
+			}
+		} else {
+			logger.warn("Batch writer " + this.name + " did not finish writing " + this.queuedRows.get() + " rows in time");
+		}
+		this.listeners.forEach(listener -> listener.writerClosed(this));
+	}
+
+	private void enqueue(T item) {
+
+		if (this.closed) {
+			this.capacity.release();
+			throw new IllegalStateException("Batch writer " + this.name + " has been closed");
+		}
+
+		Map<String, Object> row;
+		try {
+			row = this.rowMapper.apply(item);
+		} catch (RuntimeException e) {
+			this.capacity.release();
+			throw e;
+		}
+		// Counted before the row is queued, so that the worker can't take it before and the count never gets negative
+		int queued = this.queuedRows.incrementAndGet();
+		this.rows.offer(row);
+		if (queued >= this.batchSize && this.workerWaiting) {
+			LockSupport.unpark(this.worker);
+		}
+	}
+
+	private void processRows() {
+
+		long oldestRow = 0L;
+		boolean rowsPending = false;
+		while (true) {
+			if (!this.flushRequests.isEmpty()) {
+				writeRequestedFlushes();
+				rowsPending = false;
+				continue;
+			}
+
+			long now = System.nanoTime();
+			int queued = this.queuedRows.get();
+			if (queued == 0) {
+				if (this.closed) {
+					break;
+				}
+				rowsPending = false;
+				waitForRows(this.flushIntervalInNanos);
+				continue;
+			}
+
+			if (!rowsPending) {
+				oldestRow = now;
+				rowsPending = true;
+			}
+			if (queued >= this.batchSize || this.closed || now - oldestRow >= this.flushIntervalInNanos) {
+				write(nextBatch());
+				oldestRow = now;
+			} else {
+				waitForRows(oldestRow + this.flushIntervalInNanos - now);
+			}
+		}
+		writeRequestedFlushes();
+	}
+
+	private void waitForRows(long nanos) {
+
+		this.workerWaiting = true;
+		if (this.queuedRows.get() < this.batchSize && this.flushRequests.isEmpty() && !this.closed) {
+			LockSupport.parkNanos(this, nanos);
+		}
+		this.workerWaiting = false;
+	}
+
+	private void writeRequestedFlushes() {
+
+		List<CompletableFuture<Void>> requests = new ArrayList<>();
+		CompletableFuture<Void> request;
+		while ((request = this.flushRequests.poll()) != null) {
+			requests.add(request);
+		}
+
+		int pending = this.queuedRows.get();
+		Throwable failure = null;
+		while (pending > 0) {
+			List<Map<String, Object>> batch = nextBatch();
+			if (batch.isEmpty()) {
+				break;
+			}
+			pending -= batch.size();
+			Throwable batchFailure = write(batch);
+			if (failure == null) {
+				failure = batchFailure;
+			}
+		}
+
+		for (CompletableFuture<Void> completedRequest : requests) {
+			if (failure == null) {
+				completedRequest.complete(null);
+			} else {
+				completedRequest.completeExceptionally(failure);
+			}
+		}
+	}
+
+	private List<Map<String, Object>> nextBatch() {
+
+		List<Map<String, Object>> batch = new ArrayList<>(Math.min(this.batchSize, this.queuedRows.get()));
+		Map<String, Object> row;
+		while (batch.size() < this.batchSize && (row = this.rows.poll()) != null) {
+			batch.add(row);
+		}
+		this.queuedRows.addAndGet(-batch.size());
+		return batch;
+	}
+
+	private Throwable write(List<Map<String, Object>> batch) {
+
+		if (batch.isEmpty()) {
+			return null;
+		}
+		long start = System.nanoTime();
+		Throwable failure = null;
+		try (Session session = this.driver.session(this.sessionConfig)) {
+			session.writeTransaction(tx -> tx.run(this.statement, Collections.singletonMap("rows", batch)).consume());
+			this.writtenRows.add(batch.size());
+		} catch (RuntimeException e) {
+			failure = e;
+			this.failedRows.add(batch.size());
+			logger.warn("Batch writer " + this.name + " could not write " + batch.size() + " rows: " + e.getMessage());
+		} finally {
+			this.capacity.release(batch.size());
+		}
+
+		Duration duration = Duration.ofNanos(System.nanoTime() - start);
+		for (Neo4jBatchWriterListener listener : this.listeners) {
+			try {
+				listener.batchWritten(this, batch.size(), duration, failure);
+			} catch (RuntimeException e) {
+				logger.warn("Batch writer listener " + listener + " failed: " + e.getMessage());
+			}
+		}
+		return failure;
+	}
+
+	@Override
+	public String toString() {
+		return "Neo4jBatchWriter{" + "name='" + this.name + '\'' + '}';
+	}
+}
@@ -0,0 +1,58 @@
+/*
+ * Copyright (c) 2019-2020 "Neo4j,"
+ * Neo4j Sweden AB [https://neo4j.com]
+ *
+ * This file is part of Neo4j.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.neo4j.driver.springframework.boot.autoconfigure;
+
+import java.time.Duration;
+
+/**
+ * Gets notified about the lifecycle of {@link Neo4jBatchWriter batch writers} and each batch they write. All beans of
+ * this type are registered with the writers created by {@link Neo4jBatchWriters}. Listeners are called from the
+ * background thread of a writer and should return quickly.
+ *
+ * @author Michael J. Simons
+ */
+public interface Neo4jBatchWriterListener {
+
+	/**
+	 * Called when a writer has been created.
+	 *
+	 * @param writer the new writer
+	 */
+	default void writerCreated(Neo4jBatchWriter<?> writer) {
+	}
+
+	/**
+	 * Called after each batch, successful or not.
+	 *
+	 * @param writer   the writer that wrote the batch
+	 * @param rows     the number of rows in the batch
+	 * @param duration the time it took to write the batch, including retries
+	 * @param failure  the reason the batch could not be written, {@literal null} if it has been written
+	 */
+	default void batchWritten(Neo4jBatchWriter<?> writer, int rows, Duration duration, Throwable failure) {
+	}
+
+	/**
+	 * Called when a writer has been closed.
+	 *
+	 * @param writer the closed writer
+	 */
+	default void writerClosed(Neo4jBatchWriter<?> writer) {
+	}
+}
@@ -0,0 +1,115 @@
+/*
+ * Copyright (c) 2019-2020 "Neo4j,"
+ * Neo4j Sweden AB [https://neo4j.com]
+ *
+ * This file is part of Neo4j.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.neo4j.driver.springframework.boot.autoconfigure;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.function.Function;
+
+import org.neo4j.driver.Driver;
+import org.neo4j.driver.SessionConfig;
+import org.springframework.util.Assert;
+
+/**
+ * Creates {@link Neo4jBatchWriter batch writers} with the settings from {@code org.neo4j.driver.batch-writer} and
+ * closes them together with the application context. Writers created here are notified to all
+ * {@link Neo4jBatchWriterListener listeners} of the application context. Writers that are closed before are not
+ * tracked any longer.
+ *
+ * @author Michael J. Simons
+ */
+public final class Neo4jBatchWriters implements AutoCloseable {
+
+	private final Driver driver;
+
+	private final Neo4jDriverProperties.BatchWriterSettings settings;
+
+	private final List<Neo4jBatchWriterListener> listeners;
+
+	private final List<Neo4jBatchWriter<?>> writers = new CopyOnWriteArrayList<>();
+
+	public Neo4jBatchWriters(Driver driver, Neo4jDriverProperties.BatchWriterSettings settings,
+		List<Neo4jBatchWriterListener> listeners) {
+
+		Assert.notNull(driver, "Driver must not be null");
+		Assert.notNull(settings, "Settings must not be null");
+		Assert.notNull(listeners, "Listeners must not be null");
+
+		this.driver = driver;
+		this.settings = settings;
+		this.listeners = new ArrayList<>(listeners);
+		this.listeners.add(new Neo4jBatchWriterListener() {
+			@Override
+			public void writerClosed(Neo4jBatchWriter<?> writer) {
+				Neo4jBatchWriters.this.writers.remove(writer);
+			}
+		});
+	}
+
+	/**
+	 * Creates a writer against the default database.
+	 *
+	 * @param name      the name of the writer, used for its thread and its metrics
+	 * @param statement the statement executed for each batch, getting the rows as parameter {@code rows}
+	 * @param rowMapper maps items to rows
+	 * @param <T>       the type of items written
+	 * @return a new writer
+	 */
+	public <T> Neo4jBatchWriter<T> create(String name, String statement, Function<T, Map<String, Object>> rowMapper) {
+		return create(name, SessionConfig.defaultConfig(), statement, rowMapper);
+	}
+
+	/**
+	 * Creates a writer that opens its sessions with the given configuration, for example against another database.
+	 *
+	 * @param name          the name of the writer, used for its thread and its metrics
+	 * @param sessionConfig the configuration of the sessions used to write batches
+	 * @param statement     the statement executed for each batch, getting the rows as parameter {@code rows}
+	 * @param rowMapper     maps items to rows
+	 * @param <T>           the type of items written
+	 * @return a new writer
+	 */
+	public <T> Neo4jBatchWriter<T> create(String name, SessionConfig sessionConfig, String statement,
+		Function<T, Map<String, Object>> rowMapper) {
+
+		Neo4jBatchWriter<T> writer = new Neo4jBatchWriter<>(name, this.driver, sessionConfig, statement, rowMapper,
+			this.settings, this.listeners);
+		this.writers.add(writer);
+		return writer;
+	}
+
+	/**
+	 * @return the number of writers created by this factory that have not been closed yet
+	 */
+	int getOpenWriters() {
+		return this.writers.size();
+	}
+
+	/**
+	 * Closes all writers created by this factory, writing their queued rows.
+	 */
+	@Override
+	public void close() {
+
+		this.writers.forEach(Neo4jBatchWriter::close);
+		this.writers.clear();
+	}
+}
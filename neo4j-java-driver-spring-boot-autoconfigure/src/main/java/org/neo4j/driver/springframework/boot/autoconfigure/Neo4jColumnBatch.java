@@ -0,0 +1,370 @@
+/*
+ * Copyright (c) 2019-2020 "Neo4j,"
+ * Neo4j Sweden AB [https://neo4j.com]
+ *
+ * This file is part of Neo4j.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.neo4j.driver.springframework.boot.autoconfigure;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.neo4j.driver.Record;
+import org.neo4j.driver.Value;
+import org.neo4j.driver.internal.types.InternalTypeSystem;
+import org.neo4j.driver.types.TypeSystem;
+import org.springframework.util.Assert;
+
+/**
+ * A batch of up to {@link #capacity()} records stored column by column. Integers, floats and booleans are stored in
+ * primitive arrays, strings as codes into a dictionary per column, so that repeated strings are held only once per
+ * batch. Values of other types are stored as objects.
+ * <p>
+ * The type of a column is determined by its first value that is not null. A column of integers receiving a float is
+ * widened to floats and a column of floats stores integers as floats, any other mismatch turns the column into a
+ * column of objects. Batches are reused by {@link Neo4jColumnarReader}: {@link #clear() clearing} a batch keeps all
+ * arrays, so that reading further records doesn't allocate anything but the strings that are not yet part of a
+ * dictionary.
+ *
+ * @author Michael J. Simons
+ */
+public final class Neo4jColumnBatch {
+
+	/**
+	 * The types of columns.
+	 */
+	public enum ColumnType {
+
+		/**
+		 * A column without any value that isn't null.
+		 */
+		NULL,
+
+		LONG, DOUBLE, BOOLEAN, STRING, OBJECT
+	}
+
+	private static final TypeSystem TYPE_SYSTEM = InternalTypeSystem.TYPE_SYSTEM;
+
+	private final int capacity;
+
+	private List<String> keys = Collections.emptyList();
+
+	private Column[] columns = new Column[0];
+
+	private int size;
+
+	/**
+	 * Creates a new, empty batch.
+	 *
+	 * @param capacity the maximum number of records in this batch
+	 */
+	public Neo4jColumnBatch(int capacity) {
+
+		Assert.isTrue(capacity > 0, "Capacity must be greater than 0");
+		this.capacity = capacity;
+	}
+
+	/**
+	 * Adds a record. The first record added to an empty batch determines the columns.
+	 *
+	 * @param record the record to add
+	 * @throws IllegalStateException when the batch is full
+	 */
+	public void add(Record record) {
+
+		if (this.size == this.capacity) {
+			throw new IllegalStateException("Batch is full");
+		}
+		if (this.size == 0 && !this.keys.equals(record.keys())) {
+			this.keys = Collections.unmodifiableList(new ArrayList<>(record.keys()));
+			this.columns = new Column[this.keys.size()];
+			for (int i = 0; i < this.columns.length; ++i) {
+				this.columns[i] = new Column(this.capacity);
+			}
+		}
+		for (int i = 0; i < this.columns.length; ++i) {
+			this.columns[i].set(this.size, record.get(i));
+		}
+		++this.size;
+	}
+
+	/**
+	 * Empties the batch, keeping its columns and their arrays.
+	 */
+	public void clear() {
+
+		for (Column column : this.columns) {
+			column.clear();
+		}
+		this.size = 0;
+	}
+
+	public List<String> getKeys() {
+		return this.keys;
+	}
+
+	/**
+	 * @param index the index of a column
+	 * @return the column
+	 */
+	public Column getColumn(int index) {
+
+		Assert.isTrue(index >= 0 && index < this.columns.length, "Column index out of bounds");
+		return this.columns[index];
+	}
+
+	/**
+	 * @return the number of records in this batch
+	 */
+	public int size() {
+		return this.size;
+	}
+
+	public int capacity() {
+		return this.capacity;
+	}
+
+	public boolean isFull() {
+		return this.size == this.capacity;
+	}
+
+	/**
+	 * A column of a batch. The typed accessors return {@literal 0}, {@literal false} respectively {@literal null} for
+	 * null values.
+	 */
+	public static final class Column {
+
+		private final int capacity;
+
+		private final BitSet nulls;
+
+		private ColumnType type = ColumnType.NULL;
+
+		private long[] longs;
+
+		private double[] doubles;
+
+		private BitSet booleans;
+
+		private int[] codes;
+
+		private final List<String> dictionary = new ArrayList<>();
+
+		private final Map<String, Integer> codesByString = new HashMap<>();
+
+		private Object[] objects;
+
+		Column(int capacity) {
+			this.capacity = capacity;
+			this.nulls = new BitSet(capacity);
+		}
+
+		void set(int row, Value value) {
+
+			if (value.isNull()) {
+				this.nulls.set(row);
+				return;
+			}
+			ColumnType valueType = typeOf(value);
+			if (this.type == ColumnType.NULL) {
+				initialize(valueType);
+			} else if (valueType != this.type) {
+				if (this.type == ColumnType.LONG && valueType == ColumnType.DOUBLE) {
+					widenToDouble(row);
+				} else if (this.type != ColumnType.OBJECT
+					&& !(this.type == ColumnType.DOUBLE && valueType == ColumnType.LONG)) {
+					convertToObjects(row);
+				}
+			}
+
+			switch (this.type) {
+				case LONG:
+					this.longs[row] = value.asLong();
+					break;
+				case DOUBLE:
+					this.doubles[row] = value.asDouble();
+					break;
+				case BOOLEAN:
+					this.booleans.set(row, value.asBoolean());
+					break;
+				case STRING:
+					this.codes[row] = codeOf(value.asString());
+					break;
+				default:
+					this.objects[row] = value.asObject();
+			}
+		}
+
+		void clear() {
+
+			this.nulls.clear();
+			this.type = ColumnType.NULL;
+			if (this.booleans != null) {
+				this.booleans.clear();
+			}
+			this.dictionary.clear();
+			this.codesByString.clear();
+			if (this.objects != null) {
+				Arrays.fill(this.objects, null);
+			}
+		}
+
+		public ColumnType getType() {
+			return this.type;
+		}
+
+		public boolean isNull(int row) {
+			return this.nulls.get(row);
+		}
+
+		public long getLong(int row) {
+			return this.type == ColumnType.LONG && !isNull(row) ? this.longs[row] : 0L;
+		}
+
+		public double getDouble(int row) {
+			return this.type == ColumnType.DOUBLE && !isNull(row) ? this.doubles[row] : 0.0;
+		}
+
+		public boolean getBoolean(int row) {
+			return this.type == ColumnType.BOOLEAN && this.booleans.get(row);
+		}
+
+		public String getString(int row) {
+			return this.type == ColumnType.STRING && !isNull(row) ? this.dictionary.get(this.codes[row]) : null;
+		}
+
+		/**
+		 * @param row the row
+		 * @return the value in the given row, boxed if necessary
+		 */
+		public Object getObject(int row) {
+
+			if (isNull(row)) {
+				return null;
+			}
+			switch (this.type) {
+				case LONG:
+					return this.longs[row];
+				case DOUBLE:
+					return this.doubles[row];
+				case BOOLEAN:
+					return this.booleans.get(row);
+				case STRING:
+					return this.dictionary.get(this.codes[row]);
+				case OBJECT:
+					return this.objects[row];
+				default:
+					return null;
+			}
+		}
+
+		/**
+		 * @return the backing array of a column of type {@link ColumnType#LONG}, valid up to the size of the batch
+		 */
+		public long[] longs() {
+			return this.longs;
+		}
+
+		/**
+		 * @return the backing array of a column of type {@link ColumnType#DOUBLE}, valid up to the size of the batch
+		 */
+		public double[] doubles() {
+			return this.doubles;
+		}
+
+		/**
+		 * @return the dictionary codes of a column of type {@link ColumnType#STRING}, valid up to the size of the batch
+		 */
+		public int[] codes() {
+			return this.codes;
+		}
+
+		/**
+		 * @return the distinct strings of a column of type {@link ColumnType#STRING}, indexed by their code
+		 */
+		public List<String> dictionary() {
+			return Collections.unmodifiableList(this.dictionary);
+		}
+
+		private static ColumnType typeOf(Value value) {
+
+			if (value.hasType(TYPE_SYSTEM.INTEGER())) {
+				return ColumnType.LONG;
+			} else if (value.hasType(TYPE_SYSTEM.FLOAT())) {
+				return ColumnType.DOUBLE;
+			} else if (value.hasType(TYPE_SYSTEM.BOOLEAN())) {
+				return ColumnType.BOOLEAN;
+			} else if (value.hasType(TYPE_SYSTEM.STRING())) {
+				return ColumnType.STRING;
+			}
+			return ColumnType.OBJECT;
+		}
+
+		private void initialize(ColumnType newType) {
+
+			this.type = newType;
+			switch (newType) {
+				case LONG:
+					this.longs = this.longs == null ? new long[this.capacity] : this.longs;
+					break;
+				case DOUBLE:
+					this.doubles = this.doubles == null ? new double[this.capacity] : this.doubles;
+					break;
+				case BOOLEAN:
+					this.booleans = this.booleans == null ? new BitSet(this.capacity) : this.booleans;
+					break;
+				case STRING:
+					this.codes = this.codes == null ? new int[this.capacity] : this.codes;
+					break;
+				default:
+					this.objects = this.objects == null ? new Object[this.capacity] : this.objects;
+			}
+		}
+
+		private void widenToDouble(int rows) {
+
+			initialize(ColumnType.DOUBLE);
+			for (int row = 0; row < rows; ++row) {
+				this.doubles[row] = this.longs[row];
+			}
+		}
+
+		private void convertToObjects(int rows) {
+
+			Object[] values = new Object[rows];
+			for (int row = 0; row < rows; ++row) {
+				values[row] = getObject(row);
+			}
+			initialize(ColumnType.OBJECT);
+			System.arraycopy(values, 0, this.objects, 0, rows);
+		}
+
+		private int codeOf(String value) {
+
+			Integer code = this.codesByString.get(value);
+			if (code == null) {
+				code = this.dictionary.size();
+				this.dictionary.add(value);
+				this.codesByString.put(value, code);
+			}
+			return code;
+		}
+	}
+}
@@ -0,0 +1,62 @@
+/*
+ * Copyright (c) 2019-2020 "Neo4j,"
+ * Neo4j Sweden AB [https://neo4j.com]
+ *
+ * This file is part of Neo4j.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.neo4j.driver.springframework.boot.autoconfigure;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.Writer;
+
+/**
+ * Writes {@link Neo4jColumnBatch batches} read by the {@link Neo4jColumnarReader} to a stream. Batches are reused, so
+ * a writer must not keep references to a batch or its arrays after {@link #write(Neo4jColumnBatch)} returned.
+ *
+ * @author Michael J. Simons
+ */
+@FunctionalInterface
+public interface Neo4jColumnBatchWriter {
+
+	/**
+	 * @param batch the batch to write
+	 * @throws IOException when the batch could not be written
+	 */
+	void write(Neo4jColumnBatch batch) throws IOException;
+
+	/**
+	 * Creates a writer writing the batches as CSV, with a header containing the keys of the first batch. Strings and
+	 * other values are quoted when necessary, null values are written as empty fields.
+	 *
+	 * @param out the target of the CSV, flushed after each batch but not closed by the writer
+	 * @return a new writer
+	 */
+	static Neo4jColumnBatchWriter csv(Writer out) {
+		return new CsvColumnBatchWriter(out);
+	}
+
+	/**
+	 * Creates a writer writing the batches in a binary, column oriented format modelled after Arrow's record batches,
+	 * with a validity bitmap per column and dictionary encoded strings. The format is described in the reference
+	 * documentation.
+	 *
+	 * @param out the target of the batches, flushed after each batch but not closed by the writer
+	 * @return a new writer
+	 */
+	static Neo4jColumnBatchWriter binary(OutputStream out) {
+		return new BinaryColumnBatchWriter(out);
+	}
+}
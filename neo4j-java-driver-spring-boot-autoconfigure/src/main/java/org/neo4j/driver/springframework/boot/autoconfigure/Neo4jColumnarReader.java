@@ -0,0 +1,103 @@
+/*
+ * Copyright (c) 2019-2020 "Neo4j,"
+ * Neo4j Sweden AB [https://neo4j.com]
+ *
+ * This file is part of Neo4j.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.neo4j.driver.springframework.boot.autoconfigure;
+
+import reactor.core.publisher.Flux;
+
+import java.io.IOException;
+
+import org.neo4j.driver.Result;
+import org.neo4j.driver.reactive.RxResult;
+import org.springframework.util.Assert;
+
+/**
+ * Reads results into {@link Neo4jColumnBatch column batches} of a fixed size, for example to export them through a
+ * {@link Neo4jColumnBatchWriter}. The driver fetches records in chunks as they are consumed, so the memory needed for
+ * an export is bounded by the size of a batch, regardless of the size of the result:
+ *
+ * <pre class="code">
+ * try (Session session = driver.session()) {
+ *     Result result = session.run("MATCH (m:Movie) RETURN m.title AS title, m.released AS released");
+ *     Neo4jColumnarReader.read(result, 10_000, Neo4jColumnBatchWriter.csv(writer));
+ * }
+ * </pre>
+ *
+ * @author Michael J. Simons
+ */
+public final class Neo4jColumnarReader {
+
+	/**
+	 * Reads all remaining records of a result and hands them to the writer in batches. One batch is allocated and
+	 * reused for all records.
+	 *
+	 * @param result    the result to read
+	 * @param batchSize the maximum number of records per batch
+	 * @param writer    the writer receiving the batches
+	 * @return the number of records read
+	 * @throws IOException when the writer failed
+	 */
+	public static long read(Result result, int batchSize, Neo4jColumnBatchWriter writer) throws IOException {
+
+		Assert.notNull(result, "Result must not be null");
+		Assert.notNull(writer, "Writer must not be null");
+
+		Neo4jColumnBatch batch = new Neo4jColumnBatch(batchSize);
+		long records = 0;
+		while (result.hasNext()) {
+			batch.add(result.next());
+			if (batch.isFull()) {
+				records += write(batch, writer);
+			}
+		}
+		if (batch.size() > 0) {
+			records += write(batch, writer);
+		}
+		return records;
+	}
+
+	/**
+	 * Reads the records of a reactive result into batches. Records are requested one batch at a time, when the
+	 * previous batch has been consumed. Each batch is a new instance, so batches may be handed to other threads.
+	 *
+	 * @param result    the result to read
+	 * @param batchSize the maximum number of records per batch
+	 * @return the batches
+	 */
+	public static Flux<Neo4jColumnBatch> read(RxResult result, int batchSize) {
+
+		Assert.notNull(result, "Result must not be null");
+		Assert.isTrue(batchSize > 0, "Batch size must be greater than 0");
+
+		return Flux.from(result.records())
+			.window(batchSize)
+			.concatMap(records -> records.collect(() -> new Neo4jColumnBatch(batchSize), Neo4jColumnBatch::add), 1)
+			.filter(batch -> batch.size() > 0);
+	}
+
+	private static int write(Neo4jColumnBatch batch, Neo4jColumnBatchWriter writer) throws IOException {
+
+		int size = batch.size();
+		writer.write(batch);
+		batch.clear();
+		return size;
+	}
+
+	private Neo4jColumnarReader() {
+	}
+}
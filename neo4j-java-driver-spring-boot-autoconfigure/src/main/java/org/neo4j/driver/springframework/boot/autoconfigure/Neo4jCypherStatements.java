@@ -0,0 +1,254 @@
+/*
+ * Copyright (c) 2019-2020 "Neo4j,"
+ * Neo4j Sweden AB [https://neo4j.com]
+ *
+ * This file is part of Neo4j.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.neo4j.driver.springframework.boot.autoconfigure;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Queue;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.CompletionStage;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+
+import org.neo4j.driver.Driver;
+import org.neo4j.driver.Query;
+import org.neo4j.driver.async.AsyncSession;
+import org.neo4j.driver.async.ResultCursor;
+import org.springframework.core.io.Resource;
+import org.springframework.core.io.support.ResourcePatternResolver;
+import org.springframework.util.Assert;
+import org.springframework.util.StreamUtils;
+import org.springframework.util.StringUtils;
+
+/**
+ * A registry of named Cypher statements, usually loaded from files containing one statement each. Referring to
+ * statements by name keeps them out of the code and gives them a stable, low cardinality identifier, for example for
+ * tagging metrics, that {@link #getName(String)} resolves from the statement itself.
+ * <p>
+ * {@link #explain(Driver, int)} asks the server to plan all statements without running them. This catches syntax
+ * errors early and fills the query plan cache of the server, so that the first request using a statement doesn't have
+ * to wait for it being planned.
+ *
+ * @author Michael J. Simons
+ */
+public final class Neo4jCypherStatements {
+
+	private final Map<String, String> statements;
+
+	private final Map<String, String> names;
+
+	/**
+	 * Creates a new registry.
+	 *
+	 * @param statements the statements by name
+	 */
+	public Neo4jCypherStatements(Map<String, String> statements) {
+
+		Assert.notNull(statements, "Statements must not be null");
+
+		Map<String, String> newStatements = new TreeMap<>();
+		Map<String, String> newNames = new HashMap<>();
+		statements.forEach((name, statement) -> {
+			Assert.hasText(name, "Name must not be empty");
+			Assert.hasText(statement, "Statement '" + name + "' must not be empty");
+			newStatements.put(name, statement);
+			newNames.putIfAbsent(statement, name);
+		});
+		this.statements = Collections.unmodifiableMap(newStatements);
+		this.names = newNames;
+	}
+
+	/**
+	 * Loads all statements matching the given location pattern. The name of a statement is the path of its resource
+	 * relative to the directory the pattern starts with, without extension, so that {@code cypher/movies/byTitle.cypher}
+	 * is named {@code movies/byTitle} when loaded through {@code classpath*:cypher/**}{@code /*.cypher}. A trailing
+	 * semicolon is removed.
+	 *
+	 * @param resourcePatternResolver the resolver for the location pattern
+	 * @param locationPattern         the location pattern of the statements
+	 * @return a new registry
+	 * @throws IOException           when the resources could not be resolved or read
+	 * @throws IllegalStateException when the name of two statements is the same
+	 */
+	public static Neo4jCypherStatements load(ResourcePatternResolver resourcePatternResolver, String locationPattern)
+		throws IOException {
+
+		Assert.notNull(resourcePatternResolver, "Resource pattern resolver must not be null");
+		Assert.hasText(locationPattern, "Location pattern must not be empty");
+
+		List<String> roots = rootsOf(resourcePatternResolver, locationPattern);
+		Map<String, String> statements = new HashMap<>();
+		for (Resource resource : resourcePatternResolver.getResources(locationPattern)) {
+			if (!resource.isReadable()) {
+				continue;
+			}
+
+			String name = nameOf(resource.getURL().toString(), roots);
+			String statement;
+			try (InputStream in = resource.getInputStream()) {
+				statement = StreamUtils.copyToString(in, StandardCharsets.UTF_8).trim();
+			}
+			if (statement.endsWith(";")) {
+				statement = statement.substring(0, statement.length() - 1).trim();
+			}
+			if (!StringUtils.hasText(statement)) {
+				continue;
+			}
+			if (statements.put(name, statement) != null) {
+				throw new IllegalStateException("Duplicate Cypher statement '" + name + "' in " + resource);
+			}
+		}
+		return new Neo4jCypherStatements(statements);
+	}
+
+	/**
+	 * @param name the name of a statement
+	 * @return the statement with the given name
+	 * @throws IllegalArgumentException when there's no such statement
+	 */
+	public String get(String name) {
+
+		String statement = this.statements.get(name);
+		if (statement == null) {
+			throw new IllegalArgumentException("No Cypher statement named '" + name + "'");
+		}
+		return statement;
+	}
+
+	/**
+	 * @param name       the name of a statement
+	 * @param parameters the parameters of the query
+	 * @return a query running the statement with the given name
+	 * @throws IllegalArgumentException when there's no such statement
+	 */
+	public Query query(String name, Map<String, Object> parameters) {
+		return new Query(get(name), parameters);
+	}
+
+	/**
+	 * @param statement a statement
+	 * @return the name of the statement, if it is registered
+	 */
+	public Optional<String> getName(String statement) {
+		return Optional.ofNullable(this.names.get(statement));
+	}
+
+	/**
+	 * @return the names of all statements in alphabetical order
+	 */
+	public Set<String> getNames() {
+		return this.statements.keySet();
+	}
+
+	/**
+	 * Explains all statements against the default database of the given driver, at most {@code concurrency} at a
+	 * time. The returned stage never completes exceptionally.
+	 *
+	 * @param driver      the driver to use
+	 * @param concurrency the maximum number of statements explained concurrently
+	 * @return a stage completing with the errors of the statements that could not be explained by their name, empty
+	 * when all statements have been explained
+	 */
+	public CompletionStage<Map<String, Throwable>> explain(Driver driver, int concurrency) {
+
+		Assert.notNull(driver, "Driver must not be null");
+		Assert.isTrue(concurrency > 0, "Concurrency must be greater than 0");
+
+		Queue<String> pending = new ConcurrentLinkedQueue<>(this.statements.keySet());
+		Map<String, Throwable> errors = new ConcurrentHashMap<>();
+		CompletableFuture<?>[] lanes = new CompletableFuture<?>[Math.min(concurrency, Math.max(pending.size(), 1))];
+		for (int i = 0; i < lanes.length; ++i) {
+			lanes[i] = explainNext(driver, pending, errors).toCompletableFuture();
+		}
+		return CompletableFuture.allOf(lanes).thenApply(v -> new TreeMap<>(errors));
+	}
+
+	private CompletionStage<Void> explainNext(Driver driver, Queue<String> pending, Map<String, Throwable> errors) {
+
+		String name = pending.poll();
+		if (name == null) {
+			return CompletableFuture.completedFuture(null);
+		}
+
+		AsyncSession session = driver.asyncSession();
+		return session.runAsync("EXPLAIN " + this.statements.get(name))
+			.thenCompose(ResultCursor::consumeAsync)
+			.handle((summary, error) -> error)
+			.thenCompose(error -> session.closeAsync().handle((v, ignored) -> error))
+			.thenCompose(error -> {
+				if (error != null) {
+					errors.put(name, error instanceof CompletionException && error.getCause() != null ?
+						error.getCause() : error);
+				}
+				return explainNext(driver, pending, errors);
+			});
+	}
+
+	/**
+	 * Resolves the directories the location pattern starts with, so that the names of the statements can be
+	 * computed relative to them.
+	 */
+	private static List<String> rootsOf(ResourcePatternResolver resourcePatternResolver, String locationPattern)
+		throws IOException {
+
+		int firstWildcard = locationPattern.length();
+		for (char wildcard : new char[] { '*', '?', '{' }) {
+			int index = locationPattern.indexOf(wildcard, locationPattern.indexOf(':') + 1);
+			if (index >= 0) {
+				firstWildcard = Math.min(firstWildcard, index);
+			}
+		}
+		String rootPattern = locationPattern.substring(0, locationPattern.lastIndexOf('/', firstWildcard) + 1);
+		if (rootPattern.isEmpty() || rootPattern.endsWith(":/")) {
+			return Collections.emptyList();
+		}
+
+		List<String> roots = new ArrayList<>();
+		for (Resource root : resourcePatternResolver.getResources(rootPattern)) {
+			if (root.exists()) {
+				String url = root.getURL().toString();
+				roots.add(url.endsWith("/") ? url : url + "/");
+			}
+		}
+		return roots;
+	}
+
+	private static String nameOf(String url, List<String> roots) {
+
+		String name = url.substring(url.lastIndexOf('/') + 1);
+		for (String root : roots) {
+			if (url.startsWith(root)) {
+				name = url.substring(root.length());
+				break;
+			}
+		}
+		int extension = name.lastIndexOf('.');
+		return extension > name.lastIndexOf('/') ? name.substring(0, extension) : name;
+	}
+}
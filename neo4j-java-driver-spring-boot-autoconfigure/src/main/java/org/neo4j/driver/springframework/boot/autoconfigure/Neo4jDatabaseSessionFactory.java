@@ -0,0 +1,260 @@
+/*
+ * Copyright (c) 2019-2020 "Neo4j,"
+ * Neo4j Sweden AB [https://neo4j.com]
+ *
+ * This file is part of Neo4j.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.neo4j.driver.springframework.boot.autoconfigure;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.ConcurrentHashMap;
+
+import org.neo4j.driver.Driver;
+import org.neo4j.ogm.config.Configuration;
+import org.neo4j.ogm.drivers.bolt.driver.BoltDriver;
+import org.neo4j.ogm.metadata.MetaData;
+import org.neo4j.ogm.session.EntityInstantiator;
+import org.neo4j.ogm.session.Neo4jSession;
+import org.neo4j.ogm.session.Session;
+import org.neo4j.ogm.session.SessionFactory;
+import org.neo4j.ogm.session.event.EventListener;
+import org.springframework.util.Assert;
+
+/**
+ * Opens Neo4j-OGM sessions against other databases than the configured one or through other drivers than the one
+ * used by the {@link SessionFactory}. Creating a {@link SessionFactory} per database would parse the domain model
+ * again for each of them, so all sessions opened here share the {@link MetaData} of the existing session factory.
+ * The OGM driver for each combination of driver and database is created once and cached, opening a session therefore
+ * boils down to a map lookup.
+ * <p>
+ * Sessions opened here are not bound to Spring's transaction management, they have to manage their transactions
+ * themselves.
+ *
+ * @author Michael J. Simons
+ */
+public final class Neo4jDatabaseSessionFactory {
+
+	private final SessionFactory sessionFactory;
+
+	private final Configuration configuration;
+
+	private final Driver defaultDriver;
+
+	private final Map<String, Driver> drivers;
+
+	private final List<EventListener> eventListeners;
+
+	private final List<Neo4jOgmSessionDecorator> sessionDecorators;
+
+	private final Map<Target, BoltDriver> ogmDrivers = new ConcurrentHashMap<>();
+
+	private volatile EntityInstantiator entityInstantiator;
+
+	/**
+	 * Creates a new factory. The entity instantiator, for example configured by Spring Data Neo4j, is taken from the
+	 * first session opened by the session factory, when the first session is opened here.
+	 *
+	 * @param sessionFactory    the session factory whose metadata, load strategy, querying mode and entity
+	 *                          instantiator is shared
+	 * @param configuration     the OGM configuration of the session factory, used as a template for the databases
+	 * @param defaultDriver     the driver used when no driver is named explicitly
+	 * @param drivers           all drivers that may be used by name
+	 * @param eventListeners    event listeners registered with each session
+	 * @param sessionDecorators decorators applied to each session
+	 */
+	public Neo4jDatabaseSessionFactory(SessionFactory sessionFactory, Configuration configuration, Driver defaultDriver,
+		Map<String, Driver> drivers, List<EventListener> eventListeners,
+		List<Neo4jOgmSessionDecorator> sessionDecorators) {
+
+		this(sessionFactory, configuration, defaultDriver, drivers, eventListeners, sessionDecorators, null);
+	}
+
+	/**
+	 * Creates a new factory using the given entity instantiator.
+	 *
+	 * @param sessionFactory     the session factory whose metadata, load strategy and querying mode is shared
+	 * @param configuration      the OGM configuration of the session factory, used as a template for the databases
+	 * @param defaultDriver      the driver used when no driver is named explicitly
+	 * @param drivers            all drivers that may be used by name
+	 * @param eventListeners     event listeners registered with each session
+	 * @param sessionDecorators  decorators applied to each session
+	 * @param entityInstantiator the entity instantiator of each session, {@literal null} to use the one of the session
+	 *                           factory
+	 */
+	public Neo4jDatabaseSessionFactory(SessionFactory sessionFactory, Configuration configuration, Driver defaultDriver,
+		Map<String, Driver> drivers, List<EventListener> eventListeners,
+		List<Neo4jOgmSessionDecorator> sessionDecorators, EntityInstantiator entityInstantiator) {
+
+		Assert.notNull(sessionFactory, "Session factory must not be null");
+		Assert.notNull(configuration, "Configuration must not be null");
+		Assert.notNull(defaultDriver, "Default driver must not be null");
+		Assert.notNull(drivers, "Drivers must not be null");
+		Assert.notNull(eventListeners, "Event listeners must not be null");
+		Assert.notNull(sessionDecorators, "Session decorators must not be null");
+
+		this.sessionFactory = sessionFactory;
+		this.configuration = configuration;
+		this.defaultDriver = defaultDriver;
+		this.drivers = Collections.unmodifiableMap(new LinkedHashMap<>(drivers));
+		this.eventListeners = Collections.unmodifiableList(new ArrayList<>(eventListeners));
+		this.sessionDecorators = Collections.unmodifiableList(new ArrayList<>(sessionDecorators));
+		this.entityInstantiator = entityInstantiator;
+	}
+
+	/**
+	 * Opens a session against the given database through the default driver.
+	 *
+	 * @param database the name of the database
+	 * @return a new session
+	 */
+	public Session openSession(String database) {
+
+		Assert.hasText(database, "Database must not be empty");
+		return openSession(new Target(null, this.defaultDriver, database));
+	}
+
+	/**
+	 * Opens a session against the given database through the driver with the given bean name.
+	 *
+	 * @param driverName the bean name of the driver
+	 * @param database   the name of the database
+	 * @return a new session
+	 */
+	public Session openSession(String driverName, String database) {
+
+		Assert.hasText(database, "Database must not be empty");
+		Driver driver = this.drivers.get(driverName);
+		if (driver == null) {
+			throw new IllegalArgumentException("No driver named '" + driverName + "'");
+		}
+		return openSession(new Target(driverName, driver, database));
+	}
+
+	/**
+	 * @return the names of all drivers that can be used to open sessions
+	 */
+	public List<String> getDriverNames() {
+		return new ArrayList<>(this.drivers.keySet());
+	}
+
+	private Session openSession(Target target) {
+
+		BoltDriver ogmDriver = this.ogmDrivers.get(target);
+		if (ogmDriver == null) {
+			ogmDriver = this.ogmDrivers.computeIfAbsent(target, this::createOgmDriver);
+		}
+		MetaData metaData = this.sessionFactory.metaData();
+		Session session = new Neo4jSession(metaData, this.sessionFactory.isUseStrictQuerying(), ogmDriver,
+			this.eventListeners, this.sessionFactory.getLoadStrategy(), getEntityInstantiator());
+		return DecoratingSessionFactory.decorate(session, this.sessionDecorators);
+	}
+
+	/**
+	 * The session factory only exposes its entity instantiator through the sessions it opens. It is looked up when the
+	 * first session is opened here, as it is usually configured after this factory has been created.
+	 *
+	 * @return the entity instantiator of the sessions opened by the session factory
+	 */
+	private EntityInstantiator getEntityInstantiator() {
+
+		EntityInstantiator result = this.entityInstantiator;
+		if (result == null) {
+			Session session = this.sessionFactory instanceof DecoratingSessionFactory ?
+				((DecoratingSessionFactory) this.sessionFactory).openUndecoratedSession() :
+				this.sessionFactory.openSession();
+			if (!(session instanceof Neo4jSession)) {
+				throw new IllegalStateException("Cannot determine the entity instantiator of " + this.sessionFactory
+					+ ", as it doesn't open instances of " + Neo4jSession.class.getName()
+					+ "; pass the entity instantiator explicitly");
+			}
+			result = ((Neo4jSession) session).getEntityInstantiator();
+			this.entityInstantiator = result;
+		}
+		return result;
+	}
+
+	private BoltDriver createOgmDriver(Target target) {
+
+		Configuration.Builder builder = new Configuration.Builder()
+			.database(target.database);
+		if (this.configuration.getURI() != null) {
+			builder.uri(this.configuration.getURI());
+		}
+		if (Boolean.TRUE.equals(this.configuration.getUseNativeTypes())) {
+			builder.useNativeTypes();
+		}
+		if (Boolean.TRUE.equals(this.configuration.getUseStrictQuerying())) {
+			builder.strictQuerying();
+		}
+		this.configuration.getCustomProperties().forEach(builder::withCustomProperty);
+		return createOgmDriver(target.driver, builder.build());
+	}
+
+	/**
+	 * Wraps a driver bean into an OGM driver that doesn't close the bean.
+	 *
+	 * @param nativeDriver  the driver bean
+	 * @param configuration the configuration of the OGM driver
+	 * @return a configured OGM driver
+	 */
+	static BoltDriver createOgmDriver(Driver nativeDriver, Configuration configuration) {
+
+		BoltDriver boltDriver = new BoltDriver(nativeDriver) {
+			@Override
+			public synchronized void close() {
+				// We must prevent the bolt driver from closing the driver bean
+			}
+		};
+		boltDriver.configure(configuration);
+		return boltDriver;
+	}
+
+	private static final class Target {
+
+		private final String driverName;
+
+		private final Driver driver;
+
+		private final String database;
+
+		Target(String driverName, Driver driver, String database) {
+			this.driverName = driverName;
+			this.driver = driver;
+			this.database = database;
+		}
+
+		@Override
+		public boolean equals(Object o) {
+			if (this == o) {
+				return true;
+			}
+			if (!(o instanceof Target)) {
+				return false;
+			}
+			Target target = (Target) o;
+			return Objects.equals(this.driverName, target.driverName) && this.database.equals(target.database);
+		}
+
+		@Override
+		public int hashCode() {
+			return Objects.hash(this.driverName, this.database);
+		}
+	}
+}
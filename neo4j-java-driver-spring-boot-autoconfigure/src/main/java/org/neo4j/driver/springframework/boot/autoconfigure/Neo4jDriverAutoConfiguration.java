@@ -38,6 +38,8 @@ import org.springframework.context.annotation.Import;
 @AutoConfigureBefore(Neo4jDataAutoConfiguration.class)
 @ConditionalOnClass(Driver.class)
 @EnableConfigurationProperties(Neo4jDriverProperties.class)
-@Import({ DriverConfiguration.class, AdditionalDataConfiguration.class })
+@Import({ DriverConfiguration.class, AdditionalDataConfiguration.class, BatchWriterConfiguration.class,
+	ReactiveIngestConfiguration.class, ResultStreamConfiguration.class, QueryCacheConfiguration.class,
+	CypherStatementsConfiguration.class, VirtualThreadsConfiguration.class, OffloadingConfiguration.class })
 public class Neo4jDriverAutoConfiguration {
 }
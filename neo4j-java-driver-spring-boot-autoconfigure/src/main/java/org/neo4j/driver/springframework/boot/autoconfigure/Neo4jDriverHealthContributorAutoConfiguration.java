@@ -20,18 +20,25 @@ package org.neo4j.driver.springframework.boot.autoconfigure;
 
 import reactor.core.publisher.Flux;
 
+import java.util.LinkedHashMap;
 import java.util.Map;
 
 import org.neo4j.driver.Driver;
+import org.neo4j.driver.springframework.boot.actuate.Neo4jAutoIndexHealthIndicator;
+import org.neo4j.driver.springframework.boot.actuate.Neo4jCompositeHealthContributor;
 import org.neo4j.driver.springframework.boot.actuate.Neo4jHealthIndicator;
+import org.neo4j.driver.springframework.boot.actuate.Neo4jPoolHealthIndicator;
 import org.neo4j.driver.springframework.boot.actuate.Neo4jReactiveHealthIndicator;
+import org.springframework.beans.factory.config.ConfigurableListableBeanFactory;
 import org.springframework.boot.actuate.autoconfigure.health.CompositeHealthContributorConfiguration;
 import org.springframework.boot.actuate.autoconfigure.health.CompositeReactiveHealthContributorConfiguration;
 import org.springframework.boot.actuate.autoconfigure.health.ConditionalOnEnabledHealthIndicator;
 import org.springframework.boot.actuate.autoconfigure.health.HealthContributorAutoConfiguration;
 import org.springframework.boot.actuate.autoconfigure.neo4j.Neo4jHealthContributorAutoConfiguration;
+import org.springframework.boot.actuate.health.CompositeHealthContributor;
 import org.springframework.boot.actuate.health.Health;
 import org.springframework.boot.actuate.health.HealthContributor;
+import org.springframework.boot.actuate.health.HealthIndicator;
 import org.springframework.boot.actuate.health.ReactiveHealthContributor;
 import org.springframework.boot.autoconfigure.AutoConfigureAfter;
 import org.springframework.boot.autoconfigure.AutoConfigureBefore;
@@ -39,7 +46,9 @@ import org.springframework.boot.autoconfigure.EnableAutoConfiguration;
 import org.springframework.boot.autoconfigure.condition.ConditionalOnBean;
 import org.springframework.boot.autoconfigure.condition.ConditionalOnClass;
 import org.springframework.boot.autoconfigure.condition.ConditionalOnMissingBean;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
 import org.springframework.boot.autoconfigure.data.neo4j.Neo4jDataAutoConfiguration;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.core.annotation.Order;
@@ -49,7 +58,12 @@ import org.springframework.core.annotation.Order;
  * {@link org.neo4j.driver.Driver drivers}.
  * <p>
  * The auto-configuration here is responsible for both imperative and reactive health checks. The reactive health check
- * has precedence over the imperative one.
+ * has precedence over the imperative one. With more than one driver, the imperative health checks are executed
+ * concurrently with a shared deadline.
+ * <p>
+ * In addition, an opt-in health indicator named {@code neo4jPool} computes the saturation of the connection pools
+ * without doing any I/O, which makes it a candidate for the readiness group. The same applies to the health indicator
+ * named {@code neo4jAutoIndex}, that is available when the OGM auto index manager runs in the background.
  *
  * @author Michael J. Simons
  * @soundtrack Iron Maiden - Somewhere In Time
@@ -65,14 +79,25 @@ public class Neo4jDriverHealthContributorAutoConfiguration {
 
 	@Configuration(proxyBeanMethods = false)
 	@Order(-20)
+	@EnableConfigurationProperties(Neo4jDriverHealthProperties.class)
 	static class Neo4jHealthIndicatorConfiguration
 		extends CompositeHealthContributorConfiguration<Neo4jHealthIndicator, Driver> {
 
 		@Bean
 		// If Neo4jReactiveHealthIndicatorConfiguration kicked in, don't add the imperative version as well
 		@ConditionalOnMissingBean(name = "neo4jHealthContributor")
-		public HealthContributor neo4jHealthContributor(Map<String, Driver> drivers) {
-			return createContributor(drivers);
+		public HealthContributor neo4jHealthContributor(Map<String, Driver> drivers,
+			Neo4jDriverHealthProperties healthProperties) {
+
+			if (drivers.size() == 1) {
+				return createContributor(drivers);
+			}
+
+			// Probe all drivers concurrently instead of one after another
+			Map<String, Neo4jHealthIndicator> indicators = new LinkedHashMap<>();
+			drivers.forEach((name, driver) -> indicators.put(name, createIndicator(driver)));
+			return new Neo4jCompositeHealthContributor(indicators, healthProperties.getMaxConcurrency(),
+				healthProperties.getTimeout());
 		}
 	}
 
@@ -88,4 +113,62 @@ public class Neo4jDriverHealthContributorAutoConfiguration {
 			return createComposite(drivers);
 		}
 	}
+
+	@Configuration(proxyBeanMethods = false)
+	@ConditionalOnProperty(prefix = "management.health.neo4j.pool", name = "enabled", havingValue = "true")
+	@EnableConfigurationProperties({ Neo4jDriverProperties.class, Neo4jDriverHealthProperties.class })
+	static class Neo4jPoolHealthIndicatorConfiguration {
+
+		private final Neo4jDriverProperties driverProperties;
+
+		private final Neo4jDriverHealthProperties healthProperties;
+
+		private final ConfigurableListableBeanFactory beanFactory;
+
+		Neo4jPoolHealthIndicatorConfiguration(Neo4jDriverProperties driverProperties,
+			Neo4jDriverHealthProperties healthProperties, ConfigurableListableBeanFactory beanFactory) {
+			this.driverProperties = driverProperties;
+			this.healthProperties = healthProperties;
+			this.beanFactory = beanFactory;
+		}
+
+		@Bean
+		@ConditionalOnMissingBean(name = "neo4jPoolHealthContributor")
+		public HealthContributor neo4jPoolHealthContributor(Map<String, Driver> drivers) {
+
+			Map<String, Neo4jPoolHealthIndicator> indicators = new LinkedHashMap<>();
+			drivers.forEach((name, driver) -> indicators.put(name, createIndicator(name, driver)));
+			if (indicators.size() == 1) {
+				return indicators.values().iterator().next();
+			}
+			return CompositeHealthContributor.fromMap(indicators);
+		}
+
+		/**
+		 * The maximum pool size is only known for the driver created by the starter. The indicators of all other
+		 * drivers only take timed out acquisitions into account.
+		 */
+		private Neo4jPoolHealthIndicator createIndicator(String name, Driver driver) {
+
+			Neo4jDriverHealthProperties.Pool pool = this.healthProperties.getPool();
+			if (!DriverConfiguration.isNeo4jDriverOfStarter(this.beanFactory, name)) {
+				return new Neo4jPoolHealthIndicator(driver, pool.getMaxTimedOutToAcquire(), pool.getWindow());
+			}
+			return new Neo4jPoolHealthIndicator(driver, this.driverProperties.getPool().getMaxConnectionPoolSize(),
+				pool.getMaxInUseRatio(), pool.getMaxPendingAcquisitions(), pool.getMaxTimedOutToAcquire(),
+				pool.getWindow());
+		}
+	}
+
+	@Configuration(proxyBeanMethods = false)
+	@ConditionalOnClass(name = "org.neo4j.ogm.session.SessionFactory")
+	@ConditionalOnBean(Neo4jAutoIndexRunner.class)
+	static class Neo4jAutoIndexHealthIndicatorConfiguration {
+
+		@Bean
+		@ConditionalOnMissingBean(name = "neo4jAutoIndexHealthIndicator")
+		public HealthIndicator neo4jAutoIndexHealthIndicator(Neo4jAutoIndexRunner autoIndexRunner) {
+			return new Neo4jAutoIndexHealthIndicator(autoIndexRunner);
+		}
+	}
 }
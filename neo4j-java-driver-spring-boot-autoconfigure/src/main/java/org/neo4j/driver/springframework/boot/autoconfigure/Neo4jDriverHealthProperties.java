@@ -0,0 +1,139 @@
+/*
+ * Copyright (c) 2019-2020 "Neo4j,"
+ * Neo4j Sweden AB [https://neo4j.com]
+ *
+ * This file is part of Neo4j.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.neo4j.driver.springframework.boot.autoconfigure;
+
+import java.time.Duration;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+/**
+ * Used to configure the health indicators for the {@link org.neo4j.driver.Driver Neo4j-Java-Driver}.
+ *
+ * @author Michael J. Simons
+ */
+@ConfigurationProperties(prefix = "management.health.neo4j")
+public class Neo4jDriverHealthProperties {
+
+	/**
+	 * The shared deadline for the health checks of all drivers when more than one driver is checked concurrently.
+	 */
+	private Duration timeout = Duration.ofSeconds(10);
+
+	/**
+	 * The maximum number of drivers being checked concurrently.
+	 */
+	private int maxConcurrency = 4;
+
+	/**
+	 * The configuration of the pool saturation health indicator.
+	 */
+	private Pool pool = new Pool();
+
+	public Duration getTimeout() {
+		return this.timeout;
+	}
+
+	public void setTimeout(Duration timeout) {
+		this.timeout = timeout;
+	}
+
+	public int getMaxConcurrency() {
+		return this.maxConcurrency;
+	}
+
+	public void setMaxConcurrency(int maxConcurrency) {
+		this.maxConcurrency = maxConcurrency;
+	}
+
+	public Pool getPool() {
+		return this.pool;
+	}
+
+	public void setPool(Pool pool) {
+		this.pool = pool;
+	}
+
+	public static class Pool {
+
+		/**
+		 * Flag, if the pool saturation health indicator is enabled. The indicator requires driver metrics to be enabled.
+		 */
+		private boolean enabled = false;
+
+		/**
+		 * The ratio of connections in use to the maximum pool size from which on pending acquisitions mark a pool as saturated.
+		 */
+		private double maxInUseRatio = 0.9;
+
+		/**
+		 * The maximum number of pending acquisitions tolerated while the maximum in-use ratio is reached.
+		 */
+		private int maxPendingAcquisitions = 0;
+
+		/**
+		 * The maximum number of acquisitions that are allowed to time out during the window.
+		 */
+		private long maxTimedOutToAcquire = 0;
+
+		/**
+		 * The sliding window in which acquisitions that timed out are counted.
+		 */
+		private Duration window = Duration.ofSeconds(30);
+
+		public boolean isEnabled() {
+			return this.enabled;
+		}
+
+		public void setEnabled(boolean enabled) {
+			this.enabled = enabled;
+		}
+
+		public double getMaxInUseRatio() {
+			return this.maxInUseRatio;
+		}
+
+		public void setMaxInUseRatio(double maxInUseRatio) {
+			this.maxInUseRatio = maxInUseRatio;
+		}
+
+		public int getMaxPendingAcquisitions() {
+			return this.maxPendingAcquisitions;
+		}
+
+		public void setMaxPendingAcquisitions(int maxPendingAcquisitions) {
+			this.maxPendingAcquisitions = maxPendingAcquisitions;
+		}
+
+		public long getMaxTimedOutToAcquire() {
+			return this.maxTimedOutToAcquire;
+		}
+
+		public void setMaxTimedOutToAcquire(long maxTimedOutToAcquire) {
+			this.maxTimedOutToAcquire = maxTimedOutToAcquire;
+		}
+
+		public Duration getWindow() {
+			return this.window;
+		}
+
+		public void setWindow(Duration window) {
+			this.window = window;
+		}
+	}
+}
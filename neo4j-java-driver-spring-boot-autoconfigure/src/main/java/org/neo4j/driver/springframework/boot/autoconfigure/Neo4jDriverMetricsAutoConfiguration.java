@@ -18,7 +18,10 @@
  */
 package org.neo4j.driver.springframework.boot.autoconfigure;
 
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
 import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
 
 import java.util.Collections;
 import java.util.Map;
@@ -26,7 +29,11 @@ import java.util.Map;
 import org.apache.commons.logging.Log;
 import org.apache.commons.logging.LogFactory;
 import org.neo4j.driver.Driver;
+import org.neo4j.driver.springframework.boot.actuate.Neo4jBatchWriterMetrics;
 import org.neo4j.driver.springframework.boot.actuate.Neo4jDriverMetrics;
+import org.neo4j.driver.springframework.boot.actuate.Neo4jOgmMetrics;
+import org.neo4j.ogm.session.SessionFactory;
+import org.springframework.beans.factory.ObjectProvider;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.actuate.autoconfigure.metrics.MetricsAutoConfiguration;
 import org.springframework.boot.actuate.autoconfigure.metrics.export.simple.SimpleMetricsExportAutoConfiguration;
@@ -34,6 +41,8 @@ import org.springframework.boot.autoconfigure.AutoConfigureAfter;
 import org.springframework.boot.autoconfigure.EnableAutoConfiguration;
 import org.springframework.boot.autoconfigure.condition.ConditionalOnBean;
 import org.springframework.boot.autoconfigure.condition.ConditionalOnClass;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnMissingBean;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 
@@ -45,6 +54,10 @@ import org.springframework.context.annotation.Configuration;
  * should work with more than one instance of the driver. If a user has multiple instances configured,
  * than each instance should be bound via the binder to registry. Without that requirement, we could
  * just add a {@link Bean @Bean} of type {@link Neo4jDriverMetrics} to the context and be done.
+ * <p>
+ * When Neo4j-OGM is present, its sessions and the entities loaded, saved and deleted through them are instrumented
+ * as well. The same applies to the {@link Neo4jBatchWriter batch writers} and the {@link Neo4jQueryCache query cache}
+ * created by the starter.
  *
  * @author Michael J. Simons
  */
@@ -74,4 +87,75 @@ public class Neo4jDriverMetricsAutoConfiguration {
 				});
 		});
 	}
+
+	@Bean
+	@ConditionalOnBean(Neo4jAsyncLogging.class)
+	MeterBinder neo4jAsyncLoggingMetrics(Neo4jAsyncLogging asyncLogging) {
+
+		return registry -> {
+			FunctionCounter.builder("neo4j.driver.logging.dropped", asyncLogging, Neo4jAsyncLogging::getDroppedEvents)
+				.baseUnit("events")
+				.description("The amount of driver log events dropped because the queue was full.")
+				.register(registry);
+
+			FunctionCounter
+				.builder("neo4j.driver.logging.suppressed", asyncLogging, Neo4jAsyncLogging::getSuppressedEvents)
+				.baseUnit("events")
+				.description("The amount of identical driver log events suppressed by rate limiting.")
+				.register(registry);
+		};
+	}
+
+	@Bean
+	@ConditionalOnBean(Neo4jQueryCache.class)
+	MeterBinder neo4jQueryCacheMetrics(Neo4jQueryCache queryCache) {
+
+		return registry -> {
+			FunctionCounter.builder("neo4j.driver.cache.gets", queryCache, Neo4jQueryCache::getHits)
+				.tag("result", "hit")
+				.description("The amount of queries answered from the cache.")
+				.register(registry);
+
+			FunctionCounter.builder("neo4j.driver.cache.gets", queryCache, Neo4jQueryCache::getMisses)
+				.tag("result", "miss")
+				.description("The amount of queries that had to be run against the database.")
+				.register(registry);
+
+			FunctionCounter.builder("neo4j.driver.cache.evictions", queryCache, Neo4jQueryCache::getEvictions)
+				.description("The amount of results evicted because they expired or the cache was full.")
+				.register(registry);
+
+			FunctionCounter.builder("neo4j.driver.cache.invalidations", queryCache, Neo4jQueryCache::getInvalidations)
+				.description("The amount of invalidations caused by writes.")
+				.register(registry);
+
+			Gauge.builder("neo4j.driver.cache.size", queryCache, Neo4jQueryCache::getSize)
+				.description("The number of cached results.")
+				.register(registry);
+
+			Gauge.builder("neo4j.driver.cache.weight", queryCache, Neo4jQueryCache::getWeight)
+				.baseUnit("records")
+				.description("The number of records held by the cache.")
+				.register(registry);
+		};
+	}
+
+	@Bean
+	@ConditionalOnMissingBean
+	Neo4jBatchWriterMetrics neo4jBatchWriterMetrics(MeterRegistry registry) {
+		return new Neo4jBatchWriterMetrics(registry, Collections.emptyList());
+	}
+
+	@Configuration(proxyBeanMethods = false)
+	@ConditionalOnClass(SessionFactory.class)
+	@ConditionalOnProperty(prefix = "org.neo4j.driver.ogm.metrics", name = "enabled", havingValue = "true")
+	static class Neo4jOgmMetricsConfiguration {
+
+		@Bean
+		@ConditionalOnMissingBean
+		Neo4jOgmMetrics neo4jOgmMetrics(MeterRegistry registry, ObjectProvider<Neo4jCypherStatements> statements) {
+			return new Neo4jOgmMetrics(registry, Collections.emptyList(),
+				statements.getIfAvailable(() -> new Neo4jCypherStatements(Collections.emptyMap())));
+		}
+	}
 }
@@ -27,11 +27,13 @@ import java.util.concurrent.TimeUnit;
 import org.neo4j.driver.AuthToken;
 import org.neo4j.driver.AuthTokens;
 import org.neo4j.driver.Config;
+import org.neo4j.driver.Logging;
 import org.neo4j.driver.internal.Scheme;
 import org.neo4j.driver.net.ServerAddressResolver;
 import org.springframework.beans.BeanUtils;
 import org.springframework.boot.context.properties.ConfigurationProperties;
 import org.springframework.boot.context.properties.source.InvalidConfigurationPropertyValueException;
+import org.springframework.util.Assert;
 import org.springframework.util.StringUtils;
 
 /**
@@ -62,6 +64,41 @@ public class Neo4jDriverProperties {
 	 */
 	private DriverSettings config = new DriverSettings();
 
+	/**
+	 * The configuration of the logging bridge between the driver and the application.
+	 */
+	private LoggingSettings logging = new LoggingSettings();
+
+	/**
+	 * The configuration of the batch writers created through {@link Neo4jBatchWriters}.
+	 */
+	private BatchWriterSettings batchWriter = new BatchWriterSettings();
+
+	/**
+	 * The configuration of the reactive ingest through {@link Neo4jReactiveIngest}.
+	 */
+	private ReactiveIngestSettings reactiveIngest = new ReactiveIngestSettings();
+
+	/**
+	 * The configuration of the query result cache.
+	 */
+	private QueryCacheSettings cache = new QueryCacheSettings();
+
+	/**
+	 * The configuration of the named Cypher statements provided through {@link Neo4jCypherStatements}.
+	 */
+	private StatementSettings statements = new StatementSettings();
+
+	/**
+	 * The configuration of blocking sessions on virtual threads.
+	 */
+	private VirtualThreadSettings virtualThreads = new VirtualThreadSettings();
+
+	/**
+	 * The configuration of the executor signalling asynchronous and reactive results.
+	 */
+	private OffloadSettings offload = new OffloadSettings();
+
 	public URI getUri() {
 		return this.uri;
 	}
@@ -95,18 +132,86 @@ public class Neo4jDriverProperties {
 		this.config = config;
 	}
 
+	public LoggingSettings getLogging() {
+		return this.logging;
+	}
+
+	public void setLogging(LoggingSettings logging) {
+		this.logging = logging;
+	}
+
+	public BatchWriterSettings getBatchWriter() {
+		return this.batchWriter;
+	}
+
+	public void setBatchWriter(BatchWriterSettings batchWriter) {
+		this.batchWriter = batchWriter;
+	}
+
+	public ReactiveIngestSettings getReactiveIngest() {
+		return this.reactiveIngest;
+	}
+
+	public void setReactiveIngest(ReactiveIngestSettings reactiveIngest) {
+		this.reactiveIngest = reactiveIngest;
+	}
+
+	public QueryCacheSettings getCache() {
+		return this.cache;
+	}
+
+	public void setCache(QueryCacheSettings cache) {
+		this.cache = cache;
+	}
+
+	public StatementSettings getStatements() {
+		return this.statements;
+	}
+
+	public void setStatements(StatementSettings statements) {
+		this.statements = statements;
+	}
+
+	public VirtualThreadSettings getVirtualThreads() {
+		return this.virtualThreads;
+	}
+
+	public void setVirtualThreads(VirtualThreadSettings virtualThreads) {
+		this.virtualThreads = virtualThreads;
+	}
+
+	public OffloadSettings getOffload() {
+		return this.offload;
+	}
+
+	public void setOffload(OffloadSettings offload) {
+		this.offload = offload;
+	}
+
 	public AuthToken getAuthToken() {
 		return this.authentication.asAuthToken();
 	}
 
 	public Config asDriverConfig() {
+		return asDriverConfig(new Neo4jSpringJclLogging(this.logging.isMdcEnabled()));
+	}
+
+	/**
+	 * Creates the driver config with a dedicated logging.
+	 *
+	 * @param driverLogging the logging to be used by the driver
+	 * @return the driver config
+	 */
+	public Config asDriverConfig(Logging driverLogging) {
+
+		Assert.notNull(driverLogging, "Logging must not be null");
 
 		Config.ConfigBuilder builder = Config.builder();
 		this.pool.applyTo(builder);
 		String scheme = uri == null ? "bolt" : uri.getScheme();
 		this.config.applyTo(builder, isSimpleScheme(scheme));
 
-		return builder.withLogging(new Neo4jSpringJclLogging()).build();
+		return builder.withLogging(driverLogging).build();
 	}
 
 	static boolean isSimpleScheme(String scheme) {
@@ -477,4 +582,364 @@ public class Neo4jDriverProperties {
 			return internalRepresentation;
 		}
 	}
+
+	public static class LoggingSettings {
+
+		/**
+		 * Flag, if driver log events are handed to the logging system by a background thread. Identical messages are
+		 * rate-limited in that mode.
+		 */
+		private boolean async = false;
+
+		/**
+		 * The maximum number of log events waiting for the background thread. Further events are dropped.
+		 */
+		private int queueCapacity = 8192;
+
+		/**
+		 * The window in which identical messages are rate-limited.
+		 */
+		private Duration rateLimitWindow = Duration.ofSeconds(10);
+
+		/**
+		 * The maximum number of identical messages logged per window.
+		 */
+		private int maxIdenticalMessages = 10;
+
+		/**
+		 * Flag, if channel id, connection id and server address of the driver's network related messages are added to
+		 * the SLF4J MDC as neo4j.channelId, neo4j.connectionId and neo4j.serverAddress.
+		 */
+		private boolean mdcEnabled = false;
+
+		public boolean isAsync() {
+			return this.async;
+		}
+
+		public void setAsync(boolean async) {
+			this.async = async;
+		}
+
+		public int getQueueCapacity() {
+			return this.queueCapacity;
+		}
+
+		public void setQueueCapacity(int queueCapacity) {
+			this.queueCapacity = queueCapacity;
+		}
+
+		public Duration getRateLimitWindow() {
+			return this.rateLimitWindow;
+		}
+
+		public void setRateLimitWindow(Duration rateLimitWindow) {
+			this.rateLimitWindow = rateLimitWindow;
+		}
+
+		public int getMaxIdenticalMessages() {
+			return this.maxIdenticalMessages;
+		}
+
+		public void setMaxIdenticalMessages(int maxIdenticalMessages) {
+			this.maxIdenticalMessages = maxIdenticalMessages;
+		}
+
+		public boolean isMdcEnabled() {
+			return this.mdcEnabled;
+		}
+
+		public void setMdcEnabled(boolean mdcEnabled) {
+			this.mdcEnabled = mdcEnabled;
+		}
+
+		Neo4jAsyncLogging asAsyncLogging() {
+			return new Neo4jAsyncLogging(new Neo4jSpringJclLogging(this.mdcEnabled), this.queueCapacity, this.rateLimitWindow,
+				this.maxIdenticalMessages);
+		}
+	}
+
+	public static class BatchWriterSettings {
+
+		/**
+		 * The maximum number of rows written in one transaction. A batch is written as soon as that many rows are queued.
+		 */
+		private int batchSize = 1000;
+
+		/**
+		 * The maximum number of rows that are queued or being written. Writers reject further items when the database
+		 * does not keep up.
+		 */
+		private int capacity = 10_000;
+
+		/**
+		 * The maximum time a row waits for its batch to be filled before it is written with a smaller batch.
+		 */
+		private Duration flushInterval = Duration.ofSeconds(1);
+
+		/**
+		 * The maximum time a blocking write waits for free capacity.
+		 */
+		private Duration offerTimeout = Duration.ofSeconds(10);
+
+		public int getBatchSize() {
+			return this.batchSize;
+		}
+
+		public void setBatchSize(int batchSize) {
+			this.batchSize = batchSize;
+		}
+
+		public int getCapacity() {
+			return this.capacity;
+		}
+
+		public void setCapacity(int capacity) {
+			this.capacity = capacity;
+		}
+
+		public Duration getFlushInterval() {
+			return this.flushInterval;
+		}
+
+		public void setFlushInterval(Duration flushInterval) {
+			this.flushInterval = flushInterval;
+		}
+
+		public Duration getOfferTimeout() {
+			return this.offerTimeout;
+		}
+
+		public void setOfferTimeout(Duration offerTimeout) {
+			this.offerTimeout = offerTimeout;
+		}
+	}
+
+	public static class ReactiveIngestSettings {
+
+		/**
+		 * The maximum number of items written in one transaction.
+		 */
+		private int batchSize = 1000;
+
+		/**
+		 * The maximum time an item waits for its chunk to be filled before a smaller chunk is written.
+		 */
+		private Duration flushInterval = Duration.ofSeconds(1);
+
+		/**
+		 * The maximum number of chunks written concurrently.
+		 */
+		private int concurrency = 2;
+
+		public int getBatchSize() {
+			return this.batchSize;
+		}
+
+		public void setBatchSize(int batchSize) {
+			this.batchSize = batchSize;
+		}
+
+		public Duration getFlushInterval() {
+			return this.flushInterval;
+		}
+
+		public void setFlushInterval(Duration flushInterval) {
+			this.flushInterval = flushInterval;
+		}
+
+		public int getConcurrency() {
+			return this.concurrency;
+		}
+
+		public void setConcurrency(int concurrency) {
+			this.concurrency = concurrency;
+		}
+	}
+
+	public static class QueryCacheSettings {
+
+		/**
+		 * Flag, if the query result cache is enabled. Writes through the driver of the starter are tracked in that case.
+		 */
+		private boolean enabled = false;
+
+		/**
+		 * The maximum number of records held by the cache. The least recently used results are evicted first.
+		 */
+		private long maximumWeight = 10_000;
+
+		/**
+		 * The time after which cached results expire.
+		 */
+		private Duration timeToLive = Duration.ofMinutes(1);
+
+		public boolean isEnabled() {
+			return this.enabled;
+		}
+
+		public void setEnabled(boolean enabled) {
+			this.enabled = enabled;
+		}
+
+		public long getMaximumWeight() {
+			return this.maximumWeight;
+		}
+
+		public void setMaximumWeight(long maximumWeight) {
+			this.maximumWeight = maximumWeight;
+		}
+
+		public Duration getTimeToLive() {
+			return this.timeToLive;
+		}
+
+		public void setTimeToLive(Duration timeToLive) {
+			this.timeToLive = timeToLive;
+		}
+	}
+
+	public static class StatementSettings {
+
+		/**
+		 * The location pattern of the files containing one named Cypher statement each. The name of a statement is
+		 * the path of its file relative to the directory the pattern starts with, without extension.
+		 */
+		private String locations = "classpath*:cypher/**/*.cypher";
+
+		/**
+		 * Flag, if all statements are explained during startup, warming up the query plan cache of the server.
+		 */
+		private boolean warmUp = true;
+
+		/**
+		 * The maximum number of statements explained concurrently.
+		 */
+		private int warmUpConcurrency = 4;
+
+		/**
+		 * The maximum time the startup waits for all statements to be explained.
+		 */
+		private Duration warmUpTimeout = Duration.ofSeconds(30);
+
+		/**
+		 * Flag, if statements rejected by the server, for example due to syntax errors, fail the startup.
+		 */
+		private boolean failOnError = true;
+
+		public String getLocations() {
+			return this.locations;
+		}
+
+		public void setLocations(String locations) {
+			this.locations = locations;
+		}
+
+		public boolean isWarmUp() {
+			return this.warmUp;
+		}
+
+		public void setWarmUp(boolean warmUp) {
+			this.warmUp = warmUp;
+		}
+
+		public int getWarmUpConcurrency() {
+			return this.warmUpConcurrency;
+		}
+
+		public void setWarmUpConcurrency(int warmUpConcurrency) {
+			this.warmUpConcurrency = warmUpConcurrency;
+		}
+
+		public Duration getWarmUpTimeout() {
+			return this.warmUpTimeout;
+		}
+
+		public void setWarmUpTimeout(Duration warmUpTimeout) {
+			this.warmUpTimeout = warmUpTimeout;
+		}
+
+		public boolean isFailOnError() {
+			return this.failOnError;
+		}
+
+		public void setFailOnError(boolean failOnError) {
+			this.failOnError = failOnError;
+		}
+	}
+
+	public static class VirtualThreadSettings {
+
+		/**
+		 * Flag, if blocking sessions are limited for use on virtual threads and, on Java 21 or later, requests of an
+		 * embedded Tomcat are served on virtual threads.
+		 */
+		private boolean enabled = false;
+
+		/**
+		 * The maximum number of blocking sessions open at the same time. Defaults to the maximum connection pool size.
+		 * Threads opening further sessions wait until a session is closed, at most for the connection acquisition
+		 * timeout.
+		 */
+		private Integer acquisitionConcurrency;
+
+		public boolean isEnabled() {
+			return this.enabled;
+		}
+
+		public void setEnabled(boolean enabled) {
+			this.enabled = enabled;
+		}
+
+		public Integer getAcquisitionConcurrency() {
+			return this.acquisitionConcurrency;
+		}
+
+		public void setAcquisitionConcurrency(Integer acquisitionConcurrency) {
+			this.acquisitionConcurrency = acquisitionConcurrency;
+		}
+	}
+
+	public static class OffloadSettings {
+
+		/**
+		 * Flag, if asynchronous and reactive results are signalled on an executor instead of the network threads of
+		 * the driver.
+		 */
+		private boolean enabled = false;
+
+		/**
+		 * The name of the bean signalling results, either an {@link java.util.concurrent.Executor} or a Reactor
+		 * {@code Scheduler}.
+		 */
+		private String executor = "applicationTaskExecutor";
+
+		/**
+		 * Flag, if blocking calls on the network threads of the driver are logged.
+		 */
+		private boolean detectBlockingCalls = true;
+
+		public boolean isEnabled() {
+			return this.enabled;
+		}
+
+		public void setEnabled(boolean enabled) {
+			this.enabled = enabled;
+		}
+
+		public String getExecutor() {
+			return this.executor;
+		}
+
+		public void setExecutor(String executor) {
+			this.executor = executor;
+		}
+
+		public boolean isDetectBlockingCalls() {
+			return this.detectBlockingCalls;
+		}
+
+		public void setDetectBlockingCalls(boolean detectBlockingCalls) {
+			this.detectBlockingCalls = detectBlockingCalls;
+		}
+	}
 }
@@ -0,0 +1,138 @@
+/*
+ * Copyright (c) 2019-2020 "Neo4j,"
+ * Neo4j Sweden AB [https://neo4j.com]
+ *
+ * This file is part of Neo4j.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.neo4j.driver.springframework.boot.autoconfigure;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.net.URL;
+import java.nio.charset.StandardCharsets;
+import java.util.Collections;
+import java.util.Enumeration;
+import java.util.Set;
+import java.util.TreeSet;
+
+import org.apache.commons.logging.Log;
+import org.apache.commons.logging.LogFactory;
+import org.springframework.util.StringUtils;
+
+/**
+ * Resolves the packages to scan for entities against the index written by the {@code Neo4jEntityIndexProcessor} of
+ * the {@code neo4j-java-driver-spring-boot-processor} artifact.
+ * OGM reads the index of each package it is asked for and only scans the classpath if one of them is missing. The
+ * packages configured for scanning are usually parents of the actual entity packages, so they are replaced with the
+ * indexed packages below them.
+ *
+ * @author Michael J. Simons
+ */
+final class Neo4jEntityIndex {
+
+	private static final Log logger = LogFactory.getLog(Neo4jEntityIndex.class);
+
+	/**
+	 * Location of the list of packages with an entity index, as written by the processor.
+	 */
+	static final String PACKAGES_LOCATION = "META-INF/neo4j-ogm.packages";
+
+	/**
+	 * Name of the index file as expected by OGM.
+	 */
+	static final String INDEX_FILE_NAME = "neo4j-ogm.index";
+
+	/**
+	 * Resolves the indexed packages below the packages to scan. The original packages are returned when none of them
+	 * contains indexed packages or when an indexed package is split across several jars, as OGM only reads the first
+	 * index of a package.
+	 *
+	 * @param classLoader    the class loader to read the indexes from
+	 * @param packagesToScan the packages to scan for entities
+	 * @return the packages OGM should be asked for
+	 */
+	static String[] resolve(ClassLoader classLoader, String... packagesToScan) {
+
+		try {
+			Set<String> indexedPackages = new TreeSet<>();
+			Enumeration<URL> indexes = classLoader.getResources(PACKAGES_LOCATION);
+			while (indexes.hasMoreElements()) {
+				for (String indexedPackage : readEntries(indexes.nextElement())) {
+					if (isWithin(indexedPackage, packagesToScan)) {
+						indexedPackages.add(indexedPackage);
+					}
+				}
+			}
+
+			if (indexedPackages.isEmpty()) {
+				logger.debug("No indexed entities in " + StringUtils.arrayToCommaDelimitedString(packagesToScan));
+				return packagesToScan;
+			}
+
+			for (String indexedPackage : indexedPackages) {
+				int numberOfIndexes = Collections
+					.list(classLoader.getResources(indexLocationOf(indexedPackage))).size();
+				if (numberOfIndexes != 1) {
+					logger.warn("Package " + indexedPackage + " has " + numberOfIndexes
+						+ " entity indexes, falling back to scanning for entities.");
+					return packagesToScan;
+				}
+			}
+			return StringUtils.toStringArray(indexedPackages);
+		} catch (IOException ex) {
+			logger.warn("Could not read entity indexes, falling back to scanning for entities: " + ex.getMessage());
+			return packagesToScan;
+		}
+	}
+
+	/**
+	 * @param packageName the name of a package
+	 * @return the location of the index OGM reads for that package
+	 */
+	private static String indexLocationOf(String packageName) {
+		return "META-INF/resources/" + packageName.replace('.', '/') + "/" + INDEX_FILE_NAME;
+	}
+
+	private static boolean isWithin(String indexedPackage, String... packagesToScan) {
+
+		for (String packageToScan : packagesToScan) {
+			if (indexedPackage.equals(packageToScan) || indexedPackage.startsWith(packageToScan + ".")) {
+				return true;
+			}
+		}
+		return false;
+	}
+
+	private static Set<String> readEntries(URL index) throws IOException {
+
+		Set<String> entries = new TreeSet<>();
+		try (InputStream in = index.openStream();
+			BufferedReader reader = new BufferedReader(new InputStreamReader(in, StandardCharsets.UTF_8))) {
+			String line;
+			while ((line = reader.readLine()) != null) {
+				String entry = line.trim();
+				if (!entry.isEmpty()) {
+					entries.add(entry);
+				}
+			}
+		}
+		return entries;
+	}
+
+	private Neo4jEntityIndex() {
+	}
+}
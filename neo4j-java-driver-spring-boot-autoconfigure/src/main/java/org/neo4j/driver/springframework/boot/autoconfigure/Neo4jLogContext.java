@@ -0,0 +1,120 @@
+/*
+ * Copyright (c) 2019-2020 "Neo4j,"
+ * Neo4j Sweden AB [https://neo4j.com]
+ *
+ * This file is part of Neo4j.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.neo4j.driver.springframework.boot.autoconfigure;
+
+import org.slf4j.MDC;
+
+/**
+ * Exposes the context the driver adds to the messages of its network layer as SLF4J {@link MDC} entries. Those
+ * messages start with {@code [0x<channel id>][<connection id>][<server address>]}. The values are only available
+ * while the message is passed to the logging system, afterwards the entries that have been in the MDC before are
+ * restored.
+ *
+ * @author Michael J. Simons
+ */
+final class Neo4jLogContext {
+
+	/**
+	 * MDC key of the id of the Netty channel.
+	 */
+	static final String CHANNEL_ID = "neo4j.channelId";
+
+	/**
+	 * MDC key of the id the server assigned to the connection.
+	 */
+	static final String CONNECTION_ID = "neo4j.connectionId";
+
+	/**
+	 * MDC key of the address of the server.
+	 */
+	static final String SERVER_ADDRESS = "neo4j.serverAddress";
+
+	private static final String CHANNEL_PREFIX = "[0x";
+
+	private final String previousChannelId;
+
+	private final String previousConnectionId;
+
+	private final String previousServerAddress;
+
+	/**
+	 * Puts the context of the given message into the MDC.
+	 *
+	 * @param message a message of the driver
+	 * @return the entries of the MDC before, {@literal null} when the message had no context
+	 */
+	static Neo4jLogContext push(String message) {
+
+		if (message == null || !message.startsWith(CHANNEL_PREFIX)) {
+			return null;
+		}
+
+		int endOfChannelId = message.indexOf("][", CHANNEL_PREFIX.length());
+		if (endOfChannelId < 0) {
+			return null;
+		}
+		int endOfConnectionId = message.indexOf("][", endOfChannelId + 2);
+		if (endOfConnectionId < 0) {
+			return null;
+		}
+		int endOfServerAddress = message.indexOf("] ", endOfConnectionId + 2);
+		if (endOfServerAddress < 0) {
+			return null;
+		}
+
+		Neo4jLogContext previousContext = new Neo4jLogContext();
+		MDC.put(CHANNEL_ID, message.substring(CHANNEL_PREFIX.length(), endOfChannelId));
+		if (endOfConnectionId > endOfChannelId + 2) {
+			MDC.put(CONNECTION_ID, message.substring(endOfChannelId + 2, endOfConnectionId));
+		} else {
+			MDC.remove(CONNECTION_ID);
+		}
+		if (endOfServerAddress > endOfConnectionId + 2) {
+			MDC.put(SERVER_ADDRESS, message.substring(endOfConnectionId + 2, endOfServerAddress));
+		} else {
+			MDC.remove(SERVER_ADDRESS);
+		}
+		return previousContext;
+	}
+
+	private Neo4jLogContext() {
+		this.previousChannelId = MDC.get(CHANNEL_ID);
+		this.previousConnectionId = MDC.get(CONNECTION_ID);
+		this.previousServerAddress = MDC.get(SERVER_ADDRESS);
+	}
+
+	/**
+	 * Replaces the context put into the MDC by {@link #push(String)} with the entries that have been there before.
+	 */
+	void pop() {
+
+		restore(CHANNEL_ID, this.previousChannelId);
+		restore(CONNECTION_ID, this.previousConnectionId);
+		restore(SERVER_ADDRESS, this.previousServerAddress);
+	}
+
+	private static void restore(String key, String previousValue) {
+
+		if (previousValue == null) {
+			MDC.remove(key);
+		} else {
+			MDC.put(key, previousValue);
+		}
+	}
+}
@@ -0,0 +1,42 @@
+/*
+ * Copyright (c) 2019-2020 "Neo4j,"
+ * Neo4j Sweden AB [https://neo4j.com]
+ *
+ * This file is part of Neo4j.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.neo4j.driver.springframework.boot.autoconfigure;
+
+import java.lang.annotation.Documented;
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * Marks a type to be mapped from {@link org.neo4j.driver.Record records} and map like
+ * {@link org.neo4j.driver.Value values} such as nodes through a {@link Neo4jRecordMapper} generated at build time by
+ * the {@code Neo4jRecordMapperProcessor} of the {@code neo4j-java-driver-spring-boot-processor} artifact.
+ * <p>
+ * Types with an accessible constructor without parameters are populated through their setters, other types through
+ * their only accessible constructor. The names of the properties, respectively the constructor parameters, are the
+ * names of the columns or keys they are mapped from.
+ *
+ * @author Michael J. Simons
+ */
+@Documented
+@Retention(RetentionPolicy.CLASS)
+@Target(ElementType.TYPE)
+public @interface Neo4jMapped {
+}
@@ -0,0 +1,104 @@
+/*
+ * Copyright (c) 2019-2020 "Neo4j,"
+ * Neo4j Sweden AB [https://neo4j.com]
+ *
+ * This file is part of Neo4j.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.neo4j.driver.springframework.boot.autoconfigure;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+/**
+ * Used to configure how the starter sets up Neo4j-OGM on top of the {@link org.neo4j.driver.Driver Neo4j-Java-Driver}.
+ * The regular OGM settings are still configured through the properties of Spring Boot's Neo4j support.
+ *
+ * @author Michael J. Simons
+ */
+@ConfigurationProperties(prefix = "org.neo4j.driver.ogm")
+public class Neo4jOgmProperties {
+
+	/**
+	 * The configuration of the auto index manager.
+	 */
+	private AutoIndex autoIndex = new AutoIndex();
+
+	/**
+	 * Flag, if the entity index written at build time by the annotation processor of the starter is used instead of
+	 * scanning the classpath for entities.
+	 */
+	private boolean useEntityIndex = false;
+
+	/**
+	 * The configuration of the OGM metrics.
+	 */
+	private Metrics metrics = new Metrics();
+
+	public boolean isUseEntityIndex() {
+		return this.useEntityIndex;
+	}
+
+	public void setUseEntityIndex(boolean useEntityIndex) {
+		this.useEntityIndex = useEntityIndex;
+	}
+
+	public AutoIndex getAutoIndex() {
+		return this.autoIndex;
+	}
+
+	public void setAutoIndex(AutoIndex autoIndex) {
+		this.autoIndex = autoIndex;
+	}
+
+	public Metrics getMetrics() {
+		return this.metrics;
+	}
+
+	public void setMetrics(Metrics metrics) {
+		this.metrics = metrics;
+	}
+
+	public static class AutoIndex {
+
+		/**
+		 * Flag, if the auto index manager runs in the background instead of blocking the creation of the session factory.
+		 */
+		private boolean async = false;
+
+		public boolean isAsync() {
+			return this.async;
+		}
+
+		public void setAsync(boolean async) {
+			this.async = async;
+		}
+	}
+
+	public static class Metrics {
+
+		/**
+		 * Flag, if the sessions of the session factory are instrumented. Instrumented sessions are proxies and cannot be
+		 * cast to Neo4jSession.
+		 */
+		private boolean enabled = false;
+
+		public boolean isEnabled() {
+			return this.enabled;
+		}
+
+		public void setEnabled(boolean enabled) {
+			this.enabled = enabled;
+		}
+	}
+}
@@ -0,0 +1,37 @@
+/*
+ * Copyright (c) 2019-2020 "Neo4j,"
+ * Neo4j Sweden AB [https://neo4j.com]
+ *
+ * This file is part of Neo4j.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.neo4j.driver.springframework.boot.autoconfigure;
+
+import org.neo4j.ogm.session.Session;
+
+/**
+ * Decorates each Neo4j-OGM {@link Session} opened by the session factory configured by the starter, for example to
+ * instrument it. All beans of this type are applied in order.
+ *
+ * @author Michael J. Simons
+ */
+@FunctionalInterface
+public interface Neo4jOgmSessionDecorator {
+
+	/**
+	 * @param session the session that has just been opened
+	 * @return the session to be used instead, must not be null
+	 */
+	Session decorate(Session session);
+}
@@ -0,0 +1,434 @@
+/*
+ * Copyright (c) 2019-2020 "Neo4j,"
+ * Neo4j Sweden AB [https://neo4j.com]
+ *
+ * This file is part of Neo4j.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.neo4j.driver.springframework.boot.autoconfigure;
+
+import java.util.Arrays;
+
+import org.neo4j.driver.Record;
+import org.neo4j.driver.Result;
+import org.neo4j.driver.Value;
+import org.neo4j.driver.internal.types.InternalTypeSystem;
+import org.neo4j.driver.types.Type;
+import org.neo4j.driver.types.TypeSystem;
+import org.springframework.util.Assert;
+
+/**
+ * Decodes numeric lists and columns into primitive arrays. {@link Value#asList()} and {@link Value#asObject()} box
+ * each element of a list into a {@link Long} or {@link Double} and collect them into a new list, which dominates the
+ * allocations of results containing embeddings or time series. The methods here read the elements of a list value
+ * by index and write them straight into a primitive array.
+ * <p>
+ * The buffers {@link Longs}, {@link Doubles} and {@link Floats} collect values from many lists or records and can be
+ * {@link Longs#clear() cleared} and reused, so that their backing array is only allocated once it needs to grow.
+ *
+ * @author Michael J. Simons
+ */
+public final class Neo4jPrimitiveValues {
+
+	private static final TypeSystem TYPE_SYSTEM = InternalTypeSystem.TYPE_SYSTEM;
+
+	/**
+	 * @param list a list of integers
+	 * @return the elements of the list, {@literal null} if the value is null
+	 */
+	public static long[] toLongArray(Value list) {
+
+		if (list.isNull()) {
+			return null;
+		}
+		long[] values = new long[list.size()];
+		for (int i = 0; i < values.length; ++i) {
+			values[i] = list.get(i).asLong();
+		}
+		return values;
+	}
+
+	/**
+	 * @param list a list of numbers
+	 * @return the elements of the list, {@literal null} if the value is null
+	 */
+	public static double[] toDoubleArray(Value list) {
+
+		if (list.isNull()) {
+			return null;
+		}
+		double[] values = new double[list.size()];
+		for (int i = 0; i < values.length; ++i) {
+			values[i] = list.get(i).asDouble();
+		}
+		return values;
+	}
+
+	/**
+	 * Neo4j stores floating point numbers with double precision, they are narrowed to float without checking for a
+	 * loss of precision.
+	 *
+	 * @param list a list of numbers
+	 * @return the elements of the list, {@literal null} if the value is null
+	 */
+	public static float[] toFloatArray(Value list) {
+
+		if (list.isNull()) {
+			return null;
+		}
+		float[] values = new float[list.size()];
+		for (int i = 0; i < values.length; ++i) {
+			values[i] = (float) list.get(i).asDouble();
+		}
+		return values;
+	}
+
+	/**
+	 * Decodes lists containing only integers or only floats.
+	 *
+	 * @param list a list value
+	 * @return a {@code long[]} for lists of integers, a {@code double[]} for lists of floats and {@literal null} for
+	 * empty lists and lists containing other or mixed types
+	 */
+	static Object toPrimitiveArray(Value list) {
+
+		int size = list.size();
+		if (size == 0) {
+			return null;
+		}
+		Type elementType = list.get(0).type();
+		if (!(elementType.equals(TYPE_SYSTEM.INTEGER()) || elementType.equals(TYPE_SYSTEM.FLOAT()))) {
+			return null;
+		}
+		for (int i = 1; i < size; ++i) {
+			if (!list.get(i).hasType(elementType)) {
+				return null;
+			}
+		}
+		return elementType.equals(TYPE_SYSTEM.INTEGER()) ? toLongArray(list) : toDoubleArray(list);
+	}
+
+	private static int indexOf(Result result, String key) {
+
+		int index = result.keys().indexOf(key);
+		Assert.isTrue(index >= 0, () -> "Result has no column '" + key + "'");
+		return index;
+	}
+
+	/**
+	 * A growable buffer of longs.
+	 */
+	public static final class Longs {
+
+		private long[] values;
+
+		private int size;
+
+		public Longs() {
+			this(16);
+		}
+
+		/**
+		 * @param initialCapacity the initial capacity of the buffer
+		 */
+		public Longs(int initialCapacity) {
+			this.values = new long[initialCapacity];
+		}
+
+		public void add(long value) {
+
+			ensureCapacity(this.size + 1);
+			this.values[this.size++] = value;
+		}
+
+		/**
+		 * Adds an integer or all elements of a list of integers. Nothing is added for null values.
+		 *
+		 * @param value an integer or a list of integers
+		 */
+		public void add(Value value) {
+
+			if (value.isNull()) {
+				return;
+			}
+			if (!value.hasType(TYPE_SYSTEM.LIST())) {
+				add(value.asLong());
+				return;
+			}
+			int listSize = value.size();
+			ensureCapacity(this.size + listSize);
+			for (int i = 0; i < listSize; ++i) {
+				this.values[this.size++] = value.get(i).asLong();
+			}
+		}
+
+		/**
+		 * Adds the given column of all remaining records of a result. The column is resolved once.
+		 *
+		 * @param result the result to read
+		 * @param key    the column to add
+		 */
+		public void addColumn(Result result, String key) {
+
+			int index = indexOf(result, key);
+			while (result.hasNext()) {
+				Record record = result.next();
+				add(record.get(index));
+			}
+		}
+
+		public long get(int index) {
+
+			Assert.isTrue(index < this.size, "Index out of bounds");
+			return this.values[index];
+		}
+
+		public int size() {
+			return this.size;
+		}
+
+		/**
+		 * Empties the buffer and keeps its backing array.
+		 */
+		public void clear() {
+			this.size = 0;
+		}
+
+		/**
+		 * @return the backing array, valid up to {@link #size()}, without copying it
+		 */
+		public long[] array() {
+			return this.values;
+		}
+
+		/**
+		 * @return a copy of the values in the buffer
+		 */
+		public long[] toArray() {
+			return Arrays.copyOf(this.values, this.size);
+		}
+
+		private void ensureCapacity(int capacity) {
+
+			if (capacity > this.values.length) {
+				this.values = Arrays.copyOf(this.values, Math.max(capacity, this.values.length * 2));
+			}
+		}
+	}
+
+	/**
+	 * A growable buffer of doubles.
+	 */
+	public static final class Doubles {
+
+		private double[] values;
+
+		private int size;
+
+		public Doubles() {
+			this(16);
+		}
+
+		/**
+		 * @param initialCapacity the initial capacity of the buffer
+		 */
+		public Doubles(int initialCapacity) {
+			this.values = new double[initialCapacity];
+		}
+
+		public void add(double value) {
+
+			ensureCapacity(this.size + 1);
+			this.values[this.size++] = value;
+		}
+
+		/**
+		 * Adds a number or all elements of a list of numbers. Nothing is added for null values.
+		 *
+		 * @param value a number or a list of numbers
+		 */
+		public void add(Value value) {
+
+			if (value.isNull()) {
+				return;
+			}
+			if (!value.hasType(TYPE_SYSTEM.LIST())) {
+				add(value.asDouble());
+				return;
+			}
+			int listSize = value.size();
+			ensureCapacity(this.size + listSize);
+			for (int i = 0; i < listSize; ++i) {
+				this.values[this.size++] = value.get(i).asDouble();
+			}
+		}
+
+		/**
+		 * Adds the given column of all remaining records of a result. The column is resolved once.
+		 *
+		 * @param result the result to read
+		 * @param key    the column to add
+		 */
+		public void addColumn(Result result, String key) {
+
+			int index = indexOf(result, key);
+			while (result.hasNext()) {
+				Record record = result.next();
+				add(record.get(index));
+			}
+		}
+
+		public double get(int index) {
+
+			Assert.isTrue(index < this.size, "Index out of bounds");
+			return this.values[index];
+		}
+
+		public int size() {
+			return this.size;
+		}
+
+		/**
+		 * Empties the buffer and keeps its backing array.
+		 */
+		public void clear() {
+			this.size = 0;
+		}
+
+		/**
+		 * @return the backing array, valid up to {@link #size()}, without copying it
+		 */
+		public double[] array() {
+			return this.values;
+		}
+
+		/**
+		 * @return a copy of the values in the buffer
+		 */
+		public double[] toArray() {
+			return Arrays.copyOf(this.values, this.size);
+		}
+
+		private void ensureCapacity(int capacity) {
+
+			if (capacity > this.values.length) {
+				this.values = Arrays.copyOf(this.values, Math.max(capacity, this.values.length * 2));
+			}
+		}
+	}
+
+	/**
+	 * A growable buffer of floats. Values are narrowed from double precision without checking for a loss of precision.
+	 */
+	public static final class Floats {
+
+		private float[] values;
+
+		private int size;
+
+		public Floats() {
+			this(16);
+		}
+
+		/**
+		 * @param initialCapacity the initial capacity of the buffer
+		 */
+		public Floats(int initialCapacity) {
+			this.values = new float[initialCapacity];
+		}
+
+		public void add(float value) {
+
+			ensureCapacity(this.size + 1);
+			this.values[this.size++] = value;
+		}
+
+		/**
+		 * Adds a number or all elements of a list of numbers. Nothing is added for null values.
+		 *
+		 * @param value a number or a list of numbers
+		 */
+		public void add(Value value) {
+
+			if (value.isNull()) {
+				return;
+			}
+			if (!value.hasType(TYPE_SYSTEM.LIST())) {
+				add((float) value.asDouble());
+				return;
+			}
+			int listSize = value.size();
+			ensureCapacity(this.size + listSize);
+			for (int i = 0; i < listSize; ++i) {
+				this.values[this.size++] = (float) value.get(i).asDouble();
+			}
+		}
+
+		/**
+		 * Adds the given column of all remaining records of a result. The column is resolved once.
+		 *
+		 * @param result the result to read
+		 * @param key    the column to add
+		 */
+		public void addColumn(Result result, String key) {
+
+			int index = indexOf(result, key);
+			while (result.hasNext()) {
+				Record record = result.next();
+				add(record.get(index));
+			}
+		}
+
+		public float get(int index) {
+
+			Assert.isTrue(index < this.size, "Index out of bounds");
+			return this.values[index];
+		}
+
+		public int size() {
+			return this.size;
+		}
+
+		/**
+		 * Empties the buffer and keeps its backing array.
+		 */
+		public void clear() {
+			this.size = 0;
+		}
+
+		/**
+		 * @return the backing array, valid up to {@link #size()}, without copying it
+		 */
+		public float[] array() {
+			return this.values;
+		}
+
+		/**
+		 * @return a copy of the values in the buffer
+		 */
+		public float[] toArray() {
+			return Arrays.copyOf(this.values, this.size);
+		}
+
+		private void ensureCapacity(int capacity) {
+
+			if (capacity > this.values.length) {
+				this.values = Arrays.copyOf(this.values, Math.max(capacity, this.values.length * 2));
+			}
+		}
+	}
+
+	private Neo4jPrimitiveValues() {
+	}
+}
@@ -0,0 +1,331 @@
+/*
+ * Copyright (c) 2019-2020 "Neo4j,"
+ * Neo4j Sweden AB [https://neo4j.com]
+ *
+ * This file is part of Neo4j.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.neo4j.driver.springframework.boot.autoconfigure;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.atomic.LongAdder;
+
+import org.neo4j.driver.AccessMode;
+import org.neo4j.driver.Bookmark;
+import org.neo4j.driver.Driver;
+import org.neo4j.driver.Query;
+import org.neo4j.driver.Record;
+import org.neo4j.driver.Session;
+import org.neo4j.driver.SessionConfig;
+import org.neo4j.driver.Value;
+import org.springframework.util.Assert;
+
+/**
+ * A client-side cache of query results, keyed by statement, parameters and database. Results are read in read
+ * transactions and evicted when they are older than {@code time-to-live} or - least recently used first - when the
+ * total number of records held exceeds {@code maximum-weight}.
+ * <p>
+ * Writes committed through the driver of the starter invalidate the results of the database written to. The results
+ * of the default database are invalidated by all writes, as it might be one of the named databases. Results read after
+ * a write are read with the bookmark of that write, so that they contain the write even when read from another member
+ * of a cluster. Reads that started before a write are not cached.
+ *
+ * @author Michael J. Simons
+ */
+public final class Neo4jQueryCache {
+
+	private final Driver driver;
+
+	private final long maximumWeight;
+
+	private final long timeToLiveInNanos;
+
+	/**
+	 * The cached results in access order, guarded by this.
+	 */
+	private final LinkedHashMap<Key, Entry> entries = new LinkedHashMap<>(16, 0.75f, true);
+
+	/**
+	 * The last bookmark written per database, guarded by this.
+	 */
+	private final Map<String, Bookmark> bookmarks = new HashMap<>();
+
+	private long weight;
+
+	/**
+	 * Incremented with each invalidation. Results that have been read in an older generation are not cached.
+	 */
+	private long generation;
+
+	private final LongAdder hits = new LongAdder();
+
+	private final LongAdder misses = new LongAdder();
+
+	private final LongAdder evictions = new LongAdder();
+
+	private final LongAdder invalidations = new LongAdder();
+
+	public Neo4jQueryCache(Driver driver, Neo4jDriverProperties.QueryCacheSettings settings) {
+
+		Assert.notNull(driver, "Driver must not be null");
+		Assert.notNull(settings, "Settings must not be null");
+		Assert.isTrue(settings.getMaximumWeight() > 0, "Maximum weight must be greater than 0");
+		Assert.isTrue(!settings.getTimeToLive().isNegative() && !settings.getTimeToLive().isZero(),
+			"Time to live must be positive");
+
+		this.driver = driver;
+		this.maximumWeight = settings.getMaximumWeight();
+		this.timeToLiveInNanos = settings.getTimeToLive().toNanos();
+	}
+
+	/**
+	 * Returns the records of the given query against the default database, from the cache when possible.
+	 *
+	 * @param query the query to run
+	 * @return the immutable list of records
+	 */
+	public List<Record> query(Query query) {
+		return query(null, query);
+	}
+
+	/**
+	 * Returns the records of the given query against the given database, from the cache when possible.
+	 *
+	 * @param database the name of the database, {@literal null} for the default database
+	 * @param query    the query to run
+	 * @return the immutable list of records
+	 */
+	public List<Record> query(String database, Query query) {
+
+		Assert.notNull(query, "Query must not be null");
+
+		Key key = new Key(database, query.text(), query.parameters());
+		long readInGeneration;
+		List<Bookmark> readBookmarks;
+		synchronized (this) {
+			Entry entry = this.entries.get(key);
+			if (entry != null) {
+				if (entry.expiresAt - System.nanoTime() > 0) {
+					this.hits.increment();
+					return entry.records;
+				}
+				remove(key);
+				this.evictions.increment();
+			}
+			readInGeneration = this.generation;
+			readBookmarks = getBookmarksForReading(database);
+		}
+
+		this.misses.increment();
+		List<Record> records = read(database, query, readBookmarks);
+		put(key, records, readInGeneration);
+		return records;
+	}
+
+	/**
+	 * Invalidates the results of the given database. Called for each write committed through the driver of the
+	 * starter.
+	 *
+	 * @param database the name of the database written to, {@literal null} for the default database
+	 * @param bookmark the bookmark of the write, used for reading from that database from now on, may be
+	 *                 {@literal null}
+	 */
+	public void invalidate(String database, Bookmark bookmark) {
+
+		synchronized (this) {
+			++this.generation;
+			if (bookmark != null) {
+				this.bookmarks.put(database, bookmark);
+			}
+			Iterator<Map.Entry<Key, Entry>> iterator = this.entries.entrySet().iterator();
+			while (iterator.hasNext()) {
+				Map.Entry<Key, Entry> entry = iterator.next();
+				String cachedDatabase = entry.getKey().database;
+				if (database == null || cachedDatabase == null || database.equals(cachedDatabase)) {
+					this.weight -= entry.getValue().weight();
+					iterator.remove();
+				}
+			}
+		}
+		this.invalidations.increment();
+	}
+
+	/**
+	 * Invalidates all results.
+	 */
+	public void invalidateAll() {
+
+		synchronized (this) {
+			++this.generation;
+			this.entries.clear();
+			this.weight = 0;
+		}
+		this.invalidations.increment();
+	}
+
+	/**
+	 * @return the number of queries answered from the cache
+	 */
+	public long getHits() {
+		return this.hits.sum();
+	}
+
+	/**
+	 * @return the number of queries that had to be run against the database
+	 */
+	public long getMisses() {
+		return this.misses.sum();
+	}
+
+	/**
+	 * @return the number of results evicted because they expired or the cache was full
+	 */
+	public long getEvictions() {
+		return this.evictions.sum();
+	}
+
+	/**
+	 * @return the number of invalidations
+	 */
+	public long getInvalidations() {
+		return this.invalidations.sum();
+	}
+
+	/**
+	 * @return the number of cached results
+	 */
+	public synchronized int getSize() {
+		return this.entries.size();
+	}
+
+	/**
+	 * @return the number of records held by the cache
+	 */
+	public synchronized long getWeight() {
+		return this.weight;
+	}
+
+	/**
+	 * The default database may be any of the named databases written to, so reads from it wait for all known
+	 * bookmarks. Reads from a named database only wait for the last write to that database.
+	 */
+	private List<Bookmark> getBookmarksForReading(String database) {
+
+		if (database == null) {
+			return new ArrayList<>(this.bookmarks.values());
+		}
+		Bookmark bookmark = this.bookmarks.get(database);
+		return bookmark == null ? Collections.emptyList() : Collections.singletonList(bookmark);
+	}
+
+	private List<Record> read(String database, Query query, List<Bookmark> readBookmarks) {
+
+		SessionConfig.Builder sessionConfig = SessionConfig.builder().withDefaultAccessMode(AccessMode.READ);
+		if (database != null) {
+			sessionConfig.withDatabase(database);
+		}
+		if (!readBookmarks.isEmpty()) {
+			sessionConfig.withBookmarks(readBookmarks);
+		}
+		try (Session session = this.driver.session(sessionConfig.build())) {
+			return Collections.unmodifiableList(session.readTransaction(tx -> tx.run(query).list()));
+		}
+	}
+
+	private synchronized void put(Key key, List<Record> records, long readInGeneration) {
+
+		Entry entry = new Entry(records, System.nanoTime() + this.timeToLiveInNanos);
+		if (readInGeneration != this.generation || entry.weight() > this.maximumWeight) {
+			return;
+		}
+
+		remove(key);
+		this.entries.put(key, entry);
+		this.weight += entry.weight();
+
+		Iterator<Entry> leastRecentlyUsed = this.entries.values().iterator();
+		while (this.weight > this.maximumWeight) {
+			this.weight -= leastRecentlyUsed.next().weight();
+			leastRecentlyUsed.remove();
+			this.evictions.increment();
+		}
+	}
+
+	private void remove(Key key) {
+
+		Entry entry = this.entries.remove(key);
+		if (entry != null) {
+			this.weight -= entry.weight();
+		}
+	}
+
+	private static final class Key {
+
+		private final String database;
+
+		private final String text;
+
+		private final Value parameters;
+
+		Key(String database, String text, Value parameters) {
+			this.database = database;
+			this.text = text;
+			this.parameters = parameters;
+		}
+
+		@Override
+		public boolean equals(Object o) {
+			if (this == o) {
+				return true;
+			}
+			if (!(o instanceof Key)) {
+				return false;
+			}
+			Key key = (Key) o;
+			return Objects.equals(this.database, key.database) && this.text.equals(key.text)
+				&& this.parameters.equals(key.parameters);
+		}
+
+		@Override
+		public int hashCode() {
+			return Objects.hash(this.database, this.text, this.parameters);
+		}
+	}
+
+	private static final class Entry {
+
+		private final List<Record> records;
+
+		private final long expiresAt;
+
+		Entry(List<Record> records, long expiresAt) {
+			this.records = records;
+			this.expiresAt = expiresAt;
+		}
+
+		/**
+		 * @return the number of records, but at least 1, so that empty results count as well
+		 */
+		long weight() {
+			return Math.max(1, this.records.size());
+		}
+	}
+}
@@ -0,0 +1,368 @@
+/*
+ * Copyright (c) 2019-2020 "Neo4j,"
+ * Neo4j Sweden AB [https://neo4j.com]
+ *
+ * This file is part of Neo4j.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.neo4j.driver.springframework.boot.autoconfigure;
+
+import reactor.core.Disposable;
+import reactor.core.publisher.BaseSubscriber;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.FluxSink;
+import reactor.core.publisher.Mono;
+import reactor.core.publisher.Operators;
+import reactor.core.scheduler.Scheduler;
+import reactor.core.scheduler.Schedulers;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+import org.neo4j.driver.Driver;
+import org.neo4j.driver.SessionConfig;
+import org.neo4j.driver.reactive.RxResult;
+import org.neo4j.driver.reactive.RxSession;
+import org.neo4j.driver.summary.SummaryCounters;
+import org.reactivestreams.Subscription;
+import org.springframework.util.Assert;
+
+/**
+ * Writes the items of a {@link Flux} in chunks through the reactive sessions of the driver. A chunk is written as soon
+ * as it contains {@code batch-size} items or when its oldest item waited for {@code flush-interval}, each chunk in a
+ * write transaction of its own, passed as parameter {@code rows} to the statement. At most {@code concurrency} chunks
+ * are written at the same time.
+ * <p>
+ * Items are only requested from the source when there is room for them: One chunk is filled while at most
+ * {@code concurrency} chunks are written, so a producer faster than the database is slowed down instead of
+ * piling up items on the heap. The returned {@link Flux} fails with the first chunk that could not be written.
+ *
+ * @author Michael J. Simons
+ */
+public final class Neo4jReactiveIngest {
+
+	private final Driver driver;
+
+	private final int batchSize;
+
+	private final Duration flushInterval;
+
+	private final int concurrency;
+
+	public Neo4jReactiveIngest(Driver driver, Neo4jDriverProperties.ReactiveIngestSettings settings) {
+
+		Assert.notNull(driver, "Driver must not be null");
+		Assert.notNull(settings, "Settings must not be null");
+		Assert.isTrue(settings.getBatchSize() > 0, "Batch size must be greater than 0");
+		Assert.isTrue(settings.getConcurrency() > 0, "Concurrency must be greater than 0");
+		Assert.isTrue(!settings.getFlushInterval().isNegative() && !settings.getFlushInterval().isZero(),
+			"Flush interval must be positive");
+
+		this.driver = driver;
+		this.batchSize = settings.getBatchSize();
+		this.flushInterval = settings.getFlushInterval();
+		this.concurrency = settings.getConcurrency();
+	}
+
+	/**
+	 * Writes all items against the default database.
+	 *
+	 * @param items     the items to write
+	 * @param statement the statement executed for each chunk, getting the rows as parameter {@code rows}
+	 * @param rowMapper maps items to rows
+	 * @param <T>       the type of items written
+	 * @return a summary of each chunk written, in the order the writes completed
+	 */
+	public <T> Flux<ChunkSummary> ingest(Flux<T> items, String statement, Function<T, Map<String, Object>> rowMapper) {
+		return ingest(items, SessionConfig.defaultConfig(), statement, rowMapper);
+	}
+
+	/**
+	 * Writes all items through sessions opened with the given configuration, for example against another database.
+	 *
+	 * @param items         the items to write
+	 * @param sessionConfig the configuration of the sessions used to write chunks
+	 * @param statement     the statement executed for each chunk, getting the rows as parameter {@code rows}
+	 * @param rowMapper     maps items to rows
+	 * @param <T>           the type of items written
+	 * @return a summary of each chunk written, in the order the writes completed
+	 */
+	public <T> Flux<ChunkSummary> ingest(Flux<T> items, SessionConfig sessionConfig, String statement,
+		Function<T, Map<String, Object>> rowMapper) {
+
+		Assert.notNull(items, "Items must not be null");
+		Assert.notNull(sessionConfig, "Session config must not be null");
+		Assert.hasText(statement, "Statement must not be empty");
+		Assert.notNull(rowMapper, "Row mapper must not be null");
+
+		return Flux.defer(() -> {
+			AtomicLong chunks = new AtomicLong();
+			return chunk(items, this.batchSize, this.flushInterval, Schedulers.parallel())
+				.flatMap(chunk -> {
+					List<Map<String, Object>> rows = chunk.stream().map(rowMapper).collect(Collectors.toList());
+					return write(chunks.getAndIncrement(), rows, sessionConfig, statement);
+				}, this.concurrency, 1);
+		});
+	}
+
+	private Mono<ChunkSummary> write(long index, List<Map<String, Object>> rows, SessionConfig sessionConfig,
+		String statement) {
+
+		return Mono.defer(() -> {
+			long start = System.nanoTime();
+			return Flux.usingWhen(
+				Mono.fromSupplier(() -> this.driver.rxSession(sessionConfig)),
+				session -> session.writeTransaction(tx -> {
+					RxResult result = tx.run(statement, Collections.singletonMap("rows", rows));
+					return result.consume();
+				}),
+				RxSession::close
+			).single().map(summary -> new ChunkSummary(index, rows.size(), summary.counters(),
+				Duration.ofNanos(System.nanoTime() - start)));
+		});
+	}
+
+	/**
+	 * Cuts the source into chunks of at most {@code batchSize} items, emitting smaller chunks when their oldest item
+	 * waited for {@code flushInterval}. Contrary to {@link Flux#bufferTimeout(int, Duration)}, a chunk that is due
+	 * while there is no demand is kept until there is, and the source is only asked for as many items as fit into the
+	 * chunk being filled.
+	 *
+	 * @param source        the items to cut into chunks
+	 * @param batchSize     the maximum size of a chunk
+	 * @param flushInterval the maximum time an item waits for its chunk to be filled
+	 * @param timer         the scheduler used for the flush interval
+	 * @param <T>           the type of items
+	 * @return the chunks
+	 */
+	static <T> Flux<List<T>> chunk(Flux<T> source, int batchSize, Duration flushInterval, Scheduler timer) {
+
+		return Flux.create(sink -> {
+			Chunker<T> chunker = new Chunker<>(sink, batchSize, flushInterval, timer);
+			sink.onRequest(chunker::onRequest);
+			sink.onDispose(chunker);
+			source.subscribe(chunker);
+		});
+	}
+
+	/**
+	 * The outcome of writing one chunk.
+	 */
+	public static final class ChunkSummary {
+
+		private final long index;
+
+		private final int rows;
+
+		private final SummaryCounters counters;
+
+		private final Duration duration;
+
+		ChunkSummary(long index, int rows, SummaryCounters counters, Duration duration) {
+			this.index = index;
+			this.rows = rows;
+			this.counters = counters;
+			this.duration = duration;
+		}
+
+		/**
+		 * @return the zero based position of the chunk in the ingested items
+		 */
+		public long getIndex() {
+			return this.index;
+		}
+
+		/**
+		 * @return the number of rows passed to the statement
+		 */
+		public int getRows() {
+			return this.rows;
+		}
+
+		/**
+		 * @return the counters of the transaction that wrote the chunk
+		 */
+		public SummaryCounters getCounters() {
+			return this.counters;
+		}
+
+		/**
+		 * @return the time it took to write the chunk
+		 */
+		public Duration getDuration() {
+			return this.duration;
+		}
+
+		@Override
+		public String toString() {
+			return "ChunkSummary{" +
+				"index=" + this.index +
+				", rows=" + this.rows +
+				", duration=" + this.duration +
+				'}';
+		}
+	}
+
+	private static final class Chunker<T> extends BaseSubscriber<T> {
+
+		private final FluxSink<List<T>> sink;
+
+		private final int batchSize;
+
+		private final Duration flushInterval;
+
+		private final Scheduler timer;
+
+		// All of the following are guarded by this
+		private List<T> chunk;
+
+		private long demand;
+
+		private boolean flushDue;
+
+		private boolean completed;
+
+		private boolean terminated;
+
+		private Disposable pendingFlush;
+
+		Chunker(FluxSink<List<T>> sink, int batchSize, Duration flushInterval, Scheduler timer) {
+			this.sink = sink;
+			this.batchSize = batchSize;
+			this.flushInterval = flushInterval;
+			this.timer = timer;
+			this.chunk = new ArrayList<>(batchSize);
+		}
+
+		@Override
+		protected void hookOnSubscribe(Subscription subscription) {
+			request(this.batchSize);
+		}
+
+		@Override
+		protected void hookOnNext(T item) {
+
+			synchronized (this) {
+				List<T> current = this.chunk;
+				current.add(item);
+				if (current.size() >= this.batchSize) {
+					this.flushDue = true;
+				} else if (current.size() == 1) {
+					this.pendingFlush = this.timer.schedule(() -> flushIntervalElapsed(current),
+						this.flushInterval.toMillis(), TimeUnit.MILLISECONDS);
+				}
+			}
+			drain();
+		}
+
+		@Override
+		protected void hookOnComplete() {
+
+			synchronized (this) {
+				this.completed = true;
+				this.flushDue = true;
+			}
+			drain();
+		}
+
+		@Override
+		protected void hookOnError(Throwable throwable) {
+
+			synchronized (this) {
+				this.terminated = true;
+				cancelPendingFlush();
+			}
+			this.sink.error(throwable);
+		}
+
+		@Override
+		protected void hookOnCancel() {
+
+			synchronized (this) {
+				cancelPendingFlush();
+			}
+		}
+
+		void onRequest(long n) {
+
+			synchronized (this) {
+				this.demand = Operators.addCap(this.demand, n);
+			}
+			drain();
+		}
+
+		private void flushIntervalElapsed(List<T> scheduledFor) {
+
+			synchronized (this) {
+				// The chunk might have been emitted in the meantime
+				if (this.chunk != scheduledFor) {
+					return;
+				}
+				this.pendingFlush = null;
+				this.flushDue = true;
+			}
+			drain();
+		}
+
+		/**
+		 * Emits the current chunk if it is due and requested. Emitting happens while holding the lock, so that
+		 * chunks and the completion signal cannot overtake each other, only the source is asked for more items outside.
+		 */
+		private void drain() {
+
+			int emitted = 0;
+			boolean complete = false;
+			synchronized (this) {
+				if (this.terminated) {
+					return;
+				}
+				if (this.flushDue && !this.chunk.isEmpty() && this.demand > 0) {
+					List<T> ready = this.chunk;
+					this.chunk = new ArrayList<>(this.batchSize);
+					this.demand--;
+					this.flushDue = this.completed;
+					cancelPendingFlush();
+					emitted = ready.size();
+					this.sink.next(ready);
+				}
+				if (this.completed && this.chunk.isEmpty()) {
+					this.terminated = true;
+					complete = true;
+				}
+			}
+
+			if (complete) {
+				this.sink.complete();
+			} else if (emitted > 0) {
+				// Refills the chunk being filled to the batch size again
+				request(emitted);
+			}
+		}
+
+		private void cancelPendingFlush() {
+
+			if (this.pendingFlush != null) {
+				this.pendingFlush.dispose();
+				this.pendingFlush = null;
+			}
+		}
+	}
+}
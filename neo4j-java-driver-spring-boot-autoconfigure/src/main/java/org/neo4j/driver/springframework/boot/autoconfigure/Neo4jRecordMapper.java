@@ -0,0 +1,81 @@
+/*
+ * Copyright (c) 2019-2020 "Neo4j,"
+ * Neo4j Sweden AB [https://neo4j.com]
+ *
+ * This file is part of Neo4j.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.neo4j.driver.springframework.boot.autoconfigure;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.Function;
+
+import org.neo4j.driver.Record;
+import org.neo4j.driver.Result;
+import org.neo4j.driver.Value;
+
+/**
+ * Maps {@link Record records} and map like {@link Value values} to instances of a {@link Neo4jMapped} type. The
+ * implementations are generated at build time and access the properties of the type directly, without reflection.
+ * <p>
+ * All records of a result have the same keys, so {@link #forKeys(List)} resolves the index of each column once and
+ * returns a function that reads the columns by index. A result with a single column not matching any property, for
+ * example {@code RETURN m}, is mapped through {@link #map(Value)} from the properties of that column.
+ *
+ * @param <T> the mapped type
+ * @author Michael J. Simons
+ */
+public interface Neo4jRecordMapper<T> {
+
+	/**
+	 * @param keys the keys of all records to be mapped
+	 * @return a function mapping records with the given keys
+	 */
+	Function<Record, T> forKeys(List<String> keys);
+
+	/**
+	 * @param value a node, relationship or map
+	 * @return the mapped object, {@literal null} if the value is null
+	 */
+	T map(Value value);
+
+	/**
+	 * Maps all remaining records of a result.
+	 *
+	 * @param result the result to map
+	 * @return the mapped objects
+	 */
+	default List<T> mapAll(Result result) {
+
+		Function<Record, T> mappingFunction = forKeys(result.keys());
+		List<T> mapped = new ArrayList<>();
+		while (result.hasNext()) {
+			mapped.add(mappingFunction.apply(result.next()));
+		}
+		return mapped;
+	}
+
+	/**
+	 * Retrieves the generated mapper for a type. The mapper is looked up once per type.
+	 *
+	 * @param type a type annotated with {@link Neo4jMapped}
+	 * @param <T>  the mapped type
+	 * @return the generated mapper
+	 * @throws IllegalArgumentException when there's no mapper for the type
+	 */
+	static <T> Neo4jRecordMapper<T> of(Class<T> type) {
+		return Neo4jRecordMappers.of(type);
+	}
+}
@@ -0,0 +1,76 @@
+/*
+ * Copyright (c) 2019-2020 "Neo4j,"
+ * Neo4j Sweden AB [https://neo4j.com]
+ *
+ * This file is part of Neo4j.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.neo4j.driver.springframework.boot.autoconfigure;
+
+import org.springframework.util.Assert;
+import org.springframework.util.ClassUtils;
+
+/**
+ * Looks up the mappers generated by the {@code Neo4jRecordMapperProcessor} of the
+ * {@code neo4j-java-driver-spring-boot-processor} artifact.
+ *
+ * @author Michael J. Simons
+ */
+final class Neo4jRecordMappers {
+
+	/**
+	 * Suffix of the generated mappers, as used by the processor.
+	 */
+	static final String SUFFIX = "Neo4jMapper";
+
+	private static final ClassValue<Neo4jRecordMapper<?>> MAPPERS = new ClassValue<Neo4jRecordMapper<?>>() {
+		@Override
+		protected Neo4jRecordMapper<?> computeValue(Class<?> type) {
+			return load(type);
+		}
+	};
+
+	@SuppressWarnings("unchecked")
+	static <T> Neo4jRecordMapper<T> of(Class<T> type) {
+
+		Assert.notNull(type, "Type must not be null");
+		return (Neo4jRecordMapper<T>) MAPPERS.get(type);
+	}
+
+	/**
+	 * The name of the mapper for nested types replaces the {@literal $} of the binary name with an underscore, so that
+	 * the mapper for {@code com.example.Outer$Inner} is {@code com.example.Outer_InnerNeo4jMapper}.
+	 *
+	 * @param binaryName the binary name of a mapped type
+	 * @return the name of the generated mapper
+	 */
+	static String mapperNameOf(String binaryName) {
+		return binaryName.replace('$', '_') + SUFFIX;
+	}
+
+	private static Neo4jRecordMapper<?> load(Class<?> type) {
+
+		String mapperName = mapperNameOf(type.getName());
+		try {
+			Class<?> mapperClass = ClassUtils.forName(mapperName, type.getClassLoader());
+			return (Neo4jRecordMapper<?>) mapperClass.getField("INSTANCE").get(null);
+		} catch (ReflectiveOperationException | LinkageError ex) {
+			throw new IllegalArgumentException("No mapper " + mapperName + " for " + type.getName()
+				+ ", is the type annotated with @Neo4jMapped and the annotation processor enabled?", ex);
+		}
+	}
+
+	private Neo4jRecordMappers() {
+	}
+}
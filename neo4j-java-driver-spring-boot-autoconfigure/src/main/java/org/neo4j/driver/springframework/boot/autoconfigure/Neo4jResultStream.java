@@ -0,0 +1,294 @@
+/*
+ * Copyright (c) 2019-2020 "Neo4j,"
+ * Neo4j Sweden AB [https://neo4j.com]
+ *
+ * This file is part of Neo4j.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.neo4j.driver.springframework.boot.autoconfigure;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Function;
+
+import org.neo4j.driver.Driver;
+import org.neo4j.driver.Query;
+import org.neo4j.driver.Record;
+import org.neo4j.driver.SessionConfig;
+import org.neo4j.driver.Value;
+import org.neo4j.driver.internal.types.InternalTypeSystem;
+import org.neo4j.driver.types.MapAccessor;
+import org.neo4j.driver.types.Path;
+import org.neo4j.driver.types.TypeSystem;
+import org.springframework.http.MediaType;
+import org.springframework.util.Assert;
+
+/**
+ * A query whose records are streamed to the client when returned from a Spring MVC or Spring WebFlux controller
+ * method. The query is run only when the response is written, each record is serialized as soon as it arrives and
+ * the session is closed when writing completes or the client disconnects, so that memory stays flat regardless of the
+ * number of records.
+ * <p>
+ * The records are written as newline delimited JSON when the client accepts {@code application/x-ndjson} or
+ * {@code application/stream+json}, as a JSON array otherwise. Each record is written as a map of its fields by
+ * default, with nodes and relationships being replaced by their properties and lists of numbers being written from
+ * primitive arrays.
+ *
+ * @author Michael J. Simons
+ */
+public final class Neo4jResultStream {
+
+	static final MediaType APPLICATION_NDJSON = MediaType.parseMediaType("application/x-ndjson");
+
+	private static final TypeSystem TYPE_SYSTEM = InternalTypeSystem.TYPE_SYSTEM;
+
+	private final Driver driver;
+
+	private final Query query;
+
+	private final SessionConfig sessionConfig;
+
+	private final Function<Record, ?> recordMapper;
+
+	/**
+	 * Creates a stream of the records returned by the given query.
+	 *
+	 * @param driver the driver used to run the query
+	 * @param query  the query to run
+	 * @return a new stream
+	 */
+	public static Neo4jResultStream of(Driver driver, String query) {
+
+		Assert.hasText(query, "Query must not be empty");
+		return of(driver, new Query(query));
+	}
+
+	/**
+	 * Creates a stream of the records returned by the given query.
+	 *
+	 * @param driver the driver used to run the query
+	 * @param query  the query to run
+	 * @return a new stream
+	 */
+	public static Neo4jResultStream of(Driver driver, Query query) {
+
+		return new Neo4jResultStream(driver, query, SessionConfig.defaultConfig(), Neo4jResultStream::toRow);
+	}
+
+	private Neo4jResultStream(Driver driver, Query query, SessionConfig sessionConfig,
+		Function<Record, ?> recordMapper) {
+
+		Assert.notNull(driver, "Driver must not be null");
+		Assert.notNull(query, "Query must not be null");
+		Assert.notNull(sessionConfig, "Session config must not be null");
+		Assert.notNull(recordMapper, "Record mapper must not be null");
+
+		this.driver = driver;
+		this.query = query;
+		this.sessionConfig = sessionConfig;
+		this.recordMapper = recordMapper;
+	}
+
+	/**
+	 * @param parameters the parameters of the query
+	 * @return a new stream running the query with the given parameters
+	 */
+	public Neo4jResultStream withParameters(Map<String, Object> parameters) {
+		return new Neo4jResultStream(this.driver, this.query.withParameters(parameters), this.sessionConfig,
+			this.recordMapper);
+	}
+
+	/**
+	 * @param newSessionConfig the configuration of the session used to run the query, for example to read from
+	 *                         another database
+	 * @return a new stream using sessions with the given configuration
+	 */
+	public Neo4jResultStream withSessionConfig(SessionConfig newSessionConfig) {
+		return new Neo4jResultStream(this.driver, this.query, newSessionConfig, this.recordMapper);
+	}
+
+	/**
+	 * @param newRecordMapper maps each record to the object being serialized
+	 * @return a new stream writing the records as mapped by the given function
+	 */
+	public Neo4jResultStream mappedBy(Function<Record, ?> newRecordMapper) {
+		return new Neo4jResultStream(this.driver, this.query, this.sessionConfig, newRecordMapper);
+	}
+
+	Driver getDriver() {
+		return this.driver;
+	}
+
+	Query getQuery() {
+		return this.query;
+	}
+
+	SessionConfig getSessionConfig() {
+		return this.sessionConfig;
+	}
+
+	Object map(Record record) {
+		return this.recordMapper.apply(record);
+	}
+
+	static Map<String, Object> toRow(Record record) {
+
+		List<String> keys = record.keys();
+		Map<String, Object> row = new LinkedHashMap<>();
+		for (int i = 0; i < keys.size(); ++i) {
+			row.put(keys.get(i), toObject(record.get(i)));
+		}
+		return row;
+	}
+
+	/**
+	 * Converts values recursively. Lists containing only integers or only floats are converted into primitive arrays,
+	 * which are written without boxing each element.
+	 */
+	private static Object toObject(Value value) {
+
+		if (value.hasType(TYPE_SYSTEM.NODE()) || value.hasType(TYPE_SYSTEM.RELATIONSHIP())
+			|| value.hasType(TYPE_SYSTEM.MAP())) {
+			return toMap(value);
+		} else if (value.hasType(TYPE_SYSTEM.PATH())) {
+			Path path = value.asPath();
+			List<Object> elements = new ArrayList<>();
+			elements.add(toMap(path.start()));
+			for (Path.Segment segment : path) {
+				elements.add(toMap(segment.relationship()));
+				elements.add(toMap(segment.end()));
+			}
+			return elements;
+		} else if (value.hasType(TYPE_SYSTEM.LIST())) {
+			Object primitiveArray = Neo4jPrimitiveValues.toPrimitiveArray(value);
+			if (primitiveArray != null) {
+				return primitiveArray;
+			}
+			List<Object> list = new ArrayList<>(value.size());
+			for (int i = 0; i < value.size(); ++i) {
+				list.add(toObject(value.get(i)));
+			}
+			return list;
+		}
+		return value.asObject();
+	}
+
+	private static Map<String, Object> toMap(MapAccessor properties) {
+
+		Map<String, Object> map = new LinkedHashMap<>();
+		for (String key : properties.keys()) {
+			map.put(key, toObject(properties.get(key)));
+		}
+		return map;
+	}
+
+	/**
+	 * The formats records are written in.
+	 */
+	enum Format {
+
+		JSON_ARRAY(MediaType.APPLICATION_JSON, "[", ",", "", "]"),
+
+		NDJSON(APPLICATION_NDJSON, "", "", "\n", "");
+
+		private final MediaType mediaType;
+
+		private final byte[] start;
+
+		private final byte[] separator;
+
+		private final byte[] terminator;
+
+		private final byte[] end;
+
+		Format(MediaType mediaType, String start, String separator, String terminator, String end) {
+			this.mediaType = mediaType;
+			this.start = start.getBytes(StandardCharsets.UTF_8);
+			this.separator = separator.getBytes(StandardCharsets.UTF_8);
+			this.terminator = terminator.getBytes(StandardCharsets.UTF_8);
+			this.end = end.getBytes(StandardCharsets.UTF_8);
+		}
+
+		/**
+		 * Picks the format from the accepted media types, preferring newline delimited JSON when the client asked for
+		 * it explicitly.
+		 *
+		 * @param acceptedMediaTypes the media types accepted by the client
+		 * @return the format to use
+		 */
+		static Format of(List<MediaType> acceptedMediaTypes) {
+
+			List<MediaType> mediaTypes = new ArrayList<>(acceptedMediaTypes);
+			MediaType.sortBySpecificityAndQuality(mediaTypes);
+			for (MediaType mediaType : mediaTypes) {
+				if (mediaType.isWildcardType() || mediaType.isWildcardSubtype()) {
+					continue;
+				}
+				if (APPLICATION_NDJSON.isCompatibleWith(mediaType)
+					|| MediaType.APPLICATION_STREAM_JSON.isCompatibleWith(mediaType)) {
+					return NDJSON;
+				} else if (MediaType.APPLICATION_JSON.isCompatibleWith(mediaType)) {
+					return JSON_ARRAY;
+				}
+			}
+			return JSON_ARRAY;
+		}
+
+		MediaType getMediaType() {
+			return this.mediaType;
+		}
+
+		byte[] getStart() {
+			return this.start;
+		}
+
+		byte[] getEnd() {
+			return this.end;
+		}
+
+		/**
+		 * @return true, if the response should be flushed after each row, so that clients can process them one by one
+		 */
+		boolean isFlushEachRow() {
+			return this == NDJSON;
+		}
+
+		/**
+		 * Serializes one row including its separator from the previous row.
+		 *
+		 * @param objectMapper the object mapper used to serialize the row
+		 * @param row          the row to serialize
+		 * @param first        true, if this is the first row of the response
+		 * @return the serialized row
+		 * @throws IOException when the row cannot be serialized
+		 */
+		byte[] encode(ObjectMapper objectMapper, Object row, boolean first) throws IOException {
+
+			ByteArrayOutputStream buffer = new ByteArrayOutputStream(256);
+			if (!first) {
+				buffer.write(this.separator);
+			}
+			buffer.write(objectMapper.writeValueAsBytes(row));
+			buffer.write(this.terminator);
+			return buffer.toByteArray();
+		}
+	}
+}
@@ -0,0 +1,107 @@
+/*
+ * Copyright (c) 2019-2020 "Neo4j,"
+ * Neo4j Sweden AB [https://neo4j.com]
+ *
+ * This file is part of Neo4j.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.neo4j.driver.springframework.boot.autoconfigure;
+
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import java.io.IOException;
+
+import org.neo4j.driver.reactive.RxSession;
+import org.springframework.core.Ordered;
+import org.springframework.core.io.buffer.DataBuffer;
+import org.springframework.core.io.buffer.DataBufferFactory;
+import org.springframework.http.server.reactive.ServerHttpResponse;
+import org.springframework.util.Assert;
+import org.springframework.web.reactive.HandlerResult;
+import org.springframework.web.reactive.HandlerResultHandler;
+import org.springframework.web.server.ServerWebExchange;
+
+/**
+ * Writes {@link Neo4jResultStream result streams} returned from Spring WebFlux controller methods. The records are
+ * read through a reactive session, so the client's demand is carried through to the database.
+ * <p>
+ * The JSON encoder of Spring WebFlux collects all elements of a {@link Flux} before writing a JSON array, which is why
+ * result streams are written by this handler.
+ *
+ * @author Michael J. Simons
+ */
+public final class Neo4jResultStreamResultHandler implements HandlerResultHandler, Ordered {
+
+	/**
+	 * Before the {@link org.springframework.web.reactive.result.method.annotation.ResponseBodyResultHandler}, which
+	 * would claim result streams of {@code @RestController} classes otherwise.
+	 */
+	private static final int ORDER = 0;
+
+	private final ObjectMapper objectMapper;
+
+	public Neo4jResultStreamResultHandler(ObjectMapper objectMapper) {
+
+		Assert.notNull(objectMapper, "Object mapper must not be null");
+		this.objectMapper = objectMapper;
+	}
+
+	@Override
+	public boolean supports(HandlerResult result) {
+		return Neo4jResultStream.class.isAssignableFrom(result.getReturnType().toClass());
+	}
+
+	@Override
+	public Mono<Void> handleResult(ServerWebExchange exchange, HandlerResult result) {
+
+		Neo4jResultStream resultStream = (Neo4jResultStream) result.getReturnValue();
+		ServerHttpResponse response = exchange.getResponse();
+		if (resultStream == null) {
+			return response.setComplete();
+		}
+
+		Neo4jResultStream.Format format = Neo4jResultStream.Format.of(exchange.getRequest().getHeaders().getAccept());
+		response.getHeaders().setContentType(format.getMediaType());
+		DataBufferFactory bufferFactory = response.bufferFactory();
+
+		Flux<DataBuffer> rows = Flux.usingWhen(
+			Mono.fromSupplier(() -> resultStream.getDriver().rxSession(resultStream.getSessionConfig())),
+			session -> session.run(resultStream.getQuery()).records(),
+			RxSession::close
+		).index().handle((indexedRecord, sink) -> {
+			try {
+				Object row = resultStream.map(indexedRecord.getT2());
+				sink.next(bufferFactory.wrap(format.encode(this.objectMapper, row, indexedRecord.getT1() == 0)));
+			} catch (IOException e) {
+				sink.error(e);
+			}
+		});
+		Flux<DataBuffer> body = Flux.concat(
+			Mono.fromSupplier(() -> bufferFactory.wrap(format.getStart())), rows,
+			Mono.fromSupplier(() -> bufferFactory.wrap(format.getEnd())));
+
+		if (format.isFlushEachRow()) {
+			return response.writeAndFlushWith(body.map(Mono::just));
+		}
+		return response.writeWith(body);
+	}
+
+	@Override
+	public int getOrder() {
+		return ORDER;
+	}
+}
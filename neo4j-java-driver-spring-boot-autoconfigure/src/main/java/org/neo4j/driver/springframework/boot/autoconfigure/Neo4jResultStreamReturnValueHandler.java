@@ -0,0 +1,100 @@
+/*
+ * Copyright (c) 2019-2020 "Neo4j,"
+ * Neo4j Sweden AB [https://neo4j.com]
+ *
+ * This file is part of Neo4j.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.neo4j.driver.springframework.boot.autoconfigure;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import java.util.List;
+
+import javax.servlet.http.HttpServletRequest;
+
+import org.neo4j.driver.Result;
+import org.neo4j.driver.Session;
+import org.springframework.core.MethodParameter;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.util.Assert;
+import org.springframework.web.context.request.NativeWebRequest;
+import org.springframework.web.method.support.HandlerMethodReturnValueHandler;
+import org.springframework.web.method.support.ModelAndViewContainer;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBodyReturnValueHandler;
+
+/**
+ * Writes {@link Neo4jResultStream result streams} returned from Spring MVC controller methods. The records are
+ * written by an asynchronous request through a {@link StreamingResponseBody}, so that the request thread is not blocked
+ * while the query runs.
+ * <p>
+ * This handler must be consulted before the handler for {@code @ResponseBody} methods, which would otherwise claim the
+ * result streams of {@code @RestController} classes. The starter makes sure of that.
+ *
+ * @author Michael J. Simons
+ */
+public final class Neo4jResultStreamReturnValueHandler implements HandlerMethodReturnValueHandler {
+
+	private final ObjectMapper objectMapper;
+
+	private final StreamingResponseBodyReturnValueHandler delegate = new StreamingResponseBodyReturnValueHandler();
+
+	public Neo4jResultStreamReturnValueHandler(ObjectMapper objectMapper) {
+
+		Assert.notNull(objectMapper, "Object mapper must not be null");
+		this.objectMapper = objectMapper;
+	}
+
+	@Override
+	public boolean supportsReturnType(MethodParameter returnType) {
+		return Neo4jResultStream.class.isAssignableFrom(returnType.getParameterType());
+	}
+
+	@Override
+	public void handleReturnValue(Object returnValue, MethodParameter returnType,
+		ModelAndViewContainer mavContainer, NativeWebRequest webRequest) throws Exception {
+
+		if (returnValue == null) {
+			mavContainer.setRequestHandled(true);
+			return;
+		}
+
+		Neo4jResultStream resultStream = (Neo4jResultStream) returnValue;
+		HttpServletRequest request = webRequest.getNativeRequest(HttpServletRequest.class);
+		List<MediaType> acceptedMediaTypes = MediaType.parseMediaTypes(
+			request == null ? null : request.getHeader(HttpHeaders.ACCEPT));
+		Neo4jResultStream.Format format = Neo4jResultStream.Format.of(acceptedMediaTypes);
+
+		StreamingResponseBody body = outputStream -> {
+			try (Session session = resultStream.getDriver().session(resultStream.getSessionConfig())) {
+				Result result = session.run(resultStream.getQuery());
+				outputStream.write(format.getStart());
+				boolean first = true;
+				while (result.hasNext()) {
+					outputStream.write(format.encode(this.objectMapper, resultStream.map(result.next()), first));
+					if (format.isFlushEachRow()) {
+						outputStream.flush();
+					}
+					first = false;
+				}
+				outputStream.write(format.getEnd());
+			}
+		};
+		this.delegate.handleReturnValue(ResponseEntity.ok().contentType(format.getMediaType()).body(body),
+			returnType, mavContainer, webRequest);
+	}
+}
@@ -18,10 +18,16 @@
  */
 package org.neo4j.driver.springframework.boot.autoconfigure;
 
+import java.math.BigInteger;
+import java.util.Formattable;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
 import org.apache.commons.logging.Log;
 import org.apache.commons.logging.LogFactory;
 import org.neo4j.driver.Logger;
 import org.neo4j.driver.Logging;
+import org.springframework.util.ClassUtils;
 
 /**
  * Shim to use Spring JCL implementation, delegating all the hard work of deciding the underlying system to Spring and Spring Boot.
@@ -35,63 +41,205 @@ public final class Neo4jSpringJclLogging implements Logging {
 	 */
 	private static final String AUTOMATIC_PREFIX = "org.neo4j.driver.";
 
+	private static final String MDC_CLASS_NAME = "org.slf4j.MDC";
+
+	/**
+	 * Loggers are requested quite often by the driver, so they are cached per requested name.
+	 */
+	private final Map<String, Logger> loggers = new ConcurrentHashMap<>();
+
+	/**
+	 * Flag, if the context of the driver's network layer is added to the SLF4J MDC.
+	 */
+	private final boolean withContext;
+
+	public Neo4jSpringJclLogging() {
+		this(false);
+	}
+
+	/**
+	 * Creates a new logging bridge.
+	 *
+	 * @param withContext set to true to add channel id, connection id and server address of network related messages
+	 *                    to the SLF4J MDC. Ignored when SLF4J is not available.
+	 */
+	public Neo4jSpringJclLogging(boolean withContext) {
+		this.withContext = withContext && ClassUtils.isPresent(MDC_CLASS_NAME, Neo4jSpringJclLogging.class.getClassLoader());
+	}
+
 	@Override
 	public Logger getLog(String name) {
 
+		Logger logger = this.loggers.get(name);
+		if (logger == null) {
+			logger = this.loggers.computeIfAbsent(name, this::createLogger);
+		}
+		return logger;
+	}
+
+	private Logger createLogger(String name) {
+
 		String requestedLog = name;
 		if (!requestedLog.startsWith(AUTOMATIC_PREFIX)) {
 			requestedLog = AUTOMATIC_PREFIX + name;
 		}
 		Log springJclLog = LogFactory.getLog(requestedLog);
-		return new SpringJclLogger(springJclLog);
+		return new SpringJclLogger(springJclLog, this.withContext);
+	}
+
+	/**
+	 * Formats messages the same way {@link String#format(String, Object...)} does. The driver only uses {@code %s}
+	 * and {@code %d} without any flags, width or precision. Those conversions are handled here without the regular
+	 * expression based parsing of {@link java.util.Formatter}, everything else is delegated to it.
+	 *
+	 * @param format the format string
+	 * @param params the parameters referenced by the format string
+	 * @return the formatted message
+	 */
+	static String format(String format, Object... params) {
+
+		int percent = format.indexOf('%');
+		if (percent < 0) {
+			return format;
+		}
+
+		int length = format.length();
+		StringBuilder message = new StringBuilder(length + 16 * params.length);
+		int start = 0;
+		int paramIndex = 0;
+		while (percent >= 0) {
+			if (percent + 1 == length) {
+				return String.format(format, params);
+			}
+
+			message.append(format, start, percent);
+			char conversion = format.charAt(percent + 1);
+			if (conversion == '%') {
+				message.append('%');
+			} else if (conversion == 'n') {
+				message.append(System.lineSeparator());
+			} else if ((conversion == 's' || conversion == 'd') && paramIndex < params.length
+				&& isSimpleConversion(conversion, params[paramIndex])) {
+				message.append(params[paramIndex++]);
+			} else {
+				return String.format(format, params);
+			}
+
+			start = percent + 2;
+			percent = format.indexOf('%', start);
+		}
+		message.append(format, start, length);
+		return message.toString();
+	}
+
+	private static boolean isSimpleConversion(char conversion, Object param) {
+
+		if (conversion == 's') {
+			return !(param instanceof Formattable);
+		}
+		return param instanceof Integer || param instanceof Long || param instanceof Short || param instanceof Byte
+			|| param instanceof BigInteger;
 	}
 
 	static final class SpringJclLogger implements Logger {
 
 		private final Log delegate;
 
+		/**
+		 * Flag, if the context of channel related messages should be added to the MDC.
+		 */
+		private final boolean withContext;
+
 		SpringJclLogger(Log delegate) {
+			this(delegate, false);
+		}
+
+		SpringJclLogger(Log delegate, boolean withContext) {
 			this.delegate = delegate;
+			this.withContext = withContext;
 		}
 
 		@Override
 		public void error(String message, Throwable cause) {
-			this.delegate.error(message, cause);
+			Neo4jLogContext previousContext = pushContext(message);
+			try {
+				this.delegate.error(message, cause);
+			} finally {
+				popContext(previousContext);
+			}
 		}
 
 		@Override
 		public void info(String format, Object... params) {
-			this.delegate.info(String.format(format, params));
+			if (this.delegate.isInfoEnabled()) {
+				String message = format(format, params);
+				Neo4jLogContext previousContext = pushContext(message);
+				try {
+					this.delegate.info(message);
+				} finally {
+					popContext(previousContext);
+				}
+			}
 		}
 
 		@Override
 		public void warn(String format, Object... params) {
-			this.delegate.warn(String.format(format, params));
+			if (this.delegate.isWarnEnabled()) {
+				String message = format(format, params);
+				Neo4jLogContext previousContext = pushContext(message);
+				try {
+					this.delegate.warn(message);
+				} finally {
+					popContext(previousContext);
+				}
+			}
 		}
 
 		@Override
 		public void warn(String message, Throwable cause) {
-			this.delegate.warn(message, cause);
+			Neo4jLogContext previousContext = pushContext(message);
+			try {
+				this.delegate.warn(message, cause);
+			} finally {
+				popContext(previousContext);
+			}
 		}
 
 		@Override
 		public void debug(String format, Object... params) {
 			if (isDebugEnabled()) {
-				this.delegate.debug(String.format(format, params));
+				String message = format(format, params);
+				Neo4jLogContext previousContext = pushContext(message);
+				try {
+					this.delegate.debug(message);
+				} finally {
+					popContext(previousContext);
+				}
 			}
 		}
 
 		@Override
 		public void debug(String message, Throwable throwable) {
 			if (isDebugEnabled()) {
-				this.delegate.debug(message, throwable);
+				Neo4jLogContext previousContext = pushContext(message);
+				try {
+					this.delegate.debug(message, throwable);
+				} finally {
+					popContext(previousContext);
+				}
 			}
 		}
 
 		@Override
 		public void trace(String format, Object... params) {
 			if (isTraceEnabled()) {
-				this.delegate.trace(String.format(format, params));
+				String message = format(format, params);
+				Neo4jLogContext previousContext = pushContext(message);
+				try {
+					this.delegate.trace(message);
+				} finally {
+					popContext(previousContext);
+				}
 			}
 		}
 
@@ -100,10 +248,27 @@ public final class Neo4jSpringJclLogging implements Logging {
 			return this.delegate.isTraceEnabled();
 		}
 
+		boolean isInfoEnabled() {
+			return this.delegate.isInfoEnabled();
+		}
+
+		boolean isWarnEnabled() {
+			return this.delegate.isWarnEnabled();
+		}
+
 		@Override
 		public boolean isDebugEnabled() {
 			return this.delegate.isDebugEnabled();
 		}
+
+		private Neo4jLogContext pushContext(String message) {
+			return this.withContext ? Neo4jLogContext.push(message) : null;
+		}
+
+		private void popContext(Neo4jLogContext previousContext) {
+			if (previousContext != null) {
+				previousContext.pop();
+			}
+		}
 	}
 }
-
@@ -0,0 +1,155 @@
+/*
+ * Copyright (c) 2019-2020 "Neo4j,"
+ * Neo4j Sweden AB [https://neo4j.com]
+ *
+ * This file is part of Neo4j.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.neo4j.driver.springframework.boot.autoconfigure;
+
+import reactor.core.scheduler.Scheduler;
+
+import java.util.concurrent.Executor;
+
+import org.neo4j.driver.Driver;
+import org.springframework.beans.factory.BeanFactory;
+import org.springframework.beans.factory.BeanFactoryAware;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.SmartInitializingSingleton;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.task.TaskExecutionAutoConfiguration;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.util.ClassUtils;
+
+/**
+ * Makes the drivers of the application context signal asynchronous and reactive results on an executor.
+ *
+ * @author Michael J. Simons
+ */
+@Configuration(proxyBeanMethods = false)
+@ConditionalOnProperty(prefix = "org.neo4j.driver.offload", name = "enabled", havingValue = "true")
+class OffloadingConfiguration {
+
+	@Bean
+	static OffloadingDriverPostProcessor neo4jOffloadingDriverPostProcessor(
+		final ObjectProvider<Neo4jDriverProperties> driverProperties) {
+
+		return new OffloadingDriverPostProcessor(driverProperties);
+	}
+
+	/**
+	 * Wraps the drivers of the application context. The executor is usually created after the drivers, so it is looked
+	 * up once all singletons have been instantiated, failing the start of the application context if it is missing. A
+	 * driver used before that looks it up when the first result is signalled.
+	 * <p>
+	 * Spring Boot doesn't provide its {@code applicationTaskExecutor} when the application defines an executor on its
+	 * own. Therefore a single executor of the application is used when the default name is configured and there is no
+	 * bean with that name.
+	 */
+	static final class OffloadingDriverPostProcessor
+		implements BeanPostProcessor, BeanFactoryAware, SmartInitializingSingleton {
+
+		private static final boolean REACTOR_PRESENT = ClassUtils
+			.isPresent("reactor.core.scheduler.Scheduler", OffloadingConfiguration.class.getClassLoader());
+
+		private final ObjectProvider<Neo4jDriverProperties> driverProperties;
+
+		private BeanFactory beanFactory;
+
+		private volatile Executor executor;
+
+		OffloadingDriverPostProcessor(ObjectProvider<Neo4jDriverProperties> driverProperties) {
+			this.driverProperties = driverProperties;
+		}
+
+		@Override
+		public void setBeanFactory(BeanFactory beanFactory) {
+			this.beanFactory = beanFactory;
+		}
+
+		@Override
+		public Object postProcessAfterInitialization(Object bean, String beanName) {
+
+			if (bean instanceof Driver) {
+				boolean detectBlockingCalls = this.driverProperties.getObject().getOffload().isDetectBlockingCalls();
+				return OffloadingDriver.wrap((Driver) bean, command -> getExecutor().execute(command),
+					detectBlockingCalls);
+			}
+			return bean;
+		}
+
+		@Override
+		public void afterSingletonsInstantiated() {
+			getExecutor();
+		}
+
+		private Executor getExecutor() {
+
+			Executor result = this.executor;
+			if (result == null) {
+				result = resolveExecutor(this.driverProperties.getObject().getOffload().getExecutor());
+				this.executor = result;
+			}
+			return result;
+		}
+
+		private Executor resolveExecutor(String name) {
+
+			if (this.beanFactory.containsBean(name)) {
+				return asExecutor(this.beanFactory.getBean(name));
+			}
+			if (TaskExecutionAutoConfiguration.APPLICATION_TASK_EXECUTOR_BEAN_NAME.equals(name)) {
+				Executor uniqueExecutor = this.beanFactory.getBeanProvider(Executor.class).getIfUnique();
+				if (uniqueExecutor != null) {
+					return uniqueExecutor;
+				}
+			}
+			throw new IllegalStateException("Cannot offload the results of the driver, there is no executor named '"
+				+ name + "'. Define an executor or a scheduler with that name or configure another one with "
+				+ "org.neo4j.driver.offload.executor.");
+		}
+
+		private static Executor asExecutor(Object bean) {
+
+			if (bean instanceof Executor) {
+				return (Executor) bean;
+			} else if (REACTOR_PRESENT && SchedulerAdapter.isScheduler(bean)) {
+				return SchedulerAdapter.asExecutor(bean);
+			}
+			throw new IllegalStateException(
+				"Bean of type " + bean.getClass().getName() + " is neither an executor nor a scheduler");
+		}
+	}
+
+	/**
+	 * Keeps the optional Reactor classes out of the post processor.
+	 */
+	private static final class SchedulerAdapter {
+
+		static boolean isScheduler(Object bean) {
+			return bean instanceof Scheduler;
+		}
+
+		static Executor asExecutor(Object bean) {
+
+			Scheduler scheduler = (Scheduler) bean;
+			return scheduler::schedule;
+		}
+
+		private SchedulerAdapter() {
+		}
+	}
+}
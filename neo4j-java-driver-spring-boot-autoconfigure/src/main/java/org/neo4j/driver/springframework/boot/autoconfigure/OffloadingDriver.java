@@ -0,0 +1,412 @@
+/*
+ * Copyright (c) 2019-2020 "Neo4j,"
+ * Neo4j Sweden AB [https://neo4j.com]
+ *
+ * This file is part of Neo4j.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.neo4j.driver.springframework.boot.autoconfigure;
+
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.util.Queue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionStage;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Executor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Consumer;
+
+import org.apache.commons.logging.Log;
+import org.apache.commons.logging.LogFactory;
+import org.neo4j.driver.Driver;
+import org.neo4j.driver.Record;
+import org.neo4j.driver.async.AsyncSession;
+import org.neo4j.driver.async.AsyncTransaction;
+import org.neo4j.driver.async.AsyncTransactionWork;
+import org.neo4j.driver.async.ResultCursor;
+import org.neo4j.driver.internal.async.connection.EventLoopGroupFactory;
+import org.neo4j.driver.reactive.RxResult;
+import org.neo4j.driver.reactive.RxSession;
+import org.neo4j.driver.reactive.RxTransaction;
+import org.neo4j.driver.reactive.RxTransactionWork;
+import org.neo4j.driver.summary.ResultSummary;
+import org.reactivestreams.Publisher;
+import org.reactivestreams.Subscriber;
+import org.reactivestreams.Subscription;
+
+/**
+ * A driver whose asynchronous and reactive API signals on an executor instead of the Netty event loops of the driver.
+ * Completion stages returned by asynchronous sessions, transactions and cursors are completed on the executor, so
+ * that callbacks registered on them run there. Publishers returned by reactive sessions, transactions and results
+ * deliver their signals through the executor, one after another for each subscriber. The units of work of
+ * asynchronous transaction functions are started on the executor, too.
+ * <p>
+ * Optionally, blocking calls on the event loops are logged: opening a blocking session or waiting for one of the
+ * offloaded completion stages. Those calls block all network traffic handled by that event loop.
+ *
+ * @author Michael J. Simons
+ */
+final class OffloadingDriver implements InvocationHandler {
+
+	private static final Log logger = LogFactory.getLog(OffloadingDriver.class);
+
+	private final Object delegate;
+
+	private final Executor executor;
+
+	private final boolean detectBlockingCalls;
+
+	/**
+	 * Wraps the given driver.
+	 *
+	 * @param driver              the driver to wrap
+	 * @param executor            the executor signalling results
+	 * @param detectBlockingCalls set to true to log blocking calls on the event loops of the driver
+	 * @return a driver signalling on the given executor
+	 */
+	static Driver wrap(Driver driver, Executor executor, boolean detectBlockingCalls) {
+
+		return (Driver) Proxy.newProxyInstance(OffloadingDriver.class.getClassLoader(),
+			new Class<?>[] { Driver.class }, new OffloadingDriver(driver, executor, detectBlockingCalls));
+	}
+
+	private OffloadingDriver(Object delegate, Executor executor, boolean detectBlockingCalls) {
+		this.delegate = delegate;
+		this.executor = executor;
+		this.detectBlockingCalls = detectBlockingCalls;
+	}
+
+	@Override
+	@SuppressWarnings("unchecked")
+	public Object invoke(Object proxy, Method method, Object[] args) throws Throwable {
+
+		switch (method.getName()) {
+			case "equals":
+				return proxy == args[0];
+			case "hashCode":
+				return System.identityHashCode(proxy);
+			case "toString":
+				return "OffloadingDriver{" + "delegate=" + this.delegate + '}';
+			case "session":
+				warnIfOnEventLoop("Opening a blocking session");
+				return DriverProxies.invokeDelegate(this.delegate, method, args);
+			case "forEachAsync":
+				return forEach((ResultCursor) proxy, (Consumer<Record>) args[0]);
+			default:
+				return offload(DriverProxies.invokeDelegate(this.delegate, method, offloadArguments(args)));
+		}
+	}
+
+	@SuppressWarnings("unchecked")
+	private Object[] offloadArguments(Object[] args) {
+
+		if (args == null) {
+			return null;
+		}
+		Object[] offloadedArgs = args.clone();
+		for (int i = 0; i < offloadedArgs.length; ++i) {
+			if (offloadedArgs[i] instanceof AsyncTransactionWork) {
+				AsyncTransactionWork<CompletionStage<Object>> work =
+					(AsyncTransactionWork<CompletionStage<Object>>) offloadedArgs[i];
+				offloadedArgs[i] = (AsyncTransactionWork<CompletionStage<Object>>) tx -> {
+					CompletableFuture<CompletionStage<Object>> started = new CompletableFuture<>();
+					execute(this.executor, () -> started.complete(work.execute((AsyncTransaction) offload(tx))),
+						started::completeExceptionally);
+					return started.thenCompose(stage -> stage);
+				};
+			} else if (offloadedArgs[i] instanceof RxTransactionWork) {
+				RxTransactionWork<Publisher<Object>> work = (RxTransactionWork<Publisher<Object>>) offloadedArgs[i];
+				offloadedArgs[i] = (RxTransactionWork<Publisher<Object>>) tx -> work.execute((RxTransaction) offload(tx));
+			}
+		}
+		return offloadedArgs;
+	}
+
+	private Object offload(Object result) {
+
+		if (result instanceof CompletionStage) {
+			OffloadedFuture<Object> offloaded = new OffloadedFuture<>(this);
+			((CompletionStage<?>) result).whenComplete((value, error) -> execute(this.executor, () -> {
+				if (error != null) {
+					offloaded.completeExceptionally(error);
+				} else {
+					offloaded.complete(offload(value));
+				}
+			}, offloaded::completeExceptionally));
+			return offloaded;
+		} else if (result instanceof Publisher) {
+			return new OffloadingPublisher<>((Publisher<?>) result, this);
+		}
+		for (Class<?> type : new Class<?>[] { AsyncSession.class, AsyncTransaction.class, ResultCursor.class,
+			RxSession.class, RxTransaction.class, RxResult.class }) {
+			if (type.isInstance(result)) {
+				return Proxy.newProxyInstance(OffloadingDriver.class.getClassLoader(), new Class<?>[] { type },
+					new OffloadingDriver(result, this.executor, this.detectBlockingCalls));
+			}
+		}
+		return result;
+	}
+
+	/**
+	 * Iterates the cursor through its offloaded {@link ResultCursor#nextAsync()}, so that the action is executed on
+	 * the executor as well. Each record is processed in a new task, so that the stack doesn't grow when records are
+	 * already available.
+	 */
+	private CompletionStage<ResultSummary> forEach(ResultCursor cursor, Consumer<Record> action) {
+
+		OffloadedFuture<ResultSummary> result = new OffloadedFuture<>(this);
+		execute(this.executor, () -> forEach(cursor, action, result), result::completeExceptionally);
+		return result;
+	}
+
+	private void forEach(ResultCursor cursor, Consumer<Record> action, CompletableFuture<ResultSummary> result) {
+
+		cursor.nextAsync().whenComplete((record, error) -> {
+			if (error != null) {
+				result.completeExceptionally(error);
+			} else if (record == null) {
+				cursor.consumeAsync().whenComplete((summary, consumeError) -> {
+					if (consumeError != null) {
+						result.completeExceptionally(consumeError);
+					} else {
+						result.complete(summary);
+					}
+				});
+			} else {
+				try {
+					action.accept(record);
+				} catch (Throwable e) {
+					result.completeExceptionally(e);
+					return;
+				}
+				execute(this.executor, () -> forEach(cursor, action, result), result::completeExceptionally);
+			}
+		});
+	}
+
+	private void warnIfOnEventLoop(String operation) {
+
+		if (this.detectBlockingCalls && EventLoopGroupFactory.isEventLoopThread(Thread.currentThread())) {
+			logger.warn(operation + " on the driver's event loop thread " + Thread.currentThread().getName()
+					+ " blocks all network traffic of that thread",
+				new IllegalStateException("Blocking call on a driver event loop"));
+		}
+	}
+
+	/**
+	 * Executes the task on the given executor. When the task fails or the executor doesn't accept it, the error is
+	 * passed to the given handler instead of running the task on the calling thread, which is usually an event loop.
+	 */
+	private static void execute(Executor executor, Runnable task, Consumer<Throwable> onFailure) {
+
+		try {
+			executor.execute(() -> {
+				try {
+					task.run();
+				} catch (Throwable e) {
+					onFailure.accept(e);
+				}
+			});
+		} catch (RuntimeException e) {
+			onFailure.accept(e);
+		}
+	}
+
+	/**
+	 * A future completed on the executor, that reports threads waiting for it on an event loop.
+	 */
+	private static final class OffloadedFuture<T> extends CompletableFuture<T> {
+
+		private final OffloadingDriver owner;
+
+		OffloadedFuture(OffloadingDriver owner) {
+			this.owner = owner;
+		}
+
+		@Override
+		public T get() throws InterruptedException, ExecutionException {
+			this.owner.warnIfOnEventLoop("Waiting for a result");
+			return super.get();
+		}
+
+		@Override
+		public T get(long timeout, TimeUnit unit) throws InterruptedException, ExecutionException, TimeoutException {
+			this.owner.warnIfOnEventLoop("Waiting for a result");
+			return super.get(timeout, unit);
+		}
+
+		@Override
+		public T join() {
+			this.owner.warnIfOnEventLoop("Waiting for a result");
+			return super.join();
+		}
+	}
+
+	/**
+	 * Delivers the signals of a publisher through the executor. Requests and cancellations are passed on directly. When
+	 * the executor doesn't accept a signal, the subscription is cancelled and the subscriber receives the error.
+	 */
+	private static final class OffloadingPublisher<T> implements Publisher<T> {
+
+		private final Publisher<?> source;
+
+		private final OffloadingDriver owner;
+
+		OffloadingPublisher(Publisher<?> source, OffloadingDriver owner) {
+			this.source = source;
+			this.owner = owner;
+		}
+
+		@Override
+		public void subscribe(Subscriber<? super T> subscriber) {
+
+			this.source.subscribe(new OffloadingSubscriber<>(subscriber, this.owner));
+		}
+	}
+
+	/**
+	 * Passes the signals of the source on to a single subscriber, one after another.
+	 */
+	private static final class OffloadingSubscriber<T> implements Subscriber<Object> {
+
+		private final Subscriber<? super T> subscriber;
+
+		private final OffloadingDriver owner;
+
+		private final SerialExecutor serialExecutor;
+
+		private volatile Subscription subscription;
+
+		/**
+		 * Only accessed by the tasks of the serial executor and its rejection handler, which never run concurrently.
+		 */
+		private volatile boolean subscribed;
+
+		OffloadingSubscriber(Subscriber<? super T> subscriber, OffloadingDriver owner) {
+			this.subscriber = subscriber;
+			this.owner = owner;
+			this.serialExecutor = new SerialExecutor(owner.executor, this::reject);
+		}
+
+		@Override
+		public void onSubscribe(Subscription newSubscription) {
+
+			this.subscription = newSubscription;
+			this.serialExecutor.execute(() -> {
+				this.subscribed = true;
+				this.subscriber.onSubscribe(newSubscription);
+			});
+		}
+
+		@Override
+		@SuppressWarnings("unchecked")
+		public void onNext(Object element) {
+			T offloaded = (T) this.owner.offload(element);
+			this.serialExecutor.execute(() -> this.subscriber.onNext(offloaded));
+		}
+
+		@Override
+		public void onError(Throwable throwable) {
+			this.serialExecutor.execute(() -> this.subscriber.onError(throwable));
+		}
+
+		@Override
+		public void onComplete() {
+			this.serialExecutor.execute(this.subscriber::onComplete);
+		}
+
+		private void reject(Throwable error) {
+
+			Subscription currentSubscription = this.subscription;
+			if (currentSubscription != null) {
+				currentSubscription.cancel();
+			}
+			if (!this.subscribed) {
+				this.subscribed = true;
+				this.subscriber.onSubscribe(new Subscription() {
+					@Override
+					public void request(long n) {
+					}
+
+					@Override
+					public void cancel() {
+					}
+				});
+			}
+			this.subscriber.onError(error);
+		}
+	}
+
+	/**
+	 * Runs its tasks one after another and in order on a delegate executor, without occupying one of its threads while
+	 * there are no tasks. Once the delegate doesn't accept a task, all pending and further tasks are dropped.
+	 */
+	private static final class SerialExecutor implements Executor {
+
+		private final Executor delegate;
+
+		private final Queue<Runnable> tasks = new ConcurrentLinkedQueue<>();
+
+		private final AtomicInteger workInProgress = new AtomicInteger();
+
+		private final Consumer<Throwable> onRejected;
+
+		private volatile boolean rejected;
+
+		SerialExecutor(Executor delegate, Consumer<Throwable> onRejected) {
+			this.delegate = delegate;
+			this.onRejected = onRejected;
+		}
+
+		@Override
+		public void execute(Runnable task) {
+
+			if (this.rejected) {
+				return;
+			}
+			this.tasks.offer(task);
+			if (this.workInProgress.getAndIncrement() == 0) {
+				try {
+					this.delegate.execute(this::drain);
+				} catch (RuntimeException e) {
+					this.rejected = true;
+					this.tasks.clear();
+					this.onRejected.accept(e);
+				}
+			}
+		}
+
+		private void drain() {
+
+			int missed = 1;
+			do {
+				Runnable task = this.tasks.poll();
+				while (task != null) {
+					try {
+						task.run();
+					} catch (Throwable e) {
+						logger.warn("Subscriber failed to handle a signal", e);
+					}
+					task = this.tasks.poll();
+				}
+				missed = this.workInProgress.addAndGet(-missed);
+			} while (missed != 0);
+		}
+	}
+}
@@ -0,0 +1,76 @@
+/*
+ * Copyright (c) 2019-2020 "Neo4j,"
+ * Neo4j Sweden AB [https://neo4j.com]
+ *
+ * This file is part of Neo4j.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.neo4j.driver.springframework.boot.autoconfigure;
+
+import org.neo4j.driver.Driver;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnMissingBean;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnSingleCandidate;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * Provides the {@link Neo4jQueryCache query cache} when enabled and makes the driver report its writes to it.
+ *
+ * @author Michael J. Simons
+ */
+@Configuration(proxyBeanMethods = false)
+@ConditionalOnProperty(prefix = "org.neo4j.driver.cache", name = "enabled", havingValue = "true")
+class QueryCacheConfiguration {
+
+	@Bean
+	static WriteTrackingDriverPostProcessor neo4jWriteTrackingDriverPostProcessor(
+		final ObjectProvider<Neo4jQueryCache> queryCache) {
+
+		return new WriteTrackingDriverPostProcessor(queryCache);
+	}
+
+	@Bean
+	@ConditionalOnSingleCandidate(Driver.class)
+	@ConditionalOnMissingBean
+	Neo4jQueryCache neo4jQueryCache(final Driver driver, final Neo4jDriverProperties driverProperties) {
+
+		return new Neo4jQueryCache(driver, driverProperties.getCache());
+	}
+
+	/**
+	 * Wraps the drivers of the application context, so that writes through them invalidate the query cache. The cache
+	 * is looked up on the first write, as it depends on the wrapped driver itself.
+	 */
+	static final class WriteTrackingDriverPostProcessor implements BeanPostProcessor {
+
+		private final ObjectProvider<Neo4jQueryCache> queryCache;
+
+		WriteTrackingDriverPostProcessor(ObjectProvider<Neo4jQueryCache> queryCache) {
+			this.queryCache = queryCache;
+		}
+
+		@Override
+		public Object postProcessAfterInitialization(Object bean, String beanName) {
+
+			if (bean instanceof Driver) {
+				return WriteTrackingDriver.wrap((Driver) bean,
+					(database, bookmark) -> this.queryCache.ifAvailable(cache -> cache.invalidate(database, bookmark)));
+			}
+			return bean;
+		}
+	}
+}
@@ -0,0 +1,47 @@
+/*
+ * Copyright (c) 2019-2020 "Neo4j,"
+ * Neo4j Sweden AB [https://neo4j.com]
+ *
+ * This file is part of Neo4j.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.neo4j.driver.springframework.boot.autoconfigure;
+
+import reactor.core.publisher.Flux;
+
+import org.neo4j.driver.Driver;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnClass;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnMissingBean;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnSingleCandidate;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * Provides the {@link Neo4jReactiveIngest reactive ingest} when Project Reactor is available and there is exactly one
+ * driver.
+ *
+ * @author Michael J. Simons
+ */
+@Configuration(proxyBeanMethods = false)
+@ConditionalOnClass(Flux.class)
+@ConditionalOnSingleCandidate(Driver.class)
+class ReactiveIngestConfiguration {
+
+	@Bean
+	@ConditionalOnMissingBean
+	Neo4jReactiveIngest neo4jReactiveIngest(final Driver driver, final Neo4jDriverProperties driverProperties) {
+
+		return new Neo4jReactiveIngest(driver, driverProperties.getReactiveIngest());
+	}
+}
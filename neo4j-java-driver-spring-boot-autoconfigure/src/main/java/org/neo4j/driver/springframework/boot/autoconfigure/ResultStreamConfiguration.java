@@ -0,0 +1,102 @@
+/*
+ * Copyright (c) 2019-2020 "Neo4j,"
+ * Neo4j Sweden AB [https://neo4j.com]
+ *
+ * This file is part of Neo4j.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.neo4j.driver.springframework.boot.autoconfigure;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnClass;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnMissingBean;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.web.method.support.HandlerMethodReturnValueHandler;
+import org.springframework.web.reactive.HandlerResultHandler;
+import org.springframework.web.servlet.mvc.method.annotation.RequestMappingHandlerAdapter;
+
+/**
+ * Registers the support for {@link Neo4jResultStream result streams} returned from controller methods of Spring MVC
+ * and Spring WebFlux applications.
+ *
+ * @author Michael J. Simons
+ */
+@Configuration(proxyBeanMethods = false)
+@ConditionalOnClass(ObjectMapper.class)
+class ResultStreamConfiguration {
+
+	@Configuration(proxyBeanMethods = false)
+	@ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.SERVLET)
+	@ConditionalOnClass(RequestMappingHandlerAdapter.class)
+	static class ServletResultStreamConfiguration {
+
+		@Bean
+		static ReturnValueHandlerRegistrar neo4jResultStreamReturnValueHandlerRegistrar(
+			final ObjectProvider<ObjectMapper> objectMapper) {
+
+			return new ReturnValueHandlerRegistrar(objectMapper);
+		}
+	}
+
+	@Configuration(proxyBeanMethods = false)
+	@ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.REACTIVE)
+	@ConditionalOnClass(HandlerResultHandler.class)
+	static class ReactiveResultStreamConfiguration {
+
+		@Bean
+		@ConditionalOnMissingBean
+		Neo4jResultStreamResultHandler neo4jResultStreamResultHandler(final ObjectProvider<ObjectMapper> objectMapper) {
+
+			return new Neo4jResultStreamResultHandler(objectMapper.getIfAvailable(ObjectMapper::new));
+		}
+	}
+
+	/**
+	 * Puts the {@link Neo4jResultStreamReturnValueHandler} in front of the return value handlers of Spring MVC. Handlers
+	 * added through a {@link org.springframework.web.servlet.config.annotation.WebMvcConfigurer} are consulted after the
+	 * one for {@code @ResponseBody} methods, which claims all return values of {@code @RestController} classes.
+	 */
+	static final class ReturnValueHandlerRegistrar implements BeanPostProcessor {
+
+		private final ObjectProvider<ObjectMapper> objectMapper;
+
+		ReturnValueHandlerRegistrar(ObjectProvider<ObjectMapper> objectMapper) {
+			this.objectMapper = objectMapper;
+		}
+
+		@Override
+		public Object postProcessAfterInitialization(Object bean, String beanName) {
+
+			if (bean instanceof RequestMappingHandlerAdapter) {
+				RequestMappingHandlerAdapter handlerAdapter = (RequestMappingHandlerAdapter) bean;
+				List<HandlerMethodReturnValueHandler> returnValueHandlers = new ArrayList<>();
+				returnValueHandlers.add(
+					new Neo4jResultStreamReturnValueHandler(this.objectMapper.getIfAvailable(ObjectMapper::new)));
+				if (handlerAdapter.getReturnValueHandlers() != null) {
+					returnValueHandlers.addAll(handlerAdapter.getReturnValueHandlers());
+				}
+				handlerAdapter.setReturnValueHandlers(returnValueHandlers);
+			}
+			return bean;
+		}
+	}
+}
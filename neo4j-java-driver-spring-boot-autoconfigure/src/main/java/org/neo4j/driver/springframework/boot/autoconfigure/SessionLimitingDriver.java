@@ -0,0 +1,206 @@
+/*
+ * Copyright (c) 2019-2020 "Neo4j,"
+ * Neo4j Sweden AB [https://neo4j.com]
+ *
+ * This file is part of Neo4j.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.neo4j.driver.springframework.boot.autoconfigure;
+
+import java.lang.ref.PhantomReference;
+import java.lang.ref.Reference;
+import java.lang.ref.ReferenceQueue;
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.time.Duration;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+
+import org.apache.commons.logging.Log;
+import org.apache.commons.logging.LogFactory;
+import org.neo4j.driver.Driver;
+import org.neo4j.driver.Session;
+import org.neo4j.driver.exceptions.ClientException;
+
+/**
+ * A driver that limits the number of blocking sessions open at the same time. The number of threads calling the
+ * driver is no longer bound by a thread pool when requests are served on virtual threads, without a limit they would
+ * all queue up in the connection pool and fail after the connection acquisition timeout. Threads opening a session
+ * beyond the limit wait on a {@link Semaphore}, which unmounts a virtual thread from its carrier instead of pinning
+ * it. Asynchronous and reactive sessions are not limited.
+ * <p>
+ * A permit is released when its session is closed. The permits of sessions that have been garbage collected without
+ * being closed are released the next time a thread waits for a permit, so that a leaking session doesn't reduce the
+ * limit forever. Such sessions are logged, as they hold on to their connection until the driver is closed.
+ *
+ * @author Michael J. Simons
+ */
+final class SessionLimitingDriver implements InvocationHandler {
+
+	private static final Log logger = LogFactory.getLog(SessionLimitingDriver.class);
+
+	/**
+	 * The maximum time between checks for sessions that have been garbage collected while waiting for a permit.
+	 */
+	private static final long RECLAIM_INTERVAL_IN_MILLIS = 100L;
+
+	private final Driver delegate;
+
+	private final Semaphore permits;
+
+	/**
+	 * One reference per session holding a permit, used to detect sessions that are not closed.
+	 */
+	private final Set<Reference<Session>> openSessions = ConcurrentHashMap.newKeySet();
+
+	private final ReferenceQueue<Session> collectedSessions = new ReferenceQueue<>();
+
+	private final int maxSessions;
+
+	private final Duration timeout;
+
+	/**
+	 * Wraps the given driver.
+	 *
+	 * @param driver      the driver to wrap
+	 * @param maxSessions the maximum number of blocking sessions open at the same time
+	 * @param timeout     the maximum time to wait for a session
+	 * @return a driver limiting its blocking sessions
+	 */
+	static Driver wrap(Driver driver, int maxSessions, Duration timeout) {
+
+		return (Driver) Proxy.newProxyInstance(SessionLimitingDriver.class.getClassLoader(),
+			new Class<?>[] { Driver.class }, new SessionLimitingDriver(driver, maxSessions, timeout));
+	}
+
+	private SessionLimitingDriver(Driver delegate, int maxSessions, Duration timeout) {
+		this.delegate = delegate;
+		this.permits = new Semaphore(maxSessions);
+		this.maxSessions = maxSessions;
+		this.timeout = timeout;
+	}
+
+	@Override
+	public Object invoke(Object proxy, Method method, Object[] args) throws Throwable {
+
+		switch (method.getName()) {
+			case "equals":
+				return proxy == args[0];
+			case "hashCode":
+				return System.identityHashCode(proxy);
+			case "toString":
+				return "SessionLimitingDriver{" + "delegate=" + this.delegate + '}';
+			case "session":
+				acquirePermit();
+				try {
+					Session session = (Session) DriverProxies.invokeDelegate(this.delegate, method, args);
+					LimitedSession limitedSession = new LimitedSession(session, this);
+					Session proxiedSession = (Session) Proxy.newProxyInstance(SessionLimitingDriver.class.getClassLoader(),
+						new Class<?>[] { Session.class }, limitedSession);
+					limitedSession.reference = new PhantomReference<>(proxiedSession, this.collectedSessions);
+					this.openSessions.add(limitedSession.reference);
+					return proxiedSession;
+				} catch (Throwable e) {
+					this.permits.release();
+					throw e;
+				}
+			default:
+				return DriverProxies.invokeDelegate(this.delegate, method, args);
+		}
+	}
+
+	private void acquirePermit() {
+
+		long deadline = System.nanoTime() + this.timeout.toNanos();
+		boolean acquired = false;
+		try {
+			do {
+				releasePermitsOfCollectedSessions();
+				long remaining = TimeUnit.NANOSECONDS.toMillis(deadline - System.nanoTime());
+				acquired = this.permits.tryAcquire(Math.max(0L, Math.min(remaining, RECLAIM_INTERVAL_IN_MILLIS)),
+					TimeUnit.MILLISECONDS);
+			} while (!acquired && deadline - System.nanoTime() > 0);
+		} catch (InterruptedException e) {
+			Thread.currentThread().interrupt();
+			throw new ClientException("Interrupted while waiting for a session", e);
+		}
+		if (!acquired) {
+			throw new ClientException("Unable to open a session within " + this.timeout.toMillis() + "ms, "
+				+ this.maxSessions + " sessions are in use");
+		}
+	}
+
+	private void releasePermitsOfCollectedSessions() {
+
+		Reference<? extends Session> collectedSession;
+		while ((collectedSession = this.collectedSessions.poll()) != null) {
+			if (this.openSessions.remove(collectedSession)) {
+				logger.warn("A session has not been closed before it was garbage collected, releasing its permit");
+				this.permits.release();
+			}
+		}
+	}
+
+	/**
+	 * Releases the permit of a session once, either when it is closed or after it has been garbage collected.
+	 *
+	 * @param session the reference of the session
+	 */
+	private void releasePermit(Reference<Session> session) {
+
+		if (this.openSessions.remove(session)) {
+			session.clear();
+			this.permits.release();
+		}
+	}
+
+	private static final class LimitedSession implements InvocationHandler {
+
+		private final Session delegate;
+
+		private final SessionLimitingDriver driver;
+
+		/**
+		 * A phantom reference to the proxy of this session, that doesn't keep the proxy reachable.
+		 */
+		private Reference<Session> reference;
+
+		LimitedSession(Session delegate, SessionLimitingDriver driver) {
+			this.delegate = delegate;
+			this.driver = driver;
+		}
+
+		@Override
+		public Object invoke(Object proxy, Method method, Object[] args) throws Throwable {
+
+			switch (method.getName()) {
+				case "equals":
+					return proxy == args[0];
+				case "hashCode":
+					return System.identityHashCode(proxy);
+				case "close":
+					try {
+						return DriverProxies.invokeDelegate(this.delegate, method, args);
+					} finally {
+						this.driver.releasePermit(this.reference);
+					}
+				default:
+					return DriverProxies.invokeDelegate(this.delegate, method, args);
+			}
+		}
+	}
+}
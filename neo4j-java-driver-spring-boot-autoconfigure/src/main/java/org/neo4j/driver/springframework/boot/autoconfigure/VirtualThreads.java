@@ -0,0 +1,50 @@
+/*
+ * Copyright (c) 2019-2020 "Neo4j,"
+ * Neo4j Sweden AB [https://neo4j.com]
+ *
+ * This file is part of Neo4j.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.neo4j.driver.springframework.boot.autoconfigure;
+
+import java.util.concurrent.ExecutorService;
+
+/**
+ * Access to virtual threads. This is the variant for Java versions before 21, the {@code java21} profile compiles a
+ * variant that actually creates virtual threads into {@code META-INF/versions/21} of the multi-release jar.
+ *
+ * @author Michael J. Simons
+ */
+final class VirtualThreads {
+
+	/**
+	 * @return true, if virtual threads are supported by the running JVM
+	 */
+	static boolean isSupported() {
+		return false;
+	}
+
+	/**
+	 * Creates an executor that starts a new virtual thread for each task.
+	 *
+	 * @param namePrefix the prefix of the thread names, followed by a counter
+	 * @return a new executor
+	 */
+	static ExecutorService newThreadPerTaskExecutor(String namePrefix) {
+		throw new IllegalStateException("Virtual threads require Java 21 or later");
+	}
+
+	private VirtualThreads() {
+	}
+}
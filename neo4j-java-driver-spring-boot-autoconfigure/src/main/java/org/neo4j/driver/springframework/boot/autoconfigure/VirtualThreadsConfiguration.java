@@ -0,0 +1,142 @@
+/*
+ * Copyright (c) 2019-2020 "Neo4j,"
+ * Neo4j Sweden AB [https://neo4j.com]
+ *
+ * This file is part of Neo4j.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.neo4j.driver.springframework.boot.autoconfigure;
+
+import java.util.concurrent.ExecutorService;
+
+import org.apache.catalina.startup.Tomcat;
+import org.apache.coyote.ProtocolHandler;
+import org.neo4j.driver.Driver;
+import org.springframework.beans.factory.BeanFactory;
+import org.springframework.beans.factory.BeanFactoryAware;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.beans.factory.config.ConfigurableListableBeanFactory;
+import org.springframework.boot.autoconfigure.condition.ConditionOutcome;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnClass;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import org.springframework.boot.autoconfigure.condition.SpringBootCondition;
+import org.springframework.boot.web.embedded.tomcat.TomcatProtocolHandlerCustomizer;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.ConditionContext;
+import org.springframework.context.annotation.Conditional;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.type.AnnotatedTypeMetadata;
+import org.springframework.util.Assert;
+
+/**
+ * Limits the number of blocking sessions of the driver created by the starter and, on Java 21 or later, serves
+ * the requests of an embedded Tomcat on virtual threads.
+ *
+ * @author Michael J. Simons
+ */
+@Configuration(proxyBeanMethods = false)
+@ConditionalOnProperty(prefix = "org.neo4j.driver.virtual-threads", name = "enabled", havingValue = "true")
+class VirtualThreadsConfiguration {
+
+	@Bean
+	static SessionLimitingDriverPostProcessor neo4jSessionLimitingDriverPostProcessor(
+		final ObjectProvider<Neo4jDriverProperties> driverProperties) {
+
+		return new SessionLimitingDriverPostProcessor(driverProperties);
+	}
+
+	@Configuration(proxyBeanMethods = false)
+	@Conditional(OnVirtualThreadsSupportedCondition.class)
+	@ConditionalOnClass(Tomcat.class)
+	@ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.SERVLET)
+	static class VirtualThreadExecutorConfiguration {
+
+		@Bean
+		VirtualThreadProtocolHandlerCustomizer neo4jVirtualThreadProtocolHandlerCustomizer() {
+			return new VirtualThreadProtocolHandlerCustomizer();
+		}
+	}
+
+	/**
+	 * Serves the requests of an embedded Tomcat on virtual threads. The executor is owned by the customizer and not
+	 * registered as a bean of its own, as any {@link java.util.concurrent.Executor} bean would make Spring Boot back
+	 * off from providing its {@code applicationTaskExecutor}.
+	 */
+	static final class VirtualThreadProtocolHandlerCustomizer
+		implements TomcatProtocolHandlerCustomizer<ProtocolHandler>, DisposableBean {
+
+		private final ExecutorService executor = VirtualThreads.newThreadPerTaskExecutor("neo4j-virtual-");
+
+		@Override
+		public void customize(ProtocolHandler protocolHandler) {
+			protocolHandler.setExecutor(this.executor);
+		}
+
+		@Override
+		public void destroy() {
+			this.executor.shutdown();
+		}
+	}
+
+	/**
+	 * Wraps the driver created by the starter, so that it limits its blocking sessions. The limit defaults to the
+	 * maximum size of the connection pool. Other drivers are left alone, as the pool settings of the starter don't
+	 * apply to them.
+	 */
+	static final class SessionLimitingDriverPostProcessor implements BeanPostProcessor, BeanFactoryAware {
+
+		private final ObjectProvider<Neo4jDriverProperties> driverProperties;
+
+		private ConfigurableListableBeanFactory beanFactory;
+
+		SessionLimitingDriverPostProcessor(ObjectProvider<Neo4jDriverProperties> driverProperties) {
+			this.driverProperties = driverProperties;
+		}
+
+		@Override
+		public void setBeanFactory(BeanFactory beanFactory) {
+
+			Assert.isInstanceOf(ConfigurableListableBeanFactory.class, beanFactory);
+			this.beanFactory = (ConfigurableListableBeanFactory) beanFactory;
+		}
+
+		@Override
+		public Object postProcessAfterInitialization(Object bean, String beanName) {
+
+			if (bean instanceof Driver && DriverConfiguration.isNeo4jDriverOfStarter(this.beanFactory, beanName)) {
+				Neo4jDriverProperties properties = this.driverProperties.getObject();
+				Integer acquisitionConcurrency = properties.getVirtualThreads().getAcquisitionConcurrency();
+				int maxSessions = acquisitionConcurrency == null ?
+					properties.getPool().getMaxConnectionPoolSize() : acquisitionConcurrency;
+				return SessionLimitingDriver.wrap((Driver) bean, maxSessions,
+					properties.getPool().getConnectionAcquisitionTimeout());
+			}
+			return bean;
+		}
+	}
+
+	static final class OnVirtualThreadsSupportedCondition extends SpringBootCondition {
+
+		@Override
+		public ConditionOutcome getMatchOutcome(ConditionContext context, AnnotatedTypeMetadata metadata) {
+
+			return VirtualThreads.isSupported() ?
+				ConditionOutcome.match("Virtual threads are supported") :
+				ConditionOutcome.noMatch("Virtual threads require Java 21 or later and the multi-release jar");
+		}
+	}
+}
@@ -0,0 +1,284 @@
+/*
+ * Copyright (c) 2019-2020 "Neo4j,"
+ * Neo4j Sweden AB [https://neo4j.com]
+ *
+ * This file is part of Neo4j.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.neo4j.driver.springframework.boot.autoconfigure;
+
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionStage;
+import java.util.function.BiConsumer;
+import java.util.function.Function;
+import java.util.function.Supplier;
+
+import org.neo4j.driver.AccessMode;
+import org.neo4j.driver.Bookmark;
+import org.neo4j.driver.Driver;
+import org.neo4j.driver.Session;
+import org.neo4j.driver.SessionConfig;
+import org.neo4j.driver.Transaction;
+import org.neo4j.driver.async.AsyncSession;
+import org.neo4j.driver.async.AsyncTransaction;
+import org.neo4j.driver.reactive.RxSession;
+import org.neo4j.driver.reactive.RxTransaction;
+import org.reactivestreams.Publisher;
+import org.reactivestreams.Subscriber;
+import org.reactivestreams.Subscription;
+
+/**
+ * A driver that reports each write committed through its sessions together with the bookmark of that write. A
+ * session reports a write, when its bookmark changed after a write transaction, after a transaction or query of a
+ * session in {@link AccessMode#WRITE write mode} or when it is closed. Transactions are reported once they are
+ * committed, queries in auto-commit transactions once the session is used again or closed, as their bookmark is only
+ * known after the result has been consumed.
+ *
+ * @author Michael J. Simons
+ */
+final class WriteTrackingDriver implements InvocationHandler {
+
+	private final Driver delegate;
+
+	/**
+	 * Receives the name of the database written to ({@literal null} for the default database) and the bookmark of the
+	 * write.
+	 */
+	private final BiConsumer<String, Bookmark> writeListener;
+
+	/**
+	 * Wraps the given driver.
+	 *
+	 * @param driver        the driver to wrap
+	 * @param writeListener receives the name of the database written to ({@literal null} for the default database)
+	 *                      and the bookmark of the write
+	 * @return a driver reporting writes
+	 */
+	static Driver wrap(Driver driver, BiConsumer<String, Bookmark> writeListener) {
+
+		return (Driver) Proxy.newProxyInstance(WriteTrackingDriver.class.getClassLoader(),
+			new Class<?>[] { Driver.class }, new WriteTrackingDriver(driver, writeListener));
+	}
+
+	private WriteTrackingDriver(Driver delegate, BiConsumer<String, Bookmark> writeListener) {
+		this.delegate = delegate;
+		this.writeListener = writeListener;
+	}
+
+	@Override
+	public Object invoke(Object proxy, Method method, Object[] args) throws Throwable {
+
+		switch (method.getName()) {
+			case "equals":
+				return proxy == args[0];
+			case "hashCode":
+				return System.identityHashCode(proxy);
+			case "toString":
+				return "WriteTrackingDriver{" + "delegate=" + this.delegate + '}';
+			default:
+				Object result = DriverProxies.invokeDelegate(this.delegate, method, args);
+				SessionConfig sessionConfig = args != null && args.length == 1 && args[0] instanceof SessionConfig ?
+					(SessionConfig) args[0] : SessionConfig.defaultConfig();
+				if (result instanceof Session) {
+					Session session = (Session) result;
+					return SessionTracker.wrap(Session.class, session, session::lastBookmark, sessionConfig,
+						this.writeListener);
+				} else if (result instanceof AsyncSession) {
+					AsyncSession session = (AsyncSession) result;
+					return SessionTracker.wrap(AsyncSession.class, session, session::lastBookmark, sessionConfig,
+						this.writeListener);
+				} else if (result instanceof RxSession) {
+					RxSession session = (RxSession) result;
+					return SessionTracker.wrap(RxSession.class, session, session::lastBookmark, sessionConfig,
+						this.writeListener);
+				}
+				return result;
+		}
+	}
+
+	private static final class SessionTracker implements InvocationHandler {
+
+		private final Object delegate;
+
+		private final Supplier<Bookmark> bookmarkSupplier;
+
+		private final String database;
+
+		private final boolean writeAccess;
+
+		private final BiConsumer<String, Bookmark> writeListener;
+
+		private Bookmark lastBookmark;
+
+		static <T> T wrap(Class<T> sessionType, T session, Supplier<Bookmark> bookmarkSupplier,
+			SessionConfig sessionConfig, BiConsumer<String, Bookmark> writeListener) {
+
+			return sessionType.cast(Proxy.newProxyInstance(WriteTrackingDriver.class.getClassLoader(),
+				new Class<?>[] { sessionType },
+				new SessionTracker(session, bookmarkSupplier, sessionConfig, writeListener)));
+		}
+
+		private SessionTracker(Object delegate, Supplier<Bookmark> bookmarkSupplier, SessionConfig sessionConfig,
+			BiConsumer<String, Bookmark> writeListener) {
+
+			this.delegate = delegate;
+			this.bookmarkSupplier = bookmarkSupplier;
+			this.database = sessionConfig.database().orElse(null);
+			this.writeAccess = sessionConfig.defaultAccessMode() == AccessMode.WRITE;
+			this.writeListener = writeListener;
+			this.lastBookmark = bookmarkSupplier.get();
+		}
+
+		@Override
+		public Object invoke(Object proxy, Method method, Object[] args) throws Throwable {
+
+			String name = method.getName();
+			switch (name) {
+				case "equals":
+					return proxy == args[0];
+				case "hashCode":
+					return System.identityHashCode(proxy);
+				case "toString":
+				case "lastBookmark":
+					return DriverProxies.invokeDelegate(this.delegate, method, args);
+				default:
+					// Catches auto-commit queries whose results have been consumed in the meantime
+					checkBookmark(this.writeAccess);
+					boolean write = name.startsWith("writeTransaction")
+						|| this.writeAccess && !name.startsWith("readTransaction");
+					return decorate(DriverProxies.invokeDelegate(this.delegate, method, args), write);
+			}
+		}
+
+		Object decorate(Object result, boolean write) {
+
+			if (result instanceof CompletionStage) {
+				return whenComplete((CompletionStage<?>) result, write);
+			} else if (result instanceof Publisher) {
+				return new TrackingPublisher<>((Publisher<?>) result, this::wrapTransaction, () -> checkBookmark(write));
+			} else if (result instanceof Transaction) {
+				return wrapTransaction(result);
+			}
+			checkBookmark(write);
+			return result;
+		}
+
+		private CompletionStage<Object> whenComplete(CompletionStage<?> stage, boolean write) {
+
+			CompletableFuture<Object> decorated = new CompletableFuture<>();
+			stage.whenComplete((value, error) -> {
+				checkBookmark(write);
+				if (error != null) {
+					decorated.completeExceptionally(error);
+				} else {
+					decorated.complete(wrapTransaction(value));
+				}
+			});
+			return decorated;
+		}
+
+		private Object wrapTransaction(Object value) {
+
+			Class<?> transactionType;
+			if (value instanceof Transaction) {
+				transactionType = Transaction.class;
+			} else if (value instanceof AsyncTransaction) {
+				transactionType = AsyncTransaction.class;
+			} else if (value instanceof RxTransaction) {
+				transactionType = RxTransaction.class;
+			} else {
+				return value;
+			}
+			return Proxy.newProxyInstance(WriteTrackingDriver.class.getClassLoader(), new Class<?>[] { transactionType },
+				(proxy, method, args) -> {
+					String name = method.getName();
+					if ("equals".equals(name)) {
+						return proxy == args[0];
+					} else if ("hashCode".equals(name)) {
+						return System.identityHashCode(proxy);
+					}
+					Object result = DriverProxies.invokeDelegate(value, method, args);
+					if (name.startsWith("commit") || name.startsWith("close")) {
+						return decorate(result, this.writeAccess);
+					}
+					return result;
+				});
+		}
+
+		void checkBookmark(boolean write) {
+
+			Bookmark bookmark = this.bookmarkSupplier.get();
+			boolean changed;
+			synchronized (this) {
+				changed = bookmark != null && !bookmark.isEmpty() && !bookmark.equals(this.lastBookmark);
+				this.lastBookmark = bookmark;
+			}
+			if (changed && write) {
+				this.writeListener.accept(this.database, bookmark);
+			}
+		}
+	}
+
+	/**
+	 * Calls back when the source publisher terminates and allows elements to be wrapped.
+	 *
+	 * @param <T> the type of elements
+	 */
+	private static final class TrackingPublisher<T> implements Publisher<T> {
+
+		private final Publisher<T> source;
+
+		private final Function<Object, Object> elementDecorator;
+
+		private final Runnable onTerminate;
+
+		TrackingPublisher(Publisher<T> source, Function<Object, Object> elementDecorator, Runnable onTerminate) {
+			this.source = source;
+			this.elementDecorator = elementDecorator;
+			this.onTerminate = onTerminate;
+		}
+
+		@Override
+		public void subscribe(Subscriber<? super T> subscriber) {
+
+			this.source.subscribe(new Subscriber<T>() {
+				@Override
+				public void onSubscribe(Subscription subscription) {
+					subscriber.onSubscribe(subscription);
+				}
+
+				@Override
+				@SuppressWarnings("unchecked")
+				public void onNext(T element) {
+					subscriber.onNext((T) TrackingPublisher.this.elementDecorator.apply(element));
+				}
+
+				@Override
+				public void onError(Throwable throwable) {
+					TrackingPublisher.this.onTerminate.run();
+					subscriber.onError(throwable);
+				}
+
+				@Override
+				public void onComplete() {
+					TrackingPublisher.this.onTerminate.run();
+					subscriber.onComplete();
+				}
+			});
+		}
+	}
+}
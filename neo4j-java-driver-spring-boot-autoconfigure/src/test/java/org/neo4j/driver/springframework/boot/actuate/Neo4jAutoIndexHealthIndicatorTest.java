@@ -0,0 +1,79 @@
+/*
+ * Copyright (c) 2019-2020 "Neo4j,"
+ * Neo4j Sweden AB [https://neo4j.com]
+ *
+ * This file is part of Neo4j.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.neo4j.driver.springframework.boot.actuate;
+
+import static org.assertj.core.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.jupiter.api.Test;
+import org.neo4j.driver.springframework.boot.autoconfigure.Neo4jAutoIndexRunner;
+import org.neo4j.ogm.config.Configuration;
+import org.neo4j.ogm.session.SessionFactory;
+import org.springframework.boot.actuate.health.Health;
+import org.springframework.boot.actuate.health.Status;
+
+/**
+ * @author Michael J. Simons
+ */
+class Neo4jAutoIndexHealthIndicatorTest {
+
+	private final SessionFactory sessionFactory = mock(SessionFactory.class);
+
+	private final Configuration configuration = new Configuration.Builder().autoIndex("update").build();
+
+	@Test
+	void shouldBeOutOfServiceWhileRunning() throws Exception {
+
+		CountDownLatch release = new CountDownLatch(1);
+		doAnswer(invocation -> release.await(5, TimeUnit.SECONDS)).when(this.sessionFactory)
+			.runAutoIndexManager(this.configuration);
+
+		Neo4jAutoIndexRunner runner = new Neo4jAutoIndexRunner(this.sessionFactory, this.configuration);
+		Neo4jAutoIndexHealthIndicator healthIndicator = new Neo4jAutoIndexHealthIndicator(runner);
+		assertThat(healthIndicator.health().getStatus()).isEqualTo(Status.OUT_OF_SERVICE);
+
+		runner.start();
+		assertThat(healthIndicator.health().getStatus()).isEqualTo(Status.OUT_OF_SERVICE);
+
+		release.countDown();
+		runner.getCompletion().toCompletableFuture().get(5, TimeUnit.SECONDS);
+		Health health = healthIndicator.health();
+		assertThat(health.getStatus()).isEqualTo(Status.UP);
+		assertThat(health.getDetails()).containsEntry("state", Neo4jAutoIndexRunner.State.FINISHED)
+			.containsKey("duration");
+	}
+
+	@Test
+	void shouldBeDownWhenFailed() {
+
+		doThrow(new IllegalStateException("Database is gone.")).when(this.sessionFactory)
+			.runAutoIndexManager(this.configuration);
+
+		Neo4jAutoIndexRunner runner = new Neo4jAutoIndexRunner(this.sessionFactory, this.configuration);
+		runner.start();
+		runner.getCompletion().exceptionally(e -> null).toCompletableFuture().join();
+
+		Health health = new Neo4jAutoIndexHealthIndicator(runner).health();
+		assertThat(health.getStatus()).isEqualTo(Status.DOWN);
+		assertThat(health.getDetails()).containsEntry("error", "java.lang.IllegalStateException: Database is gone.");
+	}
+}
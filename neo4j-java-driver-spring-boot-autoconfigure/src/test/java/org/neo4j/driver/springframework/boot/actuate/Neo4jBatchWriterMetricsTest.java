@@ -0,0 +1,91 @@
+/*
+ * Copyright (c) 2019-2020 "Neo4j,"
+ * Neo4j Sweden AB [https://neo4j.com]
+ *
+ * This file is part of Neo4j.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.neo4j.driver.springframework.boot.actuate;
+
+import static org.assertj.core.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+import io.micrometer.core.instrument.Tag;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+import java.time.Duration;
+import java.util.Collections;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.jupiter.api.Test;
+import org.neo4j.driver.springframework.boot.autoconfigure.Neo4jBatchWriter;
+
+/**
+ * @author Michael J. Simons
+ */
+class Neo4jBatchWriterMetricsTest {
+
+	@Test
+	void shouldPublishBatchMetrics() {
+
+		@SuppressWarnings("unchecked")
+		Neo4jBatchWriter<Object> writer = mock(Neo4jBatchWriter.class);
+		when(writer.getName()).thenReturn("events");
+		when(writer.getQueueDepth()).thenReturn(42);
+		when(writer.getWrittenRows()).thenReturn(23L);
+		when(writer.getRejectedRows()).thenReturn(2L);
+
+		SimpleMeterRegistry registry = new SimpleMeterRegistry();
+		Neo4jBatchWriterMetrics metrics = new Neo4jBatchWriterMetrics(registry,
+			Collections.singletonList(Tag.of("app", "test")));
+		metrics.writerCreated(writer);
+		metrics.batchWritten(writer, 10, Duration.ofMillis(5), null);
+		metrics.batchWritten(writer, 20, Duration.ofMillis(15), null);
+		metrics.batchWritten(writer, 5, Duration.ofMillis(100), new RuntimeException());
+
+		assertThat(registry.get("neo4j.batch.writer.queue.depth").tags("name", "events", "app", "test").gauge().value())
+			.isEqualTo(42.0);
+		assertThat(registry.get("neo4j.batch.writer.rows").tags("outcome", "written").functionCounter().count())
+			.isEqualTo(23.0);
+		assertThat(registry.get("neo4j.batch.writer.rejected").functionCounter().count()).isEqualTo(2.0);
+		assertThat(registry.get("neo4j.batch.writer.batch.size").summary().totalAmount()).isEqualTo(35.0);
+		assertThat(registry.get("neo4j.batch.writer.flush").tags("outcome", "success").timer()
+			.totalTime(TimeUnit.MILLISECONDS)).isEqualTo(20.0);
+		assertThat(registry.get("neo4j.batch.writer.flush").tags("outcome", "failure").timer().count()).isEqualTo(1L);
+	}
+
+	@Test
+	void shouldRemoveMetersOfClosedWriters() {
+
+		@SuppressWarnings("unchecked")
+		Neo4jBatchWriter<Object> writer = mock(Neo4jBatchWriter.class);
+		when(writer.getName()).thenReturn("events");
+		@SuppressWarnings("unchecked")
+		Neo4jBatchWriter<Object> otherWriter = mock(Neo4jBatchWriter.class);
+		when(otherWriter.getName()).thenReturn("orders");
+
+		SimpleMeterRegistry registry = new SimpleMeterRegistry();
+		registry.counter("neo4j.other", "name", "events");
+		Neo4jBatchWriterMetrics metrics = new Neo4jBatchWriterMetrics(registry, Collections.emptyList());
+		metrics.writerCreated(writer);
+		metrics.writerCreated(otherWriter);
+		metrics.batchWritten(writer, 10, Duration.ofMillis(5), null);
+		metrics.writerClosed(writer);
+
+		assertThat(registry.find("neo4j.batch.writer.queue.depth").tags("name", "events").gauge()).isNull();
+		assertThat(registry.find("neo4j.batch.writer.batch.size").tags("name", "events").summary()).isNull();
+		assertThat(registry.find("neo4j.batch.writer.queue.depth").tags("name", "orders").gauge()).isNotNull();
+		assertThat(registry.find("neo4j.other").counter()).isNotNull();
+	}
+}
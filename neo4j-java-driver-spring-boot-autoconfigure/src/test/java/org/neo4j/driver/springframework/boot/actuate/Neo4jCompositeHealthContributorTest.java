@@ -0,0 +1,114 @@
+/*
+ * Copyright (c) 2019-2020 "Neo4j,"
+ * Neo4j Sweden AB [https://neo4j.com]
+ *
+ * This file is part of Neo4j.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.neo4j.driver.springframework.boot.actuate;
+
+import static org.assertj.core.api.Assertions.*;
+
+import java.time.Duration;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.actuate.health.Health;
+import org.springframework.boot.actuate.health.HealthContributor;
+import org.springframework.boot.actuate.health.HealthIndicator;
+import org.springframework.boot.actuate.health.NamedContributor;
+import org.springframework.boot.actuate.health.Status;
+
+/**
+ * @author Michael J. Simons
+ */
+class Neo4jCompositeHealthContributorTest {
+
+	private Neo4jCompositeHealthContributor contributor;
+
+	@AfterEach
+	void shutdownContributor() {
+		if (this.contributor != null) {
+			this.contributor.destroy();
+		}
+	}
+
+	@Test
+	void shouldProbeConcurrently() {
+
+		// Each probe only finishes when all probes have been started
+		CountDownLatch allStarted = new CountDownLatch(3);
+		Map<String, HealthIndicator> indicators = new LinkedHashMap<>();
+		for (String name : new String[] { "a", "b", "c" }) {
+			indicators.put(name, () -> {
+				allStarted.countDown();
+				try {
+					return allStarted.await(5, TimeUnit.SECONDS) ? Health.up().build() : Health.down().build();
+				} catch (InterruptedException e) {
+					Thread.currentThread().interrupt();
+					return Health.down(e).build();
+				}
+			});
+		}
+
+		this.contributor = new Neo4jCompositeHealthContributor(indicators, 3, Duration.ofSeconds(10));
+		for (NamedContributor<HealthContributor> namedContributor : this.contributor) {
+			Health health = ((HealthIndicator) namedContributor.getContributor()).health();
+			assertThat(health.getStatus()).isEqualTo(Status.UP);
+		}
+	}
+
+	@Test
+	void shouldKeepOrderAndReportTimeoutsAsDown() {
+
+		Map<String, HealthIndicator> indicators = new LinkedHashMap<>();
+		indicators.put("slow", () -> {
+			try {
+				Thread.sleep(5_000L);
+			} catch (InterruptedException e) {
+				Thread.currentThread().interrupt();
+			}
+			return Health.up().build();
+		});
+		indicators.put("fast", () -> Health.up().build());
+
+		this.contributor = new Neo4jCompositeHealthContributor(indicators, 2, Duration.ofMillis(200));
+		Map<String, Health> results = new LinkedHashMap<>();
+		this.contributor.forEach(
+			namedContributor -> results.put(namedContributor.getName(),
+				((HealthIndicator) namedContributor.getContributor()).health()));
+
+		assertThat(results).containsOnlyKeys("slow", "fast");
+		assertThat(results.keySet()).containsExactly("slow", "fast");
+		assertThat(results.get("slow").getStatus()).isEqualTo(Status.DOWN);
+		assertThat(results.get("slow").getDetails()).containsKey("error");
+		assertThat(results.get("fast").getStatus()).isEqualTo(Status.UP);
+	}
+
+	@Test
+	void shouldResolveSingleContributors() {
+
+		Map<String, HealthIndicator> indicators = new LinkedHashMap<>();
+		indicators.put("a", () -> Health.up().withDetail("name", "a").build());
+
+		this.contributor = new Neo4jCompositeHealthContributor(indicators, 1, Duration.ofSeconds(1));
+		assertThat(this.contributor.getContributor("b")).isNull();
+		assertThat(((HealthIndicator) this.contributor.getContributor("a")).health().getDetails())
+			.containsEntry("name", "a");
+	}
+}
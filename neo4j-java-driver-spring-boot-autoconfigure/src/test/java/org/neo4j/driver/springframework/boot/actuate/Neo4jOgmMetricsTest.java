@@ -0,0 +1,198 @@
+/*
+ * Copyright (c) 2019-2020 "Neo4j,"
+ * Neo4j Sweden AB [https://neo4j.com]
+ *
+ * This file is part of Neo4j.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.neo4j.driver.springframework.boot.actuate;
+
+import static org.assertj.core.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+import java.util.Arrays;
+import java.util.Collections;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.neo4j.driver.springframework.boot.autoconfigure.Neo4jCypherStatements;
+import org.neo4j.ogm.session.Session;
+import org.neo4j.ogm.session.event.Event;
+import org.neo4j.ogm.transaction.Transaction;
+
+/**
+ * @author Michael J. Simons
+ */
+class Neo4jOgmMetricsTest {
+
+	private final MeterRegistry meterRegistry = new SimpleMeterRegistry();
+
+	private final Neo4jOgmMetrics metrics = new Neo4jOgmMetrics(this.meterRegistry, Collections.emptyList());
+
+	private Session session;
+
+	@BeforeEach
+	void prepareSession() {
+
+		this.session = mock(Session.class);
+		when(this.session.loadAll(Person.class)).thenReturn(Arrays.asList(new Person(), new Person()));
+		when(this.session.load(Person.class, 1L)).thenReturn(new Person());
+		when(this.session.beginTransaction()).thenReturn(mock(Transaction.class));
+	}
+
+	@Test
+	void shouldNotTouchRegistryUntilUsed() {
+
+		assertThat(this.meterRegistry.getMeters()).isEmpty();
+	}
+
+	@Test
+	void shouldTimeOperationsAndCountLoadedEntities() {
+
+		Session instrumentedSession = this.metrics.decorate(this.session);
+		instrumentedSession.loadAll(Person.class);
+		instrumentedSession.load(Person.class, 1L);
+		instrumentedSession.save(new Person());
+
+		assertThat(this.meterRegistry.get("neo4j.ogm.sessions.opened").counter().count()).isEqualTo(1.0);
+		assertThat(this.meterRegistry.get("neo4j.ogm.operations").tags("operation", "load", "type", "Person").timer()
+			.count()).isEqualTo(2L);
+		assertThat(this.meterRegistry.get("neo4j.ogm.operations").tags("operation", "save", "type", "Person").timer()
+			.count()).isEqualTo(1L);
+		assertThat(this.meterRegistry.get("neo4j.ogm.entities").tags("operation", "load", "type", "Person").counter()
+			.count()).isEqualTo(3.0);
+		verify(this.session).loadAll(Person.class);
+		verify(this.session).load(Person.class, 1L);
+	}
+
+	@Test
+	void shouldRecordUnitOfWorkWhenOutermostTransactionIsClosed() {
+
+		Session instrumentedSession = this.metrics.decorate(this.session);
+		Transaction transaction = instrumentedSession.beginTransaction();
+		when(this.session.getTransaction()).thenReturn(transaction);
+
+		instrumentedSession.loadAll(Person.class);
+		instrumentedSession.load(Person.class, 1L);
+		transaction.close();
+		assertThat(this.meterRegistry.find("neo4j.ogm.session.lifetime").timer()).isNull();
+
+		when(this.session.getTransaction()).thenReturn(null);
+		transaction.close();
+		transaction.close();
+		assertThat(this.meterRegistry.get("neo4j.ogm.session.lifetime").timer().count()).isEqualTo(1L);
+		assertThat(this.meterRegistry.get("neo4j.ogm.session.loads").summary().totalAmount()).isEqualTo(2.0);
+	}
+
+	@Test
+	void shouldOnlyInstrumentBegunTransactions() {
+
+		Transaction nativeTransaction = mock(Transaction.class);
+		when(this.session.beginTransaction()).thenReturn(nativeTransaction);
+		when(this.session.getTransaction()).thenReturn(nativeTransaction);
+
+		Session instrumentedSession = this.metrics.decorate(this.session);
+		assertThat(instrumentedSession.getTransaction()).isSameAs(nativeTransaction);
+
+		Transaction transaction = instrumentedSession.beginTransaction();
+		assertThat(transaction).isNotSameAs(nativeTransaction);
+		assertThat(instrumentedSession.getTransaction()).isSameAs(transaction);
+		assertThat(instrumentedSession.beginTransaction()).isSameAs(transaction);
+
+		when(this.session.getTransaction()).thenReturn(null);
+		transaction.close();
+		assertThat(this.meterRegistry.get("neo4j.ogm.session.lifetime").timer().count()).isEqualTo(1L);
+
+		when(this.session.getTransaction()).thenReturn(nativeTransaction);
+		assertThat(instrumentedSession.getTransaction()).isSameAs(nativeTransaction);
+	}
+
+	@Test
+	void shouldRecordUnitOfWorkWhenSessionIsCleared() {
+
+		Session instrumentedSession = this.metrics.decorate(this.session);
+		instrumentedSession.loadAll(Person.class);
+		instrumentedSession.clear();
+		instrumentedSession.clear();
+
+		verify(this.session, times(2)).clear();
+		assertThat(this.meterRegistry.get("neo4j.ogm.session.lifetime").timer().count()).isEqualTo(1L);
+		assertThat(this.meterRegistry.get("neo4j.ogm.session.loads").summary().totalAmount()).isEqualTo(1.0);
+	}
+
+	@Test
+	void shouldTagQueriesWithNamesOfStatements() {
+
+		String byName = "MATCH (p:Person {name: $name}) RETURN p";
+		Neo4jOgmMetrics statementMetrics = new Neo4jOgmMetrics(this.meterRegistry, Collections.emptyList(),
+			new Neo4jCypherStatements(Collections.singletonMap("people/byName", byName)));
+		Session instrumentedSession = statementMetrics.decorate(this.session);
+
+		instrumentedSession.query(Person.class, byName, Collections.emptyMap());
+		instrumentedSession.query(byName, Collections.emptyMap());
+		instrumentedSession.queryForObject(Person.class, "MATCH (p:Person) RETURN p LIMIT 1", Collections.emptyMap());
+
+		assertThat(this.meterRegistry.get("neo4j.ogm.queries").tags("statement", "people/byName").timer().count())
+			.isEqualTo(2L);
+		assertThat(this.meterRegistry.get("neo4j.ogm.queries").tags("statement", "unnamed").timer().count())
+			.isEqualTo(1L);
+		assertThat(this.meterRegistry.get("neo4j.ogm.operations").tags("operation", "load").timer().count())
+			.isEqualTo(2L);
+	}
+
+	@Test
+	void shouldCountSavedAndDeletedEntities() {
+
+		Event event = mock(Event.class);
+		when(event.getObject()).thenReturn(new Person());
+
+		this.metrics.onPostSave(event);
+		this.metrics.onPostSave(event);
+		this.metrics.onPostDelete(event);
+
+		assertThat(this.meterRegistry.get("neo4j.ogm.entities").tags("operation", "save", "type", "Person").counter()
+			.count()).isEqualTo(2.0);
+		assertThat(this.meterRegistry.get("neo4j.ogm.entities").tags("operation", "delete", "type", "Person")
+			.counter().count()).isEqualTo(1.0);
+	}
+
+	@Test
+	void shouldDetermineTypes() {
+
+		assertThat(Neo4jOgmMetrics.typeOf(Person.class)).isEqualTo("Person");
+		assertThat(Neo4jOgmMetrics.typeOf(new Person())).isEqualTo("Person");
+		assertThat(Neo4jOgmMetrics.typeOf(Collections.singletonList(new Person()))).isEqualTo("Person");
+		assertThat(Neo4jOgmMetrics.typeOf(new Person[] { new Person() })).isEqualTo("Person");
+		assertThat(Neo4jOgmMetrics.typeOf(Collections.emptyList())).isEqualTo("unknown");
+		assertThat(Neo4jOgmMetrics.typeOf(null)).isEqualTo("unknown");
+	}
+
+	@Test
+	void shouldOnlyInstrumentTypedQueries() {
+
+		assertThat(Neo4jOgmMetrics.operationOf("query", new Object[] { Person.class, "MATCH (n) RETURN n", null }))
+			.isEqualTo("load");
+		assertThat(Neo4jOgmMetrics.operationOf("query", new Object[] { "MATCH (n) RETURN n", null })).isNull();
+		assertThat(Neo4jOgmMetrics.operationOf("beginTransaction", null)).isNull();
+		assertThat(Neo4jOgmMetrics.statementOf("query", new Object[] { Person.class, "MATCH (n) RETURN n", null }))
+			.isEqualTo("MATCH (n) RETURN n");
+		assertThat(Neo4jOgmMetrics.statementOf("loadAll", new Object[] { Person.class })).isNull();
+	}
+
+	static class Person {
+	}
+}
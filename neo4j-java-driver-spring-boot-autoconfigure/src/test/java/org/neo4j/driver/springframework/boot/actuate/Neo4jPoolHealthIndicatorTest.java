@@ -0,0 +1,141 @@
+/*
+ * Copyright (c) 2019-2020 "Neo4j,"
+ * Neo4j Sweden AB [https://neo4j.com]
+ *
+ * This file is part of Neo4j.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.neo4j.driver.springframework.boot.actuate;
+
+import static org.assertj.core.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+import java.time.Duration;
+import java.util.Collections;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.neo4j.driver.ConnectionPoolMetrics;
+import org.neo4j.driver.Driver;
+import org.neo4j.driver.Metrics;
+import org.springframework.boot.actuate.health.Health;
+import org.springframework.boot.actuate.health.Status;
+
+/**
+ * @author Michael J. Simons
+ */
+class Neo4jPoolHealthIndicatorTest {
+
+	private final AtomicLong clock = new AtomicLong();
+
+	private ConnectionPoolMetrics poolMetrics;
+
+	private Driver driver;
+
+	private Neo4jPoolHealthIndicator healthIndicator;
+
+	@BeforeEach
+	void prepareMocks() {
+
+		this.poolMetrics = mock(ConnectionPoolMetrics.class);
+		when(this.poolMetrics.id()).thenReturn("p1");
+
+		Metrics metrics = mock(Metrics.class);
+		when(metrics.connectionPoolMetrics()).thenReturn(Collections.singletonList(this.poolMetrics));
+
+		this.driver = mock(Driver.class);
+		when(this.driver.metrics()).thenReturn(metrics);
+		when(this.driver.isMetricsEnabled()).thenReturn(true);
+
+		this.healthIndicator = new Neo4jPoolHealthIndicator(this.driver, 10, 0.9, 0, 0, Duration.ofSeconds(30),
+			this.clock::get);
+	}
+
+	@Test
+	void shouldBeUnknownWithoutMetrics() {
+
+		when(this.driver.isMetricsEnabled()).thenReturn(false);
+
+		Health health = this.healthIndicator.health();
+		assertThat(health.getStatus()).isEqualTo(Status.UNKNOWN);
+		verify(this.driver, never()).metrics();
+	}
+
+	@Test
+	void shouldBeUpWhenPoolIsFullWithoutPendingAcquisitions() {
+
+		when(this.poolMetrics.inUse()).thenReturn(10);
+		when(this.poolMetrics.acquiring()).thenReturn(0);
+
+		Health health = this.healthIndicator.health();
+		assertThat(health.getStatus()).isEqualTo(Status.UP);
+		assertThat(health.getDetails()).containsKey("pools");
+	}
+
+	@Test
+	void shouldBeOutOfServiceWhenPoolIsFullAndAcquisitionsArePending() {
+
+		when(this.poolMetrics.inUse()).thenReturn(9);
+		when(this.poolMetrics.acquiring()).thenReturn(3);
+
+		Health health = this.healthIndicator.health();
+		assertThat(health.getStatus()).isEqualTo(Status.OUT_OF_SERVICE);
+		assertThat(poolDetails(health)).containsEntry("acquiring", 3).containsEntry("saturated", true);
+	}
+
+	@Test
+	void shouldBeOutOfServiceOnlyWhileAcquisitionsTimedOutInWindow() {
+
+		when(this.poolMetrics.timedOutToAcquire()).thenReturn(5L);
+		assertThat(this.healthIndicator.health().getStatus()).isEqualTo(Status.UP);
+
+		this.clock.addAndGet(Duration.ofSeconds(10).toNanos());
+		when(this.poolMetrics.timedOutToAcquire()).thenReturn(7L);
+		Health health = this.healthIndicator.health();
+		assertThat(health.getStatus()).isEqualTo(Status.OUT_OF_SERVICE);
+		assertThat(poolDetails(health)).containsEntry("timedOutToAcquireInWindow", 2L);
+
+		this.clock.addAndGet(Duration.ofSeconds(25).toNanos());
+		assertThat(this.healthIndicator.health().getStatus()).isEqualTo(Status.OUT_OF_SERVICE);
+
+		this.clock.addAndGet(Duration.ofSeconds(10).toNanos());
+		health = this.healthIndicator.health();
+		assertThat(health.getStatus()).isEqualTo(Status.UP);
+		assertThat(poolDetails(health)).containsEntry("timedOutToAcquireInWindow", 0L);
+	}
+
+	@Test
+	void shouldOnlyUseTimedOutAcquisitionsWhenPoolSizeIsUnknown() {
+
+		Neo4jPoolHealthIndicator indicatorWithoutPoolSize = new Neo4jPoolHealthIndicator(this.driver,
+			Neo4jPoolHealthIndicator.UNKNOWN_POOL_SIZE, 0.9, 0, 0, Duration.ofSeconds(30), this.clock::get);
+
+		when(this.poolMetrics.inUse()).thenReturn(100);
+		when(this.poolMetrics.acquiring()).thenReturn(3);
+		Health health = indicatorWithoutPoolSize.health();
+		assertThat(health.getStatus()).isEqualTo(Status.UP);
+		assertThat(poolDetails(health)).doesNotContainKey("inUseRatio").containsEntry("saturated", false);
+
+		this.clock.addAndGet(Duration.ofSeconds(10).toNanos());
+		when(this.poolMetrics.timedOutToAcquire()).thenReturn(1L);
+		assertThat(indicatorWithoutPoolSize.health().getStatus()).isEqualTo(Status.OUT_OF_SERVICE);
+	}
+
+	@SuppressWarnings("unchecked")
+	private static Map<String, Object> poolDetails(Health health) {
+		return (Map<String, Object>) ((Map<String, Object>) health.getDetails().get("pools")).get("p1");
+	}
+}
@@ -0,0 +1,248 @@
+/*
+ * Copyright (c) 2019-2020 "Neo4j,"
+ * Neo4j Sweden AB [https://neo4j.com]
+ *
+ * This file is part of Neo4j.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.neo4j.driver.springframework.boot.autoconfigure;
+
+import static org.assertj.core.api.Assertions.*;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.neo4j.driver.Logger;
+import org.neo4j.driver.Logging;
+import org.springframework.boot.logging.LogLevel;
+import org.springframework.boot.logging.LoggingSystem;
+
+/**
+ * @author Michael J. Simons
+ */
+class Neo4jAsyncLoggingTest {
+
+	private final RecordingLogging recordingLogging = new RecordingLogging();
+
+	private Neo4jAsyncLogging asyncLogging;
+
+	@AfterEach
+	void closeLogging() {
+		if (this.asyncLogging != null) {
+			this.asyncLogging.close();
+		}
+	}
+
+	@Test
+	void shouldLogOnBackgroundThread() {
+
+		this.asyncLogging = new Neo4jAsyncLogging(this.recordingLogging, 10, Duration.ofSeconds(10), 10);
+		this.asyncLogging.getLog("test").info("Hello, %s", "World");
+		this.asyncLogging.close();
+
+		assertThat(this.recordingLogging.messages).containsExactly("INFO Hello, World");
+		assertThat(this.recordingLogging.threads).allMatch(name -> name.startsWith("neo4j-driver-logging-"));
+	}
+
+	@Test
+	void shouldRateLimitIdenticalMessages() {
+
+		this.asyncLogging = new Neo4jAsyncLogging(this.recordingLogging, 100, Duration.ofSeconds(10), 3);
+		Logger logger = this.asyncLogging.getLog("test");
+		for (int i = 0; i < 20; ++i) {
+			logger.warn("Failed to connect to %s", "server1");
+		}
+		logger.warn("Failed to connect to %s", "server2");
+		this.asyncLogging.close();
+
+		assertThat(this.recordingLogging.messages).containsExactly(
+			"WARN Failed to connect to server1",
+			"WARN Failed to connect to server1",
+			"WARN Failed to connect to server1",
+			"WARN Failed to connect to server2",
+			"WARN Suppressed 17 identical messages within 10000ms: Failed to connect to server1"
+		);
+		assertThat(this.asyncLogging.getSuppressedEvents()).isEqualTo(17L);
+		assertThat(this.asyncLogging.getDroppedEvents()).isZero();
+	}
+
+	@Test
+	void shouldDropEventsWhenQueueIsFull() throws InterruptedException {
+
+		CountDownLatch entered = new CountDownLatch(1);
+		CountDownLatch release = new CountDownLatch(1);
+		this.recordingLogging.onLog = () -> {
+			entered.countDown();
+			try {
+				release.await(5, TimeUnit.SECONDS);
+			} catch (InterruptedException e) {
+				Thread.currentThread().interrupt();
+			}
+		};
+
+		this.asyncLogging = new Neo4jAsyncLogging(this.recordingLogging, 2, Duration.ofSeconds(10), 10);
+		Logger logger = this.asyncLogging.getLog("test");
+		logger.info("Blocking");
+		assertThat(entered.await(5, TimeUnit.SECONDS)).isTrue();
+
+		for (int i = 0; i < 10; ++i) {
+			logger.info("Message %d", i);
+		}
+		release.countDown();
+		this.asyncLogging.close();
+
+		assertThat(this.asyncLogging.getDroppedEvents()).isEqualTo(8L);
+		assertThat(this.recordingLogging.messages).containsExactly("INFO Blocking", "INFO Message 0", "INFO Message 1");
+	}
+
+	@Test
+	void shouldNotQueueDisabledLevels() {
+
+		this.asyncLogging = new Neo4jAsyncLogging(this.recordingLogging, 1, Duration.ofSeconds(10), 10);
+		Logger logger = this.asyncLogging.getLog("test");
+		for (int i = 0; i < 10; ++i) {
+			logger.debug("Message %d", i);
+			logger.trace("Message %d", i);
+		}
+		this.asyncLogging.close();
+
+		assertThat(this.recordingLogging.messages).isEmpty();
+		assertThat(this.asyncLogging.getDroppedEvents()).isZero();
+	}
+
+	@Test
+	void shouldNotQueueDisabledInfoAndWarnMessages() throws InterruptedException {
+
+		LoggingSystem loggingSystem = LoggingSystem.get(getClass().getClassLoader());
+		loggingSystem.setLogLevel("org.neo4j.driver.quiet", LogLevel.ERROR);
+		try {
+			CountDownLatch entered = new CountDownLatch(1);
+			CountDownLatch release = new CountDownLatch(1);
+			this.recordingLogging.onLog = () -> {
+				entered.countDown();
+				try {
+					release.await(5, TimeUnit.SECONDS);
+				} catch (InterruptedException e) {
+					Thread.currentThread().interrupt();
+				}
+			};
+			Neo4jSpringJclLogging springJclLogging = new Neo4jSpringJclLogging();
+			Logging delegate = name -> "quiet".equals(name) ?
+				springJclLogging.getLog(name) : this.recordingLogging.getLog(name);
+
+			this.asyncLogging = new Neo4jAsyncLogging(delegate, 1, Duration.ofSeconds(10), 10);
+			Logger logger = this.asyncLogging.getLog("test");
+			logger.info("Blocking");
+			assertThat(entered.await(5, TimeUnit.SECONDS)).isTrue();
+
+			Logger quietLogger = this.asyncLogging.getLog("quiet");
+			for (int i = 0; i < 10; ++i) {
+				quietLogger.info("Message %d", i);
+				quietLogger.warn("Message %d", i);
+				quietLogger.warn("Message", new RuntimeException());
+			}
+			logger.warn("Important");
+			release.countDown();
+			this.asyncLogging.close();
+
+			assertThat(this.recordingLogging.messages).containsExactly("INFO Blocking", "WARN Important");
+			assertThat(this.asyncLogging.getDroppedEvents()).isZero();
+		} finally {
+			loggingSystem.setLogLevel("org.neo4j.driver.quiet", null);
+		}
+	}
+
+	@Test
+	void shouldLogSynchronouslyAfterClose() {
+
+		this.asyncLogging = new Neo4jAsyncLogging(this.recordingLogging, 10, Duration.ofSeconds(10), 10);
+		Logger logger = this.asyncLogging.getLog("test");
+		this.asyncLogging.close();
+
+		logger.error("Closed", new RuntimeException());
+		assertThat(this.recordingLogging.messages).containsExactly("ERROR Closed");
+		assertThat(this.recordingLogging.threads).containsExactly(Thread.currentThread().getName());
+	}
+
+	static class RecordingLogging implements Logging {
+
+		final List<String> messages = new CopyOnWriteArrayList<>();
+
+		final List<String> threads = new CopyOnWriteArrayList<>();
+
+		volatile Runnable onLog = () -> {
+		};
+
+		@Override
+		public Logger getLog(String name) {
+			return new Logger() {
+				@Override
+				public void error(String message, Throwable cause) {
+					record("ERROR " + message);
+				}
+
+				@Override
+				public void info(String message, Object... params) {
+					record("INFO " + String.format(message, params));
+				}
+
+				@Override
+				public void warn(String message, Object... params) {
+					record("WARN " + String.format(message, params));
+				}
+
+				@Override
+				public void warn(String message, Throwable cause) {
+					record("WARN " + message);
+				}
+
+				@Override
+				public void debug(String message, Object... params) {
+					record("DEBUG " + String.format(message, params));
+				}
+
+				@Override
+				public void debug(String message, Throwable cause) {
+					record("DEBUG " + message);
+				}
+
+				@Override
+				public void trace(String message, Object... params) {
+					record("TRACE " + String.format(message, params));
+				}
+
+				@Override
+				public boolean isTraceEnabled() {
+					return false;
+				}
+
+				@Override
+				public boolean isDebugEnabled() {
+					return false;
+				}
+			};
+		}
+
+		private void record(String message) {
+			this.onLog.run();
+			this.messages.add(message);
+			this.threads.add(Thread.currentThread().getName());
+		}
+	}
+}
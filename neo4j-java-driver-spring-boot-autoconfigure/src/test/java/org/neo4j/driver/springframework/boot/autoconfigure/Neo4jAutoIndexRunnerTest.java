@@ -0,0 +1,88 @@
+/*
+ * Copyright (c) 2019-2020 "Neo4j,"
+ * Neo4j Sweden AB [https://neo4j.com]
+ *
+ * This file is part of Neo4j.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.neo4j.driver.springframework.boot.autoconfigure;
+
+import static org.assertj.core.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+import java.time.Duration;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.jupiter.api.Test;
+import org.neo4j.ogm.config.Configuration;
+import org.neo4j.ogm.session.SessionFactory;
+
+/**
+ * @author Michael J. Simons
+ */
+class Neo4jAutoIndexRunnerTest {
+
+	private final SessionFactory sessionFactory = mock(SessionFactory.class);
+
+	@Test
+	void shouldFinishImmediatelyWithoutAutoIndex() {
+
+		Neo4jAutoIndexRunner runner = new Neo4jAutoIndexRunner(this.sessionFactory, new Configuration.Builder().build());
+		runner.afterPropertiesSet();
+
+		assertThat(runner.getState()).isEqualTo(Neo4jAutoIndexRunner.State.FINISHED);
+		assertThat(runner.getDuration()).hasValue(Duration.ZERO);
+		verifyNoInteractions(this.sessionFactory);
+	}
+
+	@Test
+	void shouldRunInBackground() throws Exception {
+
+		Configuration configuration = new Configuration.Builder().autoIndex("validate").build();
+		CountDownLatch release = new CountDownLatch(1);
+		doAnswer(invocation -> release.await(5, TimeUnit.SECONDS)).when(this.sessionFactory)
+			.runAutoIndexManager(configuration);
+
+		Neo4jAutoIndexRunner runner = new Neo4jAutoIndexRunner(this.sessionFactory, configuration);
+		assertThat(runner.getState()).isEqualTo(Neo4jAutoIndexRunner.State.PENDING);
+
+		runner.afterPropertiesSet();
+		assertThat(runner.getState()).isEqualTo(Neo4jAutoIndexRunner.State.RUNNING);
+		assertThat(runner.getDuration()).isEmpty();
+
+		release.countDown();
+		Duration duration = runner.getCompletion().toCompletableFuture().get(5, TimeUnit.SECONDS);
+		assertThat(runner.getState()).isEqualTo(Neo4jAutoIndexRunner.State.FINISHED);
+		assertThat(runner.getDuration()).hasValue(duration);
+		verify(this.sessionFactory).runAutoIndexManager(configuration);
+	}
+
+	@Test
+	void shouldReportFailures() {
+
+		Configuration configuration = new Configuration.Builder().autoIndex("assert").build();
+		IllegalStateException failure = new IllegalStateException("Database is gone.");
+		doThrow(failure).when(this.sessionFactory).runAutoIndexManager(configuration);
+
+		Neo4jAutoIndexRunner runner = new Neo4jAutoIndexRunner(this.sessionFactory, configuration);
+		runner.afterPropertiesSet();
+
+		assertThatExceptionOfType(Exception.class)
+			.isThrownBy(() -> runner.getCompletion().toCompletableFuture().get(5, TimeUnit.SECONDS))
+			.withCause(failure);
+		assertThat(runner.getState()).isEqualTo(Neo4jAutoIndexRunner.State.FAILED);
+		assertThat(runner.getFailure()).hasValue(failure);
+	}
+}
@@ -0,0 +1,221 @@
+/*
+ * Copyright (c) 2019-2020 "Neo4j,"
+ * Neo4j Sweden AB [https://neo4j.com]
+ *
+ * This file is part of Neo4j.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.neo4j.driver.springframework.boot.autoconfigure;
+
+import static org.assertj.core.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.neo4j.driver.Driver;
+import org.neo4j.driver.Result;
+import org.neo4j.driver.Session;
+import org.neo4j.driver.SessionConfig;
+import org.neo4j.driver.Transaction;
+import org.neo4j.driver.TransactionWork;
+import org.neo4j.driver.exceptions.ServiceUnavailableException;
+
+/**
+ * @author Michael J. Simons
+ */
+class Neo4jBatchWriterTest {
+
+	private static final String STATEMENT = "UNWIND $rows AS row CREATE (e:Event) SET e = row";
+
+	private final List<List<Map<String, Object>>> writtenBatches = new CopyOnWriteArrayList<>();
+
+	private final Neo4jDriverProperties.BatchWriterSettings settings = new Neo4jDriverProperties.BatchWriterSettings();
+
+	private Driver driver;
+
+	private Session session;
+
+	private Neo4jBatchWriter<Integer> writer;
+
+	@BeforeEach
+	@SuppressWarnings("unchecked")
+	void mockDriver() {
+
+		Transaction transaction = mock(Transaction.class);
+		when(transaction.run(eq(STATEMENT), anyMap())).thenAnswer(invocation -> {
+			Map<String, Object> parameters = invocation.getArgument(1);
+			this.writtenBatches.add(new ArrayList<>((List<Map<String, Object>>) parameters.get("rows")));
+			return mock(Result.class);
+		});
+
+		this.session = mock(Session.class);
+		when(this.session.writeTransaction(any()))
+			.thenAnswer(invocation -> ((TransactionWork<?>) invocation.getArgument(0)).execute(transaction));
+
+		this.driver = mock(Driver.class);
+		when(this.driver.session(any(SessionConfig.class))).thenReturn(this.session);
+
+		this.settings.setBatchSize(3);
+		this.settings.setCapacity(10);
+		this.settings.setFlushInterval(Duration.ofHours(1));
+		this.settings.setOfferTimeout(Duration.ofMillis(10));
+	}
+
+	@AfterEach
+	void closeWriter() {
+		if (this.writer != null) {
+			this.writer.close();
+		}
+	}
+
+	@Test
+	void shouldWriteFullBatches() throws Exception {
+
+		this.writer = createWriter(Collections.emptyList());
+		for (int i = 0; i < 7; ++i) {
+			this.writer.write(i);
+		}
+		this.writer.flush().get(5, TimeUnit.SECONDS);
+
+		assertThat(this.writtenBatches).extracting(List::size).containsExactly(3, 3, 1);
+		assertThat(this.writtenBatches.stream().flatMap(List::stream).map(row -> row.get("value")))
+			.containsExactly(0, 1, 2, 3, 4, 5, 6);
+		assertThat(this.writer.getWrittenRows()).isEqualTo(7L);
+		assertThat(this.writer.getQueueDepth()).isZero();
+	}
+
+	@Test
+	void shouldWritePartialBatchesAfterFlushInterval() throws InterruptedException {
+
+		this.settings.setFlushInterval(Duration.ofMillis(20));
+		this.writer = createWriter(Collections.emptyList());
+		this.writer.write(1);
+		this.writer.write(2);
+
+		long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+		while (this.writer.getWrittenRows() < 2 && System.nanoTime() < deadline) {
+			Thread.sleep(10);
+		}
+		assertThat(this.writtenBatches).extracting(List::size).containsExactly(2);
+	}
+
+	@Test
+	void shouldApplyBackpressure() throws Exception {
+
+		CountDownLatch databaseBlocked = new CountDownLatch(1);
+		doAnswer(invocation -> {
+			databaseBlocked.await(5, TimeUnit.SECONDS);
+			return null;
+		}).when(this.session).writeTransaction(any());
+		this.settings.setCapacity(3);
+		this.writer = createWriter(Collections.emptyList());
+
+		for (int i = 0; i < 3; ++i) {
+			this.writer.write(i);
+		}
+		assertThat(this.writer.offer(3)).isFalse();
+		assertThatExceptionOfType(RejectedExecutionException.class).isThrownBy(() -> this.writer.write(4));
+		assertThat(this.writer.getRejectedRows()).isEqualTo(2L);
+
+		databaseBlocked.countDown();
+		assertThat(this.writer.offer(5, Duration.ofSeconds(5))).isTrue();
+	}
+
+	@Test
+	void shouldReportFailedBatches() {
+
+		doThrow(new ServiceUnavailableException("Database gone")).when(this.session).writeTransaction(any());
+		List<Throwable> failures = new CopyOnWriteArrayList<>();
+		this.writer = createWriter(Collections.singletonList(new Neo4jBatchWriterListener() {
+			@Override
+			public void batchWritten(Neo4jBatchWriter<?> source, int rows, Duration duration, Throwable failure) {
+				failures.add(failure);
+			}
+		}));
+		this.writer.write(1);
+
+		CompletableFuture<Void> flush = this.writer.flush();
+		assertThatExceptionOfType(ExecutionException.class).isThrownBy(() -> flush.get(5, TimeUnit.SECONDS))
+			.withCauseInstanceOf(ServiceUnavailableException.class);
+		assertThat(this.writer.getFailedRows()).isEqualTo(1L);
+		assertThat(failures).hasSize(1).allMatch(ServiceUnavailableException.class::isInstance);
+
+		// The capacity of failed rows is available again
+		for (int i = 0; i < 10; ++i) {
+			assertThat(this.writer.offer(i)).isTrue();
+		}
+	}
+
+	@Test
+	void shouldWriteQueuedRowsOnClose() {
+
+		List<String> events = new CopyOnWriteArrayList<>();
+		this.writer = createWriter(Collections.singletonList(new Neo4jBatchWriterListener() {
+			@Override
+			public void writerCreated(Neo4jBatchWriter<?> source) {
+				events.add("created " + source.getName());
+			}
+
+			@Override
+			public void writerClosed(Neo4jBatchWriter<?> source) {
+				events.add("closed " + source.getName());
+			}
+		}));
+		this.writer.write(1);
+		this.writer.write(2);
+		this.writer.close();
+
+		assertThat(this.writtenBatches.stream().flatMap(List::stream).map(row -> row.get("value"))
+			.collect(Collectors.toList())).containsExactly(1, 2);
+		assertThat(events).containsExactly("created events", "closed events");
+		assertThatIllegalStateException().isThrownBy(() -> this.writer.write(3));
+	}
+
+	@Test
+	void shouldForgetClosedWriters() {
+
+		Neo4jBatchWriters batchWriters = new Neo4jBatchWriters(this.driver, this.settings, Collections.emptyList());
+		Neo4jBatchWriter<Integer> closedWriter = batchWriters
+			.create("closed", STATEMENT, value -> Collections.singletonMap("value", value));
+		this.writer = batchWriters.create("events", STATEMENT, value -> Collections.singletonMap("value", value));
+		assertThat(batchWriters.getOpenWriters()).isEqualTo(2);
+
+		closedWriter.close();
+		assertThat(batchWriters.getOpenWriters()).isEqualTo(1);
+
+		batchWriters.close();
+		assertThat(batchWriters.getOpenWriters()).isZero();
+	}
+
+	private Neo4jBatchWriter<Integer> createWriter(List<Neo4jBatchWriterListener> listeners) {
+
+		return new Neo4jBatchWriters(this.driver, this.settings, listeners)
+			.create("events", STATEMENT, value -> Collections.singletonMap("value", value));
+	}
+}
@@ -0,0 +1,191 @@
+/*
+ * Copyright (c) 2019-2020 "Neo4j,"
+ * Neo4j Sweden AB [https://neo4j.com]
+ *
+ * This file is part of Neo4j.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.neo4j.driver.springframework.boot.autoconfigure;
+
+import static org.assertj.core.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+import reactor.core.publisher.Flux;
+import reactor.test.StepVerifier;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.IOException;
+import java.io.StringWriter;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Iterator;
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+import org.neo4j.driver.Record;
+import org.neo4j.driver.Result;
+import org.neo4j.driver.Value;
+import org.neo4j.driver.Values;
+import org.neo4j.driver.internal.InternalRecord;
+import org.neo4j.driver.reactive.RxResult;
+
+/**
+ * @author Michael J. Simons
+ */
+class Neo4jColumnarReaderTest {
+
+	private static final List<String> KEYS = Arrays.asList("title", "released", "rating", "seen");
+
+	private final List<Record> records = Arrays.asList(
+		movie("The Matrix", 1999L, 8.7, true),
+		movie("The Matrix, \"Reloaded\"", 2003L, null, false),
+		movie("The Matrix", null, 7L, null));
+
+	@Test
+	void shouldStoreColumns() {
+
+		Neo4jColumnBatch batch = new Neo4jColumnBatch(3);
+		this.records.forEach(batch::add);
+
+		assertThat(batch.isFull()).isTrue();
+		assertThat(batch.getKeys()).isEqualTo(KEYS);
+
+		Neo4jColumnBatch.Column titles = batch.getColumn(0);
+		assertThat(titles.getType()).isEqualTo(Neo4jColumnBatch.ColumnType.STRING);
+		assertThat(titles.dictionary()).containsExactly("The Matrix", "The Matrix, \"Reloaded\"");
+		assertThat(titles.getString(2)).isEqualTo("The Matrix");
+
+		Neo4jColumnBatch.Column released = batch.getColumn(1);
+		assertThat(released.getType()).isEqualTo(Neo4jColumnBatch.ColumnType.LONG);
+		assertThat(released.getLong(1)).isEqualTo(2003L);
+		assertThat(released.isNull(2)).isTrue();
+		assertThat(released.getObject(2)).isNull();
+
+		// The integer in the last row widens the column of floats
+		Neo4jColumnBatch.Column rating = batch.getColumn(2);
+		assertThat(rating.getType()).isEqualTo(Neo4jColumnBatch.ColumnType.DOUBLE);
+		assertThat(rating.getDouble(2)).isEqualTo(7.0);
+
+		assertThat(batch.getColumn(3).getBoolean(0)).isTrue();
+		assertThatIllegalStateException().isThrownBy(() -> batch.add(this.records.get(0)));
+	}
+
+	@Test
+	void shouldWidenAndConvertColumns() {
+
+		List<String> keys = Arrays.asList("a", "b");
+		Neo4jColumnBatch batch = new Neo4jColumnBatch(3);
+		batch.add(new InternalRecord(keys, new Value[] { Values.value(1L), Values.NULL }));
+		batch.add(new InternalRecord(keys, new Value[] { Values.value(1.5), Values.NULL }));
+		batch.add(new InternalRecord(keys, new Value[] { Values.value("x"), Values.NULL }));
+
+		Neo4jColumnBatch.Column a = batch.getColumn(0);
+		assertThat(a.getType()).isEqualTo(Neo4jColumnBatch.ColumnType.OBJECT);
+		assertThat(Arrays.asList(a.getObject(0), a.getObject(1), a.getObject(2))).containsExactly(1.0, 1.5, "x");
+		assertThat(batch.getColumn(1).getType()).isEqualTo(Neo4jColumnBatch.ColumnType.NULL);
+	}
+
+	@Test
+	void shouldReuseBatches() throws IOException {
+
+		List<Neo4jColumnBatch> batches = new ArrayList<>();
+		List<Integer> sizes = new ArrayList<>();
+		long count = Neo4jColumnarReader.read(result(this.records), 2, batch -> {
+			batches.add(batch);
+			sizes.add(batch.size());
+		});
+
+		assertThat(count).isEqualTo(3L);
+		assertThat(sizes).containsExactly(2, 1);
+		assertThat(batches.get(0)).isSameAs(batches.get(1));
+	}
+
+	@Test
+	void shouldWriteCsv() throws IOException {
+
+		// Types are determined per batch, the last batch holds the rating as an integer
+		StringWriter csv = new StringWriter();
+		Neo4jColumnarReader.read(result(this.records), 2, Neo4jColumnBatchWriter.csv(csv));
+
+		assertThat(csv.toString()).isEqualTo("title,released,rating,seen\r\n"
+			+ "The Matrix,1999,8.7,true\r\n"
+			+ "\"The Matrix, \"\"Reloaded\"\"\",2003,,false\r\n"
+			+ "The Matrix,,7,\r\n");
+	}
+
+	@Test
+	void shouldWriteBinaryBatches() throws IOException {
+
+		ByteArrayOutputStream out = new ByteArrayOutputStream();
+		Neo4jColumnarReader.read(result(this.records), 3, Neo4jColumnBatchWriter.binary(out));
+
+		DataInputStream in = new DataInputStream(new ByteArrayInputStream(out.toByteArray()));
+		byte[] magic = new byte[4];
+		in.readFully(magic);
+		assertThat(new String(magic, StandardCharsets.US_ASCII)).isEqualTo("N4JC");
+		assertThat(in.readByte()).isEqualTo((byte) 1);
+		assertThat(in.readInt()).isEqualTo(3);
+		assertThat(in.readInt()).isEqualTo(4);
+
+		assertThat(readString(in)).isEqualTo("title");
+		assertThat(in.readByte()).isEqualTo((byte) Neo4jColumnBatch.ColumnType.STRING.ordinal());
+		assertThat(in.readByte()).isEqualTo((byte) 0b111);
+		assertThat(in.readInt()).isEqualTo(2);
+		assertThat(readString(in)).isEqualTo("The Matrix");
+		assertThat(readString(in)).isEqualTo("The Matrix, \"Reloaded\"");
+		assertThat(new int[] { in.readInt(), in.readInt(), in.readInt() }).containsExactly(0, 1, 0);
+
+		assertThat(readString(in)).isEqualTo("released");
+		assertThat(in.readByte()).isEqualTo((byte) Neo4jColumnBatch.ColumnType.LONG.ordinal());
+		assertThat(in.readByte()).isEqualTo((byte) 0b011);
+		assertThat(new long[] { in.readLong(), in.readLong(), in.readLong() }).containsExactly(1999L, 2003L, 0L);
+	}
+
+	@Test
+	void shouldReadReactiveResultsInBatches() {
+
+		RxResult result = mock(RxResult.class);
+		when(result.records()).thenReturn(Flux.fromIterable(this.records));
+
+		Neo4jColumnarReader.read(result, 2)
+			.as(StepVerifier::create)
+			.assertNext(batch -> assertThat(batch.size()).isEqualTo(2))
+			.assertNext(batch -> assertThat(batch.getColumn(0).getString(0)).isEqualTo("The Matrix"))
+			.verifyComplete();
+	}
+
+	private static Record movie(String title, Long released, Object rating, Boolean seen) {
+		return new InternalRecord(KEYS, new Value[] { Values.value(title), Values.value(released),
+			Values.value(rating), Values.value(seen) });
+	}
+
+	private static Result result(List<Record> content) {
+
+		Iterator<Record> iterator = content.iterator();
+		Result result = mock(Result.class);
+		when(result.hasNext()).then(invocation -> iterator.hasNext());
+		when(result.next()).then(invocation -> iterator.next());
+		return result;
+	}
+
+	private static String readString(DataInputStream in) throws IOException {
+
+		byte[] bytes = new byte[in.readInt()];
+		in.readFully(bytes);
+		return new String(bytes, StandardCharsets.UTF_8);
+	}
+}
@@ -0,0 +1,181 @@
+/*
+ * Copyright (c) 2019-2020 "Neo4j,"
+ * Neo4j Sweden AB [https://neo4j.com]
+ *
+ * This file is part of Neo4j.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.neo4j.driver.springframework.boot.autoconfigure;
+
+import static org.assertj.core.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Function;
+
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+import org.neo4j.driver.Driver;
+import org.neo4j.driver.async.AsyncSession;
+import org.neo4j.driver.async.ResultCursor;
+import org.neo4j.driver.exceptions.AuthenticationException;
+import org.neo4j.driver.exceptions.ClientException;
+import org.neo4j.driver.exceptions.ServiceUnavailableException;
+import org.neo4j.driver.summary.ResultSummary;
+import org.springframework.core.io.support.PathMatchingResourcePatternResolver;
+
+/**
+ * @author Michael J. Simons
+ */
+class Neo4jCypherStatementsTest {
+
+	static final String LOCATIONS = "classpath*:org/neo4j/driver/springframework/boot/autoconfigure/statements/**/*.cypher";
+
+	@Test
+	void shouldLoadStatementsByRelativePath() throws IOException {
+
+		Neo4jCypherStatements statements = Neo4jCypherStatements.load(new PathMatchingResourcePatternResolver(),
+			LOCATIONS);
+
+		assertThat(statements.getNames()).containsExactly("movies/byTitle", "people/all");
+		assertThat(statements.get("movies/byTitle")).isEqualTo("MATCH (m:Movie {title: $title})\nRETURN m");
+		assertThat(statements.query("people/all", Collections.emptyMap()).text())
+			.isEqualTo("MATCH (p:Person) RETURN p.name AS name");
+		assertThat(statements.getName("MATCH (p:Person) RETURN p.name AS name")).hasValue("people/all");
+		assertThat(statements.getName("RETURN 1")).isEmpty();
+		assertThatIllegalArgumentException().isThrownBy(() -> statements.get("people/none"))
+			.withMessage("No Cypher statement named 'people/none'");
+	}
+
+	@Test
+	void shouldExplainAllStatements() {
+
+		AtomicInteger inFlight = new AtomicInteger();
+		AtomicInteger maxInFlight = new AtomicInteger();
+		Map<String, CompletableFuture<ResultCursor>> results = new LinkedHashMap<>();
+		Driver driver = mockDriver(statement -> {
+			maxInFlight.accumulateAndGet(inFlight.incrementAndGet(), Math::max);
+			CompletableFuture<ResultCursor> result = new CompletableFuture<>();
+			results.put(statement, result);
+			return result;
+		});
+
+		Map<String, String> statementsByName = new LinkedHashMap<>();
+		statementsByName.put("a", "RETURN 1");
+		statementsByName.put("b", "RETRUN 2");
+		statementsByName.put("c", "RETURN 3");
+		CompletableFuture<Map<String, Throwable>> errors = new Neo4jCypherStatements(statementsByName)
+			.explain(driver, 2).toCompletableFuture();
+
+		assertThat(results).containsOnlyKeys("EXPLAIN RETURN 1", "EXPLAIN RETRUN 2");
+		inFlight.decrementAndGet();
+		results.get("EXPLAIN RETURN 1").complete(cursor());
+		inFlight.decrementAndGet();
+		ClientException syntaxError = new ClientException("Neo.ClientError.Statement.SyntaxError", "Invalid input");
+		results.get("EXPLAIN RETRUN 2").completeExceptionally(syntaxError);
+		inFlight.decrementAndGet();
+		results.get("EXPLAIN RETURN 3").complete(cursor());
+
+		assertThat(errors).isCompleted();
+		assertThat(errors.join()).containsOnly(entry("b", syntaxError));
+		assertThat(maxInFlight).hasValue(2);
+		verify(driver, times(3)).asyncSession();
+	}
+
+	@Nested
+	class WarmUp {
+
+		private final Neo4jDriverProperties.StatementSettings settings = new Neo4jDriverProperties.StatementSettings();
+
+		private final Neo4jCypherStatements statements = new Neo4jCypherStatements(
+			Collections.singletonMap("a", "RETRUN 1"));
+
+		@Test
+		void shouldFailOnRejectedStatements() {
+
+			Driver driver = mockDriver(statement -> failed(
+				new ClientException("Neo.ClientError.Statement.SyntaxError", "Invalid input")));
+
+			CypherStatementsWarmUp warmUp = new CypherStatementsWarmUp(driver, this.statements, this.settings);
+			assertThatIllegalStateException().isThrownBy(warmUp::afterSingletonsInstantiated)
+				.withMessage("Cypher statements have been rejected: a (Invalid input)");
+
+			this.settings.setFailOnError(false);
+			warmUp.afterSingletonsInstantiated();
+		}
+
+		@Test
+		void shouldNotTreatOtherClientErrorsAsRejections() {
+
+			Driver driver = mockDriver(statement -> failed(
+				new AuthenticationException("Neo.ClientError.Security.Unauthorized", "Invalid credentials")));
+
+			new CypherStatementsWarmUp(driver, this.statements, this.settings).afterSingletonsInstantiated();
+			verify(driver).asyncSession();
+			assertThat(CypherStatementsWarmUp.isRejection(new ClientException("Unsupported administration command")))
+				.isFalse();
+		}
+
+		@Test
+		void shouldNotFailWhenTheServerIsUnavailable() {
+
+			Driver driver = mockDriver(statement -> failed(new ServiceUnavailableException("Connection refused")));
+
+			new CypherStatementsWarmUp(driver, this.statements, this.settings).afterSingletonsInstantiated();
+			verify(driver).asyncSession();
+		}
+
+		@Test
+		void shouldNotWaitLongerThanTheTimeout() {
+
+			Driver driver = mockDriver(statement -> new CompletableFuture<>());
+			this.settings.setWarmUpTimeout(Duration.ofMillis(10));
+
+			new CypherStatementsWarmUp(driver, this.statements, this.settings).afterSingletonsInstantiated();
+			verify(driver).asyncSession();
+		}
+	}
+
+	private static Driver mockDriver(Function<String, CompletableFuture<ResultCursor>> run) {
+
+		AsyncSession session = mock(AsyncSession.class);
+		when(session.runAsync(anyString())).then(invocation -> run.apply(invocation.getArgument(0)));
+		when(session.closeAsync()).thenReturn(CompletableFuture.completedFuture(null));
+
+		Driver driver = mock(Driver.class);
+		when(driver.asyncSession()).thenReturn(session);
+		return driver;
+	}
+
+	private static ResultCursor cursor() {
+
+		ResultCursor cursor = mock(ResultCursor.class);
+		when(cursor.consumeAsync()).thenReturn(CompletableFuture.completedFuture(mock(ResultSummary.class)));
+		return cursor;
+	}
+
+	private static CompletableFuture<ResultCursor> failed(Throwable error) {
+
+		CompletableFuture<ResultCursor> result = new CompletableFuture<>();
+		result.completeExceptionally(error);
+		return result;
+	}
+}
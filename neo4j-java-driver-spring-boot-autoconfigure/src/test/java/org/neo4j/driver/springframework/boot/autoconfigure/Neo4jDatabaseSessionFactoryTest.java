@@ -0,0 +1,173 @@
+/*
+ * Copyright (c) 2019-2020 "Neo4j,"
+ * Neo4j Sweden AB [https://neo4j.com]
+ *
+ * This file is part of Neo4j.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.neo4j.driver.springframework.boot.autoconfigure;
+
+import static org.assertj.core.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.stream.Collectors;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.neo4j.driver.Driver;
+import org.neo4j.driver.SessionConfig;
+import org.neo4j.driver.Transaction;
+import org.neo4j.driver.springframework.boot.autoconfigure.indexed.IndexedPerson;
+import org.neo4j.ogm.config.Configuration;
+import org.neo4j.ogm.metadata.reflect.ReflectionEntityInstantiator;
+import org.neo4j.ogm.session.EntityInstantiator;
+import org.neo4j.ogm.session.Neo4jSession;
+import org.neo4j.ogm.session.Session;
+import org.neo4j.ogm.session.SessionFactory;
+
+/**
+ * @author Michael J. Simons
+ */
+class Neo4jDatabaseSessionFactoryTest {
+
+	private final Configuration configuration = new Configuration.Builder().uri("bolt://localhost:7687").build();
+
+	private Driver defaultDriver;
+
+	private Driver otherDriver;
+
+	private SessionFactory sessionFactory;
+
+	private Neo4jDatabaseSessionFactory databaseSessionFactory;
+
+	@BeforeEach
+	void prepareFactories() {
+
+		this.defaultDriver = mockDriver();
+		this.otherDriver = mockDriver();
+		this.sessionFactory = new SessionFactory(
+			Neo4jDatabaseSessionFactory.createOgmDriver(this.defaultDriver, this.configuration),
+			IndexedPerson.class.getPackage().getName());
+
+		Map<String, Driver> drivers = new LinkedHashMap<>();
+		drivers.put("driver", this.defaultDriver);
+		drivers.put("otherDriver", this.otherDriver);
+		this.databaseSessionFactory = new Neo4jDatabaseSessionFactory(this.sessionFactory, this.configuration,
+			this.defaultDriver, drivers, Collections.emptyList(), Collections.emptyList());
+	}
+
+	@Test
+	void shouldShareMetaData() {
+
+		Session session = this.databaseSessionFactory.openSession("tenant1");
+		assertThat(session).isInstanceOf(Neo4jSession.class);
+		assertThat(((Neo4jSession) session).metaData()).isSameAs(this.sessionFactory.metaData());
+		assertThat(((Neo4jSession) session).metaData().classInfo(IndexedPerson.class)).isNotNull();
+	}
+
+	@Test
+	void shouldUseDefaultEntityInstantiatorOfSessionFactory() {
+
+		assertThat(((Neo4jSession) this.databaseSessionFactory.openSession("tenant1")).getEntityInstantiator())
+			.isInstanceOf(ReflectionEntityInstantiator.class);
+	}
+
+	@Test
+	void shouldUseEntityInstantiatorConfiguredOnSessionFactory() {
+
+		EntityInstantiator entityInstantiator = mock(EntityInstantiator.class);
+		this.sessionFactory.setEntityInstantiator(entityInstantiator);
+
+		assertThat(((Neo4jSession) this.databaseSessionFactory.openSession("tenant1")).getEntityInstantiator())
+			.isSameAs(entityInstantiator);
+	}
+
+	@Test
+	void shouldUseGivenEntityInstantiator() {
+
+		EntityInstantiator entityInstantiator = mock(EntityInstantiator.class);
+		Neo4jDatabaseSessionFactory factory = new Neo4jDatabaseSessionFactory(mock(SessionFactory.class),
+			this.configuration, this.defaultDriver, Collections.emptyMap(), Collections.emptyList(),
+			Collections.emptyList(), entityInstantiator);
+
+		assertThat(((Neo4jSession) factory.openSession("tenant1")).getEntityInstantiator())
+			.isSameAs(entityInstantiator);
+	}
+
+	@Test
+	void shouldFailWhenEntityInstantiatorCannotBeDetermined() {
+
+		SessionFactory customSessionFactory = mock(SessionFactory.class);
+		when(customSessionFactory.openSession()).thenReturn(mock(Session.class));
+		Neo4jDatabaseSessionFactory factory = new Neo4jDatabaseSessionFactory(customSessionFactory,
+			this.configuration, this.defaultDriver, Collections.emptyMap(), Collections.emptyList(),
+			Collections.emptyList());
+
+		assertThatIllegalStateException().isThrownBy(() -> factory.openSession("tenant1"))
+			.withMessageContaining("pass the entity instantiator explicitly");
+	}
+
+	@Test
+	void shouldOpenSessionsAgainstDatabase() {
+
+		this.databaseSessionFactory.openSession("tenant1").beginTransaction().close();
+		this.databaseSessionFactory.openSession("tenant2").beginTransaction().close();
+
+		assertThat(databasesUsedBy(this.defaultDriver)).containsExactly(Optional.of("tenant1"), Optional.of("tenant2"));
+		verify(this.otherDriver, never()).session(any(SessionConfig.class));
+	}
+
+	@Test
+	void shouldOpenSessionsThroughNamedDrivers() {
+
+		this.databaseSessionFactory.openSession("otherDriver", "tenant1").beginTransaction().close();
+
+		assertThat(databasesUsedBy(this.otherDriver)).containsExactly(Optional.of("tenant1"));
+		verify(this.defaultDriver, never()).session(any(SessionConfig.class));
+		assertThat(this.databaseSessionFactory.getDriverNames()).containsExactly("driver", "otherDriver");
+	}
+
+	@Test
+	void shouldRejectUnknownDrivers() {
+
+		assertThatIllegalArgumentException()
+			.isThrownBy(() -> this.databaseSessionFactory.openSession("unknown", "tenant1"))
+			.withMessage("No driver named 'unknown'");
+	}
+
+	private static Driver mockDriver() {
+
+		org.neo4j.driver.Session nativeSession = mock(org.neo4j.driver.Session.class);
+		when(nativeSession.beginTransaction()).thenReturn(mock(Transaction.class));
+		when(nativeSession.beginTransaction(any())).thenReturn(mock(Transaction.class));
+
+		Driver driver = mock(Driver.class);
+		when(driver.session(any(SessionConfig.class))).thenReturn(nativeSession);
+		return driver;
+	}
+
+	private static List<Optional<String>> databasesUsedBy(Driver driver) {
+
+		ArgumentCaptor<SessionConfig> sessionConfigs = ArgumentCaptor.forClass(SessionConfig.class);
+		verify(driver, atLeastOnce()).session(sessionConfigs.capture());
+		return sessionConfigs.getAllValues().stream().map(SessionConfig::database)
+			.collect(Collectors.toList());
+	}
+}
@@ -19,23 +19,33 @@
 package org.neo4j.driver.springframework.boot.autoconfigure;
 
 import static org.assertj.core.api.Assertions.*;
+import static org.mockito.Mockito.*;
 import static org.neo4j.driver.springframework.boot.test.Neo4jDriverMocks.*;
 
+import java.lang.reflect.Proxy;
+import java.util.concurrent.Executor;
+
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.params.ParameterizedTest;
 import org.junit.jupiter.params.provider.ValueSource;
 import org.neo4j.driver.Driver;
 import org.neo4j.driver.springframework.boot.autoconfigure.domain.EmptyPackage;
 import org.neo4j.ogm.drivers.bolt.driver.BoltDriver;
+import org.neo4j.ogm.session.Session;
 import org.neo4j.ogm.session.SessionFactory;
 import org.springframework.boot.autoconfigure.AutoConfigurations;
 import org.springframework.boot.autoconfigure.data.neo4j.Neo4jDataAutoConfiguration;
 import org.springframework.boot.autoconfigure.domain.EntityScan;
+import org.springframework.boot.autoconfigure.task.TaskExecutionAutoConfiguration;
+import org.springframework.boot.autoconfigure.web.servlet.WebMvcAutoConfiguration;
 import org.springframework.boot.test.context.FilteredClassLoader;
 import org.springframework.boot.test.context.runner.ApplicationContextRunner;
+import org.springframework.boot.test.context.runner.ReactiveWebApplicationContextRunner;
+import org.springframework.boot.test.context.runner.WebApplicationContextRunner;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.data.neo4j.transaction.Neo4jTransactionManager;
+import org.springframework.web.servlet.mvc.method.annotation.RequestMappingHandlerAdapter;
 
 /**
  * @author Michael J. Simons
@@ -74,6 +84,165 @@ class Neo4jDriverAutoConfigurationTest {
 			);
 	}
 
+	@Test
+	void shouldCreateAsyncLoggingOnlyWhenEnabled() {
+
+		this.contextRunner
+			.withPropertyValues("org.neo4j.driver.uri=bolt://localhost:4711")
+			.withClassLoader(new FilteredClassLoader(SessionFactory.class))
+			.run((ctx) -> assertThat(ctx)
+				.doesNotHaveBean(Neo4jAsyncLogging.class)
+			);
+
+		this.contextRunner
+			.withPropertyValues("org.neo4j.driver.uri=bolt://localhost:4711", "org.neo4j.driver.logging.async=true")
+			.withClassLoader(new FilteredClassLoader(SessionFactory.class))
+			.run((ctx) -> assertThat(ctx)
+				.hasSingleBean(Driver.class)
+				.hasSingleBean(Neo4jAsyncLogging.class)
+			);
+	}
+
+	@Test
+	void shouldCreateBatchWriters() {
+
+		this.contextRunner
+			.withPropertyValues("org.neo4j.driver.uri=bolt://localhost:4711", "org.neo4j.driver.batch-writer.batch-size=10")
+			.withClassLoader(new FilteredClassLoader(SessionFactory.class))
+			.run((ctx) -> {
+				assertThat(ctx).hasSingleBean(Neo4jBatchWriters.class);
+				assertThat(ctx).hasSingleBean(Neo4jReactiveIngest.class);
+				assertThat(ctx.getBean(Neo4jDriverProperties.class).getBatchWriter().getBatchSize()).isEqualTo(10);
+			});
+	}
+
+	@Test
+	void shouldProvideQueryCacheOnlyWhenEnabled() {
+
+		this.contextRunner
+			.withPropertyValues("org.neo4j.driver.uri=bolt://localhost:4711")
+			.withClassLoader(new FilteredClassLoader(SessionFactory.class))
+			.run((ctx) -> {
+				assertThat(ctx).doesNotHaveBean(Neo4jQueryCache.class);
+				assertThat(Proxy.isProxyClass(ctx.getBean(Driver.class).getClass())).isFalse();
+			});
+
+		this.contextRunner
+			.withPropertyValues("org.neo4j.driver.uri=bolt://localhost:4711", "org.neo4j.driver.cache.enabled=true")
+			.withClassLoader(new FilteredClassLoader(SessionFactory.class))
+			.run((ctx) -> {
+				assertThat(ctx).hasSingleBean(Neo4jQueryCache.class);
+				assertThat(Proxy.isProxyClass(ctx.getBean(Driver.class).getClass())).isTrue();
+			});
+	}
+
+	@Test
+	void shouldLimitSessionsWhenVirtualThreadsAreEnabled() {
+
+		this.contextRunner
+			.withPropertyValues("org.neo4j.driver.uri=bolt://localhost:4711",
+				"org.neo4j.driver.virtual-threads.enabled=true")
+			.withClassLoader(new FilteredClassLoader(SessionFactory.class))
+			.run((ctx) -> {
+				assertThat(Proxy.isProxyClass(ctx.getBean(Driver.class).getClass())).isTrue();
+				assertThat(ctx.getBean(Driver.class).toString()).startsWith("SessionLimitingDriver");
+				// The tests run from the classes directory, where only the variant before Java 21 is visible
+				assertThat(ctx).doesNotHaveBean(VirtualThreadsConfiguration.VirtualThreadProtocolHandlerCustomizer.class);
+				assertThat(ctx).doesNotHaveBean(Executor.class);
+			});
+	}
+
+	@Test
+	void shouldOnlyLimitSessionsOfTheDriverOfTheStarter() {
+
+		this.contextRunner
+			.withUserConfiguration(WithDriver.class)
+			.withBean("anotherDriver", Driver.class, () -> mockDriverWithoutMetrics())
+			.withPropertyValues("org.neo4j.driver.uri=bolt://localhost:4711",
+				"org.neo4j.driver.virtual-threads.enabled=true")
+			.withClassLoader(new FilteredClassLoader(SessionFactory.class))
+			.run((ctx) -> assertThat(ctx.getBeansOfType(Driver.class).values())
+				.hasSize(2)
+				.noneMatch(driver -> Proxy.isProxyClass(driver.getClass())));
+	}
+
+	@Test
+	void shouldOffloadResultsWhenEnabled() {
+
+		this.contextRunner
+			.withConfiguration(AutoConfigurations.of(TaskExecutionAutoConfiguration.class))
+			.withPropertyValues("org.neo4j.driver.uri=bolt://localhost:4711", "org.neo4j.driver.offload.enabled=true")
+			.withClassLoader(new FilteredClassLoader(SessionFactory.class))
+			.run((ctx) -> assertThat(ctx.getBean(Driver.class).toString()).startsWith("OffloadingDriver"));
+	}
+
+	@Test
+	void shouldOffloadResultsToTheExecutorOfTheApplication() {
+
+		this.contextRunner
+			.withConfiguration(AutoConfigurations.of(TaskExecutionAutoConfiguration.class))
+			.withBean(Executor.class, () -> Runnable::run)
+			.withPropertyValues("org.neo4j.driver.uri=bolt://localhost:4711", "org.neo4j.driver.offload.enabled=true")
+			.withClassLoader(new FilteredClassLoader(SessionFactory.class))
+			.run((ctx) -> {
+				assertThat(ctx).doesNotHaveBean(TaskExecutionAutoConfiguration.APPLICATION_TASK_EXECUTOR_BEAN_NAME);
+				assertThat(ctx.getBean(Driver.class).toString()).startsWith("OffloadingDriver");
+			});
+	}
+
+	@Test
+	void shouldFailWithoutExecutorForOffloading() {
+
+		this.contextRunner
+			.withPropertyValues("org.neo4j.driver.uri=bolt://localhost:4711", "org.neo4j.driver.offload.enabled=true",
+				"org.neo4j.driver.offload.executor=neo4jExecutor")
+			.withClassLoader(new FilteredClassLoader(SessionFactory.class))
+			.run((ctx) -> assertThat(ctx).hasFailed().getFailure()
+				.isInstanceOf(IllegalStateException.class)
+				.hasMessageContaining("there is no executor named 'neo4jExecutor'"));
+	}
+
+	@Test
+	void shouldProvideCypherStatements() {
+
+		this.contextRunner
+			.withPropertyValues("org.neo4j.driver.uri=bolt://localhost:4711",
+				"org.neo4j.driver.statements.locations=" + Neo4jCypherStatementsTest.LOCATIONS,
+				"org.neo4j.driver.statements.warm-up=false")
+			.withClassLoader(new FilteredClassLoader(SessionFactory.class))
+			.run((ctx) -> {
+				assertThat(ctx).hasSingleBean(Neo4jCypherStatements.class);
+				assertThat(ctx).doesNotHaveBean(CypherStatementsWarmUp.class);
+				assertThat(ctx.getBean(Neo4jCypherStatements.class).getNames()).contains("movies/byTitle");
+			});
+	}
+
+	@Test
+	void shouldHandleResultStreamsBeforeResponseBodies() {
+
+		new WebApplicationContextRunner()
+			.withConfiguration(AutoConfigurations.of(Neo4jDriverAutoConfiguration.class, WebMvcAutoConfiguration.class))
+			.withPropertyValues("org.neo4j.driver.uri=bolt://localhost:4711")
+			.withClassLoader(new FilteredClassLoader(SessionFactory.class))
+			.run((ctx) -> assertThat(ctx.getBean(RequestMappingHandlerAdapter.class).getReturnValueHandlers())
+				.first().isInstanceOf(Neo4jResultStreamReturnValueHandler.class));
+	}
+
+	@Test
+	void shouldHandleResultStreamsInReactiveApplications() {
+
+		new ReactiveWebApplicationContextRunner()
+			.withConfiguration(AutoConfigurations.of(Neo4jDriverAutoConfiguration.class))
+			.withPropertyValues("org.neo4j.driver.uri=bolt://localhost:4711")
+			.withClassLoader(new FilteredClassLoader(SessionFactory.class))
+			.run((ctx) -> assertThat(ctx).hasSingleBean(Neo4jResultStreamResultHandler.class));
+
+		this.contextRunner
+			.withPropertyValues("org.neo4j.driver.uri=bolt://localhost:4711")
+			.withClassLoader(new FilteredClassLoader(SessionFactory.class))
+			.run((ctx) -> assertThat(ctx).doesNotHaveBean(Neo4jResultStreamResultHandler.class));
+	}
+
 	@Test
 	void shouldAlsoCreateOGMBeans() {
 
@@ -84,10 +253,45 @@ class Neo4jDriverAutoConfigurationTest {
 				.hasSingleBean(Driver.class)
 				.hasSingleBean(BoltDriver.class)
 				.hasSingleBean(SessionFactory.class)
+				.hasSingleBean(Neo4jDatabaseSessionFactory.class)
 				.hasSingleBean(Neo4jTransactionManager.class)
 			);
 	}
 
+	@Test
+	void shouldRunAutoIndexManagerInBackgroundWhenEnabled() {
+
+		this.contextRunner
+			.withConfiguration(AutoConfigurations.of(Neo4jDataAutoConfiguration.class))
+			.withUserConfiguration(TestConfiguration.class, WithDriver.class)
+			.run((ctx) -> assertThat(ctx).doesNotHaveBean(Neo4jAutoIndexRunner.class));
+
+		this.contextRunner
+			.withConfiguration(AutoConfigurations.of(Neo4jDataAutoConfiguration.class))
+			.withUserConfiguration(TestConfiguration.class, WithDriver.class)
+			.withPropertyValues("org.neo4j.driver.ogm.auto-index.async=true")
+			.run((ctx) -> {
+				assertThat(ctx).hasSingleBean(Neo4jAutoIndexRunner.class);
+				assertThat(ctx.getBean(Neo4jAutoIndexRunner.class).getState())
+					.isEqualTo(Neo4jAutoIndexRunner.State.FINISHED);
+			});
+	}
+
+	@Test
+	void shouldDecorateSessions() {
+
+		Session decoratedSession = mock(Session.class);
+		this.contextRunner
+			.withConfiguration(AutoConfigurations.of(Neo4jDataAutoConfiguration.class))
+			.withUserConfiguration(TestConfiguration.class, WithDriver.class)
+			.withBean(Neo4jOgmSessionDecorator.class, () -> session -> decoratedSession)
+			.run((ctx) -> {
+				assertThat(ctx.getBean(SessionFactory.class).openSession()).isSameAs(decoratedSession);
+				assertThat(ctx.getBean(Neo4jDatabaseSessionFactory.class).openSession("tenant1"))
+					.isSameAs(decoratedSession);
+			});
+	}
+
 	/**
 	 * These tests assert correct configuration behaviour for cases in which one of the "advanced" schemes is used to
 	 * configure the driver. If any of the schemes is used, than a contradicting explicit configuration will throw an
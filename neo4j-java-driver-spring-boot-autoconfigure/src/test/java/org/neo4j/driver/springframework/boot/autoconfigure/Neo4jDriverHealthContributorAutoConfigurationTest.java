@@ -26,16 +26,22 @@ import reactor.core.publisher.Flux;
 
 import org.junit.jupiter.api.Nested;
 import org.junit.jupiter.api.Test;
+import org.neo4j.driver.ConnectionPoolMetrics;
 import org.neo4j.driver.Driver;
+import org.neo4j.driver.springframework.boot.actuate.Neo4jAutoIndexHealthIndicator;
+import org.neo4j.driver.springframework.boot.actuate.Neo4jCompositeHealthContributor;
 import org.neo4j.driver.springframework.boot.actuate.Neo4jHealthIndicator;
+import org.neo4j.driver.springframework.boot.actuate.Neo4jPoolHealthIndicator;
 import org.neo4j.driver.springframework.boot.actuate.Neo4jReactiveHealthIndicator;
 import org.neo4j.ogm.session.SessionFactory;
 import org.springframework.boot.actuate.autoconfigure.health.HealthContributorAutoConfiguration;
 import org.springframework.boot.actuate.health.AbstractHealthIndicator;
+import org.springframework.boot.actuate.health.CompositeHealthContributor;
 import org.springframework.boot.actuate.health.CompositeReactiveHealthContributor;
 import org.springframework.boot.actuate.health.Health;
 import org.springframework.boot.actuate.health.HealthIndicator;
 import org.springframework.boot.actuate.health.PingHealthIndicator;
+import org.springframework.boot.actuate.health.Status;
 import org.springframework.boot.autoconfigure.AutoConfigurations;
 import org.springframework.boot.test.context.FilteredClassLoader;
 import org.springframework.boot.test.context.runner.ApplicationContextRunner;
@@ -120,6 +126,23 @@ class Neo4jDriverHealthContributorAutoConfigurationTest {
 				);
 		}
 
+		@Test
+		void autoIndexHealthIndicatorRequiresRunner() {
+			contextRunner
+				.withUserConfiguration(WithDriver.class)
+				.run(ctx -> assertThat(ctx).doesNotHaveBean(Neo4jAutoIndexHealthIndicator.class));
+		}
+
+		@Test
+		void poolHealthIndicatorShouldBeOptIn() {
+			contextRunner
+				.withUserConfiguration(WithDriver.class)
+				.run(ctx -> assertThat(ctx)
+					.doesNotHaveBean(Neo4jPoolHealthIndicator.class)
+					.doesNotHaveBean("neo4jPoolHealthContributor")
+				);
+		}
+
 		@Test
 		void defaultIndicatorCanBeReplaced() {
 			contextRunner
@@ -158,6 +181,74 @@ class Neo4jDriverHealthContributorAutoConfigurationTest {
 					.doesNotHaveBean(org.springframework.boot.actuate.neo4j.Neo4jHealthIndicator.class)
 				);
 		}
+
+		@Test
+		void shouldCreateConcurrentCompositeForMultipleDrivers() {
+			contextRunner
+				.withUserConfiguration(WithDriver.class, WithAnotherDriver.class)
+				.withClassLoader(new FilteredClassLoader(Flux.class))
+				.run(ctx -> assertThat(ctx).getBean("neo4jHealthContributor")
+					.isInstanceOf(Neo4jCompositeHealthContributor.class)
+					.satisfies(o -> {
+						Neo4jCompositeHealthContributor chc = (Neo4jCompositeHealthContributor) o;
+						assertThat(chc.getContributor("driver")).isNotNull();
+						assertThat(chc.getContributor("anotherDriver")).isNotNull();
+					})
+				);
+		}
+
+		@Test
+		void shouldCreateAutoIndexHealthIndicator() {
+			contextRunner
+				.withUserConfiguration(WithDriver.class, WithAutoIndexRunner.class)
+				.run(ctx -> assertThat(ctx)
+					.hasSingleBean(Neo4jAutoIndexHealthIndicator.class)
+					.hasBean("neo4jAutoIndexHealthIndicator")
+				);
+		}
+
+		@Test
+		void shouldCreatePoolHealthIndicator() {
+			contextRunner
+				.withUserConfiguration(WithDriver.class)
+				.withPropertyValues("management.health.neo4j.pool.enabled=true")
+				.run(ctx -> assertThat(ctx)
+					.hasSingleBean(Neo4jPoolHealthIndicator.class)
+					.hasBean("neo4jHealthContributor")
+				);
+		}
+
+		@Test
+		void shouldUseConfiguredPoolSizeForTheDriverOfTheStarter() {
+			contextRunner
+				.withConfiguration(AutoConfigurations.of(Neo4jDriverAutoConfiguration.class))
+				.withClassLoader(new FilteredClassLoader(SessionFactory.class))
+				.withPropertyValues("org.neo4j.driver.uri=bolt://localhost:4711",
+					"org.neo4j.driver.pool.max-connection-pool-size=42", "management.health.neo4j.pool.enabled=true")
+				.run(ctx -> assertThat(ctx).getBean("neo4jPoolHealthContributor")
+					.hasFieldOrPropertyWithValue("maxConnectionPoolSize", 42)
+				);
+		}
+
+		@Test
+		void shouldNotApplyConfiguredPoolSizeToOtherDrivers() {
+			contextRunner
+				.withBean("smallPool", Driver.class, () -> mockDriverWithPool(9, 3))
+				.withBean("largePool", Driver.class, () -> mockDriverWithPool(9, 3))
+				.withPropertyValues("org.neo4j.driver.pool.max-connection-pool-size=10",
+					"management.health.neo4j.pool.enabled=true")
+				.run(ctx -> assertThat(ctx).getBean("neo4jPoolHealthContributor")
+					.isInstanceOf(CompositeHealthContributor.class)
+					.satisfies(o -> {
+						CompositeHealthContributor chc = (CompositeHealthContributor) o;
+						for (String name : new String[] { "smallPool", "largePool" }) {
+							Health health = ((HealthIndicator) chc.getContributor(name)).health();
+							assertThat(health.getStatus()).isEqualTo(Status.UP);
+							assertThat(health.getDetails().get("pools").toString()).doesNotContain("inUseRatio");
+						}
+					})
+				);
+		}
 	}
 
 	@Test
@@ -181,6 +272,18 @@ class Neo4jDriverHealthContributorAutoConfigurationTest {
 			);
 	}
 
+	/**
+	 * The size of the pool of a driver isn't part of its metrics, so the same mock stands for pools of any size.
+	 */
+	private static Driver mockDriverWithPool(int inUse, int acquiring) {
+
+		Driver driver = mockDriverWithMetrics();
+		ConnectionPoolMetrics poolMetrics = driver.metrics().connectionPoolMetrics().iterator().next();
+		when(poolMetrics.inUse()).thenReturn(inUse);
+		when(poolMetrics.acquiring()).thenReturn(acquiring);
+		return driver;
+	}
+
 	@Configuration(proxyBeanMethods = false)
 	static class WithDriver {
 
@@ -190,6 +293,15 @@ class Neo4jDriverHealthContributorAutoConfigurationTest {
 		}
 	}
 
+	@Configuration(proxyBeanMethods = false)
+	static class WithAnotherDriver {
+
+		@Bean
+		Driver anotherDriver() {
+			return mockDriverWithoutMetrics();
+		}
+	}
+
 	@Configuration(proxyBeanMethods = false)
 	static class WithSessionFactory {
 
@@ -199,6 +311,15 @@ class Neo4jDriverHealthContributorAutoConfigurationTest {
 		}
 	}
 
+	@Configuration(proxyBeanMethods = false)
+	static class WithAutoIndexRunner {
+
+		@Bean
+		Neo4jAutoIndexRunner neo4jAutoIndexRunner() {
+			return new Neo4jAutoIndexRunner(mock(SessionFactory.class), new org.neo4j.ogm.config.Configuration.Builder().build());
+		}
+	}
+
 	@Configuration(proxyBeanMethods = false)
 	static class WithCustomIndicator {
 
@@ -25,10 +25,15 @@ import static org.neo4j.driver.springframework.boot.test.Neo4jDriverMocks.*;
 import io.micrometer.core.instrument.MeterRegistry;
 import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
 
+import java.time.Duration;
+
 import org.junit.jupiter.api.Nested;
 import org.junit.jupiter.api.Test;
 import org.neo4j.driver.Driver;
+import org.neo4j.driver.springframework.boot.actuate.Neo4jBatchWriterMetrics;
 import org.neo4j.driver.springframework.boot.actuate.Neo4jDriverMetrics;
+import org.neo4j.driver.springframework.boot.actuate.Neo4jOgmMetrics;
+import org.neo4j.ogm.session.SessionFactory;
 import org.springframework.boot.actuate.autoconfigure.metrics.MetricsAutoConfiguration;
 import org.springframework.boot.autoconfigure.AutoConfigurations;
 import org.springframework.boot.test.context.FilteredClassLoader;
@@ -113,6 +118,70 @@ class Neo4jDriverMetricsAutoConfigurationTest {
 		}
 	}
 
+	@Test
+	void shouldBindAsyncLoggingMetrics() {
+		contextRunner
+			.withUserConfiguration(WithDriverWithoutMetrics.class, WithMeterRegistry.class, WithAsyncLogging.class)
+			.run(ctx -> {
+
+				MeterRegistry meterRegistry = ctx.getBean(MeterRegistry.class);
+				assertThat(meterRegistry.getMeters())
+					.extracting(m -> m.getId().getName())
+					.contains("neo4j.driver.logging.dropped", "neo4j.driver.logging.suppressed");
+			});
+	}
+
+	@Test
+	void shouldProvideBatchWriterMetrics() {
+		contextRunner
+			.withUserConfiguration(WithDriverWithoutMetrics.class, WithMeterRegistry.class)
+			.run(ctx -> assertThat(ctx).hasSingleBean(Neo4jBatchWriterMetrics.class));
+	}
+
+	@Test
+	void shouldBindQueryCacheMetrics() {
+		contextRunner
+			.withUserConfiguration(WithDriverWithoutMetrics.class, WithMeterRegistry.class, WithQueryCache.class)
+			.run(ctx -> {
+
+				MeterRegistry meterRegistry = ctx.getBean(MeterRegistry.class);
+				assertThat(meterRegistry.getMeters())
+					.extracting(m -> m.getId().getName())
+					.contains("neo4j.driver.cache.gets", "neo4j.driver.cache.evictions",
+						"neo4j.driver.cache.invalidations", "neo4j.driver.cache.size", "neo4j.driver.cache.weight");
+			});
+	}
+
+	@Test
+	void shouldProvideOgmMetricsOnlyWithOgm() {
+		contextRunner
+			.withUserConfiguration(WithDriverWithoutMetrics.class, WithMeterRegistry.class)
+			.withPropertyValues("org.neo4j.driver.ogm.metrics.enabled=true")
+			.run(ctx -> assertThat(ctx).hasSingleBean(Neo4jOgmMetrics.class));
+
+		contextRunner
+			.withUserConfiguration(WithDriverWithoutMetrics.class, WithMeterRegistry.class)
+			.withPropertyValues("org.neo4j.driver.ogm.metrics.enabled=true")
+			.withClassLoader(new FilteredClassLoader(SessionFactory.class))
+			.run(ctx -> assertThat(ctx).doesNotHaveBean(Neo4jOgmMetrics.class));
+	}
+
+	@Test
+	void shouldProvideOgmMetricsOnlyWhenEnabled() {
+		contextRunner
+			.withUserConfiguration(WithDriverWithoutMetrics.class, WithMeterRegistry.class)
+			.run(ctx -> assertThat(ctx).doesNotHaveBean(Neo4jOgmMetrics.class));
+	}
+
+	@Configuration(proxyBeanMethods = false)
+	static class WithAsyncLogging {
+
+		@Bean(destroyMethod = "close")
+		Neo4jAsyncLogging asyncLogging() {
+			return new Neo4jAsyncLogging(new Neo4jSpringJclLogging(), 10, Duration.ofSeconds(1), 1);
+		}
+	}
+
 	@Configuration(proxyBeanMethods = false)
 	static class WithDriverWithMetrics {
 
@@ -131,6 +200,15 @@ class Neo4jDriverMetricsAutoConfigurationTest {
 		}
 	}
 
+	@Configuration(proxyBeanMethods = false)
+	static class WithQueryCache {
+
+		@Bean
+		Neo4jQueryCache queryCache(Driver driver) {
+			return new Neo4jQueryCache(driver, new Neo4jDriverProperties.QueryCacheSettings());
+		}
+	}
+
 	@Configuration(proxyBeanMethods = false)
 	static class WithMeterRegistry {
 
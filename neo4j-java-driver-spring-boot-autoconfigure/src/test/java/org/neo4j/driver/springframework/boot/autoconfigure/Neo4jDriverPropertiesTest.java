@@ -368,6 +368,45 @@ class Neo4jDriverPropertiesTest {
 		}
 	}
 
+	@Nested
+	@DisplayName("Configuration of logging")
+	class LoggingSettingsTest {
+
+		@Test
+		@DisplayName("…should be synchronous by default")
+		void shouldBeSynchronousByDefault() {
+
+			Neo4jDriverProperties driverProperties = load();
+			assertThat(driverProperties.getLogging().isAsync()).isFalse();
+		}
+
+		@Test
+		@DisplayName("…should bind async settings")
+		void asyncSettingsShouldWork() {
+
+			Neo4jDriverProperties driverProperties = load("org.neo4j.driver.logging.async=true",
+				"org.neo4j.driver.logging.queue-capacity=23", "org.neo4j.driver.logging.rate-limit-window=2m",
+				"org.neo4j.driver.logging.max-identical-messages=42");
+			Neo4jDriverProperties.LoggingSettings logging = driverProperties.getLogging();
+			assertThat(logging.isAsync()).isTrue();
+			assertThat(logging.getQueueCapacity()).isEqualTo(23);
+			assertThat(logging.getRateLimitWindow()).isEqualTo(Duration.ofMinutes(2));
+			assertThat(logging.getMaxIdenticalMessages()).isEqualTo(42);
+		}
+
+		@Test
+		@DisplayName("…should use the provided logging")
+		void shouldUseProvidedLogging() {
+
+			Neo4jAsyncLogging asyncLogging = new Neo4jDriverProperties().getLogging().asAsyncLogging();
+			try {
+				assertThat(new Neo4jDriverProperties().asDriverConfig(asyncLogging).logging()).isSameAs(asyncLogging);
+			} finally {
+				asyncLogging.close();
+			}
+		}
+	}
+
 	@Test
 	@DisplayName("Should not assume default value for the URL")
 	void shouldNotAssumeDefaultValuesForUrl() {
@@ -0,0 +1,83 @@
+/*
+ * Copyright (c) 2019-2020 "Neo4j,"
+ * Neo4j Sweden AB [https://neo4j.com]
+ *
+ * This file is part of Neo4j.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.neo4j.driver.springframework.boot.autoconfigure;
+
+import static org.assertj.core.api.Assertions.*;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.stream.Collectors;
+
+import org.junit.jupiter.api.Test;
+import org.neo4j.driver.springframework.boot.autoconfigure.indexed.IndexedBaseEntity;
+import org.neo4j.driver.springframework.boot.autoconfigure.indexed.IndexedPerson;
+import org.neo4j.ogm.metadata.MetaData;
+
+/**
+ * The entity index for the test classes is written by the annotation processor during test compilation.
+ *
+ * @author Michael J. Simons
+ */
+class Neo4jEntityIndexTest {
+
+	private static final String INDEXED_PACKAGE = IndexedPerson.class.getPackage().getName();
+
+	private final ClassLoader classLoader = Neo4jEntityIndexTest.class.getClassLoader();
+
+	@Test
+	void shouldWriteIndexAtBuildTime() throws IOException {
+
+		String location = "META-INF/resources/" + INDEXED_PACKAGE.replace('.', '/') + "/neo4j-ogm.index";
+		try (InputStream in = this.classLoader.getResourceAsStream(location)) {
+			assertThat(in).isNotNull();
+			List<String> types = new BufferedReader(new InputStreamReader(in, StandardCharsets.UTF_8)).lines()
+				.collect(Collectors.toList());
+			assertThat(types).containsExactlyInAnyOrder(IndexedBaseEntity.class.getName(),
+				IndexedPerson.class.getName(), IndexedPerson.Role.class.getName());
+		}
+	}
+
+	@Test
+	void shouldResolveIndexedPackagesBelowPackagesToScan() {
+
+		assertThat(Neo4jEntityIndex.resolve(this.classLoader, "org.neo4j.driver.springframework.boot"))
+			.containsExactly(INDEXED_PACKAGE);
+		assertThat(Neo4jEntityIndex.resolve(this.classLoader, INDEXED_PACKAGE))
+			.containsExactly(INDEXED_PACKAGE);
+	}
+
+	@Test
+	void shouldKeepPackagesWithoutIndexedEntities() {
+
+		assertThat(Neo4jEntityIndex.resolve(this.classLoader, "com.example", "org.neo4j.driver.springframework.bo"))
+			.containsExactly("com.example", "org.neo4j.driver.springframework.bo");
+	}
+
+	@Test
+	void ogmShouldUseTheIndex() {
+
+		MetaData metaData = new MetaData(Neo4jEntityIndex.resolve(this.classLoader, "org.neo4j.driver"));
+		assertThat(metaData.classInfo(IndexedPerson.class.getName())).isNotNull();
+		assertThat(metaData.classInfo(IndexedBaseEntity.class.getName())).isNotNull();
+	}
+}
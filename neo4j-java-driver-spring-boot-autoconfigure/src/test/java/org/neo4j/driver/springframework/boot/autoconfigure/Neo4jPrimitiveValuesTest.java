@@ -0,0 +1,119 @@
+/*
+ * Copyright (c) 2019-2020 "Neo4j,"
+ * Neo4j Sweden AB [https://neo4j.com]
+ *
+ * This file is part of Neo4j.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.neo4j.driver.springframework.boot.autoconfigure;
+
+import static org.assertj.core.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+import org.neo4j.driver.Record;
+import org.neo4j.driver.Result;
+import org.neo4j.driver.Value;
+import org.neo4j.driver.Values;
+import org.neo4j.driver.exceptions.value.Uncoercible;
+import org.neo4j.driver.internal.InternalRecord;
+
+/**
+ * @author Michael J. Simons
+ */
+class Neo4jPrimitiveValuesTest {
+
+	@Test
+	void shouldDecodeListsIntoArrays() {
+
+		assertThat(Neo4jPrimitiveValues.toLongArray(Values.value(Arrays.asList(1L, 2L, 3L))))
+			.containsExactly(1L, 2L, 3L);
+		assertThat(Neo4jPrimitiveValues.toDoubleArray(Values.value(Arrays.asList(1L, 0.5))))
+			.containsExactly(1.0, 0.5);
+		assertThat(Neo4jPrimitiveValues.toFloatArray(Values.value(Arrays.asList(0.1, 0.2))))
+			.containsExactly(0.1f, 0.2f);
+		assertThat(Neo4jPrimitiveValues.toLongArray(Values.value(Collections.emptyList()))).isEmpty();
+		assertThat(Neo4jPrimitiveValues.toDoubleArray(Values.NULL)).isNull();
+		assertThatExceptionOfType(Uncoercible.class)
+			.isThrownBy(() -> Neo4jPrimitiveValues.toLongArray(Values.value(Arrays.asList(1L, "2"))));
+	}
+
+	@Test
+	void shouldOnlyDecodeHomogeneousNumericLists() {
+
+		assertThat(Neo4jPrimitiveValues.toPrimitiveArray(Values.value(Arrays.asList(1L, 2L))))
+			.isEqualTo(new long[] { 1L, 2L });
+		assertThat(Neo4jPrimitiveValues.toPrimitiveArray(Values.value(Arrays.asList(1.0, 2.0))))
+			.isEqualTo(new double[] { 1.0, 2.0 });
+		assertThat(Neo4jPrimitiveValues.toPrimitiveArray(Values.value(Arrays.asList(1L, 2.0)))).isNull();
+		assertThat(Neo4jPrimitiveValues.toPrimitiveArray(Values.value(Arrays.asList("a", "b")))).isNull();
+		assertThat(Neo4jPrimitiveValues.toPrimitiveArray(Values.value(Collections.emptyList()))).isNull();
+	}
+
+	@Test
+	void buffersShouldGrowAndBeReusable() {
+
+		Neo4jPrimitiveValues.Doubles doubles = new Neo4jPrimitiveValues.Doubles(2);
+		doubles.add(Values.value(Arrays.asList(0.5, 1.5, 2.5)));
+		doubles.add(Values.value(3));
+		doubles.add(Values.NULL);
+		doubles.add(4.5);
+
+		assertThat(doubles.size()).isEqualTo(5);
+		assertThat(doubles.get(3)).isEqualTo(3.0);
+		assertThat(doubles.toArray()).containsExactly(0.5, 1.5, 2.5, 3.0, 4.5);
+		assertThatIllegalArgumentException().isThrownBy(() -> doubles.get(5));
+
+		double[] backingArray = doubles.array();
+		doubles.clear();
+		doubles.add(Values.value(Arrays.asList(1.0, 2.0)));
+		assertThat(doubles.array()).isSameAs(backingArray);
+		assertThat(doubles.toArray()).containsExactly(1.0, 2.0);
+
+		Neo4jPrimitiveValues.Longs longs = new Neo4jPrimitiveValues.Longs(1);
+		longs.add(Values.value(Arrays.asList(1L, 2L)));
+		longs.add(3L);
+		assertThat(longs.toArray()).containsExactly(1L, 2L, 3L);
+
+		Neo4jPrimitiveValues.Floats floats = new Neo4jPrimitiveValues.Floats();
+		floats.add(Values.value(0.25));
+		floats.add(0.5f);
+		assertThat(floats.toArray()).containsExactly(0.25f, 0.5f);
+	}
+
+	@Test
+	void shouldReadColumns() {
+
+		List<String> keys = Arrays.asList("t", "v");
+		Result result = mock(Result.class);
+		when(result.keys()).thenReturn(keys);
+		when(result.hasNext()).thenReturn(true, true, false);
+		when(result.next()).thenReturn(record(keys, 1L, 0.5), record(keys, 2L, 1.5));
+
+		Neo4jPrimitiveValues.Floats floats = new Neo4jPrimitiveValues.Floats();
+		floats.addColumn(result, "v");
+		assertThat(floats.toArray()).containsExactly(0.5f, 1.5f);
+
+		assertThatIllegalArgumentException().isThrownBy(() -> new Neo4jPrimitiveValues.Longs().addColumn(result, "x"))
+			.withMessage("Result has no column 'x'");
+	}
+
+	private static Record record(List<String> keys, Object... values) {
+		return new InternalRecord(keys, Arrays.stream(values).map(Values::value).toArray(Value[]::new));
+	}
+}
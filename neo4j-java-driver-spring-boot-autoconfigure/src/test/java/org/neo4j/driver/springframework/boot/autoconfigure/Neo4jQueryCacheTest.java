@@ -0,0 +1,222 @@
+/*
+ * Copyright (c) 2019-2020 "Neo4j,"
+ * Neo4j Sweden AB [https://neo4j.com]
+ *
+ * This file is part of Neo4j.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.neo4j.driver.springframework.boot.autoconfigure;
+
+import static org.assertj.core.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.neo4j.driver.AccessMode;
+import org.neo4j.driver.Bookmark;
+import org.neo4j.driver.Driver;
+import org.neo4j.driver.Query;
+import org.neo4j.driver.Record;
+import org.neo4j.driver.Result;
+import org.neo4j.driver.Session;
+import org.neo4j.driver.SessionConfig;
+import org.neo4j.driver.Transaction;
+import org.neo4j.driver.TransactionWork;
+import org.neo4j.driver.Value;
+import org.neo4j.driver.Values;
+import org.neo4j.driver.internal.InternalRecord;
+
+/**
+ * @author Michael J. Simons
+ */
+class Neo4jQueryCacheTest {
+
+	private final Neo4jDriverProperties.QueryCacheSettings settings = new Neo4jDriverProperties.QueryCacheSettings();
+
+	private final AtomicInteger reads = new AtomicInteger();
+
+	private Driver driver;
+
+	private Runnable duringRead = () -> {
+	};
+
+	@BeforeEach
+	void mockDriver() {
+
+		Transaction transaction = mock(Transaction.class);
+		when(transaction.run(any(Query.class))).then(invocation -> {
+			Query query = invocation.getArgument(0);
+			this.reads.incrementAndGet();
+			this.duringRead.run();
+			List<Record> records = new ArrayList<>();
+			for (int i = 0; i < query.parameters().get("size", 1); ++i) {
+				records.add(new InternalRecord(Collections.singletonList("i"), new Value[] { Values.value(i) }));
+			}
+			Result result = mock(Result.class);
+			when(result.list()).thenReturn(records);
+			return result;
+		});
+
+		Session session = mock(Session.class);
+		when(session.readTransaction(any()))
+			.then(invocation -> ((TransactionWork<?>) invocation.getArgument(0)).execute(transaction));
+
+		this.driver = mock(Driver.class);
+		when(this.driver.session(any(SessionConfig.class))).thenReturn(session);
+	}
+
+	@Test
+	void shouldCacheByStatementParametersAndDatabase() {
+
+		Neo4jQueryCache cache = new Neo4jQueryCache(this.driver, this.settings);
+
+		List<Record> records = cache.query(query(2));
+		assertThat(records).hasSize(2);
+		assertThat(cache.query(query(2))).isSameAs(records);
+		assertThat(cache.query("movies", query(2))).isNotSameAs(records);
+		assertThat(cache.query(query(3))).hasSize(3);
+		assertThat(cache.query(new Query("RETURN 1", Collections.singletonMap("size", 2)))).isNotSameAs(records);
+
+		assertThat(this.reads).hasValue(4);
+		assertThat(cache.getHits()).isEqualTo(1L);
+		assertThat(cache.getMisses()).isEqualTo(4L);
+		assertThat(cache.getSize()).isEqualTo(4);
+		assertThat(cache.getWeight()).isEqualTo(9L);
+		assertThatExceptionOfType(UnsupportedOperationException.class).isThrownBy(() -> records.add(null));
+	}
+
+	@Test
+	void shouldReadInReadTransactions() {
+
+		new Neo4jQueryCache(this.driver, this.settings).query("movies", query(1));
+
+		ArgumentCaptor<SessionConfig> sessionConfig = ArgumentCaptor.forClass(SessionConfig.class);
+		verify(this.driver).session(sessionConfig.capture());
+		assertThat(sessionConfig.getValue().defaultAccessMode()).isEqualTo(AccessMode.READ);
+		assertThat(sessionConfig.getValue().database()).hasValue("movies");
+	}
+
+	@Test
+	void shouldEvictLeastRecentlyUsedResults() {
+
+		this.settings.setMaximumWeight(5);
+		Neo4jQueryCache cache = new Neo4jQueryCache(this.driver, this.settings);
+
+		cache.query(query(2));
+		cache.query(query(3));
+		cache.query(query(2));
+		cache.query(query(1));
+
+		assertThat(cache.getEvictions()).isEqualTo(1L);
+		assertThat(cache.getWeight()).isEqualTo(3L);
+		cache.query(query(2));
+		assertThat(this.reads).hasValue(3);
+
+		// Too large to be cached at all
+		cache.query(query(6));
+		cache.query(query(6));
+		assertThat(this.reads).hasValue(5);
+	}
+
+	@Test
+	void shouldExpireResults() throws InterruptedException {
+
+		this.settings.setTimeToLive(Duration.ofMillis(10));
+		Neo4jQueryCache cache = new Neo4jQueryCache(this.driver, this.settings);
+
+		cache.query(query(1));
+		Thread.sleep(20);
+		cache.query(query(1));
+
+		assertThat(this.reads).hasValue(2);
+		assertThat(cache.getEvictions()).isEqualTo(1L);
+	}
+
+	@Test
+	void shouldInvalidateDatabasesWrittenTo() {
+
+		Neo4jQueryCache cache = new Neo4jQueryCache(this.driver, this.settings);
+		cache.query(query(1));
+		cache.query("movies", query(1));
+		cache.query("people", query(1));
+
+		cache.invalidate("movies", null);
+		assertThat(cache.getSize()).isEqualTo(1);
+		cache.query("people", query(1));
+		assertThat(this.reads).hasValue(3);
+
+		cache.invalidate(null, null);
+		assertThat(cache.getSize()).isZero();
+		assertThat(cache.getWeight()).isZero();
+		assertThat(cache.getInvalidations()).isEqualTo(2L);
+	}
+
+	@Test
+	void shouldReadWithTheBookmarkOfTheLastWrite() {
+
+		Neo4jQueryCache cache = new Neo4jQueryCache(this.driver, this.settings);
+		Bookmark bookmark = Bookmark.from(Collections.singleton("bm1"));
+		cache.invalidate("movies", bookmark);
+
+		cache.query("movies", query(1));
+		cache.query("people", query(1));
+
+		ArgumentCaptor<SessionConfig> sessionConfigs = ArgumentCaptor.forClass(SessionConfig.class);
+		verify(this.driver, times(2)).session(sessionConfigs.capture());
+		assertThat(sessionConfigs.getAllValues().get(0).bookmarks()).containsExactly(bookmark);
+		assertThat(sessionConfigs.getAllValues().get(1).bookmarks()).isNullOrEmpty();
+	}
+
+	@Test
+	void shouldReadFromTheDefaultDatabaseWithAllBookmarks() {
+
+		Neo4jQueryCache cache = new Neo4jQueryCache(this.driver, this.settings);
+		Bookmark moviesBookmark = Bookmark.from(Collections.singleton("bm1"));
+		Bookmark peopleBookmark = Bookmark.from(Collections.singleton("bm2"));
+		cache.invalidate("movies", moviesBookmark);
+		cache.invalidate("people", peopleBookmark);
+
+		cache.query(query(1));
+
+		ArgumentCaptor<SessionConfig> sessionConfig = ArgumentCaptor.forClass(SessionConfig.class);
+		verify(this.driver).session(sessionConfig.capture());
+		assertThat(sessionConfig.getValue().bookmarks()).containsExactlyInAnyOrder(moviesBookmark, peopleBookmark);
+	}
+
+	@Test
+	void shouldNotCacheResultsReadBeforeAWrite() {
+
+		Neo4jQueryCache cache = new Neo4jQueryCache(this.driver, this.settings);
+		this.duringRead = () -> cache.invalidate(null, null);
+		cache.query(query(1));
+
+		this.duringRead = () -> {
+		};
+		cache.query(query(1));
+		cache.query(query(1));
+		assertThat(this.reads).hasValue(2);
+	}
+
+	private static Query query(int size) {
+		return new Query("UNWIND range(1, $size) AS i RETURN i", Collections.singletonMap("size", size));
+	}
+}
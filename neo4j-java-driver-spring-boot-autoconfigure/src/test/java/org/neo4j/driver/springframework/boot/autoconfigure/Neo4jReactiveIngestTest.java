@@ -0,0 +1,203 @@
+/*
+ * Copyright (c) 2019-2020 "Neo4j,"
+ * Neo4j Sweden AB [https://neo4j.com]
+ *
+ * This file is part of Neo4j.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.neo4j.driver.springframework.boot.autoconfigure;
+
+import static org.assertj.core.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.core.scheduler.Schedulers;
+import reactor.test.StepVerifier;
+import reactor.test.publisher.TestPublisher;
+import reactor.test.scheduler.VirtualTimeScheduler;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.junit.jupiter.api.Test;
+import org.neo4j.driver.Driver;
+import org.neo4j.driver.SessionConfig;
+import org.neo4j.driver.reactive.RxResult;
+import org.neo4j.driver.reactive.RxSession;
+import org.neo4j.driver.reactive.RxTransaction;
+import org.neo4j.driver.reactive.RxTransactionWork;
+import org.neo4j.driver.summary.ResultSummary;
+import org.neo4j.driver.summary.SummaryCounters;
+
+/**
+ * @author Michael J. Simons
+ */
+class Neo4jReactiveIngestTest {
+
+	private static final String STATEMENT = "UNWIND $rows AS row CREATE (e:Event) SET e = row";
+
+	@Test
+	void shouldCutChunksBySize() {
+
+		Neo4jReactiveIngest.chunk(Flux.range(0, 7), 3, Duration.ofHours(1), Schedulers.parallel())
+			.as(StepVerifier::create)
+			.expectNext(Arrays.asList(0, 1, 2), Arrays.asList(3, 4, 5), Collections.singletonList(6))
+			.verifyComplete();
+	}
+
+	@Test
+	void shouldCutChunksByTime() {
+
+		VirtualTimeScheduler scheduler = VirtualTimeScheduler.create();
+		TestPublisher<Integer> source = TestPublisher.create();
+
+		StepVerifier
+			.withVirtualTime(() -> Neo4jReactiveIngest.chunk(source.flux(), 3, Duration.ofSeconds(1), scheduler),
+				() -> scheduler, Long.MAX_VALUE)
+			.then(() -> source.next(1, 2))
+			.expectNoEvent(Duration.ofMillis(999))
+			.thenAwait(Duration.ofMillis(1))
+			.expectNext(Arrays.asList(1, 2))
+			.then(() -> source.next(3, 4, 5))
+			.expectNext(Arrays.asList(3, 4, 5))
+			.then(source::complete)
+			.verifyComplete();
+	}
+
+	@Test
+	void shouldKeepDueChunksUntilRequested() {
+
+		VirtualTimeScheduler scheduler = VirtualTimeScheduler.create();
+		// The test publisher fails when more items are emitted than requested
+		TestPublisher<Integer> source = TestPublisher.create();
+
+		StepVerifier
+			.withVirtualTime(() -> Neo4jReactiveIngest.chunk(source.flux(), 2, Duration.ofSeconds(1), scheduler),
+				() -> scheduler, 0)
+			.then(() -> source.next(1, 2))
+			.then(() -> assertThat(source.wasRequested()).isTrue())
+			.thenAwait(Duration.ofSeconds(5))
+			.expectNoEvent(Duration.ofSeconds(1))
+			.thenRequest(1)
+			.expectNext(Arrays.asList(1, 2))
+			.then(() -> source.next(3))
+			.thenAwait(Duration.ofSeconds(1))
+			.thenRequest(1)
+			.expectNext(Collections.singletonList(3))
+			.thenCancel()
+			.verify();
+
+		source.assertCancelled();
+	}
+
+	@Test
+	void shouldOnlyRequestWhatFitsIntoAChunk() {
+
+		List<Long> requests = new CopyOnWriteArrayList<>();
+		Flux<Integer> source = Flux.range(0, 1_000).doOnRequest(requests::add);
+
+		StepVerifier.create(Neo4jReactiveIngest.chunk(source, 10, Duration.ofHours(1), Schedulers.parallel()), 2)
+			.expectNextCount(2)
+			.thenCancel()
+			.verify();
+
+		assertThat(requests.stream().mapToLong(Long::longValue).sum()).isLessThanOrEqualTo(30L);
+	}
+
+	@Test
+	void shouldPropagateErrors() {
+
+		Flux<Integer> source = Flux.concat(Flux.just(1, 2), Flux.error(new IllegalStateException("Boom")));
+
+		Neo4jReactiveIngest.chunk(source, 3, Duration.ofHours(1), Schedulers.parallel())
+			.as(StepVerifier::create)
+			.verifyErrorMessage("Boom");
+	}
+
+	@Test
+	void shouldWriteChunksWithBoundedConcurrency() {
+
+		List<List<Map<String, Object>>> writtenChunks = new CopyOnWriteArrayList<>();
+		AtomicInteger inFlight = new AtomicInteger();
+		AtomicInteger maxInFlight = new AtomicInteger();
+
+		SummaryCounters counters = mock(SummaryCounters.class);
+		ResultSummary resultSummary = mock(ResultSummary.class);
+		when(resultSummary.counters()).thenReturn(counters);
+
+		RxTransaction transaction = mock(RxTransaction.class);
+		when(transaction.run(eq(STATEMENT), anyMap())).thenAnswer(invocation -> {
+			Map<String, Object> parameters = invocation.getArgument(1);
+			@SuppressWarnings("unchecked")
+			List<Map<String, Object>> rows = (List<Map<String, Object>>) parameters.get("rows");
+			RxResult result = mock(RxResult.class);
+			when(result.consume()).thenReturn(Mono.just(resultSummary)
+				.delayElement(Duration.ofMillis(20))
+				.doOnSubscribe(s -> maxInFlight.accumulateAndGet(inFlight.incrementAndGet(), Math::max))
+				.doOnNext(s -> {
+					writtenChunks.add(new ArrayList<>(rows));
+					inFlight.decrementAndGet();
+				}));
+			return result;
+		});
+
+		RxSession session = mock(RxSession.class);
+		when(session.writeTransaction(any())).thenAnswer(
+			invocation -> ((RxTransactionWork<?>) invocation.getArgument(0)).execute(transaction));
+		when(session.close()).thenReturn(Mono.empty());
+
+		Driver driver = mock(Driver.class);
+		when(driver.rxSession(any(SessionConfig.class))).thenReturn(session);
+
+		Neo4jDriverProperties.ReactiveIngestSettings settings = new Neo4jDriverProperties.ReactiveIngestSettings();
+		settings.setBatchSize(10);
+		settings.setConcurrency(2);
+		Neo4jReactiveIngest ingest = new Neo4jReactiveIngest(driver, settings);
+
+		AtomicLong rows = new AtomicLong();
+		ingest.ingest(Flux.range(0, 95), STATEMENT, i -> Collections.singletonMap("value", i))
+			.doOnNext(summary -> {
+				assertThat(summary.getCounters()).isSameAs(counters);
+				rows.addAndGet(summary.getRows());
+			})
+			.map(Neo4jReactiveIngest.ChunkSummary::getIndex)
+			.collectSortedList()
+			.as(StepVerifier::create)
+			.expectNext(Arrays.asList(0L, 1L, 2L, 3L, 4L, 5L, 6L, 7L, 8L, 9L))
+			.verifyComplete();
+
+		assertThat(rows).hasValue(95L);
+		assertThat(writtenChunks).hasSize(10);
+		assertThat(maxInFlight.get()).isBetween(1, 2);
+		verify(session, times(10)).close();
+	}
+
+	@Test
+	void shouldValidateSettings() {
+
+		Neo4jDriverProperties.ReactiveIngestSettings settings = new Neo4jDriverProperties.ReactiveIngestSettings();
+		settings.setConcurrency(0);
+		assertThatIllegalArgumentException().isThrownBy(() -> new Neo4jReactiveIngest(mock(Driver.class), settings))
+			.withMessage("Concurrency must be greater than 0");
+	}
+}
@@ -0,0 +1,130 @@
+/*
+ * Copyright (c) 2019-2020 "Neo4j,"
+ * Neo4j Sweden AB [https://neo4j.com]
+ *
+ * This file is part of Neo4j.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.neo4j.driver.springframework.boot.autoconfigure;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Function;
+
+import org.neo4j.driver.Record;
+import org.neo4j.driver.Value;
+import org.neo4j.driver.Values;
+import org.neo4j.driver.internal.InternalRecord;
+import org.neo4j.driver.springframework.boot.autoconfigure.mapped.MappedPerson;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+import org.openjdk.jmh.profile.GCProfiler;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+import org.springframework.beans.BeanWrapper;
+import org.springframework.beans.BeanWrapperImpl;
+
+/**
+ * Measures mapping a result to objects by hand, through a generated {@link Neo4jRecordMapper} and through a
+ * reflective mapper setting the properties via a {@link BeanWrapper}, the way generic row mappers do. The benchmark
+ * is not part of the regular build, run it from the IDE via {@link #main(String[])} or with the test classpath on the
+ * command line. The {@link GCProfiler} is always added, look at {@code gc.alloc.rate.norm} for the bytes allocated per
+ * result.
+ *
+ * @author Michael J. Simons
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class Neo4jRecordMapperBenchmark {
+
+	@Param({ "1000" })
+	private int numberOfRecords;
+
+	private List<String> keys;
+
+	private List<Record> records;
+
+	private Neo4jRecordMapper<MappedPerson> generatedMapper;
+
+	@Setup(Level.Trial)
+	public void setup() {
+
+		this.keys = Arrays.asList("name", "born", "role");
+		this.records = new ArrayList<>(this.numberOfRecords);
+		for (int i = 0; i < this.numberOfRecords; ++i) {
+			this.records.add(new InternalRecord(this.keys, new Value[] { Values.value("Person " + i),
+				Values.value(1900 + i % 100), Values.value(i % 2 == 0 ? "ACTOR" : "DIRECTOR") }));
+		}
+		this.generatedMapper = Neo4jRecordMapper.of(MappedPerson.class);
+	}
+
+	@Benchmark
+	public void handWritten(Blackhole blackhole) {
+
+		for (Record record : this.records) {
+			MappedPerson person = new MappedPerson();
+			person.setName(record.get("name").asString());
+			person.setBorn(record.get("born").asInt());
+			person.setRole(MappedPerson.Role.valueOf(record.get("role").asString()));
+			blackhole.consume(person);
+		}
+	}
+
+	@Benchmark
+	public void generated(Blackhole blackhole) {
+
+		Function<Record, MappedPerson> mappingFunction = this.generatedMapper.forKeys(this.keys);
+		for (Record record : this.records) {
+			blackhole.consume(mappingFunction.apply(record));
+		}
+	}
+
+	@Benchmark
+	public void reflective(Blackhole blackhole) {
+
+		for (Record record : this.records) {
+			BeanWrapper beanWrapper = new BeanWrapperImpl(MappedPerson.class);
+			for (String key : record.keys()) {
+				beanWrapper.setPropertyValue(key, record.get(key).asObject());
+			}
+			blackhole.consume(beanWrapper.getWrappedInstance());
+		}
+	}
+
+	public static void main(String... args) throws RunnerException {
+
+		new Runner(new OptionsBuilder()
+			.include(Neo4jRecordMapperBenchmark.class.getSimpleName())
+			.addProfiler(GCProfiler.class)
+			.build()).run();
+	}
+}
@@ -0,0 +1,133 @@
+/*
+ * Copyright (c) 2019-2020 "Neo4j,"
+ * Neo4j Sweden AB [https://neo4j.com]
+ *
+ * This file is part of Neo4j.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.neo4j.driver.springframework.boot.autoconfigure;
+
+import static org.assertj.core.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+import java.time.LocalDate;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Function;
+
+import org.junit.jupiter.api.Test;
+import org.neo4j.driver.Record;
+import org.neo4j.driver.Result;
+import org.neo4j.driver.Value;
+import org.neo4j.driver.Values;
+import org.neo4j.driver.internal.InternalNode;
+import org.neo4j.driver.internal.InternalRecord;
+import org.neo4j.driver.internal.value.NodeValue;
+import org.neo4j.driver.springframework.boot.autoconfigure.mapped.MappedMovie;
+import org.neo4j.driver.springframework.boot.autoconfigure.mapped.MappedPerson;
+import org.neo4j.driver.springframework.boot.autoconfigure.mapped.MappedMovieNeo4jMapper;
+
+/**
+ * The mappers for the test classes are generated by the annotation processor during test compilation.
+ *
+ * @author Michael J. Simons
+ */
+class Neo4jRecordMapperTest {
+
+	@Test
+	void shouldMapColumnsThroughConstructors() {
+
+		List<String> keys = Arrays.asList("genres", "title", "released", "rating");
+		Function<Record, MappedMovie> mappingFunction = Neo4jRecordMapper.of(MappedMovie.class).forKeys(keys);
+
+		MappedMovie movie = mappingFunction.apply(record(keys, Values.value(Arrays.asList("Sci-Fi", "Action")),
+			Values.value("The Matrix"), Values.value(1999), Values.NULL));
+		assertThat(movie.getTitle()).isEqualTo("The Matrix");
+		assertThat(movie.getReleased()).isEqualTo(1999L);
+		assertThat(movie.getRating()).isNull();
+		assertThat(movie.getGenres()).containsExactly("Sci-Fi", "Action");
+	}
+
+	@Test
+	void shouldUseDefaultsForMissingColumns() {
+
+		List<String> keys = Arrays.asList("title", "tagline");
+		MappedMovie movie = Neo4jRecordMapper.of(MappedMovie.class).forKeys(keys)
+			.apply(record(keys, Values.value("The Matrix"), Values.value("Welcome to the Real World")));
+		assertThat(movie.getTitle()).isEqualTo("The Matrix");
+		assertThat(movie.getReleased()).isZero();
+		assertThat(movie.getGenres()).isNull();
+
+		keys = Collections.singletonList("born");
+		MappedPerson person = Neo4jRecordMapper.of(MappedPerson.class).forKeys(keys)
+			.apply(record(keys, Values.value(1964)));
+		assertThat(person.getName()).isEqualTo("Unknown");
+		assertThat(person.getBorn()).isEqualTo(1964);
+	}
+
+	@Test
+	void shouldMapSingleNodeColumns() {
+
+		Map<String, Value> properties = new HashMap<>();
+		properties.put("name", Values.value("Keanu Reeves"));
+		properties.put("lastSeen", Values.value(LocalDate.of(2021, 5, 1)));
+		properties.put("role", Values.value("ACTOR"));
+		properties.put("address", Values.value(Collections.singletonMap("city", "Beirut")));
+		properties.put("movies", Values.value(Collections.singletonList(Collections.singletonMap("title", "The Matrix"))));
+		properties.put("embedding", Values.value(Arrays.asList(0.5, 0.25)));
+		List<String> keys = Collections.singletonList("p");
+
+		MappedPerson person = Neo4jRecordMapper.of(MappedPerson.class).forKeys(keys)
+			.apply(record(keys, new NodeValue(new InternalNode(1L, Collections.singletonList("Person"), properties))));
+
+		assertThat(person.getName()).isEqualTo("Keanu Reeves");
+		assertThat(person.getBorn()).isZero();
+		assertThat(person.getLastSeen()).isEqualTo(LocalDate.of(2021, 5, 1));
+		assertThat(person.getRole()).isEqualTo(MappedPerson.Role.ACTOR);
+		assertThat(person.getAddress().getCity()).isEqualTo("Beirut");
+		assertThat(person.getMovies()).extracting(MappedMovie::getTitle).containsExactly("The Matrix");
+		assertThat(person.getEmbedding()).containsExactly(0.5f, 0.25f);
+		assertThat(Neo4jRecordMapper.of(MappedPerson.class).map(Values.NULL)).isNull();
+	}
+
+	@Test
+	void shouldMapResults() {
+
+		List<String> keys = Collections.singletonList("title");
+		Result result = mock(Result.class);
+		when(result.keys()).thenReturn(keys);
+		when(result.hasNext()).thenReturn(true, true, false);
+		when(result.next()).thenReturn(record(keys, Values.value("a")), record(keys, Values.value("b")));
+
+		assertThat(Neo4jRecordMapper.of(MappedMovie.class).mapAll(result)).extracting(MappedMovie::getTitle)
+			.containsExactly("a", "b");
+	}
+
+	@Test
+	void shouldLookupGeneratedMappers() {
+
+		assertThat(Neo4jRecordMapper.of(MappedMovie.class)).isSameAs(MappedMovieNeo4jMapper.INSTANCE);
+		assertThat(Neo4jRecordMapper.of(MappedPerson.Address.class).getClass().getName())
+			.isEqualTo(MappedPerson.class.getName() + "_AddressNeo4jMapper");
+		assertThatIllegalArgumentException().isThrownBy(() -> Neo4jRecordMapper.of(String.class))
+			.withMessageStartingWith("No mapper java.lang.StringNeo4jMapper for java.lang.String");
+	}
+
+	private static Record record(List<String> keys, Value... values) {
+		return new InternalRecord(keys, values);
+	}
+}
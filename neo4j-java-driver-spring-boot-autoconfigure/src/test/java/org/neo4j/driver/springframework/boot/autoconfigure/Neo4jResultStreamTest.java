@@ -0,0 +1,271 @@
+/*
+ * Copyright (c) 2019-2020 "Neo4j,"
+ * Neo4j Sweden AB [https://neo4j.com]
+ *
+ * This file is part of Neo4j.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.neo4j.driver.springframework.boot.autoconfigure;
+
+import static org.assertj.core.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.test.StepVerifier;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+import org.neo4j.driver.Driver;
+import org.neo4j.driver.Query;
+import org.neo4j.driver.Record;
+import org.neo4j.driver.Result;
+import org.neo4j.driver.Session;
+import org.neo4j.driver.SessionConfig;
+import org.neo4j.driver.Value;
+import org.neo4j.driver.Values;
+import org.neo4j.driver.internal.InternalNode;
+import org.neo4j.driver.internal.InternalRecord;
+import org.neo4j.driver.reactive.RxResult;
+import org.neo4j.driver.reactive.RxSession;
+import org.springframework.core.MethodParameter;
+import org.springframework.http.MediaType;
+import org.springframework.mock.http.server.reactive.MockServerHttpRequest;
+import org.springframework.mock.web.server.MockServerWebExchange;
+import org.springframework.stereotype.Controller;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+import org.springframework.test.web.servlet.setup.MockMvcBuilders;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.reactive.HandlerResult;
+
+/**
+ * @author Michael J. Simons
+ */
+class Neo4jResultStreamTest {
+
+	private static final String QUERY = "MATCH (m:Movie) RETURN m, m.released AS released";
+
+	private final ObjectMapper objectMapper = new ObjectMapper();
+
+	private final List<Record> records = Arrays.asList(movie(1, "The Matrix", 1999), movie(2, "Cloud Atlas", 2012));
+
+	private Driver driver;
+
+	private Session session;
+
+	private RxSession rxSession;
+
+	@BeforeEach
+	void mockDriver() {
+
+		Iterator<Record> iterator = this.records.iterator();
+		Result result = mock(Result.class);
+		when(result.hasNext()).thenAnswer(invocation -> iterator.hasNext());
+		when(result.next()).thenAnswer(invocation -> iterator.next());
+		this.session = mock(Session.class);
+		when(this.session.run(any(Query.class))).thenReturn(result);
+
+		RxResult rxResult = mock(RxResult.class);
+		when(rxResult.records()).thenReturn(Flux.fromIterable(this.records));
+		this.rxSession = mock(RxSession.class);
+		when(this.rxSession.run(any(Query.class))).thenReturn(rxResult);
+		when(this.rxSession.close()).thenReturn(Mono.empty());
+
+		this.driver = mock(Driver.class);
+		when(this.driver.session(any(SessionConfig.class))).thenReturn(this.session);
+		when(this.driver.rxSession(any(SessionConfig.class))).thenReturn(this.rxSession);
+	}
+
+	@Test
+	void shouldConvertNodesToTheirProperties() {
+
+		assertThat(Neo4jResultStream.toRow(this.records.get(0)))
+			.containsEntry("released", 1999L)
+			.containsEntry("m", Collections.singletonMap("title", "The Matrix"));
+	}
+
+	@Test
+	void shouldConvertNumericListsToPrimitiveArrays() {
+
+		Record record = new InternalRecord(Arrays.asList("embedding", "years", "mixed"), new Value[] {
+			Values.value(Arrays.asList(0.5, 0.25)), Values.value(Arrays.asList(1999L, 2003L)),
+			Values.value(Arrays.asList(1L, "a")) });
+
+		Map<String, Object> row = Neo4jResultStream.toRow(record);
+		assertThat(row.get("embedding")).isEqualTo(new double[] { 0.5, 0.25 });
+		assertThat(row.get("years")).isEqualTo(new long[] { 1999L, 2003L });
+		assertThat(row.get("mixed")).isEqualTo(Arrays.asList(1L, "a"));
+	}
+
+	@Test
+	void shouldPreferNdjsonOnlyWhenAskedFor() {
+
+		assertThat(Neo4jResultStream.Format.of(MediaType.parseMediaTypes("application/x-ndjson")))
+			.isEqualTo(Neo4jResultStream.Format.NDJSON);
+		assertThat(Neo4jResultStream.Format.of(MediaType.parseMediaTypes("application/stream+json")))
+			.isEqualTo(Neo4jResultStream.Format.NDJSON);
+		assertThat(Neo4jResultStream.Format.of(MediaType.parseMediaTypes("application/json;q=0.9, application/x-ndjson;q=0.5")))
+			.isEqualTo(Neo4jResultStream.Format.JSON_ARRAY);
+		assertThat(Neo4jResultStream.Format.of(MediaType.parseMediaTypes("*/*")))
+			.isEqualTo(Neo4jResultStream.Format.JSON_ARRAY);
+		assertThat(Neo4jResultStream.Format.of(Collections.emptyList()))
+			.isEqualTo(Neo4jResultStream.Format.JSON_ARRAY);
+	}
+
+	@Nested
+	class Mvc {
+
+		private MockMvc mockMvc;
+
+		@BeforeEach
+		void setupMockMvc() {
+
+			this.mockMvc = MockMvcBuilders.standaloneSetup(new MoviesController(Neo4jResultStreamTest.this.driver))
+				.setCustomReturnValueHandlers(
+					new Neo4jResultStreamReturnValueHandler(Neo4jResultStreamTest.this.objectMapper))
+				.build();
+		}
+
+		@Test
+		void shouldWriteJsonArray() throws Exception {
+
+			MvcResult result = this.mockMvc.perform(get("/movies").accept(MediaType.APPLICATION_JSON))
+				.andExpect(request().asyncStarted())
+				.andReturn();
+			result.getAsyncResult();
+
+			assertThat(result.getResponse().getContentType()).isEqualTo(MediaType.APPLICATION_JSON_VALUE);
+			assertThat(result.getResponse().getContentAsString()).isEqualTo(
+				"[{\"m\":{\"title\":\"The Matrix\"},\"released\":1999},"
+					+ "{\"m\":{\"title\":\"Cloud Atlas\"},\"released\":2012}]");
+			verify(Neo4jResultStreamTest.this.session).close();
+		}
+
+		@Test
+		void shouldWriteNdjson() throws Exception {
+
+			MvcResult result = this.mockMvc.perform(get("/titles").accept("application/x-ndjson"))
+				.andExpect(request().asyncStarted())
+				.andReturn();
+			result.getAsyncResult();
+
+			assertThat(result.getResponse().getContentType()).isEqualTo("application/x-ndjson");
+			assertThat(result.getResponse().getContentAsString()).isEqualTo("\"The Matrix\"\n\"Cloud Atlas\"\n");
+			verify(Neo4jResultStreamTest.this.session).close();
+		}
+	}
+
+	@Nested
+	class WebFlux {
+
+		private final Neo4jResultStreamResultHandler resultHandler = new Neo4jResultStreamResultHandler(
+			Neo4jResultStreamTest.this.objectMapper);
+
+		@Test
+		void shouldSupportResultStreams() throws NoSuchMethodException {
+
+			assertThat(this.resultHandler.supports(handlerResult("movies"))).isTrue();
+			assertThat(this.resultHandler.supports(new HandlerResult(this, "Hallo",
+				new MethodParameter(Object.class.getMethod("toString"), -1)))).isFalse();
+		}
+
+		@Test
+		void shouldWriteJsonArray() throws NoSuchMethodException {
+
+			MockServerWebExchange exchange = MockServerWebExchange
+				.from(MockServerHttpRequest.get("/movies").accept(MediaType.APPLICATION_JSON));
+			this.resultHandler.handleResult(exchange, handlerResult("movies"))
+				.as(StepVerifier::create)
+				.verifyComplete();
+
+			assertThat(exchange.getResponse().getHeaders().getContentType()).isEqualTo(MediaType.APPLICATION_JSON);
+			exchange.getResponse().getBodyAsString()
+				.as(StepVerifier::create)
+				.expectNext("[{\"m\":{\"title\":\"The Matrix\"},\"released\":1999},"
+					+ "{\"m\":{\"title\":\"Cloud Atlas\"},\"released\":2012}]")
+				.verifyComplete();
+			verify(Neo4jResultStreamTest.this.rxSession).close();
+		}
+
+		@Test
+		void shouldWriteNdjson() throws NoSuchMethodException {
+
+			MockServerWebExchange exchange = MockServerWebExchange
+				.from(MockServerHttpRequest.get("/titles").accept(MediaType.APPLICATION_STREAM_JSON));
+			this.resultHandler.handleResult(exchange, handlerResult("titles"))
+				.as(StepVerifier::create)
+				.verifyComplete();
+
+			assertThat(exchange.getResponse().getHeaders().getContentType())
+				.isEqualTo(MediaType.parseMediaType("application/x-ndjson"));
+			exchange.getResponse().getBodyAsString()
+				.as(StepVerifier::create)
+				.expectNext("\"The Matrix\"\n\"Cloud Atlas\"\n")
+				.verifyComplete();
+			verify(Neo4jResultStreamTest.this.rxSession).close();
+		}
+
+		private HandlerResult handlerResult(String methodName) throws NoSuchMethodException {
+
+			MoviesController controller = new MoviesController(Neo4jResultStreamTest.this.driver);
+			Neo4jResultStream returnValue = "movies".equals(methodName) ? controller.movies() : controller.titles();
+			return new HandlerResult(controller, returnValue,
+				new MethodParameter(MoviesController.class.getMethod(methodName), -1));
+		}
+	}
+
+	private static Record movie(long id, String title, long released) {
+
+		Map<String, Value> properties = new HashMap<>();
+		properties.put("title", Values.value(title));
+		return new InternalRecord(Arrays.asList("m", "released"), new Value[] {
+			new InternalNode(id, Collections.singletonList("Movie"), properties).asValue(),
+			Values.value(released) });
+	}
+
+	@Controller
+	static class MoviesController {
+
+		private final Driver driver;
+
+		MoviesController(Driver driver) {
+			this.driver = driver;
+		}
+
+		@GetMapping("/movies")
+		public Neo4jResultStream movies() {
+			return Neo4jResultStream.of(this.driver, QUERY);
+		}
+
+		@GetMapping("/titles")
+		public Neo4jResultStream titles() {
+			return Neo4jResultStream.of(this.driver, QUERY)
+				.mappedBy(record -> record.get("m").get("title").asString());
+		}
+	}
+}
@@ -0,0 +1,223 @@
+/*
+ * Copyright (c) 2019-2020 "Neo4j,"
+ * Neo4j Sweden AB [https://neo4j.com]
+ *
+ * This file is part of Neo4j.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.neo4j.driver.springframework.boot.autoconfigure;
+
+import java.util.concurrent.TimeUnit;
+
+import org.apache.commons.logging.Log;
+import org.apache.commons.logging.impl.NoOpLog;
+import org.neo4j.driver.Logger;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+import org.openjdk.jmh.profile.GCProfiler;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+/**
+ * Measures time and allocation of disabled and enabled log calls through the {@link Neo4jSpringJclLogging} bridge,
+ * compared to formatting with {@link String#format(String, Object...)}. The benchmark is not part of the regular
+ * build, run it from the IDE via {@link #main(String[])} or with the test classpath on the command line. The
+ * {@link GCProfiler} is always added, look at {@code gc.alloc.rate.norm} for the bytes allocated per call.
+ *
+ * @author Michael J. Simons
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class Neo4jSpringJclLoggingBenchmark {
+
+	private static final String FORMAT = "[0x%s][%s][%s] C: RUN %s %s";
+
+	private String channelId = "1a2b3c4d";
+
+	private String connectionId = "bolt-42";
+
+	private String serverAddress = "localhost:7687";
+
+	private String query = "MATCH (n) RETURN n";
+
+	private Integer parameters = 3;
+
+	private Logger disabledLogger;
+
+	private Logger enabledLogger;
+
+	private Neo4jSpringJclLogging logging;
+
+	@Setup(Level.Trial)
+	public void setup(Blackhole blackhole) {
+
+		this.disabledLogger = new Neo4jSpringJclLogging.SpringJclLogger(new NoOpLog());
+		this.enabledLogger = new Neo4jSpringJclLogging.SpringJclLogger(new BlackholeLog(blackhole));
+		this.logging = new Neo4jSpringJclLogging();
+	}
+
+	@Benchmark
+	public void disabledDebug() {
+		this.disabledLogger.debug(FORMAT, this.channelId, this.connectionId, this.serverAddress, this.query,
+			this.parameters);
+	}
+
+	@Benchmark
+	public void disabledInfo() {
+		this.disabledLogger.info(FORMAT, this.channelId, this.connectionId, this.serverAddress, this.query,
+			this.parameters);
+	}
+
+	@Benchmark
+	public void enabledDebug() {
+		this.enabledLogger.debug(FORMAT, this.channelId, this.connectionId, this.serverAddress, this.query,
+			this.parameters);
+	}
+
+	@Benchmark
+	public String stringFormat() {
+		return String.format(FORMAT, this.channelId, this.connectionId, this.serverAddress, this.query,
+			this.parameters);
+	}
+
+	@Benchmark
+	public Logger getLog() {
+		return this.logging.getLog("ConnectionPool");
+	}
+
+	public static void main(String... args) throws RunnerException {
+
+		new Runner(new OptionsBuilder()
+			.include(Neo4jSpringJclLoggingBenchmark.class.getSimpleName())
+			.addProfiler(GCProfiler.class)
+			.build()).run();
+	}
+
+	/**
+	 * A log with all levels enabled, that hands the messages to a {@link Blackhole}.
+	 */
+	static final class BlackholeLog implements Log {
+
+		private final Blackhole blackhole;
+
+		BlackholeLog(Blackhole blackhole) {
+			this.blackhole = blackhole;
+		}
+
+		@Override
+		public boolean isFatalEnabled() {
+			return true;
+		}
+
+		@Override
+		public boolean isErrorEnabled() {
+			return true;
+		}
+
+		@Override
+		public boolean isWarnEnabled() {
+			return true;
+		}
+
+		@Override
+		public boolean isInfoEnabled() {
+			return true;
+		}
+
+		@Override
+		public boolean isDebugEnabled() {
+			return true;
+		}
+
+		@Override
+		public boolean isTraceEnabled() {
+			return true;
+		}
+
+		@Override
+		public void fatal(Object message) {
+			this.blackhole.consume(message);
+		}
+
+		@Override
+		public void fatal(Object message, Throwable t) {
+			this.blackhole.consume(message);
+		}
+
+		@Override
+		public void error(Object message) {
+			this.blackhole.consume(message);
+		}
+
+		@Override
+		public void error(Object message, Throwable t) {
+			this.blackhole.consume(message);
+		}
+
+		@Override
+		public void warn(Object message) {
+			this.blackhole.consume(message);
+		}
+
+		@Override
+		public void warn(Object message, Throwable t) {
+			this.blackhole.consume(message);
+		}
+
+		@Override
+		public void info(Object message) {
+			this.blackhole.consume(message);
+		}
+
+		@Override
+		public void info(Object message, Throwable t) {
+			this.blackhole.consume(message);
+		}
+
+		@Override
+		public void debug(Object message) {
+			this.blackhole.consume(message);
+		}
+
+		@Override
+		public void debug(Object message, Throwable t) {
+			this.blackhole.consume(message);
+		}
+
+		@Override
+		public void trace(Object message) {
+			this.blackhole.consume(message);
+		}
+
+		@Override
+		public void trace(Object message, Throwable t) {
+			this.blackhole.consume(message);
+		}
+	}
+}
@@ -0,0 +1,182 @@
+/*
+ * Copyright (c) 2019-2020 "Neo4j,"
+ * Neo4j Sweden AB [https://neo4j.com]
+ *
+ * This file is part of Neo4j.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.neo4j.driver.springframework.boot.autoconfigure;
+
+import static org.assertj.core.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+import java.math.BigInteger;
+import java.util.Formattable;
+import java.util.HashMap;
+import java.util.Map;
+
+import org.apache.commons.logging.Log;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.MethodSource;
+import org.neo4j.driver.Logger;
+import org.slf4j.MDC;
+
+/**
+ * @author Michael J. Simons
+ */
+class Neo4jSpringJclLoggingTest {
+
+	static Object[][] formatsAndParameters() {
+		return new Object[][] {
+			{ "No placeholders", new Object[0] },
+			{ "No placeholders but parameters", new Object[] { "a" } },
+			{ "[0x%s][%s][%s] C: HELLO %s", new Object[] { "1a2b", "bolt-1", "localhost:7687", null } },
+			{ "%d connections, %d%% in use%n", new Object[] { 3, 42L } },
+			{ "%d and %d", new Object[] { (short) 1, BigInteger.TEN } },
+			{ "Arrays %s", new Object[] { new int[] { 1 } } },
+			{ "Not simple %5s %.2f", new Object[] { "a", 1.0 } },
+			{ "Decimal %d from string", new Object[] { "x" } },
+			{ "Trailing %s %", new Object[] { "a" } },
+			{ "Formattable %s", new Object[] { (Formattable) (formatter, flags, width, precision) -> formatter.format("F") } }
+		};
+	}
+
+	@ParameterizedTest
+	@MethodSource("formatsAndParameters")
+	void shouldFormatLikeStringFormat(String format, Object[] params) {
+
+		String expected;
+		try {
+			expected = String.format(format, params);
+		} catch (RuntimeException e) {
+			assertThatExceptionOfType(e.getClass()).isThrownBy(() -> Neo4jSpringJclLogging.format(format, params));
+			return;
+		}
+		assertThat(Neo4jSpringJclLogging.format(format, params)).isEqualTo(expected);
+	}
+
+	@Test
+	void shouldCacheLoggers() {
+
+		Neo4jSpringJclLogging logging = new Neo4jSpringJclLogging();
+		Logger logger = logging.getLog("ConnectionPool");
+
+		assertThat(logging.getLog("ConnectionPool")).isSameAs(logger);
+		assertThat(logging.getLog("org.neo4j.driver.ConnectionPool")).isNotSameAs(logger);
+	}
+
+	@Test
+	void shouldNotFormatWhenLevelIsDisabled() {
+
+		Logger logger = new Neo4jSpringJclLogging().getLog("disabled");
+		Object failingParameter = new Object() {
+			@Override
+			public String toString() {
+				throw new IllegalStateException("Should not be formatted");
+			}
+		};
+
+		assertThatCode(() -> logger.trace("%s", failingParameter)).doesNotThrowAnyException();
+	}
+
+	@Test
+	void shouldPutChannelContextIntoMdc() {
+
+		Map<String, String> context = new HashMap<>();
+		Log log = mock(Log.class);
+		when(log.isDebugEnabled()).thenReturn(true);
+		doAnswer(invocation -> {
+			context.putAll(MDC.getCopyOfContextMap());
+			return null;
+		}).when(log).debug(any());
+
+		Logger logger = new Neo4jSpringJclLogging.SpringJclLogger(log, true);
+		logger.debug("[0x%s][%s][%s] C: HELLO %s", "1a2b", "bolt-23", "localhost:7687", "{}");
+
+		verify(log).debug("[0x1a2b][bolt-23][localhost:7687] C: HELLO {}");
+		assertThat(context)
+			.containsEntry(Neo4jLogContext.CHANNEL_ID, "1a2b")
+			.containsEntry(Neo4jLogContext.CONNECTION_ID, "bolt-23")
+			.containsEntry(Neo4jLogContext.SERVER_ADDRESS, "localhost:7687");
+		assertThat(MDC.get(Neo4jLogContext.CHANNEL_ID)).isNull();
+	}
+
+	@Test
+	void shouldRestorePreviousMdcEntries() {
+
+		Map<String, String> context = new HashMap<>();
+		Log log = mock(Log.class);
+		when(log.isDebugEnabled()).thenReturn(true);
+		doAnswer(invocation -> {
+			context.putAll(MDC.getCopyOfContextMap());
+			return null;
+		}).when(log).debug(any());
+
+		MDC.put(Neo4jLogContext.CHANNEL_ID, "outer");
+		MDC.put(Neo4jLogContext.CONNECTION_ID, "bolt-1");
+		try {
+			Logger logger = new Neo4jSpringJclLogging.SpringJclLogger(log, true);
+			logger.debug("[0x%s][%s][%s] C: RESET", "1a2b", "", "localhost:7687");
+
+			assertThat(context)
+				.containsEntry(Neo4jLogContext.CHANNEL_ID, "1a2b")
+				.containsEntry(Neo4jLogContext.SERVER_ADDRESS, "localhost:7687")
+				.doesNotContainKey(Neo4jLogContext.CONNECTION_ID);
+			assertThat(MDC.get(Neo4jLogContext.CHANNEL_ID)).isEqualTo("outer");
+			assertThat(MDC.get(Neo4jLogContext.CONNECTION_ID)).isEqualTo("bolt-1");
+			assertThat(MDC.get(Neo4jLogContext.SERVER_ADDRESS)).isNull();
+		} finally {
+			MDC.clear();
+		}
+	}
+
+	@Test
+	void shouldSkipEmptyAndMissingContext() {
+
+		Map<String, String> context = new HashMap<>();
+		Log log = mock(Log.class);
+		when(log.isWarnEnabled()).thenReturn(true);
+		doAnswer(invocation -> {
+			Map<String, String> copy = MDC.getCopyOfContextMap();
+			if (copy != null) {
+				context.putAll(copy);
+			}
+			return null;
+		}).when(log).warn(any());
+
+		Logger logger = new Neo4jSpringJclLogging.SpringJclLogger(log, true);
+		logger.warn("[0x1a2b][][localhost:7687] Connection failed");
+		assertThat(context)
+			.containsEntry(Neo4jLogContext.CHANNEL_ID, "1a2b")
+			.containsEntry(Neo4jLogContext.SERVER_ADDRESS, "localhost:7687")
+			.doesNotContainKey(Neo4jLogContext.CONNECTION_ID);
+
+		context.clear();
+		logger.warn("Routing table for database %s is stale", "neo4j");
+		assertThat(context).isEmpty();
+	}
+
+	@Test
+	void shouldNotTouchMdcForDisabledLevels() {
+
+		Log log = mock(Log.class);
+		Logger logger = new Neo4jSpringJclLogging.SpringJclLogger(log, true);
+		logger.trace("[0x%s][%s][%s] C: RESET", "1a2b", "bolt-23", "localhost:7687");
+
+		verify(log).isTraceEnabled();
+		verifyNoMoreInteractions(log);
+	}
+}
@@ -0,0 +1,288 @@
+/*
+ * Copyright (c) 2019-2020 "Neo4j,"
+ * Neo4j Sweden AB [https://neo4j.com]
+ *
+ * This file is part of Neo4j.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.neo4j.driver.springframework.boot.autoconfigure;
+
+import static org.assertj.core.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+import reactor.core.publisher.Flux;
+import reactor.core.scheduler.Schedulers;
+import reactor.test.StepVerifier;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionStage;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.neo4j.driver.Driver;
+import org.neo4j.driver.Record;
+import org.neo4j.driver.Session;
+import org.neo4j.driver.Value;
+import org.neo4j.driver.Values;
+import org.neo4j.driver.async.AsyncSession;
+import org.neo4j.driver.async.AsyncTransaction;
+import org.neo4j.driver.async.AsyncTransactionWork;
+import org.neo4j.driver.async.ResultCursor;
+import org.neo4j.driver.internal.InternalRecord;
+import org.neo4j.driver.internal.async.connection.EventLoopGroupFactory;
+import org.neo4j.driver.reactive.RxResult;
+import org.neo4j.driver.reactive.RxSession;
+import org.neo4j.driver.summary.ResultSummary;
+import org.springframework.boot.test.system.CapturedOutput;
+import org.springframework.boot.test.system.OutputCaptureExtension;
+
+/**
+ * @author Michael J. Simons
+ */
+@ExtendWith(OutputCaptureExtension.class)
+class OffloadingDriverTest {
+
+	private static final String EXECUTOR_THREAD = "offloaded";
+
+	private final List<Record> records = Arrays.asList(record(1L), record(2L), record(3L));
+
+	private ExecutorService executor;
+
+	/**
+	 * Threads of the driver's network layer, completing the stages of the mocks.
+	 */
+	private ExecutorService eventLoopGroup;
+
+	private Driver delegate;
+
+	private Driver driver;
+
+	@BeforeEach
+	void wrapDriver() {
+
+		this.executor = Executors.newSingleThreadExecutor(runnable -> new Thread(runnable, EXECUTOR_THREAD));
+		this.eventLoopGroup = EventLoopGroupFactory.newEventLoopGroup(1);
+		this.delegate = mock(Driver.class);
+		this.driver = OffloadingDriver.wrap(this.delegate, this.executor, true);
+	}
+
+	@AfterEach
+	void shutdown() {
+
+		this.executor.shutdownNow();
+		this.eventLoopGroup.shutdownNow();
+	}
+
+	@Test
+	void shouldCompleteAsyncResultsOnExecutor() throws Exception {
+
+		ResultCursor cursor = mock(ResultCursor.class);
+		when(cursor.listAsync()).then(invocation -> onEventLoop(this.records));
+		AsyncSession session = mock(AsyncSession.class);
+		when(session.runAsync(anyString())).then(invocation -> onEventLoop(cursor));
+		when(this.delegate.asyncSession()).thenReturn(session);
+
+		// Keep the event loop busy until all callbacks are registered, otherwise they run on the registering thread
+		CountDownLatch callbacksRegistered = new CountDownLatch(1);
+		this.eventLoopGroup.submit(() -> callbacksRegistered.await(5, TimeUnit.SECONDS));
+
+		List<String> threads = new CopyOnWriteArrayList<>();
+		CompletableFuture<List<Record>> futureResult = this.driver.asyncSession().runAsync("MATCH (n) RETURN n")
+			.thenCompose(offloadedCursor -> {
+				threads.add(Thread.currentThread().getName());
+				return offloadedCursor.listAsync();
+			})
+			.whenComplete((list, error) -> threads.add(Thread.currentThread().getName()))
+			.toCompletableFuture();
+		callbacksRegistered.countDown();
+		List<Record> result = futureResult.get(5, TimeUnit.SECONDS);
+
+		assertThat(result).isEqualTo(this.records);
+		assertThat(threads).containsOnly(EXECUTOR_THREAD);
+	}
+
+	@Test
+	void shouldPassFailuresOnExecutor() {
+
+		AsyncSession session = mock(AsyncSession.class);
+		when(session.closeAsync()).then(invocation -> {
+			CompletableFuture<Void> failure = new CompletableFuture<>();
+			this.eventLoopGroup.execute(() -> failure.completeExceptionally(new IllegalStateException("closed")));
+			return failure;
+		});
+		when(this.delegate.asyncSession()).thenReturn(session);
+
+		CompletableFuture<String> thread = this.driver.asyncSession().closeAsync()
+			.handle((ignored, error) -> Thread.currentThread().getName() + ": " + error.getMessage())
+			.toCompletableFuture();
+		assertThat(thread).succeedsWithin(Duration.ofSeconds(5)).isEqualTo(EXECUTOR_THREAD + ": closed");
+	}
+
+	@Test
+	void shouldFailResultsNotAcceptedByExecutor() {
+
+		AsyncSession session = mock(AsyncSession.class);
+		when(session.runAsync(anyString())).then(invocation -> onEventLoop(mock(ResultCursor.class)));
+		when(this.delegate.asyncSession()).thenReturn(session);
+		this.executor.shutdown();
+
+		CompletableFuture<ResultCursor> cursor = this.driver.asyncSession().runAsync("MATCH (n) RETURN n")
+			.toCompletableFuture();
+		assertThatExceptionOfType(ExecutionException.class).isThrownBy(() -> cursor.get(5, TimeUnit.SECONDS))
+			.withCauseInstanceOf(RejectedExecutionException.class);
+	}
+
+	@Test
+	void shouldFailResultsWhenExecutorIsNotAvailable() {
+
+		AsyncSession session = mock(AsyncSession.class);
+		when(session.closeAsync()).then(invocation -> onEventLoop(null));
+		when(this.delegate.asyncSession()).thenReturn(session);
+		Driver driverWithoutExecutor = OffloadingDriver.wrap(this.delegate, command -> {
+			throw new IllegalStateException("No executor");
+		}, true);
+
+		CompletableFuture<Void> closed = driverWithoutExecutor.asyncSession().closeAsync().toCompletableFuture();
+		assertThatExceptionOfType(ExecutionException.class).isThrownBy(() -> closed.get(5, TimeUnit.SECONDS))
+			.withCauseInstanceOf(IllegalStateException.class)
+			.withMessageContaining("No executor");
+	}
+
+	@Test
+	void shouldIterateRecordsOnExecutor() throws Exception {
+
+		ResultSummary summary = mock(ResultSummary.class);
+		ResultCursor cursor = mock(ResultCursor.class);
+		List<Record> remaining = new ArrayList<>(this.records);
+		when(cursor.nextAsync()).then(invocation -> onEventLoop(remaining.isEmpty() ? null : remaining.remove(0)));
+		when(cursor.consumeAsync()).then(invocation -> onEventLoop(summary));
+		AsyncSession session = mock(AsyncSession.class);
+		when(session.runAsync(anyString())).thenReturn(CompletableFuture.completedFuture(cursor));
+		when(this.delegate.asyncSession()).thenReturn(session);
+
+		List<Record> seen = new CopyOnWriteArrayList<>();
+		List<String> threads = new CopyOnWriteArrayList<>();
+		ResultSummary result = this.driver.asyncSession().runAsync("MATCH (n) RETURN n")
+			.thenCompose(offloadedCursor -> offloadedCursor.forEachAsync(record -> {
+				seen.add(record);
+				threads.add(Thread.currentThread().getName());
+			}))
+			.toCompletableFuture().get(5, TimeUnit.SECONDS);
+
+		assertThat(result).isSameAs(summary);
+		assertThat(seen).isEqualTo(this.records);
+		assertThat(threads).containsOnly(EXECUTOR_THREAD);
+		verify(cursor, never()).forEachAsync(any());
+	}
+
+	@Test
+	@SuppressWarnings("unchecked")
+	void shouldRunTransactionFunctionsOnExecutor() throws Exception {
+
+		AsyncTransaction transaction = mock(AsyncTransaction.class);
+		AsyncSession session = mock(AsyncSession.class);
+		when(session.writeTransactionAsync(any())).then(invocation -> onEventLoop(null).thenCompose(
+			ignored -> ((AsyncTransactionWork<CompletionStage<Object>>) invocation.getArgument(0)).execute(transaction)));
+		when(this.delegate.asyncSession()).thenReturn(session);
+
+		String thread = this.driver.asyncSession()
+			.writeTransactionAsync(tx -> CompletableFuture.completedFuture(Thread.currentThread().getName()))
+			.toCompletableFuture().get(5, TimeUnit.SECONDS);
+
+		assertThat(thread).isEqualTo(EXECUTOR_THREAD);
+	}
+
+	@Test
+	void shouldSignalReactiveResultsOnExecutor() {
+
+		RxResult result = mock(RxResult.class);
+		when(result.records()).thenReturn(Flux.fromIterable(this.records)
+			.publishOn(Schedulers.fromExecutor(this.eventLoopGroup)));
+		RxSession session = mock(RxSession.class);
+		when(session.run(anyString())).thenReturn(result);
+		when(this.delegate.rxSession()).thenReturn(session);
+
+		List<String> threads = new CopyOnWriteArrayList<>();
+		Flux.from(this.driver.rxSession().run("MATCH (n) RETURN n").records())
+			.doOnNext(record -> threads.add(Thread.currentThread().getName()))
+			.as(StepVerifier::create)
+			.expectNextSequence(this.records)
+			.verifyComplete();
+
+		assertThat(threads).hasSize(3).containsOnly(EXECUTOR_THREAD);
+	}
+
+	@Test
+	void shouldSignalErrorsWhenReactiveResultsAreNotAccepted() {
+
+		RxResult result = mock(RxResult.class);
+		when(result.records()).thenReturn(Flux.fromIterable(this.records)
+			.publishOn(Schedulers.fromExecutor(this.eventLoopGroup)));
+		RxSession session = mock(RxSession.class);
+		when(session.run(anyString())).thenReturn(result);
+		when(this.delegate.rxSession()).thenReturn(session);
+		this.executor.shutdown();
+
+		Flux.from(this.driver.rxSession().run("MATCH (n) RETURN n").records())
+			.as(StepVerifier::create)
+			.expectError(RejectedExecutionException.class)
+			.verify(Duration.ofSeconds(5));
+	}
+
+	@Test
+	void shouldWarnAboutBlockingCallsOnEventLoops(CapturedOutput output) throws Exception {
+
+		when(this.delegate.session()).thenReturn(mock(Session.class));
+		AsyncSession session = mock(AsyncSession.class);
+		when(session.closeAsync()).thenReturn(CompletableFuture.completedFuture(null));
+		when(this.delegate.asyncSession()).thenReturn(session);
+
+		this.driver.session();
+		assertThat(output).doesNotContain("Blocking call on a driver event loop");
+
+		this.eventLoopGroup.submit(() -> {
+			this.driver.session();
+			return this.driver.asyncSession().closeAsync().toCompletableFuture().get();
+		}).get(5, TimeUnit.SECONDS);
+
+		assertThat(output)
+			.contains("Opening a blocking session on the driver's event loop thread")
+			.contains("Waiting for a result on the driver's event loop thread");
+	}
+
+	private <T> CompletableFuture<T> onEventLoop(T value) {
+
+		CompletableFuture<T> result = new CompletableFuture<>();
+		this.eventLoopGroup.execute(() -> result.complete(value));
+		return result;
+	}
+
+	private static Record record(long value) {
+		return new InternalRecord(Collections.singletonList("n"), new Value[] { Values.value(value) });
+	}
+}
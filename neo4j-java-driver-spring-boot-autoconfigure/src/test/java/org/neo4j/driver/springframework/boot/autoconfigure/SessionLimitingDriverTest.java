@@ -0,0 +1,135 @@
+/*
+ * Copyright (c) 2019-2020 "Neo4j,"
+ * Neo4j Sweden AB [https://neo4j.com]
+ *
+ * This file is part of Neo4j.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.neo4j.driver.springframework.boot.autoconfigure;
+
+import static org.assertj.core.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+import java.time.Duration;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.neo4j.driver.Driver;
+import org.neo4j.driver.Session;
+import org.neo4j.driver.SessionConfig;
+import org.neo4j.driver.async.AsyncSession;
+import org.neo4j.driver.exceptions.ClientException;
+import org.springframework.boot.test.system.CapturedOutput;
+import org.springframework.boot.test.system.OutputCaptureExtension;
+
+/**
+ * @author Michael J. Simons
+ */
+@ExtendWith(OutputCaptureExtension.class)
+class SessionLimitingDriverTest {
+
+	private Driver delegate;
+
+	private Driver driver;
+
+	@BeforeEach
+	void wrapDriver() {
+
+		this.delegate = mock(Driver.class);
+		when(this.delegate.session()).then(invocation -> mock(Session.class));
+		when(this.delegate.session(any(SessionConfig.class))).then(invocation -> mock(Session.class));
+		when(this.delegate.asyncSession()).then(invocation -> mock(AsyncSession.class));
+		this.driver = SessionLimitingDriver.wrap(this.delegate, 2, Duration.ofMillis(100));
+	}
+
+	@Test
+	void shouldLimitOpenSessions() {
+
+		Session first = this.driver.session();
+		this.driver.session(SessionConfig.forDatabase("movies"));
+
+		assertThatExceptionOfType(ClientException.class)
+			.isThrownBy(() -> this.driver.session())
+			.withMessage("Unable to open a session within 100ms, 2 sessions are in use");
+
+		first.close();
+		assertThat(this.driver.session()).isNotNull();
+	}
+
+	@Test
+	void shouldReleaseOnlyOncePerSession() {
+
+		Session first = this.driver.session();
+		first.close();
+		first.close();
+
+		this.driver.session();
+		this.driver.session();
+		assertThatExceptionOfType(ClientException.class).isThrownBy(() -> this.driver.session());
+	}
+
+	@Test
+	void shouldWaitForClosedSessions() throws Exception {
+
+		Driver patientDriver = SessionLimitingDriver.wrap(this.delegate, 1, Duration.ofSeconds(5));
+		Session first = patientDriver.session();
+
+		CompletableFuture<Session> second = CompletableFuture.supplyAsync(patientDriver::session);
+		assertThat(second).isNotDone();
+
+		first.close();
+		assertThat(second.get(5, TimeUnit.SECONDS)).isNotNull();
+	}
+
+	@Test
+	void shouldReleasePermitsOfSessionsThatHaveNotBeenClosed(CapturedOutput output) throws Exception {
+
+		Driver patientDriver = SessionLimitingDriver.wrap(this.delegate, 1, Duration.ofSeconds(10));
+		patientDriver.session();
+
+		CompletableFuture<Session> second = CompletableFuture.supplyAsync(patientDriver::session);
+		long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(10);
+		while (!second.isDone() && System.nanoTime() < deadline) {
+			System.gc();
+			Thread.sleep(50);
+		}
+
+		assertThat(second.get(5, TimeUnit.SECONDS)).isNotNull();
+		assertThat(output).contains("A session has not been closed before it was garbage collected");
+	}
+
+	@Test
+	void shouldReleasePermitsWhenOpeningFails() {
+
+		Driver failingDriver = mock(Driver.class);
+		when(failingDriver.session()).thenThrow(new IllegalStateException("closed"));
+		Driver limitedDriver = SessionLimitingDriver.wrap(failingDriver, 1, Duration.ofMillis(100));
+
+		assertThatIllegalStateException().isThrownBy(limitedDriver::session);
+		assertThatIllegalStateException().isThrownBy(limitedDriver::session).withMessage("closed");
+	}
+
+	@Test
+	void shouldNotLimitAsyncSessions() {
+
+		this.driver.session();
+		this.driver.session();
+
+		assertThat(this.driver.asyncSession()).isNotNull();
+		verify(this.delegate).asyncSession();
+	}
+}
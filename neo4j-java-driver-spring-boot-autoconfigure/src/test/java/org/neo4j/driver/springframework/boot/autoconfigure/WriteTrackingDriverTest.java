@@ -0,0 +1,184 @@
+/*
+ * Copyright (c) 2019-2020 "Neo4j,"
+ * Neo4j Sweden AB [https://neo4j.com]
+ *
+ * This file is part of Neo4j.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.neo4j.driver.springframework.boot.autoconfigure;
+
+import static org.assertj.core.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.test.StepVerifier;
+
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.atomic.AtomicReference;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.neo4j.driver.AccessMode;
+import org.neo4j.driver.Bookmark;
+import org.neo4j.driver.Driver;
+import org.neo4j.driver.Session;
+import org.neo4j.driver.SessionConfig;
+import org.neo4j.driver.Transaction;
+import org.neo4j.driver.async.AsyncSession;
+import org.neo4j.driver.reactive.RxSession;
+
+/**
+ * @author Michael J. Simons
+ */
+class WriteTrackingDriverTest {
+
+	private final AtomicReference<Bookmark> currentBookmark = new AtomicReference<>();
+
+	private final List<String> writes = new CopyOnWriteArrayList<>();
+
+	private Driver delegate;
+
+	private Driver driver;
+
+	@BeforeEach
+	void wrapDriver() {
+
+		this.delegate = mock(Driver.class);
+		this.driver = WriteTrackingDriver.wrap(this.delegate,
+			(database, bookmark) -> this.writes.add(database + "@" + bookmark.values().iterator().next()));
+	}
+
+	@Test
+	void shouldReportWriteTransactions() {
+
+		Session session = mockSession();
+		when(session.writeTransaction(any())).then(invocation -> advanceBookmark("bm1"));
+		when(session.readTransaction(any())).then(invocation -> advanceBookmark("bm2"));
+
+		try (Session trackedSession = this.driver.session(SessionConfig.forDatabase("movies"))) {
+			assertThat(trackedSession.<Object>writeTransaction(tx -> null)).isEqualTo("bm1");
+			assertThat(this.writes).containsExactly("movies@bm1");
+
+			trackedSession.readTransaction(tx -> null);
+		}
+		assertThat(this.writes).containsExactly("movies@bm1");
+	}
+
+	@Test
+	void shouldReportCommittedTransactionsOfWriteSessions() {
+
+		Session session = mockSession();
+		Transaction transaction = mock(Transaction.class);
+		doAnswer(invocation -> advanceBookmark("bm1")).when(transaction).commit();
+		when(session.beginTransaction()).thenReturn(transaction);
+
+		Session trackedSession = this.driver.session();
+		Transaction trackedTransaction = trackedSession.beginTransaction();
+		assertThat(this.writes).isEmpty();
+		trackedTransaction.commit();
+		assertThat(this.writes).containsExactly("null@bm1");
+		verify(transaction).commit();
+	}
+
+	@Test
+	void shouldReportAutoCommitQueriesOnClose() {
+
+		Session session = mockSession();
+		when(session.run(anyString())).then(invocation -> {
+			advanceBookmark("bm1");
+			return null;
+		});
+
+		Session trackedSession = this.driver.session();
+		trackedSession.run("CREATE (n)");
+		trackedSession.close();
+		assertThat(this.writes).containsExactly("null@bm1");
+	}
+
+	@Test
+	void shouldIgnoreReadSessions() {
+
+		Session session = mockSession();
+		when(session.run(anyString())).then(invocation -> {
+			advanceBookmark("bm1");
+			return null;
+		});
+
+		Session trackedSession = this.driver.session(SessionConfig.builder().withDefaultAccessMode(AccessMode.READ)
+			.build());
+		trackedSession.run("MATCH (n) RETURN n");
+		trackedSession.close();
+		assertThat(this.writes).isEmpty();
+	}
+
+	@Test
+	void shouldReportAsyncWritesOnceCompleted() {
+
+		AsyncSession session = mock(AsyncSession.class);
+		when(session.lastBookmark()).then(invocation -> this.currentBookmark.get());
+		when(this.delegate.asyncSession(any(SessionConfig.class))).thenReturn(session);
+		CompletableFuture<String> transaction = new CompletableFuture<>();
+		when(session.writeTransactionAsync(any())).then(invocation -> transaction);
+
+		CompletableFuture<Object> result = this.driver.asyncSession(SessionConfig.forDatabase("movies"))
+			.writeTransactionAsync(tx -> null).toCompletableFuture();
+		assertThat(this.writes).isEmpty();
+
+		advanceBookmark("bm1");
+		transaction.complete("done");
+		assertThat(result).isCompletedWithValue("done");
+		assertThat(this.writes).containsExactly("movies@bm1");
+	}
+
+	@Test
+	void shouldReportReactiveWritesOnceCompleted() {
+
+		RxSession session = mock(RxSession.class);
+		when(session.lastBookmark()).then(invocation -> this.currentBookmark.get());
+		when(session.writeTransaction(any())).then(invocation -> Flux.just("a", "b")
+			.doOnComplete(() -> advanceBookmark("bm1")));
+		when(session.close()).thenReturn(Mono.empty());
+		when(this.delegate.rxSession(any(SessionConfig.class))).thenReturn(session);
+
+		RxSession trackedSession = this.driver.rxSession(SessionConfig.forDatabase("movies"));
+		Flux<String> transaction = Flux.from(trackedSession.writeTransaction(tx -> Flux.<String>empty()));
+		assertThat(this.writes).isEmpty();
+
+		transaction
+			.as(StepVerifier::create)
+			.expectNext("a", "b")
+			.verifyComplete();
+		assertThat(this.writes).containsExactly("movies@bm1");
+	}
+
+	private Session mockSession() {
+
+		Session session = mock(Session.class);
+		when(session.lastBookmark()).then(invocation -> this.currentBookmark.get());
+		when(this.delegate.session(any(SessionConfig.class))).thenReturn(session);
+		when(this.delegate.session()).thenReturn(session);
+		return session;
+	}
+
+	private String advanceBookmark(String value) {
+
+		this.currentBookmark.set(Bookmark.from(Collections.singleton(value)));
+		return value;
+	}
+}
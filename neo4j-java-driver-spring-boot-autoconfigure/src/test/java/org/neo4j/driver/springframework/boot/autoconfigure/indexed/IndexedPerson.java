@@ -0,0 +1,41 @@
+/*
+ * Copyright (c) 2019-2020 "Neo4j,"
+ * Neo4j Sweden AB [https://neo4j.com]
+ *
+ * This file is part of Neo4j.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.neo4j.driver.springframework.boot.autoconfigure.indexed;
+
+import org.neo4j.ogm.annotation.NodeEntity;
+
+@NodeEntity
+public class IndexedPerson extends IndexedBaseEntity {
+
+	public enum Role {
+		ACTOR, DIRECTOR
+	}
+
+	private String name;
+
+	private Role role;
+
+	public String getName() {
+		return this.name;
+	}
+
+	public Role getRole() {
+		return this.role;
+	}
+}
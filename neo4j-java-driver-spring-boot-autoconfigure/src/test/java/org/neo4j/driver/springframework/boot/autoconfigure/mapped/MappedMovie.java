@@ -0,0 +1,58 @@
+/*
+ * Copyright (c) 2019-2020 "Neo4j,"
+ * Neo4j Sweden AB [https://neo4j.com]
+ *
+ * This file is part of Neo4j.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.neo4j.driver.springframework.boot.autoconfigure.mapped;
+
+import java.util.List;
+
+import org.neo4j.driver.springframework.boot.autoconfigure.Neo4jMapped;
+
+@Neo4jMapped
+public class MappedMovie {
+
+	private final String title;
+
+	private final long released;
+
+	private final Double rating;
+
+	private final List<String> genres;
+
+	public MappedMovie(String title, long released, Double rating, List<String> genres) {
+		this.title = title;
+		this.released = released;
+		this.rating = rating;
+		this.genres = genres;
+	}
+
+	public String getTitle() {
+		return this.title;
+	}
+
+	public long getReleased() {
+		return this.released;
+	}
+
+	public Double getRating() {
+		return this.rating;
+	}
+
+	public List<String> getGenres() {
+		return this.genres;
+	}
+}
@@ -0,0 +1,116 @@
+/*
+ * Copyright (c) 2019-2020 "Neo4j,"
+ * Neo4j Sweden AB [https://neo4j.com]
+ *
+ * This file is part of Neo4j.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.neo4j.driver.springframework.boot.autoconfigure.mapped;
+
+import java.time.LocalDate;
+import java.util.List;
+
+import org.neo4j.driver.springframework.boot.autoconfigure.Neo4jMapped;
+
+@Neo4jMapped
+public class MappedPerson {
+
+	public enum Role {
+		ACTOR, DIRECTOR
+	}
+
+	@Neo4jMapped
+	public static class Address {
+
+		private String city;
+
+		public String getCity() {
+			return this.city;
+		}
+
+		public void setCity(String city) {
+			this.city = city;
+		}
+	}
+
+	private String name = "Unknown";
+
+	private int born;
+
+	private LocalDate lastSeen;
+
+	private Role role;
+
+	private Address address;
+
+	private List<MappedMovie> movies;
+
+	private float[] embedding;
+
+	public String getName() {
+		return this.name;
+	}
+
+	public void setName(String name) {
+		this.name = name;
+	}
+
+	public int getBorn() {
+		return this.born;
+	}
+
+	public void setBorn(int born) {
+		this.born = born;
+	}
+
+	public LocalDate getLastSeen() {
+		return this.lastSeen;
+	}
+
+	public void setLastSeen(LocalDate lastSeen) {
+		this.lastSeen = lastSeen;
+	}
+
+	public Role getRole() {
+		return this.role;
+	}
+
+	public void setRole(Role role) {
+		this.role = role;
+	}
+
+	public Address getAddress() {
+		return this.address;
+	}
+
+	public void setAddress(Address address) {
+		this.address = address;
+	}
+
+	public List<MappedMovie> getMovies() {
+		return this.movies;
+	}
+
+	public void setMovies(List<MappedMovie> movies) {
+		this.movies = movies;
+	}
+
+	public float[] getEmbedding() {
+		return this.embedding;
+	}
+
+	public void setEmbedding(float[] embedding) {
+		this.embedding = embedding;
+	}
+}
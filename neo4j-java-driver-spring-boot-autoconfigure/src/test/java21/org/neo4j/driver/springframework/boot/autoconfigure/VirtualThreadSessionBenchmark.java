@@ -0,0 +1,166 @@
+/*
+ * Copyright (c) 2019-2020 "Neo4j,"
+ * Neo4j Sweden AB [https://neo4j.com]
+ *
+ * This file is part of Neo4j.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.neo4j.driver.springframework.boot.autoconfigure;
+
+import java.lang.reflect.Proxy;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+
+import org.neo4j.driver.Driver;
+import org.neo4j.driver.Session;
+import org.neo4j.driver.internal.async.pool.PoolSettings;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+/**
+ * Serves a burst of requests that each run one query in a blocking session, once on the platform threads of the
+ * {@code web} example (the 200 request threads of Tomcat's default configuration) and once on virtual threads with
+ * the sessions limited to the size of the connection pool. The driver is simulated: a query holds one of the pooled
+ * connections and waits for a future that is completed after the given latency by a single thread, the same way the
+ * blocking API of the driver waits for its network layer.
+ * <p>
+ * The benchmark requires Java 21 and is only compiled by the {@code java21} profile. It is not part of the regular
+ * build, run it from the IDE via {@link #main(String[])} or with the test classpath on the command line, adding
+ * {@code -Djdk.tracePinnedThreads=full} reports virtual threads pinned to their carrier.
+ *
+ * @author Michael J. Simons
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class VirtualThreadSessionBenchmark {
+
+	private static final int PLATFORM_THREADS = 200;
+
+	private static final int POOL_SIZE = PoolSettings.DEFAULT_MAX_CONNECTION_POOL_SIZE;
+
+	@Param({ "1000", "10000" })
+	private int requests;
+
+	@Param({ "2" })
+	private long latencyMillis;
+
+	private ScheduledExecutorService eventLoop;
+
+	private Driver driver;
+
+	private Driver limitedDriver;
+
+	private ExecutorService platformThreads;
+
+	private ExecutorService virtualThreads;
+
+	@Setup(Level.Trial)
+	public void setup() {
+
+		this.eventLoop = Executors.newSingleThreadScheduledExecutor();
+		this.driver = simulatedDriver(this.eventLoop, this.latencyMillis);
+		this.limitedDriver = SessionLimitingDriver.wrap(this.driver, POOL_SIZE,
+			Duration.ofMillis(PoolSettings.DEFAULT_CONNECTION_ACQUISITION_TIMEOUT));
+		this.platformThreads = Executors.newFixedThreadPool(PLATFORM_THREADS);
+		this.virtualThreads = Executors.newVirtualThreadPerTaskExecutor();
+	}
+
+	@TearDown(Level.Trial)
+	public void tearDown() {
+
+		this.platformThreads.shutdownNow();
+		this.virtualThreads.shutdownNow();
+		this.eventLoop.shutdownNow();
+	}
+
+	@Benchmark
+	public int platformThreads() throws Exception {
+		return serve(this.platformThreads, this.driver);
+	}
+
+	@Benchmark
+	public int virtualThreads() throws Exception {
+		return serve(this.virtualThreads, this.limitedDriver);
+	}
+
+	private int serve(ExecutorService executor, Driver targetDriver) throws Exception {
+
+		List<Future<?>> responses = new ArrayList<>(this.requests);
+		for (int i = 0; i < this.requests; ++i) {
+			responses.add(executor.submit(() -> {
+				try (Session session = targetDriver.session()) {
+					session.run("MATCH (m:Movie) RETURN m");
+				}
+			}));
+		}
+		for (Future<?> response : responses) {
+			response.get();
+		}
+		return responses.size();
+	}
+
+	private static Driver simulatedDriver(ScheduledExecutorService eventLoop, long latencyMillis) {
+
+		Semaphore connections = new Semaphore(POOL_SIZE);
+		Session session = (Session) Proxy.newProxyInstance(VirtualThreadSessionBenchmark.class.getClassLoader(),
+			new Class<?>[] { Session.class }, (proxy, method, args) -> {
+				if ("run".equals(method.getName())) {
+					connections.acquire();
+					try {
+						CompletableFuture<Void> response = new CompletableFuture<>();
+						eventLoop.schedule(() -> response.complete(null), latencyMillis, TimeUnit.MILLISECONDS);
+						response.get();
+					} finally {
+						connections.release();
+					}
+				}
+				return null;
+			});
+		return (Driver) Proxy.newProxyInstance(VirtualThreadSessionBenchmark.class.getClassLoader(),
+			new Class<?>[] { Driver.class }, (proxy, method, args) -> "session".equals(method.getName()) ? session : null);
+	}
+
+	public static void main(String... args) throws RunnerException {
+
+		new Runner(new OptionsBuilder()
+			.include(VirtualThreadSessionBenchmark.class.getSimpleName())
+			.build()).run();
+	}
+}
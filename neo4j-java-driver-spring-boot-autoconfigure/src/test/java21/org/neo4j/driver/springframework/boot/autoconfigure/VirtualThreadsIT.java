@@ -0,0 +1,81 @@
+/*
+ * Copyright (c) 2019-2020 "Neo4j,"
+ * Neo4j Sweden AB [https://neo4j.com]
+ *
+ * This file is part of Neo4j.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.neo4j.driver.springframework.boot.autoconfigure;
+
+import static org.assertj.core.api.Assertions.*;
+
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.TimeUnit;
+
+import org.apache.coyote.http11.Http11NioProtocol;
+import org.junit.jupiter.api.Test;
+import org.neo4j.driver.Driver;
+import org.neo4j.ogm.session.SessionFactory;
+import org.springframework.boot.autoconfigure.AutoConfigurations;
+import org.springframework.boot.test.context.FilteredClassLoader;
+import org.springframework.boot.test.context.runner.WebApplicationContextRunner;
+
+/**
+ * Runs against the multi-release jar, as the variant of {@link VirtualThreads} for Java 21 is not visible in the
+ * classes directory used by the unit tests.
+ *
+ * @author Michael J. Simons
+ */
+class VirtualThreadsIT {
+
+	@Test
+	void shouldStartVirtualThreads() throws Exception {
+
+		assertThat(VirtualThreads.isSupported()).isTrue();
+
+		ExecutorService executor = VirtualThreads.newThreadPerTaskExecutor("neo4j-virtual-");
+		try {
+			Thread thread = executor.submit(Thread::currentThread).get(5, TimeUnit.SECONDS);
+			assertThat(thread.isVirtual()).isTrue();
+			assertThat(thread.getName()).isEqualTo("neo4j-virtual-0");
+		} finally {
+			executor.shutdown();
+		}
+	}
+
+	@Test
+	void shouldServeTomcatOnVirtualThreads() {
+
+		new WebApplicationContextRunner()
+			.withConfiguration(AutoConfigurations.of(Neo4jDriverAutoConfiguration.class))
+			.withPropertyValues("org.neo4j.driver.uri=bolt://localhost:4711",
+				"org.neo4j.driver.virtual-threads.enabled=true")
+			.withClassLoader(new FilteredClassLoader(SessionFactory.class))
+			.run((ctx) -> {
+				assertThat(ctx.getBean(Driver.class).toString()).startsWith("SessionLimitingDriver");
+				assertThat(ctx).doesNotHaveBean(Executor.class);
+
+				Http11NioProtocol protocolHandler = new Http11NioProtocol();
+				ctx.getBean(VirtualThreadsConfiguration.VirtualThreadProtocolHandlerCustomizer.class)
+					.customize(protocolHandler);
+
+				Thread[] thread = new Thread[1];
+				Runnable task = () -> thread[0] = Thread.currentThread();
+				ExecutorService executor = (ExecutorService) protocolHandler.getExecutor();
+				executor.submit(task).get(5, TimeUnit.SECONDS);
+				assertThat(thread[0].isVirtual()).isTrue();
+			});
+	}
+}
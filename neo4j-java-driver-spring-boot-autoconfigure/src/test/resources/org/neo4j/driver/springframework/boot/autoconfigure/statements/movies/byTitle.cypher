@@ -0,0 +1,2 @@
+MATCH (m:Movie {title: $title})
+RETURN m;
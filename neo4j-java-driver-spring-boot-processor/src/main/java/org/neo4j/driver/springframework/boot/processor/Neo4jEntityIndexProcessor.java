@@ -0,0 +1,182 @@
+/*
+ * Copyright (c) 2019-2020 "Neo4j,"
+ * Neo4j Sweden AB [https://neo4j.com]
+ *
+ * This file is part of Neo4j.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.neo4j.driver.springframework.boot.processor;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.TreeSet;
+
+import javax.annotation.processing.AbstractProcessor;
+import javax.annotation.processing.RoundEnvironment;
+import javax.annotation.processing.SupportedAnnotationTypes;
+import javax.lang.model.SourceVersion;
+import javax.lang.model.element.Element;
+import javax.lang.model.element.PackageElement;
+import javax.lang.model.element.TypeElement;
+import javax.lang.model.util.Elements;
+import javax.tools.Diagnostic;
+import javax.tools.FileObject;
+import javax.tools.StandardLocation;
+
+/**
+ * Writes the index of Neo4j-OGM entities at build time, so that OGM doesn't need to scan the classpath when the
+ * session factory is created.
+ * <p>
+ * For each package containing at least one {@code @NodeEntity} or {@code @RelationshipEntity}, all types of that
+ * package compiled together with the entities are written to {@code META-INF/resources/<package>/neo4j-ogm.index}.
+ * That is the index OGM reads before falling back to scanning the classpath, and it contains the same types
+ * scanning the package would find. In addition, all indexed packages are listed in {@value #PACKAGES_LOCATION}, so
+ * that the starter can ask OGM for exactly those packages.
+ * <p>
+ * Existing indexes in the class output are merged, so that incremental builds don't lose entries of types that
+ * didn't change.
+ *
+ * @author Michael J. Simons
+ */
+@SupportedAnnotationTypes({ "org.neo4j.ogm.annotation.NodeEntity", "org.neo4j.ogm.annotation.RelationshipEntity" })
+public final class Neo4jEntityIndexProcessor extends AbstractProcessor {
+
+	/**
+	 * Location of the list of packages with an entity index.
+	 */
+	public static final String PACKAGES_LOCATION = "META-INF/neo4j-ogm.packages";
+
+	/**
+	 * Name of the index file as expected by OGM.
+	 */
+	public static final String INDEX_FILE_NAME = "neo4j-ogm.index";
+
+	private final Map<String, Set<String>> typesPerPackage = new TreeMap<>();
+
+	@Override
+	public SourceVersion getSupportedSourceVersion() {
+		return SourceVersion.latestSupported();
+	}
+
+	@Override
+	public boolean process(Set<? extends TypeElement> annotations, RoundEnvironment roundEnv) {
+
+		Elements elements = this.processingEnv.getElementUtils();
+		Set<String> entityPackages = new TreeSet<>();
+		for (TypeElement annotation : annotations) {
+			for (Element entity : roundEnv.getElementsAnnotatedWith(annotation)) {
+				PackageElement packageElement = elements.getPackageOf(entity);
+				if (!packageElement.isUnnamed()) {
+					entityPackages.add(packageElement.getQualifiedName().toString());
+				}
+			}
+		}
+
+		for (Element rootElement : roundEnv.getRootElements()) {
+			if (!(rootElement instanceof TypeElement)) {
+				continue;
+			}
+			String packageName = elements.getPackageOf(rootElement).getQualifiedName().toString();
+			if (entityPackages.contains(packageName) || this.typesPerPackage.containsKey(packageName)) {
+				addTypes(packageName, (TypeElement) rootElement);
+			}
+		}
+
+		if (roundEnv.processingOver() && !this.typesPerPackage.isEmpty()) {
+			writeIndexes();
+		}
+		return false;
+	}
+
+	private void addTypes(String packageName, TypeElement type) {
+
+		this.typesPerPackage.computeIfAbsent(packageName, k -> new TreeSet<>())
+			.add(this.processingEnv.getElementUtils().getBinaryName(type).toString());
+		for (Element enclosedElement : type.getEnclosedElements()) {
+			if (enclosedElement instanceof TypeElement) {
+				addTypes(packageName, (TypeElement) enclosedElement);
+			}
+		}
+	}
+
+	private void writeIndexes() {
+
+		try {
+			Set<String> packages = readExistingEntries(PACKAGES_LOCATION);
+			packages.addAll(this.typesPerPackage.keySet());
+			for (Map.Entry<String, Set<String>> entry : this.typesPerPackage.entrySet()) {
+				String location = indexLocationOf(entry.getKey());
+				Set<String> types = readExistingEntries(location);
+				types.addAll(entry.getValue());
+				write(location, types);
+			}
+			write(PACKAGES_LOCATION, packages);
+		} catch (IOException ex) {
+			this.processingEnv.getMessager()
+				.printMessage(Diagnostic.Kind.WARNING, "Could not write the Neo4j-OGM entity index: " + ex.getMessage());
+		}
+	}
+
+	/**
+	 * Reads the entries of a previous build, that still exist.
+	 *
+	 * @param location the location of the index
+	 * @return the existing entries
+	 */
+	private Set<String> readExistingEntries(String location) {
+
+		Set<String> entries = new TreeSet<>();
+		Elements elements = this.processingEnv.getElementUtils();
+		try {
+			FileObject existing = this.processingEnv.getFiler().getResource(StandardLocation.CLASS_OUTPUT, "", location);
+			try (BufferedReader reader = new BufferedReader(
+				new InputStreamReader(existing.openInputStream(), StandardCharsets.UTF_8))) {
+				String line;
+				while ((line = reader.readLine()) != null) {
+					String entry = line.trim();
+					String canonicalName = entry.replace('$', '.');
+					if (!entry.isEmpty() && (elements.getTypeElement(canonicalName) != null
+						|| elements.getPackageElement(canonicalName) != null)) {
+						entries.add(entry);
+					}
+				}
+			}
+		} catch (IOException | IllegalArgumentException ex) {
+			// No previous index
+		}
+		return entries;
+	}
+
+	private void write(String location, Set<String> entries) throws IOException {
+
+		FileObject resource = this.processingEnv.getFiler().createResource(StandardLocation.CLASS_OUTPUT, "", location);
+		try (Writer writer = new OutputStreamWriter(resource.openOutputStream(), StandardCharsets.UTF_8)) {
+			for (String entry : entries) {
+				writer.write(entry);
+				writer.write('\n');
+			}
+		}
+	}
+
+	static String indexLocationOf(String packageName) {
+		return "META-INF/resources/" + packageName.replace('.', '/') + "/" + INDEX_FILE_NAME;
+	}
+}
@@ -0,0 +1,424 @@
+/*
+ * Copyright (c) 2019-2020 "Neo4j,"
+ * Neo4j Sweden AB [https://neo4j.com]
+ *
+ * This file is part of Neo4j.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.neo4j.driver.springframework.boot.processor;
+
+import java.io.IOException;
+import java.io.Writer;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+import javax.annotation.processing.AbstractProcessor;
+import javax.annotation.processing.RoundEnvironment;
+import javax.annotation.processing.SupportedAnnotationTypes;
+import javax.lang.model.SourceVersion;
+import javax.lang.model.element.AnnotationMirror;
+import javax.lang.model.element.Element;
+import javax.lang.model.element.ElementKind;
+import javax.lang.model.element.ExecutableElement;
+import javax.lang.model.element.Modifier;
+import javax.lang.model.element.NestingKind;
+import javax.lang.model.element.TypeElement;
+import javax.lang.model.element.VariableElement;
+import javax.lang.model.type.ArrayType;
+import javax.lang.model.type.DeclaredType;
+import javax.lang.model.type.TypeKind;
+import javax.lang.model.type.TypeMirror;
+import javax.lang.model.type.WildcardType;
+import javax.lang.model.util.ElementFilter;
+import javax.tools.Diagnostic;
+
+/**
+ * Generates a {@code Neo4jRecordMapper} for each type annotated with {@code @Neo4jMapped}. The mapper of
+ * {@code com.example.Movie} is {@code com.example.MovieNeo4jMapper}, nested types are separated by an underscore.
+ * <p>
+ * The generated code calls the constructor, respectively the setters, of the mapped type directly and converts each
+ * value with the matching accessor of the driver's {@code Value}. Supported are primitives and their wrappers, arrays
+ * of longs, doubles and floats, strings, the temporal types of {@code java.time}, enums, {@code Object}, maps, lists
+ * of supported types and other mapped types. Properties of other types are reported as errors, so that unsupported
+ * mappings fail the build and not at runtime.
+ *
+ * @author Michael J. Simons
+ */
+@SupportedAnnotationTypes(Neo4jRecordMapperProcessor.MAPPED_ANNOTATION)
+public final class Neo4jRecordMapperProcessor extends AbstractProcessor {
+
+	static final String MAPPED_ANNOTATION = "org.neo4j.driver.springframework.boot.autoconfigure.Neo4jMapped";
+
+	private static final String MAPPER_INTERFACE = "org.neo4j.driver.springframework.boot.autoconfigure.Neo4jRecordMapper";
+
+	private static final String PRIMITIVE_VALUES = "org.neo4j.driver.springframework.boot.autoconfigure.Neo4jPrimitiveValues";
+
+	/**
+	 * Suffix of the generated mappers.
+	 */
+	public static final String SUFFIX = "Neo4jMapper";
+
+	@Override
+	public SourceVersion getSupportedSourceVersion() {
+		return SourceVersion.latestSupported();
+	}
+
+	@Override
+	public boolean process(Set<? extends TypeElement> annotations, RoundEnvironment roundEnv) {
+
+		for (TypeElement annotation : annotations) {
+			for (Element element : roundEnv.getElementsAnnotatedWith(annotation)) {
+				if (element.getKind() != ElementKind.CLASS) {
+					error("Only classes can be mapped", element);
+					continue;
+				}
+				TypeElement type = (TypeElement) element;
+				try {
+					MappedType mappedType = analyze(type);
+					if (mappedType != null) {
+						write(mappedType);
+					}
+				} catch (IOException ex) {
+					error("Could not write the mapper of " + type.getQualifiedName() + ": " + ex.getMessage(), type);
+				}
+			}
+		}
+		return false;
+	}
+
+	private MappedType analyze(TypeElement type) {
+
+		Set<Modifier> modifiers = type.getModifiers();
+		if (modifiers.contains(Modifier.PRIVATE) || modifiers.contains(Modifier.ABSTRACT)
+			|| type.getNestingKind() == NestingKind.MEMBER && !modifiers.contains(Modifier.STATIC)
+			|| type.getNestingKind().compareTo(NestingKind.MEMBER) > 0) {
+			error("Mapped types must be concrete, not private and either top level or static", type);
+			return null;
+		}
+		if (!type.getTypeParameters().isEmpty()) {
+			error("Mapped types must not be generic", type);
+			return null;
+		}
+
+		List<ExecutableElement> constructors = ElementFilter.constructorsIn(type.getEnclosedElements()).stream()
+			.filter(constructor -> !constructor.getModifiers().contains(Modifier.PRIVATE))
+			.collect(Collectors.toList());
+		boolean useSetters = constructors.stream().anyMatch(constructor -> constructor.getParameters().isEmpty());
+
+		List<Property> properties = new ArrayList<>();
+		if (useSetters) {
+			for (ExecutableElement method : ElementFilter
+				.methodsIn(this.processingEnv.getElementUtils().getAllMembers(type))) {
+				if (isAccessibleSetter(type, method)) {
+					String name = method.getSimpleName().toString().substring(3);
+					name = Character.toLowerCase(name.charAt(0)) + name.substring(1);
+					properties.add(new Property(name, method.getParameters().get(0).asType(),
+						method.getSimpleName().toString()));
+				}
+			}
+		} else if (constructors.size() == 1) {
+			for (VariableElement parameter : constructors.get(0).getParameters()) {
+				properties.add(new Property(parameter.getSimpleName().toString(), parameter.asType(), null));
+			}
+		} else {
+			error("Mapped types need an accessible constructor without parameters or exactly one accessible constructor",
+				type);
+			return null;
+		}
+
+		if (properties.isEmpty()) {
+			error("Mapped types need at least one property", type);
+			return null;
+		}
+		boolean valid = true;
+		for (Property property : properties) {
+			property.conversion = conversionOf(property.type, "value", 0);
+			if (property.conversion == null) {
+				error("Unsupported type " + property.type + " of property " + property.name, type);
+				valid = false;
+			}
+		}
+		return valid ? new MappedType(type, useSetters, properties) : null;
+	}
+
+	private boolean isAccessibleSetter(TypeElement type, ExecutableElement method) {
+
+		String name = method.getSimpleName().toString();
+		Set<Modifier> modifiers = method.getModifiers();
+		if (!name.startsWith("set") || name.length() == 3 || method.getParameters().size() != 1
+			|| method.getReturnType().getKind() != TypeKind.VOID
+			|| modifiers.contains(Modifier.STATIC) || modifiers.contains(Modifier.PRIVATE)) {
+			return false;
+		}
+		return modifiers.contains(Modifier.PUBLIC) || this.processingEnv.getElementUtils().getPackageOf(method)
+			.equals(this.processingEnv.getElementUtils().getPackageOf(type));
+	}
+
+	/**
+	 * Creates the expression converting a driver value into the given type.
+	 *
+	 * @param type  the target type
+	 * @param value the expression of the value to convert
+	 * @param depth the nesting depth of lists, used to name the parameters of nested lambdas
+	 * @return the conversion or {@literal null}, if the type is not supported
+	 */
+	private String conversionOf(TypeMirror type, String value, int depth) {
+
+		switch (type.getKind()) {
+			case BOOLEAN:
+				return value + ".asBoolean(false)";
+			case INT:
+				return value + ".asInt(0)";
+			case LONG:
+				return value + ".asLong(0L)";
+			case FLOAT:
+				return value + ".asFloat(0.0f)";
+			case DOUBLE:
+				return value + ".asDouble(0.0)";
+			case ARRAY:
+				switch (((ArrayType) type).getComponentType().getKind()) {
+					case LONG:
+						return PRIMITIVE_VALUES + ".toLongArray(" + value + ")";
+					case DOUBLE:
+						return PRIMITIVE_VALUES + ".toDoubleArray(" + value + ")";
+					case FLOAT:
+						return PRIMITIVE_VALUES + ".toFloatArray(" + value + ")";
+					default:
+						return null;
+				}
+			case DECLARED:
+				break;
+			default:
+				return null;
+		}
+
+		DeclaredType declaredType = (DeclaredType) type;
+		TypeElement element = (TypeElement) declaredType.asElement();
+		String nullSafe = value + ".isNull() ? null : ";
+		switch (element.getQualifiedName().toString()) {
+			case "java.lang.String":
+				return value + ".asString(null)";
+			case "java.lang.Boolean":
+				return nullSafe + value + ".asBoolean()";
+			case "java.lang.Integer":
+				return nullSafe + value + ".asInt()";
+			case "java.lang.Long":
+				return nullSafe + value + ".asLong()";
+			case "java.lang.Float":
+				return nullSafe + value + ".asFloat()";
+			case "java.lang.Double":
+				return nullSafe + value + ".asDouble()";
+			case "java.lang.Object":
+				return value + ".asObject()";
+			case "java.time.LocalDate":
+				return value + ".asLocalDate(null)";
+			case "java.time.LocalDateTime":
+				return value + ".asLocalDateTime(null)";
+			case "java.time.LocalTime":
+				return value + ".asLocalTime(null)";
+			case "java.time.OffsetTime":
+				return value + ".asOffsetTime(null)";
+			case "java.time.OffsetDateTime":
+				return value + ".asOffsetDateTime(null)";
+			case "java.time.ZonedDateTime":
+				return value + ".asZonedDateTime(null)";
+			case "java.util.Map":
+				List<? extends TypeMirror> keyAndValue = declaredType.getTypeArguments();
+				if (keyAndValue.isEmpty() || keyAndValue.get(0).toString().equals("java.lang.String")
+					&& upperBoundOf(keyAndValue.get(1)).toString().equals("java.lang.Object")) {
+					return nullSafe + value + ".asMap()";
+				}
+				return null;
+			case "java.util.List":
+			case "java.util.Collection":
+			case "java.lang.Iterable":
+				List<? extends TypeMirror> elementType = declaredType.getTypeArguments();
+				if (elementType.isEmpty()) {
+					return nullSafe + value + ".asList()";
+				}
+				String elementValue = "e" + depth;
+				String elementConversion = conversionOf(upperBoundOf(elementType.get(0)), elementValue, depth + 1);
+				return elementConversion == null ?
+					null :
+					nullSafe + value + ".asList(" + elementValue + " -> " + elementConversion + ")";
+			default:
+				break;
+		}
+
+		if (element.getKind() == ElementKind.ENUM) {
+			return nullSafe + element.getQualifiedName() + ".valueOf(" + value + ".asString())";
+		}
+		if (isMapped(element)) {
+			return mapperNameOf(element) + ".INSTANCE.map(" + value + ")";
+		}
+		return null;
+	}
+
+	private TypeMirror upperBoundOf(TypeMirror type) {
+
+		if (type.getKind() == TypeKind.WILDCARD) {
+			TypeMirror extendsBound = ((WildcardType) type).getExtendsBound();
+			return extendsBound == null ?
+				this.processingEnv.getElementUtils().getTypeElement("java.lang.Object").asType() :
+				extendsBound;
+		}
+		return type;
+	}
+
+	private static boolean isMapped(TypeElement element) {
+
+		for (AnnotationMirror annotationMirror : element.getAnnotationMirrors()) {
+			if (((TypeElement) annotationMirror.getAnnotationType().asElement()).getQualifiedName()
+				.contentEquals(MAPPED_ANNOTATION)) {
+				return true;
+			}
+		}
+		return false;
+	}
+
+	private String mapperNameOf(TypeElement type) {
+		return this.processingEnv.getElementUtils().getBinaryName(type).toString().replace('$', '_') + SUFFIX;
+	}
+
+	private void write(MappedType mappedType) throws IOException {
+
+		String typeName = mappedType.type.getQualifiedName().toString();
+		String mapperName = mapperNameOf(mappedType.type);
+		int lastDot = mapperName.lastIndexOf('.');
+		String packageName = lastDot < 0 ? "" : mapperName.substring(0, lastDot);
+		String simpleName = mapperName.substring(lastDot + 1);
+		List<Property> properties = mappedType.properties;
+
+		StringBuilder source = new StringBuilder();
+		if (!packageName.isEmpty()) {
+			source.append("package ").append(packageName).append(";\n\n");
+		}
+		source.append("/**\n * Maps records and values to {@link ").append(typeName)
+			.append("}, generated by the Neo4jRecordMapperProcessor.\n */\n")
+			.append("public final class ").append(simpleName).append(" implements ").append(MAPPER_INTERFACE)
+			.append('<').append(typeName).append("> {\n\n")
+			.append("\tpublic static final ").append(simpleName).append(" INSTANCE = new ").append(simpleName)
+			.append("();\n\n")
+			.append("\tprivate static final org.neo4j.driver.Value NULL = org.neo4j.driver.Values.value((Object) null);\n\n");
+
+		// Resolves the columns once per result
+		source.append("\t@Override\n\tpublic java.util.function.Function<org.neo4j.driver.Record, ").append(typeName)
+			.append("> forKeys(java.util.List<String> keys) {\n\n");
+		for (int i = 0; i < properties.size(); ++i) {
+			source.append("\t\tfinal int i").append(i).append(" = keys.indexOf(\"").append(properties.get(i).name)
+				.append("\");\n");
+		}
+		source.append("\t\tif (keys.size() == 1");
+		for (int i = 0; i < properties.size(); ++i) {
+			source.append(" && i").append(i).append(" < 0");
+		}
+		source.append(") {\n\t\t\treturn record -> map(record.get(0));\n\t\t}\n");
+		if (mappedType.useSetters) {
+			source.append("\t\treturn record -> {\n\t\t\t").append(typeName).append(" object = new ")
+				.append(typeName).append("();\n");
+			for (int i = 0; i < properties.size(); ++i) {
+				source.append("\t\t\tif (i").append(i).append(" >= 0) {\n\t\t\t\tobject.")
+					.append(properties.get(i).setter).append("(p").append(i).append("(record.get(i").append(i)
+					.append(")));\n\t\t\t}\n");
+			}
+			source.append("\t\t\treturn object;\n\t\t};\n");
+		} else {
+			source.append("\t\treturn record -> new ").append(typeName).append('(');
+			for (int i = 0; i < properties.size(); ++i) {
+				source.append(i == 0 ? "\n" : ",\n").append("\t\t\tp").append(i).append("(i").append(i)
+					.append(" < 0 ? NULL : record.get(i").append(i).append("))");
+			}
+			source.append(");\n");
+		}
+		source.append("\t}\n\n");
+
+		// Maps nodes, relationships and maps by key
+		source.append("\t@Override\n\tpublic ").append(typeName).append(" map(org.neo4j.driver.Value value) {\n\n")
+			.append("\t\tif (value.isNull()) {\n\t\t\treturn null;\n\t\t}\n");
+		if (mappedType.useSetters) {
+			// Nodes don't support containsKey, absent and null properties are the same in Neo4j anyway
+			source.append("\t\t").append(typeName).append(" object = new ").append(typeName).append("();\n")
+				.append("\t\torg.neo4j.driver.Value property;\n");
+			for (int i = 0; i < properties.size(); ++i) {
+				Property property = properties.get(i);
+				source.append("\t\tproperty = value.get(\"").append(property.name).append("\");\n")
+					.append("\t\tif (!property.isNull()) {\n\t\t\tobject.").append(property.setter).append("(p")
+					.append(i).append("(property));\n\t\t}\n");
+			}
+			source.append("\t\treturn object;\n");
+		} else {
+			source.append("\t\treturn new ").append(typeName).append('(');
+			for (int i = 0; i < properties.size(); ++i) {
+				source.append(i == 0 ? "\n" : ",\n").append("\t\t\tp").append(i).append("(value.get(\"")
+					.append(properties.get(i).name).append("\"))");
+			}
+			source.append(");\n");
+		}
+		source.append("\t}\n");
+
+		for (int i = 0; i < properties.size(); ++i) {
+			Property property = properties.get(i);
+			source.append("\n\tprivate static ").append(property.type).append(" p").append(i)
+				.append("(org.neo4j.driver.Value value) {\n\t\treturn ").append(property.conversion)
+				.append(";\n\t}\n");
+		}
+		source.append("}\n");
+
+		try (Writer writer = this.processingEnv.getFiler().createSourceFile(mapperName, mappedType.type)
+			.openWriter()) {
+			writer.write(source.toString());
+		}
+	}
+
+	private void error(String message, Element element) {
+		this.processingEnv.getMessager().printMessage(Diagnostic.Kind.ERROR, message, element);
+	}
+
+	private static final class MappedType {
+
+		private final TypeElement type;
+
+		private final boolean useSetters;
+
+		private final List<Property> properties;
+
+		MappedType(TypeElement type, boolean useSetters, List<Property> properties) {
+			this.type = type;
+			this.useSetters = useSetters;
+			this.properties = properties;
+		}
+	}
+
+	private static final class Property {
+
+		private final String name;
+
+		private final TypeMirror type;
+
+		/**
+		 * The name of the setter, {@literal null} for constructor parameters.
+		 */
+		private final String setter;
+
+		private String conversion;
+
+		Property(String name, TypeMirror type, String setter) {
+			this.name = name;
+			this.type = type;
+			this.setter = setter;
+		}
+	}
+}
@@ -0,0 +1,4 @@
+/**
+ * Annotation processors supporting the configuration of Neo4j-OGM and the mapping of records at build time.
+ */
+package org.neo4j.driver.springframework.boot.processor;
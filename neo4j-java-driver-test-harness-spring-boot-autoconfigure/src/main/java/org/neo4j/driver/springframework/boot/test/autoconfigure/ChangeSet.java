@@ -0,0 +1,197 @@
+/*
+ * Copyright (c) 2019-2020 "Neo4j,"
+ * Neo4j Sweden AB [https://neo4j.com]
+ *
+ * This file is part of Neo4j.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.neo4j.driver.springframework.boot.test.autoconfigure;
+
+import java.lang.reflect.Method;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+import org.springframework.util.ReflectionUtils;
+
+/**
+ * The changes of one committed transaction, captured from the {@code TransactionData} of the embedded database in
+ * a way that allows them to be undone later on. The transaction data is accessed reflectively, as the signatures of
+ * the event API differ between Neo4j 3.5 and 4.x.
+ *
+ * @author Michael J. Simons
+ */
+final class ChangeSet {
+
+	private static final Map<String, Method> METHODS = new ConcurrentHashMap<>();
+
+	final Set<Long> createdNodes = new LinkedHashSet<>();
+
+	final Set<Long> createdRelationships = new LinkedHashSet<>();
+
+	final Map<Long, DeletedNode> deletedNodes = new LinkedHashMap<>();
+
+	final Map<Long, DeletedRelationship> deletedRelationships = new LinkedHashMap<>();
+
+	/**
+	 * Previous values of properties of nodes that existed before and after the transaction, {@literal null} values
+	 * denote properties that didn't exist before.
+	 */
+	final Map<Long, Map<String, Object>> previousNodeProperties = new LinkedHashMap<>();
+
+	final Map<Long, Map<String, Object>> previousRelationshipProperties = new LinkedHashMap<>();
+
+	final Map<Long, Set<String>> assignedLabels = new LinkedHashMap<>();
+
+	final Map<Long, Set<String>> removedLabels = new LinkedHashMap<>();
+
+	static ChangeSet of(Object transactionData) {
+
+		ChangeSet changeSet = new ChangeSet();
+		for (Object node : iterate(transactionData, "createdNodes")) {
+			changeSet.createdNodes.add(idOf(node));
+		}
+		for (Object node : iterate(transactionData, "deletedNodes")) {
+			changeSet.deletedNodes.put(idOf(node), new DeletedNode());
+		}
+		for (Object relationship : iterate(transactionData, "createdRelationships")) {
+			changeSet.createdRelationships.add(idOf(relationship));
+		}
+		for (Object relationship : iterate(transactionData, "deletedRelationships")) {
+			changeSet.deletedRelationships.put(idOf(relationship), new DeletedRelationship(
+				(String) invoke(invoke(relationship, "getType"), "name"),
+				idOf(invoke(relationship, "getStartNode")),
+				idOf(invoke(relationship, "getEndNode"))));
+		}
+
+		for (Object entry : iterate(transactionData, "removedNodeProperties")) {
+			long id = idOf(invoke(entry, "entity"));
+			DeletedNode deletedNode = changeSet.deletedNodes.get(id);
+			if (deletedNode != null) {
+				deletedNode.properties.put((String) invoke(entry, "key"), previousValueOf(entry));
+			} else {
+				changeSet.recordPreviousValue(changeSet.previousNodeProperties, id, entry);
+			}
+		}
+		for (Object entry : iterate(transactionData, "assignedNodeProperties")) {
+			long id = idOf(invoke(entry, "entity"));
+			if (!changeSet.createdNodes.contains(id)) {
+				changeSet.recordPreviousValue(changeSet.previousNodeProperties, id, entry);
+			}
+		}
+		for (Object entry : iterate(transactionData, "removedRelationshipProperties")) {
+			long id = idOf(invoke(entry, "entity"));
+			DeletedRelationship deletedRelationship = changeSet.deletedRelationships.get(id);
+			if (deletedRelationship != null) {
+				deletedRelationship.properties.put((String) invoke(entry, "key"), previousValueOf(entry));
+			} else {
+				changeSet.recordPreviousValue(changeSet.previousRelationshipProperties, id, entry);
+			}
+		}
+		for (Object entry : iterate(transactionData, "assignedRelationshipProperties")) {
+			long id = idOf(invoke(entry, "entity"));
+			if (!changeSet.createdRelationships.contains(id)) {
+				changeSet.recordPreviousValue(changeSet.previousRelationshipProperties, id, entry);
+			}
+		}
+
+		for (Object entry : iterate(transactionData, "removedLabels")) {
+			long id = idOf(invoke(entry, "node"));
+			String label = (String) invoke(invoke(entry, "label"), "name");
+			DeletedNode deletedNode = changeSet.deletedNodes.get(id);
+			if (deletedNode != null) {
+				deletedNode.labels.add(label);
+			} else {
+				changeSet.removedLabels.computeIfAbsent(id, k -> new LinkedHashSet<>()).add(label);
+			}
+		}
+		for (Object entry : iterate(transactionData, "assignedLabels")) {
+			long id = idOf(invoke(entry, "node"));
+			if (!changeSet.createdNodes.contains(id)) {
+				changeSet.assignedLabels.computeIfAbsent(id, k -> new LinkedHashSet<>())
+					.add((String) invoke(invoke(entry, "label"), "name"));
+			}
+		}
+		return changeSet;
+	}
+
+	boolean isEmpty() {
+		return this.createdNodes.isEmpty() && this.createdRelationships.isEmpty() && this.deletedNodes.isEmpty()
+			&& this.deletedRelationships.isEmpty() && this.previousNodeProperties.isEmpty()
+			&& this.previousRelationshipProperties.isEmpty() && this.assignedLabels.isEmpty()
+			&& this.removedLabels.isEmpty();
+	}
+
+	private void recordPreviousValue(Map<Long, Map<String, Object>> previousProperties, long id, Object entry) {
+
+		// Only the first change of a property inside a transaction knows the committed value
+		previousProperties.computeIfAbsent(id, k -> new LinkedHashMap<>())
+			.putIfAbsent((String) invoke(entry, "key"), previousValueOf(entry));
+	}
+
+	private static Object previousValueOf(Object propertyEntry) {
+
+		Method method = ReflectionUtils.findMethod(propertyEntry.getClass(), "previouslyCommitedValue");
+		// The typo has been fixed in Neo4j 4.0
+		return invoke(propertyEntry, method == null ? "previouslyCommittedValue" : "previouslyCommitedValue");
+	}
+
+	private static long idOf(Object entity) {
+		return (Long) invoke(entity, "getId");
+	}
+
+	private static Iterable<?> iterate(Object target, String methodName) {
+		return (Iterable<?>) invoke(target, methodName);
+	}
+
+	private static Object invoke(Object target, String methodName) {
+
+		Class<?> targetClass = target.getClass();
+		Method method = METHODS.computeIfAbsent(targetClass.getName() + "#" + methodName, k -> {
+			Method candidate = ReflectionUtils.findMethod(targetClass, methodName);
+			if (candidate == null) {
+				throw new IllegalStateException("Cannot find method " + methodName + " on " + targetClass);
+			}
+			ReflectionUtils.makeAccessible(candidate);
+			return candidate;
+		});
+		return ReflectionUtils.invokeMethod(method, target);
+	}
+
+	static final class DeletedNode {
+
+		final Set<String> labels = new LinkedHashSet<>();
+
+		final Map<String, Object> properties = new LinkedHashMap<>();
+	}
+
+	static final class DeletedRelationship {
+
+		final String type;
+
+		final long startNode;
+
+		final long endNode;
+
+		final Map<String, Object> properties = new LinkedHashMap<>();
+
+		DeletedRelationship(String type, long startNode, long endNode) {
+			this.type = type;
+			this.startNode = startNode;
+			this.endNode = endNode;
+		}
+	}
+}
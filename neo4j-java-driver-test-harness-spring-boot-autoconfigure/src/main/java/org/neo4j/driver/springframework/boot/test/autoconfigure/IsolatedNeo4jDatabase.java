@@ -0,0 +1,67 @@
+/*
+ * Copyright (c) 2019-2020 "Neo4j,"
+ * Neo4j Sweden AB [https://neo4j.com]
+ *
+ * This file is part of Neo4j.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.neo4j.driver.springframework.boot.test.autoconfigure;
+
+import java.lang.annotation.Documented;
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Inherited;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+import org.junit.jupiter.api.extension.ExtendWith;
+
+/**
+ * Runs the tests of the annotated class against a database of their own, so that test classes or test methods can
+ * be executed in parallel without seeing each other's data. The database is created through the driver of the
+ * application context and dropped asynchronously after use. Test methods and lifecycle methods can declare parameters
+ * of type {@link Neo4jTestDatabase} or {@link org.neo4j.driver.SessionConfig} to work with the isolated database.
+ * <p>
+ * Creating databases requires Neo4j 4.0 or higher, Enterprise Edition.
+ *
+ * @author Michael J. Simons
+ */
+@Target(ElementType.TYPE)
+@Retention(RetentionPolicy.RUNTIME)
+@Documented
+@Inherited
+@ExtendWith(IsolatedNeo4jDatabaseExtension.class)
+public @interface IsolatedNeo4jDatabase {
+
+	/**
+	 * @return whether a database is created per test class or per test method
+	 */
+	Scope value() default Scope.CLASS;
+
+	/**
+	 * The scope of an isolated database.
+	 */
+	enum Scope {
+
+		/**
+		 * One database is shared by all tests of a class.
+		 */
+		CLASS,
+
+		/**
+		 * Each test method gets its own database.
+		 */
+		METHOD
+	}
+}
@@ -0,0 +1,140 @@
+/*
+ * Copyright (c) 2019-2020 "Neo4j,"
+ * Neo4j Sweden AB [https://neo4j.com]
+ *
+ * This file is part of Neo4j.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.neo4j.driver.springframework.boot.test.autoconfigure;
+
+import java.time.Duration;
+
+import org.junit.jupiter.api.extension.AfterAllCallback;
+import org.junit.jupiter.api.extension.AfterEachCallback;
+import org.junit.jupiter.api.extension.BeforeAllCallback;
+import org.junit.jupiter.api.extension.BeforeEachCallback;
+import org.junit.jupiter.api.extension.ExtensionContext;
+import org.junit.jupiter.api.extension.ParameterContext;
+import org.junit.jupiter.api.extension.ParameterResolutionException;
+import org.junit.jupiter.api.extension.ParameterResolver;
+import org.neo4j.driver.Driver;
+import org.neo4j.driver.SessionConfig;
+import org.springframework.core.annotation.AnnotatedElementUtils;
+import org.springframework.test.context.junit.jupiter.SpringExtension;
+
+/**
+ * Creates the databases for tests annotated with {@link IsolatedNeo4jDatabase}.
+ *
+ * @author Michael J. Simons
+ */
+public final class IsolatedNeo4jDatabaseExtension
+	implements BeforeAllCallback, BeforeEachCallback, AfterEachCallback, AfterAllCallback, ParameterResolver {
+
+	private static final ExtensionContext.Namespace NAMESPACE = ExtensionContext.Namespace
+		.create(IsolatedNeo4jDatabaseExtension.class);
+
+	private static final Duration DROP_TIMEOUT = Duration.ofMinutes(1);
+
+	@Override
+	public void beforeAll(ExtensionContext context) {
+		if (getScope(context) == IsolatedNeo4jDatabase.Scope.CLASS) {
+			createDatabase(context);
+		}
+	}
+
+	@Override
+	public void beforeEach(ExtensionContext context) {
+		if (getScope(context) == IsolatedNeo4jDatabase.Scope.METHOD) {
+			createDatabase(context);
+		}
+	}
+
+	@Override
+	public void afterEach(ExtensionContext context) {
+		if (getScope(context) == IsolatedNeo4jDatabase.Scope.METHOD) {
+			dropDatabase(context);
+		}
+	}
+
+	@Override
+	public void afterAll(ExtensionContext context) {
+		if (getScope(context) == IsolatedNeo4jDatabase.Scope.CLASS) {
+			dropDatabase(context);
+		}
+	}
+
+	@Override
+	public boolean supportsParameter(ParameterContext parameterContext, ExtensionContext extensionContext) {
+
+		Class<?> type = parameterContext.getParameter().getType();
+		return type == Neo4jTestDatabase.class || type == SessionConfig.class;
+	}
+
+	@Override
+	public Object resolveParameter(ParameterContext parameterContext, ExtensionContext extensionContext) {
+
+		Neo4jTestDatabase database = extensionContext.getStore(NAMESPACE).get(Neo4jTestDatabase.class,
+			Neo4jTestDatabase.class);
+		if (database == null) {
+			throw new ParameterResolutionException("No isolated database available for "
+				+ parameterContext.getParameter() + ", the database of a method scope is not available in class lifecycle methods");
+		}
+		if (parameterContext.getParameter().getType() == SessionConfig.class) {
+			return database.getSessionConfig();
+		}
+		return database;
+	}
+
+	private static void createDatabase(ExtensionContext context) {
+
+		Driver driver = SpringExtension.getApplicationContext(context).getBean(Driver.class);
+		context.getStore(NAMESPACE).put(Neo4jTestDatabase.class, getTestDatabases(context).create(driver));
+	}
+
+	private static void dropDatabase(ExtensionContext context) {
+
+		Neo4jTestDatabase database = context.getStore(NAMESPACE).remove(Neo4jTestDatabase.class,
+			Neo4jTestDatabase.class);
+		if (database != null) {
+			getTestDatabases(context).drop(database);
+		}
+	}
+
+	private static IsolatedNeo4jDatabase.Scope getScope(ExtensionContext context) {
+
+		IsolatedNeo4jDatabase isolatedDatabase = AnnotatedElementUtils
+			.findMergedAnnotation(context.getRequiredTestClass(), IsolatedNeo4jDatabase.class);
+		return isolatedDatabase == null ? IsolatedNeo4jDatabase.Scope.CLASS : isolatedDatabase.value();
+	}
+
+	/**
+	 * The databases are tracked in the root store, so that pending drops are awaited once after all tests have run.
+	 */
+	private static Neo4jTestDatabases getTestDatabases(ExtensionContext context) {
+
+		return context.getRoot().getStore(NAMESPACE)
+			.getOrComputeIfAbsent(PendingDrops.class, key -> new PendingDrops(), PendingDrops.class)
+			.testDatabases;
+	}
+
+	private static final class PendingDrops implements ExtensionContext.Store.CloseableResource {
+
+		private final Neo4jTestDatabases testDatabases = new Neo4jTestDatabases();
+
+		@Override
+		public void close() {
+			this.testDatabases.awaitPendingDrops(DROP_TIMEOUT);
+		}
+	}
+}
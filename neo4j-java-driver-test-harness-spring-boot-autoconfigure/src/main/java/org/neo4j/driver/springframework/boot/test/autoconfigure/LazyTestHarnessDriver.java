@@ -0,0 +1,126 @@
+/*
+ * Copyright (c) 2019-2020 "Neo4j,"
+ * Neo4j Sweden AB [https://neo4j.com]
+ *
+ * This file is part of Neo4j.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.neo4j.driver.springframework.boot.test.autoconfigure;
+
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.util.concurrent.CompletableFuture;
+import java.util.function.Supplier;
+
+import org.neo4j.driver.Config;
+import org.neo4j.driver.Driver;
+
+/**
+ * A driver that creates its delegate - and with it the test harness it is connected to - not before it is used the
+ * first time. Test slices that have a driver in their context but never talk to the database don't pay for starting
+ * the embedded database that way. Closing the driver or checking whether metrics are enabled doesn't count as usage.
+ *
+ * @author Michael J. Simons
+ */
+final class LazyTestHarnessDriver implements InvocationHandler {
+
+	private final Supplier<Driver> driverSupplier;
+
+	private final boolean metricsEnabled;
+
+	private volatile Driver delegate;
+
+	private volatile boolean closed;
+
+	/**
+	 * Creates a new lazy driver.
+	 *
+	 * @param driverSupplier supplier of the actual driver, called at most once
+	 * @param config         the configuration the actual driver will be created with
+	 * @return a driver that creates the actual driver on first usage
+	 */
+	static Driver create(Supplier<Driver> driverSupplier, Config config) {
+
+		return (Driver) Proxy.newProxyInstance(LazyTestHarnessDriver.class.getClassLoader(),
+			new Class<?>[] { Driver.class }, new LazyTestHarnessDriver(driverSupplier, config.isMetricsEnabled()));
+	}
+
+	private LazyTestHarnessDriver(Supplier<Driver> driverSupplier, boolean metricsEnabled) {
+		this.driverSupplier = driverSupplier;
+		this.metricsEnabled = metricsEnabled;
+	}
+
+	@Override
+	public Object invoke(Object proxy, Method method, Object[] args) throws Throwable {
+
+		switch (method.getName()) {
+			case "close":
+				close();
+				return null;
+			case "closeAsync":
+				return closeAsync();
+			case "isMetricsEnabled":
+				return this.metricsEnabled;
+			case "equals":
+				return proxy == args[0];
+			case "hashCode":
+				return System.identityHashCode(proxy);
+			case "toString":
+				return "LazyTestHarnessDriver{" + "started=" + (this.delegate != null) + '}';
+			default:
+				try {
+					return method.invoke(getDelegate(), args);
+				} catch (InvocationTargetException e) {
+					throw e.getCause();
+				}
+		}
+	}
+
+	private Driver getDelegate() {
+
+		Driver driver = this.delegate;
+		if (driver == null) {
+			synchronized (this) {
+				if (this.closed) {
+					throw new IllegalStateException("This driver has already been closed");
+				}
+				driver = this.delegate;
+				if (driver == null) {
+					driver = this.driverSupplier.get();
+					this.delegate = driver;
+				}
+			}
+		}
+		return driver;
+	}
+
+	private synchronized void close() {
+
+		this.closed = true;
+		if (this.delegate != null) {
+			this.delegate.close();
+		}
+	}
+
+	private synchronized Object closeAsync() {
+
+		this.closed = true;
+		if (this.delegate != null) {
+			return this.delegate.closeAsync();
+		}
+		return CompletableFuture.completedFuture(null);
+	}
+}
@@ -0,0 +1,294 @@
+/*
+ * Copyright (c) 2019-2020 "Neo4j,"
+ * Neo4j Sweden AB [https://neo4j.com]
+ *
+ * This file is part of Neo4j.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.neo4j.driver.springframework.boot.test.autoconfigure;
+
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.Supplier;
+import java.util.stream.Collectors;
+
+import org.neo4j.driver.Driver;
+import org.neo4j.driver.Session;
+import org.neo4j.driver.Transaction;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.util.Assert;
+import org.springframework.util.ClassUtils;
+import org.springframework.util.ReflectionUtils;
+
+/**
+ * Resets the database of the test harness to the state it had when {@link #start()} has been called. Instead of
+ * deleting and recreating all data, this records the changes of each transaction committed after {@link #start()}
+ * through the transaction event API of the embedded database and undoes them on {@link #reset()}. Resetting therefore
+ * costs roughly the same, regardless how big the fixtures are, as it only depends on the amount of changes.
+ * <p>
+ * Nodes and relationships deleted after {@link #start()} are recreated with new internal ids. Spatial properties
+ * cannot be restored.
+ *
+ * @author Michael J. Simons
+ * @see ResetNeo4jDatabase
+ */
+public final class Neo4jDatabaseReset implements DisposableBean {
+
+	private static final String TRANSACTION_EVENT_LISTENER_4X = "org.neo4j.graphdb.event.TransactionEventListener";
+	private static final String TRANSACTION_EVENT_HANDLER_3X = "org.neo4j.graphdb.event.TransactionEventHandler";
+
+	private final Supplier<?> testHarness;
+
+	private final Driver driver;
+
+	private final List<ChangeSet> changeSets = Collections.synchronizedList(new ArrayList<>());
+
+	private volatile boolean recording;
+
+	private volatile RuntimeException recordingFailure;
+
+	private Runnable unregisterListener;
+
+	/**
+	 * @param testHarness the test harness whose transactions are recorded, either {@code ServerControls} or {@code Neo4j}
+	 * @param driver      a driver connected to the test harness, used to undo the changes
+	 */
+	public Neo4jDatabaseReset(Object testHarness, Driver driver) {
+
+		Assert.notNull(testHarness, "Test harness must not be null");
+		Assert.notNull(driver, "Driver must not be null");
+		this.testHarness = () -> testHarness;
+		this.driver = driver;
+	}
+
+	/**
+	 * Creates a database reset for a test harness that is resolved not before {@link #start()} is called the first time.
+	 *
+	 * @param testHarness supplier of the test harness whose transactions are recorded
+	 * @param driver      a driver connected to the test harness, used to undo the changes
+	 */
+	public Neo4jDatabaseReset(Supplier<?> testHarness, Driver driver) {
+
+		Assert.notNull(testHarness, "Test harness supplier must not be null");
+		Assert.notNull(driver, "Driver must not be null");
+		this.testHarness = testHarness;
+		this.driver = driver;
+	}
+
+	/**
+	 * Starts recording all changes to the database. Changes recorded earlier are discarded.
+	 */
+	public synchronized void start() {
+
+		if (this.unregisterListener == null) {
+			this.unregisterListener = registerListener();
+		}
+		this.changeSets.clear();
+		this.recordingFailure = null;
+		this.recording = true;
+	}
+
+	/**
+	 * Undoes all changes recorded since {@link #start()} and stops recording.
+	 */
+	public synchronized void reset() {
+
+		this.recording = false;
+		List<ChangeSet> undo;
+		synchronized (this.changeSets) {
+			undo = new ArrayList<>(this.changeSets);
+			this.changeSets.clear();
+		}
+		if (this.recordingFailure != null) {
+			throw new IllegalStateException("Could not record all changes, the database cannot be reset",
+				this.recordingFailure);
+		}
+		if (undo.isEmpty()) {
+			return;
+		}
+
+		Collections.reverse(undo);
+		try (Session session = this.driver.session()) {
+			session.writeTransaction(tx -> {
+				undo(tx, undo);
+				return null;
+			});
+		}
+	}
+
+	/**
+	 * @return true if changes are recorded
+	 */
+	public boolean isRecording() {
+		return this.recording;
+	}
+
+	@Override
+	public synchronized void destroy() {
+
+		this.recording = false;
+		if (this.unregisterListener != null) {
+			this.unregisterListener.run();
+			this.unregisterListener = null;
+		}
+	}
+
+	private Object beforeCommit(Object transactionData) {
+
+		if (!this.recording) {
+			return null;
+		}
+		try {
+			return ChangeSet.of(transactionData);
+		} catch (RuntimeException e) {
+			// Don't let the transaction fail but the reset
+			this.recordingFailure = e;
+			return null;
+		}
+	}
+
+	private void afterCommit(Object state) {
+
+		if (this.recording && state instanceof ChangeSet && !((ChangeSet) state).isEmpty()) {
+			this.changeSets.add((ChangeSet) state);
+		}
+	}
+
+	private Runnable registerListener() {
+
+		Object testHarnessInstance = this.testHarness.get();
+		ClassLoader classLoader = testHarnessInstance.getClass().getClassLoader();
+		boolean is4x = ClassUtils.isPresent(TRANSACTION_EVENT_LISTENER_4X, classLoader);
+		Class<?> listenerType = ClassUtils.resolveClassName(
+			is4x ? TRANSACTION_EVENT_LISTENER_4X : TRANSACTION_EVENT_HANDLER_3X, classLoader);
+
+		Object listener = Proxy.newProxyInstance(classLoader, new Class<?>[] { listenerType },
+			(proxy, method, args) -> {
+				switch (method.getName()) {
+					case "beforeCommit":
+						return beforeCommit(args[0]);
+					case "afterCommit":
+						afterCommit(args[1]);
+						return null;
+					case "equals":
+						return proxy == args[0];
+					case "hashCode":
+						return System.identityHashCode(proxy);
+					case "toString":
+						return Neo4jDatabaseReset.class.getSimpleName() + "@" + System.identityHashCode(proxy);
+					default:
+						return null;
+				}
+			});
+
+		if (is4x) {
+			Object managementService = invoke(testHarnessInstance, "databaseManagementService");
+			Object databaseName = invoke(invoke(testHarnessInstance, "defaultDatabaseService"), "databaseName");
+			invoke(managementService, "registerTransactionEventListener", databaseName, listener);
+			return () -> invoke(managementService, "unregisterTransactionEventListener", databaseName, listener);
+		}
+
+		Object graph = invoke(testHarnessInstance, "graph");
+		invoke(graph, "registerTransactionEventHandler", listener);
+		return () -> invoke(graph, "unregisterTransactionEventHandler", listener);
+	}
+
+	private static Object invoke(Object target, String methodName, Object... args) {
+
+		Method method = null;
+		for (Method candidate : ReflectionUtils.getAllDeclaredMethods(target.getClass())) {
+			if (candidate.getName().equals(methodName) && candidate.getParameterCount() == args.length) {
+				method = candidate;
+				break;
+			}
+		}
+		Assert.state(method != null, () -> "Cannot find method " + methodName + " on " + target.getClass());
+		ReflectionUtils.makeAccessible(method);
+		return ReflectionUtils.invokeMethod(method, target, args);
+	}
+
+	private static void undo(Transaction tx, List<ChangeSet> changeSets) {
+
+		// Recreated nodes and relationships get new ids
+		Map<Long, Long> nodeIds = new HashMap<>();
+		Map<Long, Long> relationshipIds = new HashMap<>();
+
+		for (ChangeSet changeSet : changeSets) {
+			if (!changeSet.createdRelationships.isEmpty()) {
+				tx.run("MATCH ()-[r]->() WHERE id(r) IN $ids DELETE r",
+					Collections.singletonMap("ids", mapped(changeSet.createdRelationships, relationshipIds))).consume();
+			}
+			if (!changeSet.createdNodes.isEmpty()) {
+				tx.run("MATCH (n) WHERE id(n) IN $ids DETACH DELETE n",
+					Collections.singletonMap("ids", mapped(changeSet.createdNodes, nodeIds))).consume();
+			}
+
+			changeSet.deletedNodes.forEach((id, node) -> {
+				long newId = tx.run("CREATE (n" + labels(node.labels) + ") SET n = $properties RETURN id(n)",
+					Collections.singletonMap("properties", node.properties)).single().get(0).asLong();
+				nodeIds.put(id, newId);
+			});
+			changeSet.deletedRelationships.forEach((id, relationship) -> {
+				Map<String, Object> parameters = new HashMap<>();
+				parameters.put("startNode", nodeIds.getOrDefault(relationship.startNode, relationship.startNode));
+				parameters.put("endNode", nodeIds.getOrDefault(relationship.endNode, relationship.endNode));
+				parameters.put("properties", relationship.properties);
+				long newId = tx.run("MATCH (s), (e) WHERE id(s) = $startNode AND id(e) = $endNode "
+					+ "CREATE (s)-[r:" + escape(relationship.type) + "]->(e) SET r = $properties RETURN id(r)",
+					parameters).single().get(0).asLong();
+				relationshipIds.put(id, newId);
+			});
+
+			changeSet.previousNodeProperties.forEach((id, properties) ->
+				tx.run("MATCH (n) WHERE id(n) = $id SET n += $properties",
+					parameters(nodeIds.getOrDefault(id, id), properties)).consume());
+			changeSet.previousRelationshipProperties.forEach((id, properties) ->
+				tx.run("MATCH ()-[r]->() WHERE id(r) = $id SET r += $properties",
+					parameters(relationshipIds.getOrDefault(id, id), properties)).consume());
+
+			changeSet.assignedLabels.forEach((id, labels) ->
+				tx.run("MATCH (n) WHERE id(n) = $id REMOVE n" + labels(labels),
+					Collections.singletonMap("id", nodeIds.getOrDefault(id, id))).consume());
+			changeSet.removedLabels.forEach((id, labels) ->
+				tx.run("MATCH (n) WHERE id(n) = $id SET n" + labels(labels),
+					Collections.singletonMap("id", nodeIds.getOrDefault(id, id))).consume());
+		}
+	}
+
+	private static List<Long> mapped(Set<Long> ids, Map<Long, Long> mapping) {
+		return ids.stream().map(id -> mapping.getOrDefault(id, id)).collect(Collectors.toList());
+	}
+
+	private static Map<String, Object> parameters(long id, Map<String, Object> properties) {
+
+		Map<String, Object> parameters = new HashMap<>();
+		parameters.put("id", id);
+		parameters.put("properties", properties);
+		return parameters;
+	}
+
+	private static String labels(Set<String> labels) {
+		return labels.stream().map(label -> ":" + escape(label)).collect(Collectors.joining());
+	}
+
+	private static String escape(String name) {
+		return "`" + name.replace("`", "``") + "`";
+	}
+}
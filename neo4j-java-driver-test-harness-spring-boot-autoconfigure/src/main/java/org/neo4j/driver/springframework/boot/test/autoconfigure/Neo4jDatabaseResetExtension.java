@@ -0,0 +1,49 @@
+/*
+ * Copyright (c) 2019-2020 "Neo4j,"
+ * Neo4j Sweden AB [https://neo4j.com]
+ *
+ * This file is part of Neo4j.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.neo4j.driver.springframework.boot.test.autoconfigure;
+
+import org.junit.jupiter.api.extension.AfterEachCallback;
+import org.junit.jupiter.api.extension.BeforeEachCallback;
+import org.junit.jupiter.api.extension.ExtensionContext;
+import org.springframework.test.context.junit.jupiter.SpringExtension;
+
+/**
+ * JUnit 5 extension that records the changes of each test through the {@link Neo4jDatabaseReset} of the test's
+ * application context and undoes them after the test. Recording starts before any {@code @BeforeEach} method, so that
+ * data created there is removed as well.
+ *
+ * @author Michael J. Simons
+ * @see ResetNeo4jDatabase
+ */
+public final class Neo4jDatabaseResetExtension implements BeforeEachCallback, AfterEachCallback {
+
+	@Override
+	public void beforeEach(ExtensionContext context) {
+		getDatabaseReset(context).start();
+	}
+
+	@Override
+	public void afterEach(ExtensionContext context) {
+		getDatabaseReset(context).reset();
+	}
+
+	private static Neo4jDatabaseReset getDatabaseReset(ExtensionContext context) {
+		return SpringExtension.getApplicationContext(context).getBean(Neo4jDatabaseReset.class);
+	}
+}
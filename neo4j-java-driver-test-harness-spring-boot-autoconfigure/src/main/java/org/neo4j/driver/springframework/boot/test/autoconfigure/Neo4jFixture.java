@@ -0,0 +1,60 @@
+/*
+ * Copyright (c) 2019-2020 "Neo4j,"
+ * Neo4j Sweden AB [https://neo4j.com]
+ *
+ * This file is part of Neo4j.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.neo4j.driver.springframework.boot.test.autoconfigure;
+
+import java.lang.annotation.Documented;
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Inherited;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+import org.junit.jupiter.api.extension.ExtendWith;
+
+/**
+ * Loads fixtures into the database of the test harness. On a test class, the fixtures are loaded once before all tests
+ * of the class. On a test method, they are loaded right before that method, after all {@code @BeforeEach} methods.
+ * Together with {@link ResetNeo4jDatabase}, fixtures of a test method are removed again after the test.
+ * <p>
+ * Fixtures are either Cypher scripts ending in {@code .cypher}, with statements separated by semicolons, or CSV files
+ * ending in {@code .csv}. Each row of a CSV file becomes a node labeled with the name of the file, the header row
+ * contains the property names. Fixture files are parsed only once per JVM.
+ * <p>
+ * The test class must use the {@code SpringExtension}, for example through {@code @SpringBootTest}. Fixtures are
+ * loaded through the driver of the application context.
+ *
+ * @author Michael J. Simons
+ */
+@Target({ ElementType.TYPE, ElementType.METHOD })
+@Retention(RetentionPolicy.RUNTIME)
+@Documented
+@Inherited
+@ExtendWith(Neo4jFixtureExtension.class)
+public @interface Neo4jFixture {
+
+	/**
+	 * @return the locations of the fixtures, resolved as Spring resources, such as {@code classpath:movies.cypher}
+	 */
+	String[] value();
+
+	/**
+	 * @return the number of Cypher statements or CSV rows loaded per transaction
+	 */
+	int batchSize() default 1000;
+}
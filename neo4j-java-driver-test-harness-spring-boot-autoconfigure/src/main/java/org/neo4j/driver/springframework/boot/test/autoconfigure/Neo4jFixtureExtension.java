@@ -0,0 +1,65 @@
+/*
+ * Copyright (c) 2019-2020 "Neo4j,"
+ * Neo4j Sweden AB [https://neo4j.com]
+ *
+ * This file is part of Neo4j.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.neo4j.driver.springframework.boot.test.autoconfigure;
+
+import org.junit.jupiter.api.extension.BeforeAllCallback;
+import org.junit.jupiter.api.extension.BeforeTestExecutionCallback;
+import org.junit.jupiter.api.extension.ExtensionContext;
+import org.neo4j.driver.Driver;
+import org.springframework.context.ApplicationContext;
+import org.springframework.core.annotation.AnnotatedElementUtils;
+import org.springframework.test.context.junit.jupiter.SpringExtension;
+
+/**
+ * Loads the fixtures declared through {@link Neo4jFixture}. Fixtures of test methods are loaded right before the
+ * execution of the test, so that {@link Neo4jDatabaseResetExtension} has already started recording.
+ *
+ * @author Michael J. Simons
+ */
+public final class Neo4jFixtureExtension implements BeforeAllCallback, BeforeTestExecutionCallback {
+
+	@Override
+	public void beforeAll(ExtensionContext context) {
+
+		Neo4jFixture fixture = AnnotatedElementUtils.findMergedAnnotation(context.getRequiredTestClass(),
+			Neo4jFixture.class);
+		if (fixture != null) {
+			load(context, fixture);
+		}
+	}
+
+	@Override
+	public void beforeTestExecution(ExtensionContext context) {
+
+		Neo4jFixture fixture = AnnotatedElementUtils.findMergedAnnotation(context.getRequiredTestMethod(),
+			Neo4jFixture.class);
+		if (fixture != null) {
+			load(context, fixture);
+		}
+	}
+
+	private static void load(ExtensionContext context, Neo4jFixture fixture) {
+
+		ApplicationContext applicationContext = SpringExtension.getApplicationContext(context);
+		Driver driver = applicationContext.getBean(Driver.class);
+		for (String location : fixture.value()) {
+			Neo4jFixtures.get(applicationContext.getResource(location)).load(driver, fixture.batchSize());
+		}
+	}
+}
@@ -0,0 +1,310 @@
+/*
+ * Copyright (c) 2019-2020 "Neo4j,"
+ * Neo4j Sweden AB [https://neo4j.com]
+ *
+ * This file is part of Neo4j.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.neo4j.driver.springframework.boot.test.autoconfigure;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.regex.Pattern;
+
+import org.apache.commons.logging.Log;
+import org.apache.commons.logging.LogFactory;
+import org.neo4j.driver.Driver;
+import org.neo4j.driver.Session;
+import org.springframework.core.io.Resource;
+import org.springframework.util.Assert;
+import org.springframework.util.StreamUtils;
+import org.springframework.util.StringUtils;
+
+/**
+ * Parses fixture files and loads them in batches. Parsed fixtures are cached per JVM, so that each fixture file is
+ * read and parsed only once, regardless how many test classes use it.
+ *
+ * @author Michael J. Simons
+ */
+final class Neo4jFixtures {
+
+	private static final Log LOG = LogFactory.getLog(Neo4jFixtures.class);
+
+	private static final Pattern INTEGER = Pattern.compile("-?\\d+");
+
+	private static final Pattern FLOAT = Pattern.compile("-?\\d*\\.\\d+([eE][-+]?\\d+)?");
+
+	private static final Map<String, Fixture> FIXTURES = new ConcurrentHashMap<>();
+
+	/**
+	 * Returns the parsed fixture for the given resource, parsing it only if it hasn't been parsed before.
+	 *
+	 * @param resource the fixture file
+	 * @return the parsed fixture
+	 */
+	static Fixture get(Resource resource) {
+		return FIXTURES.computeIfAbsent(resource.getDescription(), key -> parse(resource));
+	}
+
+	private static Fixture parse(Resource resource) {
+
+		String filename = resource.getFilename();
+		String content;
+		try (InputStream in = resource.getInputStream()) {
+			content = StreamUtils.copyToString(in, StandardCharsets.UTF_8);
+		} catch (IOException e) {
+			throw new IllegalStateException("Could not read fixture " + resource.getDescription(), e);
+		}
+
+		LOG.debug("Parsing fixture " + resource.getDescription());
+		if (filename != null && filename.endsWith(".csv")) {
+			return new CsvFixture(StringUtils.stripFilenameExtension(filename), parseCsv(content));
+		} else if (filename != null && filename.endsWith(".cypher")) {
+			return new CypherFixture(splitStatements(content));
+		}
+		throw new IllegalArgumentException(
+			"Unsupported fixture " + resource.getDescription() + ", only .cypher and .csv files are supported");
+	}
+
+	/**
+	 * Splits a Cypher script into single statements. Statements are separated by semicolons outside of string literals,
+	 * quoted identifiers and comments.
+	 *
+	 * @param script the Cypher script
+	 * @return the statements of the script, without empty statements
+	 */
+	static List<String> splitStatements(String script) {
+
+		List<String> statements = new ArrayList<>();
+		StringBuilder statement = new StringBuilder();
+		int length = script.length();
+		char quote = 0;
+		for (int i = 0; i < length; ++i) {
+			char c = script.charAt(i);
+			char next = i + 1 < length ? script.charAt(i + 1) : 0;
+			if (quote != 0) {
+				statement.append(c);
+				if (c == '\\' && quote != '`' && next != 0) {
+					statement.append(next);
+					++i;
+				} else if (c == quote) {
+					quote = 0;
+				}
+			} else if (c == '/' && next == '/') {
+				int end = script.indexOf('\n', i);
+				i = end < 0 ? length : end - 1;
+			} else if (c == '/' && next == '*') {
+				int end = script.indexOf("*/", i + 2);
+				i = end < 0 ? length : end + 1;
+				statement.append(' ');
+			} else if (c == ';') {
+				addStatement(statements, statement);
+			} else {
+				if (c == '\'' || c == '"' || c == '`') {
+					quote = c;
+				}
+				statement.append(c);
+			}
+		}
+		addStatement(statements, statement);
+		return Collections.unmodifiableList(statements);
+	}
+
+	private static void addStatement(List<String> statements, StringBuilder statement) {
+
+		String trimmed = statement.toString().trim();
+		if (!trimmed.isEmpty()) {
+			statements.add(trimmed);
+		}
+		statement.setLength(0);
+	}
+
+	/**
+	 * Parses CSV content into one map of properties per row. The first row contains the property names. Unquoted
+	 * values that look like integers, floating point numbers or booleans are converted, empty values are skipped.
+	 *
+	 * @param content the CSV content
+	 * @return one map per row
+	 */
+	static List<Map<String, Object>> parseCsv(String content) {
+
+		List<List<Object>> records = new ArrayList<>();
+		List<Object> fields = new ArrayList<>();
+		StringBuilder field = new StringBuilder();
+		boolean inQuotes = false;
+		boolean quoted = false;
+		int length = content.length();
+		for (int i = 0; i < length; ++i) {
+			char c = content.charAt(i);
+			if (inQuotes) {
+				if (c == '"' && i + 1 < length && content.charAt(i + 1) == '"') {
+					field.append('"');
+					++i;
+				} else if (c == '"') {
+					inQuotes = false;
+				} else {
+					field.append(c);
+				}
+			} else if (c == '"') {
+				inQuotes = true;
+				quoted = true;
+			} else if (c == ',') {
+				fields.add(convert(field.toString(), quoted));
+				field.setLength(0);
+				quoted = false;
+			} else if (c == '\n' || c == '\r') {
+				if (c == '\r' && i + 1 < length && content.charAt(i + 1) == '\n') {
+					++i;
+				}
+				fields.add(convert(field.toString(), quoted));
+				addRecord(records, fields);
+				fields = new ArrayList<>();
+				field.setLength(0);
+				quoted = false;
+			} else {
+				field.append(c);
+			}
+		}
+		if (field.length() > 0 || quoted || !fields.isEmpty()) {
+			fields.add(convert(field.toString(), quoted));
+		}
+		addRecord(records, fields);
+
+		if (records.isEmpty()) {
+			return Collections.emptyList();
+		}
+		List<Object> header = records.get(0);
+		List<Map<String, Object>> rows = new ArrayList<>(records.size() - 1);
+		for (List<Object> record : records.subList(1, records.size())) {
+			Map<String, Object> row = new LinkedHashMap<>();
+			for (int i = 0; i < Math.min(header.size(), record.size()); ++i) {
+				if (record.get(i) != null) {
+					row.put(String.valueOf(header.get(i)), record.get(i));
+				}
+			}
+			rows.add(Collections.unmodifiableMap(row));
+		}
+		return Collections.unmodifiableList(rows);
+	}
+
+	private static void addRecord(List<List<Object>> records, List<Object> fields) {
+
+		if (!(fields.isEmpty() || fields.size() == 1 && fields.get(0) == null)) {
+			records.add(fields);
+		}
+	}
+
+	private static Object convert(String value, boolean quoted) {
+
+		if (quoted) {
+			return value;
+		}
+		String trimmed = value.trim();
+		if (trimmed.isEmpty()) {
+			return null;
+		} else if (INTEGER.matcher(trimmed).matches()) {
+			return Long.parseLong(trimmed);
+		} else if (FLOAT.matcher(trimmed).matches()) {
+			return Double.parseDouble(trimmed);
+		} else if ("true".equalsIgnoreCase(trimmed) || "false".equalsIgnoreCase(trimmed)) {
+			return Boolean.parseBoolean(trimmed);
+		}
+		return trimmed;
+	}
+
+	private static <T> List<List<T>> batches(List<T> elements, int batchSize) {
+
+		Assert.isTrue(batchSize > 0, "Batch size must be greater than 0");
+
+		List<List<T>> batches = new ArrayList<>();
+		for (int i = 0; i < elements.size(); i += batchSize) {
+			batches.add(elements.subList(i, Math.min(i + batchSize, elements.size())));
+		}
+		return batches;
+	}
+
+	/**
+	 * A parsed fixture.
+	 */
+	interface Fixture {
+
+		/**
+		 * Loads the fixture.
+		 *
+		 * @param driver    the driver to load the fixture with
+		 * @param batchSize the number of statements or rows per transaction
+		 */
+		void load(Driver driver, int batchSize);
+	}
+
+	/**
+	 * A Cypher script. Arbitrary statements cannot be combined into one {@code UNWIND}, so the statements are executed
+	 * in batches within one transaction each, saving the round trips for committing each statement separately.
+	 */
+	static final class CypherFixture implements Fixture {
+
+		final List<String> statements;
+
+		CypherFixture(List<String> statements) {
+			this.statements = statements;
+		}
+
+		@Override
+		public void load(Driver driver, int batchSize) {
+
+			try (Session session = driver.session()) {
+				for (List<String> batch : batches(this.statements, batchSize)) {
+					session.writeTransaction(tx -> {
+						batch.forEach(statement -> tx.run(statement).consume());
+						return null;
+					});
+				}
+			}
+		}
+	}
+
+	/**
+	 * Nodes with one label, created through one {@code UNWIND} statement per batch of rows.
+	 */
+	static final class CsvFixture implements Fixture {
+
+		final String label;
+
+		final List<Map<String, Object>> rows;
+
+		CsvFixture(String label, List<Map<String, Object>> rows) {
+			this.label = label;
+			this.rows = rows;
+		}
+
+		@Override
+		public void load(Driver driver, int batchSize) {
+
+			String statement = "UNWIND $rows AS row CREATE (n:`" + this.label.replace("`", "``") + "`) SET n = row";
+			try (Session session = driver.session()) {
+				for (List<Map<String, Object>> batch : batches(this.rows, batchSize)) {
+					session.writeTransaction(
+						tx -> tx.run(statement, Collections.singletonMap("rows", batch)).consume());
+				}
+			}
+		}
+	}
+}
@@ -0,0 +1,92 @@
+/*
+ * Copyright (c) 2019-2020 "Neo4j,"
+ * Neo4j Sweden AB [https://neo4j.com]
+ *
+ * This file is part of Neo4j.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.neo4j.driver.springframework.boot.test.autoconfigure;
+
+import org.neo4j.driver.Driver;
+import org.neo4j.driver.Session;
+import org.neo4j.driver.SessionConfig;
+import org.neo4j.driver.async.AsyncSession;
+import org.neo4j.driver.reactive.RxSession;
+
+/**
+ * A database created for a test class or a test method, see {@link IsolatedNeo4jDatabase}.
+ *
+ * @author Michael J. Simons
+ */
+public final class Neo4jTestDatabase {
+
+	private final String name;
+
+	private final Driver driver;
+
+	private final SessionConfig sessionConfig;
+
+	Neo4jTestDatabase(String name, Driver driver) {
+		this.name = name;
+		this.driver = driver;
+		this.sessionConfig = SessionConfig.forDatabase(name);
+	}
+
+	/**
+	 * @return the name of the database
+	 */
+	public String getName() {
+		return this.name;
+	}
+
+	/**
+	 * @return the driver through which the database has been created
+	 */
+	public Driver getDriver() {
+		return this.driver;
+	}
+
+	/**
+	 * @return a session configuration targeting the database
+	 */
+	public SessionConfig getSessionConfig() {
+		return this.sessionConfig;
+	}
+
+	/**
+	 * @return a new session against the database
+	 */
+	public Session session() {
+		return this.driver.session(this.sessionConfig);
+	}
+
+	/**
+	 * @return a new asynchronous session against the database
+	 */
+	public AsyncSession asyncSession() {
+		return this.driver.asyncSession(this.sessionConfig);
+	}
+
+	/**
+	 * @return a new reactive session against the database
+	 */
+	public RxSession rxSession() {
+		return this.driver.rxSession(this.sessionConfig);
+	}
+
+	@Override
+	public String toString() {
+		return "Neo4jTestDatabase{" + "name='" + this.name + '\'' + '}';
+	}
+}
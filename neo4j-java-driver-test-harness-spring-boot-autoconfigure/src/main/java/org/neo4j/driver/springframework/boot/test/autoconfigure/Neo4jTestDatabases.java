@@ -0,0 +1,173 @@
+/*
+ * Copyright (c) 2019-2020 "Neo4j,"
+ * Neo4j Sweden AB [https://neo4j.com]
+ *
+ * This file is part of Neo4j.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.neo4j.driver.springframework.boot.test.autoconfigure;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+
+import org.apache.commons.logging.Log;
+import org.apache.commons.logging.LogFactory;
+import org.neo4j.driver.Driver;
+import org.neo4j.driver.Session;
+import org.neo4j.driver.SessionConfig;
+import org.neo4j.driver.async.AsyncSession;
+import org.neo4j.driver.async.ResultCursor;
+import org.neo4j.driver.exceptions.ClientException;
+
+/**
+ * Creates databases for tests and drops them asynchronously. The drops are tracked, so that they can be awaited
+ * before the test harness shuts down. Neo4j 4.0 and 4.1 create databases in the background, so a new database is only
+ * handed out after all members report it as online.
+ *
+ * @author Michael J. Simons
+ */
+final class Neo4jTestDatabases {
+
+	private static final Log LOG = LogFactory.getLog(Neo4jTestDatabases.class);
+
+	private static final SessionConfig SYSTEM_DATABASE = SessionConfig.forDatabase("system");
+
+	private static final String STATUS_ONLINE = "online";
+
+	private static final long POLL_INTERVAL_MILLIS = 50L;
+
+	private final Set<CompletableFuture<?>> pendingDrops = ConcurrentHashMap.newKeySet();
+
+	private final Duration onlineTimeout;
+
+	Neo4jTestDatabases() {
+		this(Duration.ofSeconds(60));
+	}
+
+	/**
+	 * @param onlineTimeout the maximum time to wait for a new database to come online
+	 */
+	Neo4jTestDatabases(Duration onlineTimeout) {
+		this.onlineTimeout = onlineTimeout;
+	}
+
+	/**
+	 * Creates a new database with a unique name.
+	 *
+	 * @param driver the driver to create the database with
+	 * @return the new database
+	 */
+	Neo4jTestDatabase create(Driver driver) {
+
+		String name = "test-" + UUID.randomUUID();
+		try (Session session = driver.session(SYSTEM_DATABASE)) {
+			try {
+				session.run("CREATE DATABASE " + quote(name)).consume();
+			} catch (ClientException e) {
+				throw new IllegalStateException(
+					"Could not create an isolated database, creating databases requires Neo4j 4.0 or higher, Enterprise Edition",
+					e);
+			}
+			awaitOnline(session, name);
+		}
+		LOG.debug("Created isolated database " + name);
+		return new Neo4jTestDatabase(name, driver);
+	}
+
+	/**
+	 * Polls the status of the database until it is online on all members or the timeout is exceeded.
+	 *
+	 * @param session a session against the system database
+	 * @param name    the name of the database
+	 */
+	private void awaitOnline(Session session, String name) {
+
+		long deadline = System.nanoTime() + this.onlineTimeout.toNanos();
+		List<String> statuses = currentStatusesOf(session, name);
+		while (statuses.isEmpty() || !statuses.stream().allMatch(STATUS_ONLINE::equals)) {
+			if (System.nanoTime() - deadline > 0) {
+				throw new IllegalStateException("Isolated database " + name + " is not online after "
+					+ this.onlineTimeout.toMillis() + "ms, its current status is " + statuses);
+			}
+			try {
+				Thread.sleep(POLL_INTERVAL_MILLIS);
+			} catch (InterruptedException e) {
+				Thread.currentThread().interrupt();
+				throw new IllegalStateException("Interrupted while waiting for isolated database " + name, e);
+			}
+			statuses = currentStatusesOf(session, name);
+		}
+	}
+
+	private static List<String> currentStatusesOf(Session session, String name) {
+		return session.run("SHOW DATABASE " + quote(name)).list(record -> record.get("currentStatus").asString());
+	}
+
+	/**
+	 * Drops the given database without waiting for the drop to finish.
+	 *
+	 * @param database the database to drop
+	 */
+	void drop(Neo4jTestDatabase database) {
+
+		AsyncSession session = database.getDriver().asyncSession(SYSTEM_DATABASE);
+		CompletableFuture<?> drop = session.runAsync("DROP DATABASE " + quote(database.getName()))
+			.thenCompose(ResultCursor::consumeAsync)
+			.handle((summary, e) -> {
+				if (e != null) {
+					LOG.warn("Could not drop isolated database " + database.getName(), e);
+				}
+				return session.closeAsync();
+			})
+			.thenCompose(closed -> closed)
+			.toCompletableFuture();
+		this.pendingDrops.add(drop);
+		drop.whenComplete((v, e) -> this.pendingDrops.remove(drop));
+	}
+
+	/**
+	 * @return the number of drops that have not yet finished
+	 */
+	int getPendingDrops() {
+		return this.pendingDrops.size();
+	}
+
+	/**
+	 * Waits for all pending drops to finish.
+	 *
+	 * @param timeout the maximum time to wait
+	 */
+	void awaitPendingDrops(Duration timeout) {
+
+		try {
+			CompletableFuture.allOf(this.pendingDrops.toArray(new CompletableFuture<?>[0]))
+				.get(timeout.toMillis(), TimeUnit.MILLISECONDS);
+		} catch (InterruptedException e) {
+			Thread.currentThread().interrupt();
+		} catch (ExecutionException | TimeoutException e) {
+			LOG.warn("Isolated databases have not been dropped in time", e);
+		}
+	}
+
+	private static String quote(String name) {
+		return "`" + name + "`";
+	}
+}
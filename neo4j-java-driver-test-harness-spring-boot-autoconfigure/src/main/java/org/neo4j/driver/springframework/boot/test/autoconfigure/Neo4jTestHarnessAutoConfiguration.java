@@ -22,6 +22,7 @@ import org.apache.commons.logging.Log;
 import org.apache.commons.logging.LogFactory;
 import org.neo4j.driver.Driver;
 import org.neo4j.driver.springframework.boot.autoconfigure.Neo4jDriverAutoConfiguration;
+import org.springframework.beans.factory.FactoryBean;
 import org.springframework.beans.factory.config.BeanDefinition;
 import org.springframework.beans.factory.support.BeanDefinitionBuilder;
 import org.springframework.beans.factory.support.BeanDefinitionRegistry;
@@ -29,10 +30,15 @@ import org.springframework.beans.factory.support.BeanNameGenerator;
 import org.springframework.boot.autoconfigure.AutoConfigureBefore;
 import org.springframework.boot.autoconfigure.condition.ConditionalOnClass;
 import org.springframework.boot.autoconfigure.condition.ConditionalOnMissingBean;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.boot.context.properties.bind.Binder;
+import org.springframework.context.EnvironmentAware;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.context.annotation.Import;
 import org.springframework.context.annotation.ImportBeanDefinitionRegistrar;
+import org.springframework.core.env.Environment;
 import org.springframework.core.type.AnnotationMetadata;
+import org.springframework.util.ClassUtils;
 
 /**
  * Configures an instance of the test harness, either Neo4j 3.5.x ({@code ServerControls}) or 4.0.x ({@code Neo4j})
@@ -45,6 +51,7 @@ import org.springframework.core.type.AnnotationMetadata;
 @ConditionalOnMissingBean(Driver.class)
 @AutoConfigureBefore(Neo4jDriverAutoConfiguration.class)
 @Import(TestHarnessDriverConfiguration.class)
+@EnableConfigurationProperties(Neo4jTestHarnessProperties.class)
 public class Neo4jTestHarnessAutoConfiguration {
 
 	public static final String TEST_HARNESS_3X = "org.neo4j.harness.ServerControls";
@@ -67,7 +74,14 @@ public class Neo4jTestHarnessAutoConfiguration {
 	static class Neo4jConfiguration {
 	}
 
-	static class ServerControlsRegistrar implements ImportBeanDefinitionRegistrar {
+	static class ServerControlsRegistrar implements ImportBeanDefinitionRegistrar, EnvironmentAware {
+
+		private Environment environment;
+
+		@Override
+		public void setEnvironment(Environment environment) {
+			this.environment = environment;
+		}
 
 		@Override
 		public void registerBeanDefinitions(
@@ -77,29 +91,20 @@ public class Neo4jTestHarnessAutoConfiguration {
 		) {
 			LOG.debug("Using Neo4j test harness 3.5");
 
-			BeanDefinition factoryBeanDefinition;
-			factoryBeanDefinition = BeanDefinitionBuilder
-				.rootBeanDefinition("org.neo4j.harness.TestServerBuilders")
-				.setFactoryMethod("newInProcessBuilder")
-				.setScope(BeanDefinition.SCOPE_SINGLETON)
-				.setRole(BeanDefinition.ROLE_INFRASTRUCTURE)
-				.getBeanDefinition();
+			Neo4jTestHarnessProperties testHarnessProperties = bindProperties(this.environment);
+			registerTestHarness(registry, TEST_HARNESS_3X, TestHarnessFactory.forServerControls(testHarnessProperties),
+				testHarnessProperties);
+		}
+	}
 
-			String factoryBean = importBeanNameGenerator.generateBeanName(factoryBeanDefinition, registry);
-			registry.registerBeanDefinition(factoryBean, factoryBeanDefinition);
+	static class Neo4jRegistrar implements ImportBeanDefinitionRegistrar, EnvironmentAware {
 
-			BeanDefinition beanDefinition = BeanDefinitionBuilder
-				.rootBeanDefinition(TEST_HARNESS_3X)
-				.setFactoryMethodOnBean("newServer", factoryBean)
-				.setScope(BeanDefinition.SCOPE_SINGLETON)
-				.setRole(BeanDefinition.ROLE_INFRASTRUCTURE)
-				.getBeanDefinition();
+		private Environment environment;
 
-			registry.registerBeanDefinition(BEAN_NAME, beanDefinition);
+		@Override
+		public void setEnvironment(Environment environment) {
+			this.environment = environment;
 		}
-	}
-
-	static class Neo4jRegistrar implements ImportBeanDefinitionRegistrar {
 
 		@Override
 		public void registerBeanDefinitions(
@@ -109,26 +114,44 @@ public class Neo4jTestHarnessAutoConfiguration {
 		) {
 			LOG.debug("Using Neo4j test harness 4.0");
 
-			BeanDefinition factoryBeanDefinition;
-			factoryBeanDefinition = BeanDefinitionBuilder
-				.rootBeanDefinition("org.neo4j.harness.Neo4jBuilders")
-				.setFactoryMethod("newInProcessBuilder")
-				.setInitMethodName("withDisabledServer")
+			Neo4jTestHarnessProperties testHarnessProperties = bindProperties(this.environment);
+			registerTestHarness(registry, TEST_HARNESS_4X, TestHarnessFactory.forNeo4j(testHarnessProperties),
+				testHarnessProperties);
+		}
+	}
+
+	static Neo4jTestHarnessProperties bindProperties(Environment environment) {
+		return Binder.get(environment)
+			.bind(Neo4jTestHarnessProperties.PREFIX, Neo4jTestHarnessProperties.class)
+			.orElseGet(Neo4jTestHarnessProperties::new);
+	}
+
+	@SuppressWarnings("unchecked")
+	private static void registerTestHarness(BeanDefinitionRegistry registry, String testHarnessClassName,
+		TestHarnessFactory testHarnessFactory, Neo4jTestHarnessProperties testHarnessProperties) {
+
+		Class<?> testHarnessClass = ClassUtils.resolveClassName(testHarnessClassName, ClassUtils.getDefaultClassLoader());
+		BeanDefinition beanDefinition;
+		if (testHarnessProperties.isShared()) {
+			LOG.debug("Using a shared instance of the test harness");
+
+			beanDefinition = BeanDefinitionBuilder
+				.rootBeanDefinition(SharedTestHarness.class)
+				.addConstructorArgValue(testHarnessClass)
+				.addConstructorArgValue(testHarnessFactory)
 				.setScope(BeanDefinition.SCOPE_SINGLETON)
 				.setRole(BeanDefinition.ROLE_INFRASTRUCTURE)
 				.getBeanDefinition();
-
-			String factoryBean = importBeanNameGenerator.generateBeanName(factoryBeanDefinition, registry);
-			registry.registerBeanDefinition(factoryBean, factoryBeanDefinition);
-
-			BeanDefinition beanDefinition = BeanDefinitionBuilder
-				.rootBeanDefinition(TEST_HARNESS_4X)
-				.setFactoryMethodOnBean("build", factoryBean)
+			beanDefinition.setAttribute(FactoryBean.OBJECT_TYPE_ATTRIBUTE, testHarnessClass);
+		} else {
+			beanDefinition = BeanDefinitionBuilder
+				.genericBeanDefinition((Class<Object>) testHarnessClass, testHarnessFactory)
 				.setScope(BeanDefinition.SCOPE_SINGLETON)
 				.setRole(BeanDefinition.ROLE_INFRASTRUCTURE)
+				.setLazyInit(testHarnessProperties.isLazy())
 				.getBeanDefinition();
-
-			registry.registerBeanDefinition(BEAN_NAME, beanDefinition);
 		}
+
+		registry.registerBeanDefinition(BEAN_NAME, beanDefinition);
 	}
 }
@@ -0,0 +1,166 @@
+/*
+ * Copyright (c) 2019-2020 "Neo4j,"
+ * Neo4j Sweden AB [https://neo4j.com]
+ *
+ * This file is part of Neo4j.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.neo4j.driver.springframework.boot.test.autoconfigure;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.util.unit.DataSize;
+
+/**
+ * Used to configure the test harness created by {@link Neo4jTestHarnessAutoConfiguration}.
+ *
+ * @author Michael J. Simons
+ */
+@ConfigurationProperties(prefix = Neo4jTestHarnessProperties.PREFIX)
+public class Neo4jTestHarnessProperties {
+
+	static final String PREFIX = "org.neo4j.driver.test.harness";
+
+	/**
+	 * Flag, if one instance of the test harness is shared by all application contexts inside the same JVM instead of
+	 * starting one instance per context. The shared instance is closed when the JVM shuts down.
+	 */
+	private boolean shared = false;
+
+	/**
+	 * Flag, if the test harness is started not before the driver connected to it is used the first time. Contexts that
+	 * never talk to the database don't start it at all, but startup failures are reported on first use.
+	 */
+	private boolean lazy = false;
+
+	/**
+	 * The size of the page cache of the test harness. Neo4j sizes the page cache relative to the physical memory by
+	 * default, which adds up quickly when many forks run in parallel.
+	 */
+	private DataSize pageCacheSize;
+
+	/**
+	 * Where the state of open transactions is kept.
+	 */
+	private TransactionStateAllocation transactionStateAllocation;
+
+	/**
+	 * The maximum amount of off-heap memory used for the state of open transactions.
+	 */
+	private DataSize transactionStateMaxOffHeapMemory;
+
+	/**
+	 * The number of query plans kept in the query cache.
+	 */
+	private Integer queryCacheSize;
+
+	/**
+	 * Additional Neo4j settings passed to the test harness, such as {@code dbms.memory.off_heap.max_size}. Settings
+	 * given here take precedence over the dedicated properties.
+	 */
+	private Map<String, String> config = new LinkedHashMap<>();
+
+	public boolean isShared() {
+		return this.shared;
+	}
+
+	public void setShared(boolean shared) {
+		this.shared = shared;
+	}
+
+	public boolean isLazy() {
+		return this.lazy;
+	}
+
+	public void setLazy(boolean lazy) {
+		this.lazy = lazy;
+	}
+
+	public DataSize getPageCacheSize() {
+		return this.pageCacheSize;
+	}
+
+	public void setPageCacheSize(DataSize pageCacheSize) {
+		this.pageCacheSize = pageCacheSize;
+	}
+
+	public TransactionStateAllocation getTransactionStateAllocation() {
+		return this.transactionStateAllocation;
+	}
+
+	public void setTransactionStateAllocation(TransactionStateAllocation transactionStateAllocation) {
+		this.transactionStateAllocation = transactionStateAllocation;
+	}
+
+	public DataSize getTransactionStateMaxOffHeapMemory() {
+		return this.transactionStateMaxOffHeapMemory;
+	}
+
+	public void setTransactionStateMaxOffHeapMemory(DataSize transactionStateMaxOffHeapMemory) {
+		this.transactionStateMaxOffHeapMemory = transactionStateMaxOffHeapMemory;
+	}
+
+	public Integer getQueryCacheSize() {
+		return this.queryCacheSize;
+	}
+
+	public void setQueryCacheSize(Integer queryCacheSize) {
+		this.queryCacheSize = queryCacheSize;
+	}
+
+	public Map<String, String> getConfig() {
+		return this.config;
+	}
+
+	public void setConfig(Map<String, String> config) {
+		this.config = config;
+	}
+
+	/**
+	 * @return all configured settings, keyed by the names of the Neo4j settings
+	 */
+	Map<String, String> toSettings() {
+
+		Map<String, String> settings = new LinkedHashMap<>();
+		if (this.pageCacheSize != null) {
+			settings.put("dbms.memory.pagecache.size", Long.toString(this.pageCacheSize.toBytes()));
+		}
+		if (this.transactionStateAllocation != null) {
+			settings.put("dbms.tx_state.memory_allocation", this.transactionStateAllocation.name());
+		}
+		if (this.transactionStateMaxOffHeapMemory != null) {
+			settings.put("dbms.tx_state.max_off_heap_memory", Long.toString(this.transactionStateMaxOffHeapMemory.toBytes()));
+		}
+		if (this.queryCacheSize != null) {
+			settings.put("dbms.query_cache_size", this.queryCacheSize.toString());
+		}
+		settings.putAll(this.config);
+		return settings;
+	}
+
+	public enum TransactionStateAllocation {
+
+		/**
+		 * Keeps the state of open transactions on the heap.
+		 */
+		ON_HEAP,
+
+		/**
+		 * Keeps the state of open transactions off the heap, taking pressure from the heap of the test JVM.
+		 */
+		OFF_HEAP
+	}
+}
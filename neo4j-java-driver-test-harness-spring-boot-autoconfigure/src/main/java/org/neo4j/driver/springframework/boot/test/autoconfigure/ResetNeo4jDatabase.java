@@ -0,0 +1,47 @@
+/*
+ * Copyright (c) 2019-2020 "Neo4j,"
+ * Neo4j Sweden AB [https://neo4j.com]
+ *
+ * This file is part of Neo4j.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.neo4j.driver.springframework.boot.test.autoconfigure;
+
+import java.lang.annotation.Documented;
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Inherited;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+import org.junit.jupiter.api.extension.ExtendWith;
+
+/**
+ * Resets the database of the test harness after each test of the annotated test class to the state it had right
+ * before the test, that is after all {@code @BeforeAll} methods have been executed. Changes made in {@code @BeforeEach}
+ * methods and fixtures loaded for single test methods are undone as well. Fixtures shared by all tests should be loaded
+ * only once, for example in a {@code @BeforeAll} method or through {@link Neo4jFixture} on the test class.
+ * <p>
+ * The test class must use the {@code SpringExtension}, for example through {@code @SpringBootTest}, and the application
+ * context must contain the {@link Neo4jDatabaseReset} that is configured together with the test harness.
+ *
+ * @author Michael J. Simons
+ */
+@Target(ElementType.TYPE)
+@Retention(RetentionPolicy.RUNTIME)
+@Documented
+@Inherited
+@ExtendWith(Neo4jDatabaseResetExtension.class)
+public @interface ResetNeo4jDatabase {
+}
@@ -0,0 +1,123 @@
+/*
+ * Copyright (c) 2019-2020 "Neo4j,"
+ * Neo4j Sweden AB [https://neo4j.com]
+ *
+ * This file is part of Neo4j.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.neo4j.driver.springframework.boot.test.autoconfigure;
+
+import static org.neo4j.driver.springframework.boot.test.autoconfigure.Neo4jTestHarnessAutoConfiguration.*;
+
+import java.util.function.Supplier;
+
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.beans.factory.FactoryBean;
+import org.springframework.util.Assert;
+
+/**
+ * Provides the one instance of the test harness that is shared by all application contexts of a JVM. Each context
+ * holds a reference to the instance, that is released when the context is closed. The instance itself keeps running
+ * when no references are left, so that the next context doesn't have to start another one, and is closed by a
+ * shutdown hook.
+ * <p>
+ * The instances provided by a {@link FactoryBean} are not destroyed by the bean factory, so the contexts don't close
+ * the shared instance.
+ *
+ * @author Michael J. Simons
+ */
+final class SharedTestHarness implements FactoryBean<Object>, DisposableBean {
+
+	private static final Object LOCK = new Object();
+
+	private static Object instance;
+
+	private static int references;
+
+	private final Class<?> objectType;
+
+	private final Supplier<?> testHarnessSupplier;
+
+	private boolean acquired;
+
+	SharedTestHarness(Class<?> objectType, Supplier<?> testHarnessSupplier) {
+
+		Assert.notNull(objectType, "Object type must not be null");
+		Assert.notNull(testHarnessSupplier, "Test harness supplier must not be null");
+		this.objectType = objectType;
+		this.testHarnessSupplier = testHarnessSupplier;
+	}
+
+	@Override
+	public Object getObject() {
+
+		synchronized (LOCK) {
+			if (instance == null) {
+				LOG.info("Starting shared Neo4j test harness");
+				instance = this.testHarnessSupplier.get();
+				Runtime.getRuntime().addShutdownHook(new Thread(SharedTestHarness::close, "neo4j-test-harness-shutdown"));
+			}
+			Assert.state(this.objectType.isInstance(instance),
+				() -> "The shared test harness is not an instance of " + this.objectType.getName());
+			if (!this.acquired) {
+				++references;
+				this.acquired = true;
+			}
+			return instance;
+		}
+	}
+
+	@Override
+	public Class<?> getObjectType() {
+		return this.objectType;
+	}
+
+	@Override
+	public void destroy() {
+
+		synchronized (LOCK) {
+			if (this.acquired) {
+				--references;
+				this.acquired = false;
+			}
+		}
+	}
+
+	/**
+	 * @return the number of application contexts currently using the shared instance
+	 */
+	static int getReferences() {
+
+		synchronized (LOCK) {
+			return references;
+		}
+	}
+
+	static void close() {
+
+		synchronized (LOCK) {
+			if (instance == null) {
+				return;
+			}
+			try {
+				((AutoCloseable) instance).close();
+			} catch (Exception e) {
+				LOG.warn("Could not close shared Neo4j test harness: " + e.getMessage());
+			} finally {
+				instance = null;
+				references = 0;
+			}
+		}
+	}
+}
@@ -30,6 +30,7 @@ import org.neo4j.driver.springframework.boot.autoconfigure.Neo4jDriverProperties
 import org.springframework.beans.factory.ListableBeanFactory;
 import org.springframework.boot.autoconfigure.condition.ConditionalOnBean;
 import org.springframework.boot.autoconfigure.condition.ConditionalOnClass;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnMissingBean;
 import org.springframework.boot.context.properties.EnableConfigurationProperties;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
@@ -54,11 +55,18 @@ class TestHarnessDriverConfiguration {
 	static class ServerControlsConfiguration {
 
 		@Bean
-		Driver neo4jDriver(final Neo4jDriverProperties driverProperties, final ListableBeanFactory beanFactory) {
+		Driver neo4jDriver(final Neo4jDriverProperties driverProperties,
+			final Neo4jTestHarnessProperties testHarnessProperties, final ListableBeanFactory beanFactory) {
 
-			return createDriverFor(driverProperties, beanFactory, TEST_HARNESS_3X);
+			return createDriverFor(driverProperties, testHarnessProperties, beanFactory, TEST_HARNESS_3X);
 		}
 
+		@Bean
+		@ConditionalOnMissingBean
+		Neo4jDatabaseReset neo4jDatabaseReset(final ListableBeanFactory beanFactory, final Driver neo4jDriver) {
+
+			return new Neo4jDatabaseReset(() -> getTestHarness(beanFactory, TEST_HARNESS_3X), neo4jDriver);
+		}
 	}
 
 	@Configuration(proxyBeanMethods = false)
@@ -67,10 +75,30 @@ class TestHarnessDriverConfiguration {
 	static class Neo4jConfiguration {
 
 		@Bean
-		Driver neo4jDriver(final Neo4jDriverProperties driverProperties, final ListableBeanFactory beanFactory) {
+		Driver neo4jDriver(final Neo4jDriverProperties driverProperties,
+			final Neo4jTestHarnessProperties testHarnessProperties, final ListableBeanFactory beanFactory) {
+
+			return createDriverFor(driverProperties, testHarnessProperties, beanFactory, TEST_HARNESS_4X);
+		}
+
+		@Bean
+		@ConditionalOnMissingBean
+		Neo4jDatabaseReset neo4jDatabaseReset(final ListableBeanFactory beanFactory, final Driver neo4jDriver) {
+
+			return new Neo4jDatabaseReset(() -> getTestHarness(beanFactory, TEST_HARNESS_4X), neo4jDriver);
+		}
+	}
 
-			return createDriverFor(driverProperties, beanFactory, TEST_HARNESS_4X);
+	private static Driver createDriverFor(
+		final Neo4jDriverProperties driverProperties, final Neo4jTestHarnessProperties testHarnessProperties,
+		final ListableBeanFactory beanFactory, String embeddedServerClassName
+	) {
+		if (testHarnessProperties.isLazy()) {
+			return LazyTestHarnessDriver.create(
+				() -> createDriverFor(driverProperties, beanFactory, embeddedServerClassName),
+				driverProperties.asDriverConfig());
 		}
+		return createDriverFor(driverProperties, beanFactory, embeddedServerClassName);
 	}
 
 	private static Driver createDriverFor(
@@ -89,4 +117,11 @@ class TestHarnessDriverConfiguration {
 			AuthTokens.none(),
 			driverProperties.asDriverConfig());
 	}
+
+	private static Object getTestHarness(final ListableBeanFactory beanFactory, String embeddedServerClassName) {
+
+		Class<?> embeddedServerClass = ClassUtils
+			.resolveClassName(embeddedServerClassName, ClassUtils.getDefaultClassLoader());
+		return beanFactory.getBean(embeddedServerClass);
+	}
 }
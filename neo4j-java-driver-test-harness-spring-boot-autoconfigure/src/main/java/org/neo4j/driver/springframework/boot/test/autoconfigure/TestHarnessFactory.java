@@ -0,0 +1,161 @@
+/*
+ * Copyright (c) 2019-2020 "Neo4j,"
+ * Neo4j Sweden AB [https://neo4j.com]
+ *
+ * This file is part of Neo4j.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.neo4j.driver.springframework.boot.test.autoconfigure;
+
+import static org.neo4j.driver.springframework.boot.test.autoconfigure.Neo4jTestHarnessAutoConfiguration.*;
+
+import java.lang.management.ManagementFactory;
+import java.lang.management.MemoryMXBean;
+import java.lang.reflect.Field;
+import java.lang.reflect.Method;
+import java.lang.reflect.Modifier;
+import java.time.Duration;
+import java.util.Map;
+import java.util.function.Supplier;
+
+import org.springframework.util.Assert;
+import org.springframework.util.ClassUtils;
+import org.springframework.util.ReflectionUtils;
+
+/**
+ * Creates in-process instances of the test harness with the settings from {@link Neo4jTestHarnessProperties} and
+ * reports how long starting each instance took and how much memory it took.
+ *
+ * @author Michael J. Simons
+ */
+final class TestHarnessFactory implements Supplier<Object> {
+
+	private static final String SETTING_4X = "org.neo4j.graphdb.config.Setting";
+
+	private static final String[] SETTINGS_CLASSES_4X = {
+		"org.neo4j.configuration.GraphDatabaseSettings",
+		"org.neo4j.configuration.GraphDatabaseInternalSettings"
+	};
+
+	private final String buildersClassName;
+
+	private final boolean neo4j4x;
+
+	private final Map<String, String> settings;
+
+	/**
+	 * @param properties the properties of the test harness
+	 * @return a factory for the Neo4j 3.5 test harness ({@code ServerControls})
+	 */
+	static TestHarnessFactory forServerControls(Neo4jTestHarnessProperties properties) {
+		return new TestHarnessFactory("org.neo4j.harness.TestServerBuilders", false, properties.toSettings());
+	}
+
+	/**
+	 * @param properties the properties of the test harness
+	 * @return a factory for the Neo4j 4.x test harness ({@code Neo4j}), without the HTTP server
+	 */
+	static TestHarnessFactory forNeo4j(Neo4jTestHarnessProperties properties) {
+		return new TestHarnessFactory("org.neo4j.harness.Neo4jBuilders", true, properties.toSettings());
+	}
+
+	private TestHarnessFactory(String buildersClassName, boolean neo4j4x, Map<String, String> settings) {
+		this.buildersClassName = buildersClassName;
+		this.neo4j4x = neo4j4x;
+		this.settings = settings;
+	}
+
+	@Override
+	public Object get() {
+
+		MemoryMXBean memory = ManagementFactory.getMemoryMXBean();
+		long heapBefore = memory.getHeapMemoryUsage().getUsed();
+		long nonHeapBefore = memory.getNonHeapMemoryUsage().getUsed();
+		long start = System.nanoTime();
+
+		Class<?> buildersClass = ClassUtils.resolveClassName(this.buildersClassName, ClassUtils.getDefaultClassLoader());
+		Object builder = ReflectionUtils.invokeMethod(ReflectionUtils.findMethod(buildersClass, "newInProcessBuilder"), null);
+		if (this.neo4j4x) {
+			builder = invoke(builder, "withDisabledServer");
+		}
+		for (Map.Entry<String, String> setting : this.settings.entrySet()) {
+			builder = withConfig(builder, setting.getKey(), setting.getValue());
+		}
+		Object testHarness = invoke(builder, this.neo4j4x ? "build" : "newServer");
+
+		LOG.info(String.format("Started Neo4j test harness in %dms (heap %+dMB, non-heap %+dMB) with settings %s",
+			Duration.ofNanos(System.nanoTime() - start).toMillis(),
+			toMegabytes(memory.getHeapMemoryUsage().getUsed() - heapBefore),
+			toMegabytes(memory.getNonHeapMemoryUsage().getUsed() - nonHeapBefore),
+			this.settings));
+		return testHarness;
+	}
+
+	private Object withConfig(Object builder, String name, String value) {
+
+		if (!this.neo4j4x) {
+			Method withConfig = ReflectionUtils.findMethod(builder.getClass(), "withConfig", String.class, String.class);
+			Assert.state(withConfig != null, "Test harness does not support configuration through strings");
+			ReflectionUtils.makeAccessible(withConfig);
+			return ReflectionUtils.invokeMethod(withConfig, builder, name, value);
+		}
+
+		// The 4.x builder accepts only typed settings, so the setting is looked up by name and parses its value itself
+		ClassLoader classLoader = builder.getClass().getClassLoader();
+		Class<?> settingType = ClassUtils.resolveClassName(SETTING_4X, classLoader);
+		Object setting = findSetting(classLoader, settingType, name);
+		Object parsedValue = invoke(setting, "parse", value);
+		Method withConfig = ReflectionUtils.findMethod(builder.getClass(), "withConfig", settingType, Object.class);
+		Assert.state(withConfig != null, "Test harness does not support typed configuration");
+		ReflectionUtils.makeAccessible(withConfig);
+		return ReflectionUtils.invokeMethod(withConfig, builder, setting, parsedValue);
+	}
+
+	private static Object findSetting(ClassLoader classLoader, Class<?> settingType, String name) {
+
+		for (String settingsClassName : SETTINGS_CLASSES_4X) {
+			if (!ClassUtils.isPresent(settingsClassName, classLoader)) {
+				continue;
+			}
+			for (Field field : ClassUtils.resolveClassName(settingsClassName, classLoader).getFields()) {
+				if (!Modifier.isStatic(field.getModifiers()) || !settingType.isAssignableFrom(field.getType())) {
+					continue;
+				}
+				Object setting = ReflectionUtils.getField(field, null);
+				if (setting != null && name.equals(invoke(setting, "name"))) {
+					return setting;
+				}
+			}
+		}
+		throw new IllegalArgumentException("Unknown Neo4j setting " + name);
+	}
+
+	private static Object invoke(Object target, String methodName, Object... args) {
+
+		Method method = null;
+		for (Method candidate : ReflectionUtils.getAllDeclaredMethods(target.getClass())) {
+			if (candidate.getName().equals(methodName) && candidate.getParameterCount() == args.length) {
+				method = candidate;
+				break;
+			}
+		}
+		Assert.state(method != null, () -> "Cannot find method " + methodName + " on " + target.getClass());
+		ReflectionUtils.makeAccessible(method);
+		return ReflectionUtils.invokeMethod(method, target, args);
+	}
+
+	private static long toMegabytes(long bytes) {
+		return bytes / (1024 * 1024);
+	}
+}
@@ -0,0 +1,82 @@
+/*
+ * Copyright (c) 2019-2020 "Neo4j,"
+ * Neo4j Sweden AB [https://neo4j.com]
+ *
+ * This file is part of Neo4j.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.neo4j.driver.springframework.boot.test.autoconfigure;
+
+import static org.assertj.core.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+
+import org.junit.jupiter.api.Test;
+import org.neo4j.driver.Config;
+import org.neo4j.driver.Driver;
+import org.neo4j.driver.Session;
+
+/**
+ * @author Michael J. Simons
+ */
+class LazyTestHarnessDriverTest {
+
+	private final Driver delegate = mock(Driver.class);
+
+	private final AtomicInteger created = new AtomicInteger();
+
+	private final Supplier<Driver> driverSupplier = () -> {
+		this.created.incrementAndGet();
+		return this.delegate;
+	};
+
+	@Test
+	void shouldCreateDelegateOnce() {
+
+		Session session = mock(Session.class);
+		when(this.delegate.session()).thenReturn(session);
+
+		Driver driver = LazyTestHarnessDriver.create(this.driverSupplier, Config.defaultConfig());
+		assertThat(this.created).hasValue(0);
+
+		assertThat(driver.session()).isSameAs(session);
+		driver.session();
+		assertThat(this.created).hasValue(1);
+		verify(this.delegate, times(2)).session();
+	}
+
+	@Test
+	void shouldNotCreateDelegateForClosing() {
+
+		Driver driver = LazyTestHarnessDriver.create(this.driverSupplier, Config.builder().withDriverMetrics().build());
+		assertThat(driver.isMetricsEnabled()).isTrue();
+		driver.close();
+
+		assertThat(this.created).hasValue(0);
+		assertThatIllegalStateException().isThrownBy(driver::session);
+	}
+
+	@Test
+	void shouldCloseDelegate() {
+
+		Driver driver = LazyTestHarnessDriver.create(this.driverSupplier, Config.defaultConfig());
+		driver.verifyConnectivity();
+		driver.close();
+
+		verify(this.delegate).verifyConnectivity();
+		verify(this.delegate).close();
+	}
+}
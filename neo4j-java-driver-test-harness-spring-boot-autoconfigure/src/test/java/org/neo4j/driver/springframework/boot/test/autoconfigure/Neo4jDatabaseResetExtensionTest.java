@@ -0,0 +1,77 @@
+/*
+ * Copyright (c) 2019-2020 "Neo4j,"
+ * Neo4j Sweden AB [https://neo4j.com]
+ *
+ * This file is part of Neo4j.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.neo4j.driver.springframework.boot.test.autoconfigure;
+
+import static org.assertj.core.api.Assertions.*;
+
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.MethodOrderer;
+import org.junit.jupiter.api.Order;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.TestMethodOrder;
+import org.neo4j.driver.Driver;
+import org.neo4j.driver.Session;
+import org.neo4j.driver.springframework.boot.test.autoconfigure.domain.EmptyPackage;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.ImportAutoConfiguration;
+import org.springframework.boot.test.context.SpringBootTest;
+
+/**
+ * @author Michael J. Simons
+ */
+@SpringBootTest(classes = EmptyPackage.class)
+@ImportAutoConfiguration(Neo4jTestHarnessAutoConfiguration.class)
+@ResetNeo4jDatabase
+@TestMethodOrder(MethodOrderer.OrderAnnotation.class)
+class Neo4jDatabaseResetExtensionTest {
+
+	@BeforeAll
+	static void loadFixture(@Autowired Driver driver) {
+
+		try (Session session = driver.session()) {
+			session.run("MATCH (n) DETACH DELETE n").consume();
+			session.run("CREATE (:Movie {title: 'The Matrix'})").consume();
+		}
+	}
+
+	@Test
+	@Order(1)
+	void changeData(@Autowired Driver driver) {
+
+		try (Session session = driver.session()) {
+			session.run("MATCH (m:Movie) SET m.title = 'The Matrix Reloaded' CREATE (:Movie {title: 'Speed'})").consume();
+			assertThat(countMovies(session)).isEqualTo(2L);
+		}
+	}
+
+	@Test
+	@Order(2)
+	void seeFixtureOnly(@Autowired Driver driver) {
+
+		try (Session session = driver.session()) {
+			assertThat(countMovies(session)).isEqualTo(1L);
+			assertThat(session.run("MATCH (m:Movie) RETURN m.title").single().get(0).asString())
+				.isEqualTo("The Matrix");
+		}
+	}
+
+	private static long countMovies(Session session) {
+		return session.run("MATCH (m:Movie) RETURN count(m)").single().get(0).asLong();
+	}
+}
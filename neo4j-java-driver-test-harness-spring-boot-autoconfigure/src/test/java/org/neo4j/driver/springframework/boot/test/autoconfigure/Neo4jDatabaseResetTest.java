@@ -0,0 +1,152 @@
+/*
+ * Copyright (c) 2019-2020 "Neo4j,"
+ * Neo4j Sweden AB [https://neo4j.com]
+ *
+ * This file is part of Neo4j.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.neo4j.driver.springframework.boot.test.autoconfigure;
+
+import static org.assertj.core.api.Assertions.*;
+
+import java.util.List;
+import java.util.stream.Collectors;
+
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.neo4j.driver.AuthTokens;
+import org.neo4j.driver.Driver;
+import org.neo4j.driver.GraphDatabase;
+import org.neo4j.driver.Session;
+import org.neo4j.harness.ServerControls;
+import org.neo4j.harness.TestServerBuilders;
+
+/**
+ * @author Michael J. Simons
+ */
+class Neo4jDatabaseResetTest {
+
+	private static ServerControls serverControls;
+
+	private static Driver driver;
+
+	private static String fixture;
+
+	private Neo4jDatabaseReset databaseReset;
+
+	@BeforeAll
+	static void startTestHarness() {
+
+		serverControls = TestServerBuilders.newInProcessBuilder().newServer();
+		driver = GraphDatabase.driver(serverControls.boltURI(), AuthTokens.none());
+		try (Session session = driver.session()) {
+			session.run("CREATE (a:Person:Actor {name: 'Keanu', born: 1964})-[:ACTED_IN {roles: ['Neo']}]->"
+				+ "(m:Movie {title: 'The Matrix'})<-[:DIRECTED]-(d:Person {name: 'Lana'})").consume();
+		}
+		fixture = dump();
+	}
+
+	@AfterAll
+	static void stopTestHarness() {
+
+		driver.close();
+		serverControls.close();
+	}
+
+	@BeforeEach
+	void startRecording() {
+
+		this.databaseReset = new Neo4jDatabaseReset(serverControls, driver);
+		this.databaseReset.start();
+	}
+
+	@AfterEach
+	void stopRecording() {
+		this.databaseReset.destroy();
+	}
+
+	@Test
+	void shouldUndoCreations() {
+
+		try (Session session = driver.session()) {
+			session.run("MATCH (m:Movie) CREATE (:Person {name: 'Carrie'})-[:ACTED_IN]->(m)").consume();
+			session.run("CREATE (:Movie {title: 'Speed'})").consume();
+		}
+		assertThat(dump()).isNotEqualTo(fixture);
+
+		this.databaseReset.reset();
+		assertThat(dump()).isEqualTo(fixture);
+	}
+
+	@Test
+	void shouldUndoUpdates() {
+
+		try (Session session = driver.session()) {
+			session.run("MATCH (p:Person {name: 'Keanu'}) SET p.born = 1965, p.nickname = 'The One' "
+				+ "REMOVE p.name, p:Actor SET p:Hero").consume();
+			session.run("MATCH ()-[r:ACTED_IN]->() SET r.roles = ['Thomas Anderson']").consume();
+			session.run("MATCH (p:Person {born: 1965}) SET p.born = 1966").consume();
+		}
+		assertThat(dump()).isNotEqualTo(fixture);
+
+		this.databaseReset.reset();
+		assertThat(dump()).isEqualTo(fixture);
+	}
+
+	@Test
+	void shouldUndoDeletions() {
+
+		try (Session session = driver.session()) {
+			session.run("MATCH (m:Movie) DETACH DELETE m").consume();
+			session.run("MATCH (p:Person {name: 'Lana'}) SET p.name = 'Lilly'").consume();
+		}
+		assertThat(dump()).isNotEqualTo(fixture);
+
+		this.databaseReset.reset();
+		assertThat(dump()).isEqualTo(fixture);
+	}
+
+	@Test
+	void shouldIgnoreChangesBeforeStartAndAfterReset() {
+
+		this.databaseReset.reset();
+		assertThat(this.databaseReset.isRecording()).isFalse();
+		try (Session session = driver.session()) {
+			session.run("CREATE (:Temporary)").consume();
+		}
+		this.databaseReset.reset();
+		try (Session session = driver.session()) {
+			assertThat(session.run("MATCH (n:Temporary) DETACH DELETE n RETURN count(n)").single().get(0).asLong())
+				.isEqualTo(1L);
+		}
+		assertThat(dump()).isEqualTo(fixture);
+	}
+
+	private static String dump() {
+
+		try (Session session = driver.session()) {
+			List<String> nodes = session.run("MATCH (n) RETURN labels(n) AS labels, properties(n) AS properties")
+				.list(r -> r.get("labels").asList() + " " + r.get("properties").asMap())
+				.stream().sorted().collect(Collectors.toList());
+			List<String> relationships = session.run("MATCH (s)-[r]->(e) "
+				+ "RETURN s.name + '-' + type(r) + '->' + coalesce(e.title, e.name) AS r, properties(r) AS properties")
+				.list(r -> r.get("r").asString() + " " + r.get("properties").asMap())
+				.stream().sorted().collect(Collectors.toList());
+			return nodes + "\n" + relationships;
+		}
+	}
+}
@@ -0,0 +1,72 @@
+/*
+ * Copyright (c) 2019-2020 "Neo4j,"
+ * Neo4j Sweden AB [https://neo4j.com]
+ *
+ * This file is part of Neo4j.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.neo4j.driver.springframework.boot.test.autoconfigure;
+
+import static org.assertj.core.api.Assertions.*;
+
+import org.junit.jupiter.api.MethodOrderer;
+import org.junit.jupiter.api.Order;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.TestMethodOrder;
+import org.neo4j.driver.Driver;
+import org.neo4j.driver.Session;
+import org.neo4j.driver.springframework.boot.test.autoconfigure.domain.EmptyPackage;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.ImportAutoConfiguration;
+import org.springframework.boot.test.context.SpringBootTest;
+
+/**
+ * @author Michael J. Simons
+ */
+@SpringBootTest(classes = EmptyPackage.class)
+@ImportAutoConfiguration(Neo4jTestHarnessAutoConfiguration.class)
+@ResetNeo4jDatabase
+@Neo4jFixture("classpath:fixtures/films.cypher")
+@TestMethodOrder(MethodOrderer.OrderAnnotation.class)
+class Neo4jFixtureExtensionTest {
+
+	@Test
+	@Order(1)
+	@Neo4jFixture(value = "classpath:fixtures/Reviewer.csv", batchSize = 1)
+	void shouldLoadMethodFixtures(@Autowired Driver driver) {
+
+		try (Session session = driver.session()) {
+			assertThat(count(session, "Film")).isEqualTo(2L);
+			assertThat(count(session, "Reviewer")).isEqualTo(2L);
+			assertThat(session.run("MATCH (r:Reviewer {name: 'Alice'}) RETURN r.born, r.rating, r.active").single()
+				.values()).extracting(v -> v.asObject()).containsExactly(1970L, 4.5, true);
+		}
+	}
+
+	@Test
+	@Order(2)
+	void shouldKeepClassFixtures(@Autowired Driver driver) {
+
+		try (Session session = driver.session()) {
+			assertThat(count(session, "Film")).isEqualTo(2L);
+			assertThat(count(session, "Reviewer")).isZero();
+			assertThat(session.run("MATCH (f:Film)<-[:DIRECTED]-(d) RETURN f.title + ' by ' + d.name AS v ORDER BY v")
+				.list(r -> r.get("v").asString())).containsExactly("Speed by Jan", "The Matrix; Reloaded by Lana");
+		}
+	}
+
+	private static long count(Session session, String label) {
+		return session.run("MATCH (n:" + label + ") RETURN count(n)").single().get(0).asLong();
+	}
+}
@@ -0,0 +1,91 @@
+/*
+ * Copyright (c) 2019-2020 "Neo4j,"
+ * Neo4j Sweden AB [https://neo4j.com]
+ *
+ * This file is part of Neo4j.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.neo4j.driver.springframework.boot.test.autoconfigure;
+
+import static org.assertj.core.api.Assertions.*;
+
+import java.util.List;
+import java.util.Map;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.core.io.ByteArrayResource;
+import org.springframework.core.io.ClassPathResource;
+
+/**
+ * @author Michael J. Simons
+ */
+class Neo4jFixturesTest {
+
+	@Test
+	void shouldSplitStatements() {
+
+		List<String> statements = Neo4jFixtures.splitStatements(
+			"CREATE (n:`A;B` {name: 'x;y', other: \"it\\\"s;\"});\n"
+				+ "// a comment; with a semicolon\n"
+				+ "MATCH (n) /* another; comment */RETURN n;;\n"
+				+ "RETURN 1");
+
+		assertThat(statements).containsExactly(
+			"CREATE (n:`A;B` {name: 'x;y', other: \"it\\\"s;\"})",
+			"MATCH (n)  RETURN n",
+			"RETURN 1");
+	}
+
+	@Test
+	void shouldParseCsv() {
+
+		List<Map<String, Object>> rows = Neo4jFixtures.parseCsv(
+			"name,born,rating,active\r\n"
+				+ "Alice,1970,4.5,true\r\n"
+				+ "\"Bob, \"\"Jr.\"\"\",,3,FALSE\r\n"
+				+ "\r\n"
+				+ "\"1970\",-1,.5,maybe");
+
+		assertThat(rows).hasSize(3);
+		assertThat(rows.get(0)).containsExactly(entry("name", "Alice"), entry("born", 1970L), entry("rating", 4.5),
+			entry("active", true));
+		assertThat(rows.get(1)).containsExactly(entry("name", "Bob, \"Jr.\""), entry("rating", 3L),
+			entry("active", false));
+		assertThat(rows.get(2)).containsExactly(entry("name", "1970"), entry("born", -1L), entry("rating", 0.5),
+			entry("active", "maybe"));
+	}
+
+	@Test
+	void shouldCacheParsedFixtures() {
+
+		Neo4jFixtures.Fixture fixture = Neo4jFixtures.get(new ClassPathResource("fixtures/Reviewer.csv"));
+
+		assertThat(Neo4jFixtures.get(new ClassPathResource("fixtures/Reviewer.csv"))).isSameAs(fixture);
+		assertThat(fixture).isInstanceOfSatisfying(Neo4jFixtures.CsvFixture.class, csvFixture -> {
+			assertThat(csvFixture.label).isEqualTo("Reviewer");
+			assertThat(csvFixture.rows).hasSize(2);
+		});
+		assertThat(Neo4jFixtures.get(new ClassPathResource("fixtures/films.cypher")))
+			.isInstanceOfSatisfying(Neo4jFixtures.CypherFixture.class,
+				cypherFixture -> assertThat(cypherFixture.statements).hasSize(2));
+	}
+
+	@Test
+	void shouldRejectUnknownFixtures() {
+
+		assertThatIllegalArgumentException()
+			.isThrownBy(() -> Neo4jFixtures.get(new ByteArrayResource(new byte[0], "unknown")))
+			.withMessageContaining("only .cypher and .csv files are supported");
+	}
+}
@@ -0,0 +1,154 @@
+/*
+ * Copyright (c) 2019-2020 "Neo4j,"
+ * Neo4j Sweden AB [https://neo4j.com]
+ *
+ * This file is part of Neo4j.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.neo4j.driver.springframework.boot.test.autoconfigure;
+
+import static org.assertj.core.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.concurrent.CompletableFuture;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.neo4j.driver.Driver;
+import org.neo4j.driver.Result;
+import org.neo4j.driver.Session;
+import org.neo4j.driver.SessionConfig;
+import org.neo4j.driver.async.AsyncSession;
+import org.neo4j.driver.async.ResultCursor;
+import org.neo4j.driver.exceptions.ClientException;
+
+/**
+ * @author Michael J. Simons
+ */
+class Neo4jTestDatabasesTest {
+
+	private final Neo4jTestDatabases testDatabases = new Neo4jTestDatabases();
+
+	private Driver driver;
+
+	private Session session;
+
+	private Result showDatabaseResult;
+
+	private AsyncSession asyncSession;
+
+	@BeforeEach
+	void mockDriver() {
+
+		this.session = mock(Session.class);
+		when(this.session.run(anyString())).thenReturn(mock(Result.class));
+		this.showDatabaseResult = mock(Result.class);
+		when(this.showDatabaseResult.<String>list(any())).thenReturn(Collections.singletonList("online"));
+		when(this.session.run(startsWith("SHOW DATABASE"))).thenReturn(this.showDatabaseResult);
+		this.asyncSession = mock(AsyncSession.class);
+		when(this.asyncSession.closeAsync()).thenReturn(CompletableFuture.completedFuture(null));
+
+		this.driver = mock(Driver.class);
+		when(this.driver.session(any(SessionConfig.class))).thenReturn(this.session);
+		when(this.driver.asyncSession(any(SessionConfig.class))).thenReturn(this.asyncSession);
+	}
+
+	@Test
+	void shouldCreateUniqueDatabases() {
+
+		Neo4jTestDatabase database1 = this.testDatabases.create(this.driver);
+		Neo4jTestDatabase database2 = this.testDatabases.create(this.driver);
+
+		assertThat(database1.getName()).isNotEqualTo(database2.getName());
+		assertThat(database1.getSessionConfig().database()).hasValue(database1.getName());
+		verify(this.session).run("CREATE DATABASE `" + database1.getName() + "`");
+		verify(this.session).run("CREATE DATABASE `" + database2.getName() + "`");
+
+		ArgumentCaptor<SessionConfig> sessionConfig = ArgumentCaptor.forClass(SessionConfig.class);
+		verify(this.driver, times(2)).session(sessionConfig.capture());
+		assertThat(sessionConfig.getAllValues()).extracting(SessionConfig::database).allMatch(d -> d.get().equals("system"));
+	}
+
+	@Test
+	void shouldWaitUntilDatabaseIsOnlineOnAllMembers() {
+
+		when(this.showDatabaseResult.<String>list(any()))
+			.thenReturn(Collections.emptyList())
+			.thenReturn(Arrays.asList("online", "initial"))
+			.thenReturn(Arrays.asList("online", "online"));
+
+		Neo4jTestDatabase database = this.testDatabases.create(this.driver);
+
+		verify(this.session, times(3)).run("SHOW DATABASE `" + database.getName() + "`");
+	}
+
+	@Test
+	void shouldFailWhenDatabaseDoesNotComeOnline() {
+
+		when(this.showDatabaseResult.<String>list(any())).thenReturn(Collections.singletonList("offline"));
+
+		assertThatIllegalStateException()
+			.isThrownBy(() -> new Neo4jTestDatabases(Duration.ofMillis(100)).create(this.driver))
+			.withMessageContaining("is not online after 100ms, its current status is [offline]");
+	}
+
+	@Test
+	void shouldExplainMissingSupportForMultipleDatabases() {
+
+		when(this.session.run(anyString())).thenThrow(new ClientException("Unsupported administration command"));
+
+		assertThatIllegalStateException().isThrownBy(() -> this.testDatabases.create(this.driver))
+			.withMessageContaining("Enterprise Edition");
+	}
+
+	@Test
+	void shouldDropDatabasesAsynchronously() {
+
+		CompletableFuture<ResultCursor> pendingDrop = new CompletableFuture<>();
+		when(this.asyncSession.runAsync(anyString())).thenReturn(pendingDrop);
+
+		Neo4jTestDatabase database = this.testDatabases.create(this.driver);
+		this.testDatabases.drop(database);
+
+		verify(this.asyncSession).runAsync("DROP DATABASE `" + database.getName() + "`");
+		assertThat(this.testDatabases.getPendingDrops()).isEqualTo(1);
+
+		ResultCursor cursor = mock(ResultCursor.class);
+		when(cursor.consumeAsync()).thenReturn(CompletableFuture.completedFuture(null));
+		pendingDrop.complete(cursor);
+		this.testDatabases.awaitPendingDrops(Duration.ofSeconds(1));
+
+		assertThat(this.testDatabases.getPendingDrops()).isZero();
+		verify(this.asyncSession).closeAsync();
+	}
+
+	@Test
+	void shouldCloseSessionsOfFailedDrops() {
+
+		CompletableFuture<ResultCursor> failedDrop = new CompletableFuture<>();
+		failedDrop.completeExceptionally(new ClientException("Database does not exist"));
+		when(this.asyncSession.runAsync(anyString())).thenReturn(failedDrop);
+
+		this.testDatabases.drop(this.testDatabases.create(this.driver));
+		this.testDatabases.awaitPendingDrops(Duration.ofSeconds(1));
+
+		assertThat(this.testDatabases.getPendingDrops()).isZero();
+		verify(this.asyncSession).closeAsync();
+	}
+}
@@ -22,13 +22,20 @@ import static org.assertj.core.api.Assertions.*;
 import static org.mockito.Mockito.*;
 
 import java.net.URI;
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicReference;
 
 import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
 import org.neo4j.driver.Driver;
+import org.neo4j.driver.Session;
+import org.neo4j.graphdb.factory.GraphDatabaseSettings;
 import org.neo4j.harness.ServerControls;
 import org.springframework.boot.autoconfigure.AutoConfigurations;
 import org.springframework.boot.test.context.FilteredClassLoader;
 import org.springframework.boot.test.context.runner.ApplicationContextRunner;
+import org.springframework.boot.test.system.CapturedOutput;
+import org.springframework.boot.test.system.OutputCaptureExtension;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 
@@ -76,15 +83,97 @@ class Neo4jTestHarnessAutoConfigurationTest {
 	void existingServerControlsShouldHavePrecedence() {
 		contextRunner
 			.withUserConfiguration(ConfigurationWithServerControls.class)
+			.withPropertyValues("org.neo4j.driver.test.harness.lazy=true")
 			.run(ctx -> {
 				assertThat(ctx)
 					.hasSingleBean(ServerControls.class)
 					.hasSingleBean(Driver.class);
 
+				verify(ctx.getBean(ServerControls.class), never()).boltURI();
+				ctx.getBean(Driver.class).isEncrypted();
 				verify(ctx.getBean(ServerControls.class)).boltURI();
 			});
 	}
 
+	@Test
+	void shouldStartTestHarnessOnFirstUseIfConfigured() {
+		contextRunner
+			.withPropertyValues("org.neo4j.driver.test.harness.lazy=true")
+			.run(ctx -> {
+				assertThat(ctx.getBeanFactory().containsSingleton(Neo4jTestHarnessAutoConfiguration.BEAN_NAME))
+					.isFalse();
+
+				Driver driver = ctx.getBean(Driver.class);
+				assertThat(driver.isMetricsEnabled()).isFalse();
+				assertThat(ctx.getBeanFactory().containsSingleton(Neo4jTestHarnessAutoConfiguration.BEAN_NAME))
+					.isFalse();
+
+				try (Session session = driver.session()) {
+					assertThat(session.run("RETURN 1").single().get(0).asInt()).isEqualTo(1);
+				}
+				assertThat(ctx.getBeanFactory().containsSingleton(Neo4jTestHarnessAutoConfiguration.BEAN_NAME))
+					.isTrue();
+			});
+	}
+
+	@Test
+	void shouldStartTestHarnessEagerlyByDefault() {
+		contextRunner
+			.run(ctx -> {
+				assertThat(ctx.getBeanFactory().containsSingleton(Neo4jTestHarnessAutoConfiguration.BEAN_NAME))
+					.isTrue();
+				assertThat(ctx.getBean(Driver.class).toString()).doesNotStartWith("LazyTestHarnessDriver");
+			});
+	}
+
+	@Test
+	@ExtendWith(OutputCaptureExtension.class)
+	void shouldApplySettingsAndReportStartup(CapturedOutput output) {
+		contextRunner
+			.withPropertyValues(
+				"org.neo4j.driver.test.harness.page-cache-size=8MB",
+				"org.neo4j.driver.test.harness.transaction-state-allocation=off-heap",
+				"org.neo4j.driver.test.harness.query-cache-size=42",
+				"org.neo4j.driver.test.harness.config.[dbms.transaction.timeout]=5s")
+			.run(ctx -> {
+				ServerControls serverControls = ctx.getBean(ServerControls.class);
+				assertThat(serverControls.config().get(GraphDatabaseSettings.pagecache_memory)).isEqualTo("8388608");
+				assertThat(serverControls.config().get(GraphDatabaseSettings.tx_state_memory_allocation))
+					.hasToString("OFF_HEAP");
+				assertThat(serverControls.config().get(GraphDatabaseSettings.query_cache_size)).isEqualTo(42);
+				assertThat(serverControls.config().get(GraphDatabaseSettings.transaction_timeout))
+					.isEqualTo(Duration.ofSeconds(5));
+				assertThat(output).containsPattern("Started Neo4j test harness in \\d+ms \\(heap [-+]\\d+MB, non-heap [-+]\\d+MB\\)");
+			});
+	}
+
+	@Test
+	void shouldShareTestHarnessBetweenContexts() {
+
+		AtomicReference<ServerControls> firstTestHarness = new AtomicReference<>();
+		contextRunner
+			.withPropertyValues("org.neo4j.driver.test.harness.shared=true")
+			.run(ctx -> {
+				assertThat(ctx)
+					.hasSingleBean(ServerControls.class)
+					.hasSingleBean(Driver.class);
+				firstTestHarness.set(ctx.getBean(ServerControls.class));
+				assertThat(SharedTestHarness.getReferences()).isEqualTo(1);
+			});
+
+		assertThat(SharedTestHarness.getReferences()).isZero();
+		assertThat(firstTestHarness.get().graph().isAvailable(0L)).isTrue();
+
+		contextRunner
+			.withPropertyValues("org.neo4j.driver.test.harness.shared=true")
+			.run(ctx -> {
+				assertThat(ctx.getBean(ServerControls.class)).isSameAs(firstTestHarness.get());
+				try (Session session = ctx.getBean(Driver.class).session()) {
+					assertThat(session.run("RETURN 1").single().get(0).asInt()).isEqualTo(1);
+				}
+			});
+	}
+
 	@Configuration
 	static class ConfigurationWithDriver {
 
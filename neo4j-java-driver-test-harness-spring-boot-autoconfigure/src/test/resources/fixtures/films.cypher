@@ -0,0 +1,4 @@
+// Two films and their directors
+CREATE (:Film {title: 'The Matrix; Reloaded'})<-[:DIRECTED]-(:Director {name: 'Lana'});
+/* Semicolons in comments; are ignored */
+CREATE (:Film {title: "Speed"})<-[:DIRECTED]-(:Director {name: 'Jan'});